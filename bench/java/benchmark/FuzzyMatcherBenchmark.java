@@ -0,0 +1,107 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import use_case.fuzzy_search.util.FuzzyMatcher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Edit distance between a query term and field tokens of typical lengths,
+ * with the search threshold and without a cutoff. The classic methods run
+ * the full row-by-row DP the matcher used before it went bit-parallel, as a
+ * baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuzzyMatcherBenchmark {
+
+    @Param({"4", "8", "16", "32", "64", "100"})
+    private int length;
+
+    private String query;
+    private String near;
+    private String far;
+
+    @Setup
+    public void setUp() {
+        query = word(length, 'a');
+        // Two substitutions: within the search threshold
+        char[] chars = query.toCharArray();
+        chars[0] = 'z';
+        chars[length - 1] = 'z';
+        near = new String(chars);
+        far = word(length, 'k');
+    }
+
+    @Benchmark
+    public int nearMatch() {
+        return FuzzyMatcher.levenshteinDistance(query, near, 2);
+    }
+
+    @Benchmark
+    public int farMatchWithThreshold() {
+        return FuzzyMatcher.levenshteinDistance(query, far, 2);
+    }
+
+    @Benchmark
+    public int farMatchExact() {
+        return FuzzyMatcher.levenshteinDistance(query, far, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int classicNearMatch() {
+        return classicDistance(query, near, 2);
+    }
+
+    @Benchmark
+    public int classicFarMatchExact() {
+        return classicDistance(query, far, Integer.MAX_VALUE);
+    }
+
+    private static int classicDistance(final String s1, final String s2, final int threshold) {
+        int m = s1.length();
+        int n = s2.length();
+        int[] dp = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            dp[i] = i;
+        }
+        for (int j = 1; j <= n; j++) {
+            int prev = dp[0];
+            dp[0] = j;
+            int minInRow = dp[0];
+            for (int i = 1; i <= m; i++) {
+                int temp = dp[i];
+                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+                dp[i] = Math.min(Math.min(dp[i] + 1, dp[i - 1] + 1), prev + cost);
+                prev = temp;
+                minInRow = Math.min(minInRow, dp[i]);
+            }
+            if (minInRow > threshold) {
+                return threshold + 1;
+            }
+        }
+        return dp[m];
+    }
+
+    private static String word(final int length, final char first) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + (first - 'a' + i * 7) % 26));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package benchmark;
+
+import entity.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import use_case.fuzzy_search.util.FuzzyMatchHelper;
+import use_case.fuzzy_search.util.SynonymExpander;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuzzy search over a synthetic corpus, all results and one page of the best,
+ * plus synonym expansion on its own.
+ * The term index is built on the first query and reused, as in the app.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FuzzySearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int posts;
+
+    @Param({"laptop", "blak wallet", "phone near library"})
+    private String query;
+
+    // Integer.MAX_VALUE scores sequentially; 20000 is the default parallel threshold
+    @Param({"2147483647", "20000"})
+    private int parallelThreshold;
+
+    private List<Post> corpus;
+
+    @Setup
+    public void setUp() {
+        FuzzyMatchHelper.setParallelThreshold(parallelThreshold);
+        corpus = PostCorpus.generate(posts);
+        FuzzyMatchHelper.fuzzyMatchPosts(corpus, query);
+    }
+
+    @Benchmark
+    public List<Post> fuzzyMatchPosts() {
+        return FuzzyMatchHelper.fuzzyMatchPosts(corpus, query);
+    }
+
+    @Benchmark
+    public List<Post> fuzzyMatchTopPage() {
+        return FuzzyMatchHelper.fuzzyMatchPosts(corpus, query, PAGE_SIZE);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public List<String> expandSynonyms() {
+        return SynonymExpander.expand(query);
+    }
+}
@@ -0,0 +1,92 @@
+package benchmark;
+
+import entity.Post;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic posts for the benchmarks. Titles, descriptions,
+ * tags and locations are drawn from a small lost-and-found vocabulary, with
+ * occasional typos so fuzzy matching has near misses to work through.
+ */
+public final class PostCorpus {
+
+    static final String[] ITEMS = {
+        "laptop", "phone", "tablet", "earbuds", "charger", "watch", "wallet", "keys",
+        "backpack", "jacket", "glasses", "umbrella", "notebook", "textbook", "bottle",
+        "calculator", "passport", "scarf", "hat", "pen",
+    };
+    static final String[] COLOURS = {
+        "black", "white", "red", "blue", "green", "grey", "silver", "brown",
+    };
+    static final String[] LOCATIONS = {
+        "Robarts Library", "Bahen Centre", "Sidney Smith Hall", "Hart House", "Gerstein Library",
+        "Myhal Centre", "Convocation Hall", "Athletic Centre", "Medical Sciences Building",
+    };
+    static final String[] FILLER = {
+        "left", "near", "the", "entrance", "on", "a", "table", "after", "lecture", "found",
+        "lost", "around", "noon", "second", "floor", "by", "window", "with", "sticker", "case",
+    };
+
+    private static final long SEED = 42L;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private PostCorpus() {
+    }
+
+    /**
+     * Generates posts. The same size always yields the same posts.
+     * @param size the number of posts
+     * @return the posts, with IDs 0 to size - 1
+     */
+    public static List<Post> generate(final int size) {
+        Random random = new Random(SEED);
+        List<Post> posts = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            String item = pick(random, ITEMS);
+            String colour = pick(random, COLOURS);
+            String location = pick(random, LOCATIONS);
+            boolean lost = random.nextBoolean();
+
+            String title = (lost ? "Lost " : "Found ") + colour + " " + maybeTypo(random, item);
+            StringBuilder description = new StringBuilder();
+            int words = 8 + random.nextInt(16);
+            for (int w = 0; w < words; w++) {
+                description.append(w == words / 2 ? item : pick(random, FILLER)).append(' ');
+            }
+            List<String> tags = new ArrayList<>(3);
+            tags.add(item);
+            tags.add(colour);
+            if (random.nextInt(4) == 0) {
+                tags.add(pick(random, ITEMS));
+            }
+            // Shuffled timestamps so sorting has real work to do
+            LocalDateTime timestamp = START.plusMinutes(random.nextInt(Math.max(size, 1) * 10));
+
+            posts.add(new Post(id, title, description.toString().trim(), tags, timestamp,
+                    "user" + random.nextInt(1000), location, null, lost, random.nextInt(50), new HashMap<>()));
+        }
+        return posts;
+    }
+
+    static String pick(final Random random, final String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // One post in eight swaps two adjacent letters
+    private static String maybeTypo(final Random random, final String word) {
+        if (word.length() < 3 || random.nextInt(8) != 0) {
+            return word;
+        }
+        int i = 1 + random.nextInt(word.length() - 2);
+        char[] chars = word.toCharArray();
+        char c = chars[i];
+        chars[i] = chars[i + 1];
+        chars[i + 1] = c;
+        return new String(chars);
+    }
+}
@@ -0,0 +1,83 @@
+package benchmark;
+
+import data_access.FirebasePostDataAccessObject;
+import data_access.PostSearchIndex;
+import entity.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criteria search and dashboard ordering over a synthetic corpus: the
+ * scanning filter used without a live replica, the posting-list index used
+ * with one, and the newest-first sort the dashboard applies before rendering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PostListBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int posts;
+
+    private List<Post> corpus;
+    private PostSearchIndex index;
+    private final List<String> tags = List.of("wallet", "keys");
+
+    @Setup
+    public void setUp() {
+        corpus = PostCorpus.generate(posts);
+        index = new PostSearchIndex();
+        for (Post post : corpus) {
+            index.add(String.valueOf(post.getPostID()), post);
+        }
+    }
+
+    @Benchmark
+    public List<Post> criteriaScan() {
+        List<Post> matches = new ArrayList<>();
+        for (Post post : corpus) {
+            if (FirebasePostDataAccessObject.matchesCriteria(post, "lost", "library", tags, true)) {
+                matches.add(post);
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public List<Post> criteriaIndex() {
+        return index.searchByCriteria("lost", "library", tags, true);
+    }
+
+    // Same comparator as DashboardView.updatePostsList
+    @Benchmark
+    public List<Post> sortNewestFirst() {
+        List<Post> sortedPosts = new ArrayList<>(corpus);
+        sortedPosts.sort((p1, p2) -> {
+            try {
+                LocalDateTime dt1 = LocalDateTime.parse(p1.getTimestamp());
+                LocalDateTime dt2 = LocalDateTime.parse(p2.getTimestamp());
+                return dt2.compareTo(dt1);
+            } catch (Exception e) {
+                return 0;
+            }
+        });
+        return sortedPosts;
+    }
+}
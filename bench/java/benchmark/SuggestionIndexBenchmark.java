@@ -0,0 +1,67 @@
+package benchmark;
+
+import data_access.SuggestionIndex;
+import entity.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead over a synthetic corpus: completing short and longer prefixes,
+ * which must stay well under a millisecond per keystroke, and re-indexing one
+ * edited post.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SuggestionIndexBenchmark {
+
+    @Param({"1000", "100000"})
+    private int posts;
+
+    private SuggestionIndex index;
+    private Post original;
+    private Post edited;
+
+    @Setup
+    public void setUp() {
+        List<Post> corpus = PostCorpus.generate(posts);
+        index = new SuggestionIndex();
+        for (Post post : corpus) {
+            index.onPostPut(String.valueOf(post.getPostID()), null, post);
+        }
+        original = corpus.get(0);
+        edited = PostCorpus.generate(2).get(1);
+    }
+
+    @Benchmark
+    public List<String> suggestOneLetter() {
+        return index.suggest("b", SuggestionIndex.MAX_SUGGESTIONS);
+    }
+
+    @Benchmark
+    public List<String> suggestWord() {
+        return index.suggest("robarts l", SuggestionIndex.MAX_SUGGESTIONS);
+    }
+
+    @Benchmark
+    public SuggestionIndex editPost() {
+        index.onPostPut("0", original, edited);
+        index.onPostPut("0", edited, original);
+        return index;
+    }
+}
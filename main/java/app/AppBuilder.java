@@ -7,10 +7,12 @@ import javax.swing.JPanel;
 import javax.swing.WindowConstants;
 
 import data_access.FirebaseConfig;
-import data_access.FirebasePostDataAccessObject;
-import data_access.FirebaseUserDataAccessObject;
+import data_access.DataAccessFactory;
+import data_access.PostDataAccessInterface;
+import data_access.UserDataAccessInterface;
 import entity.CommonUserFactory;
 import entity.UserFactory;
+import metrics.MetricsRegistry;
 import interface_adapter.ViewManagerModel;
 import interface_adapter.adminloggedIn.AdminLoggedInViewModel;
 import interface_adapter.change_password.ChangePasswordController;
@@ -39,6 +41,7 @@ import interface_adapter.change_username.ChangeUsernameViewModel;
 import interface_adapter.admin.AdminController;
 import interface_adapter.admin.AdminPresenter;
 import interface_adapter.admin.AdminViewModel;
+import use_case.QueryResultCache;
 import use_case.admin.AdminInputBoundary;
 import use_case.admin.AdminInteractor;
 import use_case.admin.AdminOutputBoundary;
@@ -77,6 +80,11 @@ import use_case.change_username.ChangeUsernameInteractor;
 import use_case.change_username.ChangeUsernameOutputBoundary;
 import use_case.change_username.ChangeUsernameUserDataAccessInterface;
 import view.DMsView;
+import interface_adapter.suggest.SuggestController;
+import interface_adapter.suggest.SuggestPresenter;
+import interface_adapter.suggest.SuggestViewModel;
+import use_case.suggest.SuggestInputBoundary;
+import use_case.suggest.SuggestInteractor;
 import interface_adapter.dms.DMsController;
 import interface_adapter.dms.DMsPresenter;
 import interface_adapter.dms.DMsViewModel;
@@ -92,10 +100,13 @@ import use_case.fuzzy_search.FuzzySearchInputBoundary;
 import use_case.fuzzy_search.FuzzySearchInteractor;
 import use_case.fuzzy_search.FuzzySearchOutputBoundary;
 import use_case.fuzzy_search.FuzzySearchUserDataAccessInterface;
-import data_access.FirebaseChatDataAccessObject;
+import use_case.fuzzy_search.util.FuzzyMatchHelper;
+import use_case.fuzzy_search.util.SynonymExpander;
 
 import view.*;
 import java.awt.Component;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * The AppBuilder class is responsible for putting together the pieces of
@@ -109,6 +120,13 @@ import java.awt.Component;
 //                  if your team decides to work with this as your starter code
 //                  for your final project this term.
 public class AppBuilder {
+    private static final String METRICS_FILE_PROPERTY = "metrics.dump.file";
+    private static final String METRICS_INTERVAL_PROPERTY = "metrics.dump.interval.seconds";
+    private static final String SEARCH_PARALLEL_THRESHOLD_PROPERTY = "search.parallel.threshold";
+    private static final String SEARCH_CACHE_SIZE_PROPERTY = "search.cache.size";
+    private static final String SEARCH_SYNONYMS_FILE_PROPERTY = "search.synonyms.file";
+    private static final String SEARCH_FIELD_BOOSTS_PROPERTY = "search.field.boosts";
+
     private final JPanel cardPanel = new JPanel();
     private final CardLayout cardLayout = new CardLayout();
     // thought question: is the hard dependency below a problem?
@@ -116,16 +134,19 @@ public class AppBuilder {
     private final ViewManagerModel viewManagerModel = new ViewManagerModel();
     private final ViewManager viewManager = new ViewManager(cardPanel, cardLayout, viewManagerModel);
 
-    // thought question: is the hard dependency below a problem?
-    private final FirebasePostDataAccessObject firebasePostDataAccessObject = new FirebasePostDataAccessObject();
-    // private final DBUserDataAccessObject userDataAccessObject = new DBUserDataAccessObject(userFactory);
-    // private final InMemoryUserDataAccessObject userDataAccessObject = new InMemoryUserDataAccessObject();
-    private final FirebaseUserDataAccessObject userDataAccessObject = new FirebaseUserDataAccessObject();
-    private final SearchUserDataAccessInterface postDataAccessObject = new FirebasePostDataAccessObject();
-    private final DashboardUserDataAccessInterface dashboardDataAccessObject = new FirebasePostDataAccessObject();
-    private final FirebasePostDataAccessObject adminDataAccessObject = new FirebasePostDataAccessObject();
-    private final FirebasePostDataAccessObject deletePostDataAccessObject = new FirebasePostDataAccessObject();
-    private final DMsUserDataAccessInterface dmsDataAccessObject = new FirebaseChatDataAccessObject();
+    // The storage backend (Firebase or the embedded local store) is chosen in firebase.properties.
+    // One post DAO is shared so the posts are replicated only once.
+    private final DataAccessFactory dataAccessFactory = DataAccessFactory.shared();
+    private final PostDataAccessInterface sharedPostDataAccessObject = dataAccessFactory.posts();
+    private final UserDataAccessInterface userDataAccessObject = dataAccessFactory.users();
+    private final SearchUserDataAccessInterface postDataAccessObject = sharedPostDataAccessObject;
+    private final DashboardUserDataAccessInterface dashboardDataAccessObject = sharedPostDataAccessObject;
+    private final AdminUserDataAccessInterface adminDataAccessObject = sharedPostDataAccessObject;
+    private final AdminUserDataAccessInterface deletePostDataAccessObject = sharedPostDataAccessObject;
+    private final DMsUserDataAccessInterface dmsDataAccessObject = dataAccessFactory.chats();
+    // Shared by every search use case, so the dashboard and the search view reuse each other's results
+    private final QueryResultCache searchResultCache = new QueryResultCache(Integer.parseInt(dataAccessFactory
+            .setting(SEARCH_CACHE_SIZE_PROPERTY, String.valueOf(QueryResultCache.DEFAULT_CAPACITY)).trim()));
 
     private SignupView signupView;
     private SignupViewModel signupViewModel;
@@ -158,7 +179,33 @@ public class AppBuilder {
 
     public AppBuilder() {
         // Initialize Firebase
-        FirebaseConfig.initializeFirebase();
+        if (!dataAccessFactory.isLocal()) {
+            FirebaseConfig.initializeFirebase();
+        }
+
+        String parallelThreshold = dataAccessFactory.setting(SEARCH_PARALLEL_THRESHOLD_PROPERTY, "");
+        if (!parallelThreshold.isEmpty()) {
+            FuzzyMatchHelper.setParallelThreshold(Integer.parseInt(parallelThreshold.trim()));
+        }
+
+        FuzzyMatchHelper.setFieldBoosts(dataAccessFactory.setting(SEARCH_FIELD_BOOSTS_PROPERTY, ""));
+
+        String synonymsFile = dataAccessFactory.setting(SEARCH_SYNONYMS_FILE_PROPERTY, "").trim();
+        if (!synonymsFile.isEmpty()) {
+            try {
+                SynonymExpander.useFile(Paths.get(synonymsFile));
+            } catch (IOException e) {
+                System.err.println("Error reading synonyms from " + synonymsFile + ", using the bundled ones: "
+                        + e.getMessage());
+            }
+        }
+
+        // Periodically write call metrics to a file if one is configured
+        String metricsFile = dataAccessFactory.setting(METRICS_FILE_PROPERTY, "");
+        if (!metricsFile.isEmpty()) {
+            MetricsRegistry.global().startDumping(Paths.get(metricsFile),
+                    Long.parseLong(dataAccessFactory.setting(METRICS_INTERVAL_PROPERTY, "60")));
+        }
 
         cardPanel.setLayout(cardLayout);
     }
@@ -306,7 +353,8 @@ public class AppBuilder {
 
     public AppBuilder addDeleteUserView() {
         deleteUserViewModel = new DeleteUserViewModel();
-        DeleteUserInputBoundary deleteUserUseCaseInteractor = new DeleteUserInteractor(userDataAccessObject, new DeleteUserPresenter(deleteUserViewModel));
+        DeleteUserInputBoundary deleteUserUseCaseInteractor = instrumented(DeleteUserInputBoundary.class,
+                new DeleteUserInteractor(userDataAccessObject, new DeleteUserPresenter(deleteUserViewModel)));
         DeleteUserController deleteUserController = new DeleteUserController(deleteUserUseCaseInteractor);
         // Initially create view with null controller
         deleteUserView = new DeleteUserView(deleteUserViewModel, deleteUserController, viewManagerModel);
@@ -318,9 +366,10 @@ public class AppBuilder {
         fuzzySearchViewModel = new FuzzySearchViewModel();
         
         // Create the use case components first so the view is ready immediately
-        FuzzySearchUserDataAccessInterface fuzzySearchDataAccessObject = firebasePostDataAccessObject;
+        FuzzySearchUserDataAccessInterface fuzzySearchDataAccessObject = sharedPostDataAccessObject;
         FuzzySearchOutputBoundary fuzzySearchPresenter = new FuzzySearchPresenter(fuzzySearchViewModel);
-        fuzzySearchUseCaseInteractor = new FuzzySearchInteractor(fuzzySearchDataAccessObject, fuzzySearchPresenter);
+        fuzzySearchUseCaseInteractor = instrumented(FuzzySearchInputBoundary.class,
+                new FuzzySearchInteractor(fuzzySearchDataAccessObject, fuzzySearchPresenter, searchResultCache));
         
         // Create controller with the interactor
         fuzzySearchController = new FuzzySearchController(fuzzySearchUseCaseInteractor);
@@ -345,8 +394,8 @@ public class AppBuilder {
         }
         final SignupOutputBoundary signupOutputBoundary = new SignupPresenter(viewManagerModel,
                 signupViewModel, loginViewModel, dashboardController);
-        final SignupInputBoundary userSignupInteractor = new SignupInteractor(
-                userDataAccessObject, signupOutputBoundary, userFactory);
+        final SignupInputBoundary userSignupInteractor = instrumented(SignupInputBoundary.class, new SignupInteractor(
+                userDataAccessObject, signupOutputBoundary, userFactory));
 
         final SignupController controller = new SignupController(userSignupInteractor);
         signupView.setSignupController(controller);
@@ -363,8 +412,8 @@ public class AppBuilder {
         }
         final LoginOutputBoundary loginOutputBoundary = new LoginPresenter(viewManagerModel,
                 loggedInViewModel, loginViewModel, dashboardController, adminloggedInView, adminloggedInViewModel);
-        final LoginInputBoundary loginInteractor = new LoginInteractor(
-                userDataAccessObject, loginOutputBoundary);
+        final LoginInputBoundary loginInteractor = instrumented(LoginInputBoundary.class, new LoginInteractor(
+                userDataAccessObject, loginOutputBoundary));
 
         final LoginController loginController = new LoginController(loginInteractor);
         loginView.setLoginController(loginController);
@@ -380,7 +429,8 @@ public class AppBuilder {
                 new ChangePasswordPresenter(loggedInViewModel);
 
         final ChangePasswordInputBoundary changePasswordInteractor =
-                new ChangePasswordInteractor(userDataAccessObject, changePasswordOutputBoundary, userFactory);
+                instrumented(ChangePasswordInputBoundary.class,
+                        new ChangePasswordInteractor(userDataAccessObject, changePasswordOutputBoundary, userFactory));
 
         final ChangePasswordController changePasswordController =
                 new ChangePasswordController(changePasswordInteractor);
@@ -398,7 +448,7 @@ public class AppBuilder {
                 loggedInViewModel, loginViewModel);
 
         final LogoutInputBoundary logoutInteractor =
-                new LogoutInteractor(userDataAccessObject, logoutOutputBoundary);
+                instrumented(LogoutInputBoundary.class, new LogoutInteractor(userDataAccessObject, logoutOutputBoundary));
 
         final LogoutController logoutController = new LogoutController(logoutInteractor);
         loggedInView.setLogoutController(logoutController);
@@ -412,7 +462,8 @@ public class AppBuilder {
      */
     public AppBuilder addSearchUseCase() {
         final SearchOutputBoundary searchOutputBoundary = new SearchPresenter(searchViewModel);
-        final SearchInputBoundary searchInteractor = new SearchInteractor(postDataAccessObject, searchOutputBoundary);
+        final SearchInputBoundary searchInteractor = instrumented(SearchInputBoundary.class,
+                new SearchInteractor(postDataAccessObject, searchOutputBoundary, searchResultCache));
         final SearchController searchController = new SearchController(searchInteractor, viewManagerModel);
         searchView.setSearchController(searchController);
         
@@ -429,7 +480,8 @@ public class AppBuilder {
      */
     public AppBuilder addDashboardUseCase() {
         final DashboardOutputBoundary dashboardOutputBoundary = new DashboardPresenter(dashboardViewModel);
-        final DashboardInputBoundary dashboardInteractor = new DashboardInteractor(dashboardDataAccessObject, dashboardOutputBoundary);
+        final DashboardInputBoundary dashboardInteractor = instrumented(DashboardInputBoundary.class,
+                new DashboardInteractor(dashboardDataAccessObject, dashboardOutputBoundary, searchResultCache));
         this.dashboardController = new DashboardController(dashboardInteractor, viewManagerModel);
         dashboardView.setDashboardController(dashboardController);
         dashboardController.setDashboardView(dashboardView);
@@ -442,7 +494,8 @@ public class AppBuilder {
 
     public AppBuilder addAdminUseCase() {
         final AdminOutputBoundary adminOutputBoundary = new AdminPresenter(adminViewModel);
-        final AdminInputBoundary adminInteractor = new AdminInteractor(adminDataAccessObject, adminOutputBoundary);
+        final AdminInputBoundary adminInteractor = instrumented(AdminInputBoundary.class,
+                new AdminInteractor(adminDataAccessObject, adminOutputBoundary));
         final AdminController adminController = new AdminController(adminInteractor, viewManagerModel);
         adminView.setAdminController(adminController);
         return this;
@@ -456,7 +509,8 @@ public class AppBuilder {
         changeUsernameViewModel = new ChangeUsernameViewModel();
         ChangeUsernameOutputBoundary outputBoundary = new ChangeUsernamePresenter(changeUsernameViewModel, loggedInViewModel);
         ChangeUsernameUserDataAccessInterface dao = userDataAccessObject;
-        ChangeUsernameInputBoundary interactor = new ChangeUsernameInteractor(dao, outputBoundary);
+        ChangeUsernameInputBoundary interactor = instrumented(ChangeUsernameInputBoundary.class,
+                new ChangeUsernameInteractor(dao, outputBoundary));
         changeUsernameController = new ChangeUsernameController(interactor);
         if (accountView != null) {
             accountView.setChangeUsernameController(changeUsernameController);
@@ -471,7 +525,8 @@ public class AppBuilder {
      */
     public AppBuilder addDMsUseCase() {
         final DMsOutputBoundary dMsOutputBoundary = new DMsPresenter(dmsViewModel);
-        final DMsInputBoundary dMsInteractor = new DMsInteractor(dmsDataAccessObject, dMsOutputBoundary);
+        final DMsInputBoundary dMsInteractor = instrumented(DMsInputBoundary.class,
+                new DMsInteractor(dmsDataAccessObject, dMsOutputBoundary));
         final DMsController dMsController = new DMsController(dMsInteractor);
         dmsView.setDMsController(dMsController);
         
@@ -488,11 +543,31 @@ public class AppBuilder {
         return this;
     }
 
+    /**
+     * Adds typeahead suggestions to the dashboard search field and the new DM field.
+     * @return this builder
+     */
+    public AppBuilder addSuggestUseCase() {
+        final SuggestViewModel suggestViewModel = new SuggestViewModel();
+        final SuggestInputBoundary suggestInteractor = instrumented(SuggestInputBoundary.class,
+                new SuggestInteractor(sharedPostDataAccessObject, userDataAccessObject,
+                        new SuggestPresenter(suggestViewModel)));
+        final SuggestController suggestController = new SuggestController(suggestInteractor);
+        if (dashboardView != null) {
+            dashboardView.setSuggestController(suggestController, suggestViewModel);
+        }
+        if (dmsView != null) {
+            dmsView.setSuggestController(suggestController, suggestViewModel);
+        }
+        return this;
+    }
+
     public AppBuilder addDeletePostUseCase() {
         final AdminOutputBoundary deletePostOutputBoundary =
                 new AdminPresenter(adminViewModel);
         final AdminInputBoundary deletePostInteractor =
-                new AdminInteractor(deletePostDataAccessObject, deletePostOutputBoundary);
+                instrumented(AdminInputBoundary.class,
+                        new AdminInteractor(deletePostDataAccessObject, deletePostOutputBoundary));
         final AdminController deletePostController =
                 new AdminController(deletePostInteractor,viewManagerModel);
 
@@ -503,9 +578,9 @@ public class AppBuilder {
 
     public AppBuilder addDeleteUserUseCase() {
         // Create all necessary components
-        FirebaseUserDataAccessObject userDataAccessObject = new FirebaseUserDataAccessObject();
         DeleteUserOutputBoundary deleteUserPresenter = new DeleteUserPresenter(deleteUserViewModel);
-        deleteUserUseCaseInteractor = new DeleteUserInteractor(userDataAccessObject, deleteUserPresenter);
+        deleteUserUseCaseInteractor = instrumented(DeleteUserInputBoundary.class,
+                new DeleteUserInteractor(userDataAccessObject, deleteUserPresenter));
 
         // Create controller with the interactor and set it to the view
         deleteUserController = new DeleteUserController(deleteUserUseCaseInteractor);
@@ -523,6 +598,13 @@ public class AppBuilder {
 
 
 
+    /**
+     * Wraps an interactor so every call to it is recorded in the global metrics.
+     */
+    private static <T> T instrumented(final Class<T> inputBoundary, final T interactor) {
+        return MetricsRegistry.global().instrument(inputBoundary, interactor, interactor.getClass().getSimpleName());
+    }
+
     /**
      * Creates the JFrame for the application and initially sets the SignupView to be displayed.
      * @return the application
@@ -32,20 +32,22 @@ public class Main {
                     .addDeletePostUseCase()
                     .addDeleteUserUseCase()
                     .addFuzzySearchView()
-                    .addDMsUseCase();
+                    .addDMsUseCase()
+                    .addSuggestUseCase();
 
             JFrame application = builder.build();
 
-            // Add shutdown hook to properly close Firebase connections
+            // Add shutdown hook to properly close storage connections
             application.addWindowListener(new WindowAdapter() {
                 @Override
                 public void windowClosing(WindowEvent e) {
                     System.out.println("Shutting down application...");
                     try {
-                        data_access.FirebaseConfig.shutdown();
+                        data_access.DataAccessFactory.shared().shutdown();
                     } catch (Exception ex) {
                         System.err.println("Error during shutdown: " + ex.getMessage());
                     }
+                    trace.Tracing.flush();
                     System.exit(0);
                 }
             });
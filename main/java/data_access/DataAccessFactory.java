@@ -0,0 +1,169 @@
+package data_access;
+
+import data_access.storage.LogRecordStore;
+import data_access.storage.RecordStore;
+import metrics.MetricsRegistry;
+import trace.Tracer;
+import use_case.dms.DMsUserDataAccessInterface;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Creates the application's data access objects for the configured storage backend.
+ *
+ * The backend is chosen by the "storage.backend" property in firebase.properties,
+ * which a system property of the same name overrides:
+ * <ul>
+ *     <li>"firebase" (the default) uses the Firebase Realtime Database.</li>
+ *     <li>"local" uses an embedded append-only log under "storage.local.directory"
+ *     (default "data"). Set "storage.local.sync" to true to force every write to disk.</li>
+ * </ul>
+ * Each data access object is created once, shared, and instrumented with the
+ * global {@link MetricsRegistry} under its class name.
+ */
+public class DataAccessFactory {
+
+    public static final String BACKEND_PROPERTY = "storage.backend";
+    public static final String DIRECTORY_PROPERTY = "storage.local.directory";
+    public static final String SYNC_PROPERTY = "storage.local.sync";
+    public static final String FIREBASE_BACKEND = "firebase";
+    public static final String LOCAL_BACKEND = "local";
+    private static final String DEFAULT_DIRECTORY = "data";
+    private static final Tracer TRACER = Tracer.get(DataAccessFactory.class);
+
+    private static DataAccessFactory shared;
+
+    private final Properties properties;
+    private final boolean local;
+    private RecordStore recordStore;
+    private UserDataAccessInterface users;
+    private UserProfileCache userProfiles;
+    private PostDataAccessInterface posts;
+    private DMsUserDataAccessInterface chats;
+
+    /**
+     * Creates a factory.
+     * @param properties the storage properties
+     * @throws IllegalArgumentException if the backend is not recognised
+     */
+    public DataAccessFactory(final Properties properties) {
+        this.properties = properties;
+        String backend = setting(BACKEND_PROPERTY, FIREBASE_BACKEND).trim().toLowerCase();
+        if (!backend.equals(FIREBASE_BACKEND) && !backend.equals(LOCAL_BACKEND)) {
+            throw new IllegalArgumentException("Unknown " + BACKEND_PROPERTY + ": " + backend);
+        }
+        this.local = backend.equals(LOCAL_BACKEND);
+        TRACER.info("Using {} storage backend", backend);
+    }
+
+    /**
+     * Gets the application-wide factory, configured from firebase.properties.
+     * @return the shared factory
+     */
+    public static synchronized DataAccessFactory shared() {
+        if (shared == null) {
+            Properties properties;
+            try {
+                properties = FirebaseConfig.loadProperties();
+            } catch (IOException e) {
+                TRACER.warn("Error loading storage properties: {}", e.getMessage());
+                properties = new Properties();
+            }
+            shared = new DataAccessFactory(properties);
+        }
+        return shared;
+    }
+
+    /**
+     * Tells whether the embedded local backend is selected.
+     * @return true for the local backend, false for Firebase
+     */
+    public boolean isLocal() {
+        return local;
+    }
+
+    /**
+     * Gets the user data access object.
+     * @return the shared user data access object
+     */
+    public synchronized UserDataAccessInterface users() {
+        if (users == null) {
+            users = instrument(UserDataAccessInterface.class,
+                    local ? new LocalUserDataAccessObject(recordStore()) : new FirebaseUserDataAccessObject());
+        }
+        return users;
+    }
+
+    /**
+     * Gets the cache of user profiles, backed by the user data access object.
+     * @return the shared profile cache
+     */
+    public synchronized UserProfileCache userProfiles() {
+        if (userProfiles == null) {
+            userProfiles = new UserProfileCache(users());
+        }
+        return userProfiles;
+    }
+
+    /**
+     * Gets the post data access object. With Firebase it keeps a live replica of the posts.
+     * @return the shared post data access object
+     */
+    public synchronized PostDataAccessInterface posts() {
+        if (posts == null) {
+            posts = instrument(PostDataAccessInterface.class, local
+                    ? new LocalPostDataAccessObject(recordStore(), userProfiles())
+                    : new FirebasePostDataAccessObject(true, userProfiles()));
+        }
+        return posts;
+    }
+
+    /**
+     * Gets the chat data access object.
+     * @return the shared chat data access object
+     */
+    public synchronized DMsUserDataAccessInterface chats() {
+        if (chats == null) {
+            chats = instrument(DMsUserDataAccessInterface.class,
+                    local ? new LocalChatDataAccessObject(recordStore(), users()) : new FirebaseChatDataAccessObject());
+        }
+        return chats;
+    }
+
+    /**
+     * Closes the backend's connections or files.
+     */
+    public synchronized void shutdown() {
+        if (recordStore != null) {
+            recordStore.close();
+            recordStore = null;
+        }
+        if (!local) {
+            FirebaseConfig.shutdown();
+        }
+    }
+
+    /**
+     * Gets a setting, preferring a system property over firebase.properties.
+     * @param name the property name
+     * @param defaultValue the value to use if the property is not set
+     * @return the setting
+     */
+    public String setting(final String name, final String defaultValue) {
+        return System.getProperty(name, properties.getProperty(name, defaultValue));
+    }
+
+    private static <T> T instrument(final Class<T> type, final T target) {
+        return MetricsRegistry.global().instrument(type, target, target.getClass().getSimpleName());
+    }
+
+    private RecordStore recordStore() {
+        if (recordStore == null) {
+            recordStore = new LogRecordStore(Paths.get(setting(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY)),
+                    Boolean.parseBoolean(setting(SYNC_PROPERTY, "false")));
+        }
+        return recordStore;
+    }
+}
@@ -1,75 +1,110 @@
 package data_access;
 
 import com.google.firebase.database.*;
+import metrics.MetricsRegistry;
 import use_case.dms.DMsUserDataAccessInterface;
+import use_case.dms.MessageSubscription;
+import use_case.dms.MessagesPage;
 import entity.User;
 import entity.Chat;
 import entity.Message;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.time.LocalDateTime;
 
+/**
+ * Firebase implementation of data access for chats and messages.
+ *
+ * Besides "chats" and "messages", every chat is listed under
+ * "userChats/{username}/{chatId}" for each participant, written in the same
+ * update as a group chat, or right after the transaction that creates a
+ * two-person chat. The value is the other participant for a
+ * two-person chat and true otherwise, so both listing a user's chats and
+ * finding the chat of a pair only read that user's entries.
+ */
 public class FirebaseChatDataAccessObject implements DMsUserDataAccessInterface {
 
+    public static final String CHATS_PATH = "chats";
+    public static final String USER_CHATS_PATH = "userChats";
+    // Set once every chat created before the index existed has been indexed
+    public static final String INDEX_MARKER_PATH = "meta/userChatsIndexed";
+    private static final String PAIR_CHAT_PREFIX = "dm_";
+
+    private final DatabaseReference rootRef;
     private final DatabaseReference chatsRef;
     private final DatabaseReference messagesRef;
+    private final DatabaseReference userChatsRef;
     private final FirebaseUserDataAccessObject userDAO;
+    private CompletableFuture<Void> indexReady;
 
     public FirebaseChatDataAccessObject() {
-        this.chatsRef = FirebaseDatabase.getInstance().getReference("chats");
+        this.rootRef = FirebaseDatabase.getInstance().getReference();
+        this.chatsRef = FirebaseDatabase.getInstance().getReference(CHATS_PATH);
         this.messagesRef = FirebaseDatabase.getInstance().getReference("messages");
+        this.userChatsRef = FirebaseDatabase.getInstance().getReference(USER_CHATS_PATH);
         this.userDAO = new FirebaseUserDataAccessObject();
     }
 
+    /**
+     * Gets the canonical chat ID of the two-person chat between two users.
+     * The ID does not depend on the order of the users, so both sides of a
+     * conversation always address the same chat.
+     * @param user1 one participant
+     * @param user2 the other participant
+     * @return the chat ID
+     */
+    public static String pairChatId(String user1, String user2) {
+        boolean inOrder = user1.compareTo(user2) <= 0;
+        String first = inOrder ? user1 : user2;
+        String second = inOrder ? user2 : user1;
+        // Usernames are already valid keys; the length prefix keeps the split unambiguous
+        return PAIR_CHAT_PREFIX + first.length() + "_" + first + "_" + second;
+    }
+
     @Override
     public List<Chat> getChatsForUser(String username) {
+        try {
+            return getChatsForUserAsync(username).get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println("DEBUG: Error getting chats: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Chat>> getChatsForUserAsync(String username) {
         System.out.println("\n=== DEBUG: FirebaseChatDataAccessObject.getChatsForUser() called ===");
         System.out.println("DEBUG: Getting chats for user: '" + username + "'");
-        CompletableFuture<List<Chat>> future = new CompletableFuture<>();
 
-        // Get all chats and filter by participants
-        chatsRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
-                List<Chat> chats = new ArrayList<>();
-                for (DataSnapshot chatSnapshot : dataSnapshot.getChildren()) {
-                    Chat chat = chatSnapshot.getValue(Chat.class);
-                    if (chat != null && chat.getParticipants() != null) {
-                        // Check if the user is a participant in this chat
-                        boolean isParticipant = false;
-                        for (String participant : chat.getParticipants()) {
-                            if (participant.equals(username)) {
-                                isParticipant = true;
-                                break;
-                            }
-                        }
-                        if (isParticipant) {
+        // Keyed read of the user's index, then the listed chats in parallel
+        return userChatIndex()
+            .thenCompose(ready -> readUserChats(username))
+            .thenCompose(chatIds -> {
+                List<CompletableFuture<Chat>> reads = new ArrayList<>();
+                for (String chatId : chatIds) {
+                    reads.add(getChatByIdAsync(chatId));
+                }
+                return CompletableFuture.allOf(reads.toArray(new CompletableFuture[0])).thenApply(done -> {
+                    List<Chat> chats = new ArrayList<>();
+                    for (CompletableFuture<Chat> read : reads) {
+                        Chat chat = read.join();
+                        if (chat != null) {
                             chats.add(chat);
                         }
                     }
-                }
-                System.out.println("DEBUG: Firebase chats retrieved: " + chats.size());
-                future.complete(chats);
-            }
-
-            @Override
-            public void onCancelled(DatabaseError databaseError) {
-                System.out.println("DEBUG: Firebase error getting chats: " + databaseError.getMessage());
-                future.completeExceptionally(new RuntimeException("Failed to get chats: " + databaseError.getMessage()));
-            }
-        });
-
-        try {
-            return future.get(5, TimeUnit.SECONDS);
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            System.err.println("DEBUG: Error getting chats: " + e.getMessage());
-            return new ArrayList<>();
-        }
+                    System.out.println("DEBUG: Firebase chats retrieved: " + chats.size());
+                    return chats;
+                });
+            });
     }
 
     @Override
@@ -81,14 +116,21 @@ public class FirebaseChatDataAccessObject implements DMsUserDataAccessInterface
             System.out.println("DEBUG: Participant: " + participant);
         }
 
-        String chatId = generateChatId();
+        boolean pair = participants.size() == 2 && !participants.get(0).equals(participants.get(1));
+        String chatId = pair ? pairChatId(participants.get(0), participants.get(1)) : generateChatId();
         LocalDateTime createdAt = LocalDateTime.now();
         Chat chat = new Chat(chatId, participants, createdAt, false);
 
         System.out.println("DEBUG: About to save chat to Firebase with ID: " + chatId);
+        if (pair) {
+            return createPairChat(chat);
+        }
 
-        // Use a simpler approach - just save and return the chat
-        chatsRef.child(chatId).setValue(chat, new DatabaseReference.CompletionListener() {
+        // The chat and its index entries are written in one atomic multi-path update
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(CHATS_PATH + "/" + chatId, chat);
+        updates.putAll(indexEntries(chat));
+        rootRef.updateChildren(updates, new DatabaseReference.CompletionListener() {
             @Override
             public void onComplete(DatabaseError databaseError, DatabaseReference databaseReference) {
                 if (databaseError != null) {
@@ -104,6 +146,55 @@ public class FirebaseChatDataAccessObject implements DMsUserDataAccessInterface
         return chat;
     }
 
+    /**
+     * Creates a two-person chat unless its canonical ID is already taken, so
+     * starting the same conversation again never resets the chat's creation
+     * time or block. The chat node is written in a transaction that aborts if
+     * it exists; the index entries are the same either way and are written after.
+     * @return the chat as stored: the new one, or the one that already existed
+     */
+    private Chat createPairChat(Chat chat) {
+        String chatId = chat.getChatId();
+        CompletableFuture<Chat> stored = new CompletableFuture<>();
+        chatsRef.child(chatId).runTransaction(new Transaction.Handler() {
+            @Override
+            public Transaction.Result doTransaction(MutableData currentData) {
+                if (currentData.getValue() != null) {
+                    return Transaction.abort();
+                }
+                currentData.setValue(chat);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(DatabaseError databaseError, boolean committed, DataSnapshot currentData) {
+                if (databaseError != null) {
+                    stored.completeExceptionally(new RuntimeException("Failed to create chat: "
+                        + databaseError.getMessage()));
+                    return;
+                }
+                Chat existing = committed ? null : currentData.getValue(Chat.class);
+                Chat result = existing != null ? existing : chat;
+                result.setChatId(chatId);
+                System.out.println("DEBUG: Firebase chat " + (existing != null ? "already exists: " : "created: ") + chatId);
+                rootRef.updateChildren(indexEntries(result), (indexError, indexRef) -> {
+                    if (indexError != null) {
+                        System.err.println("DEBUG: Firebase error indexing chat: " + indexError.getMessage());
+                    }
+                });
+                stored.complete(result);
+            }
+        });
+
+        try {
+            return stored.get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println("DEBUG: Error creating chat: " + e.getMessage());
+            return chat;
+        }
+    }
+
     @Override
     public Message sendMessage(String chatId, String sender, String content) {
         System.out.println("\n=== DEBUG: FirebaseChatDataAccessObject.sendMessage() called ===");
@@ -129,6 +220,17 @@ public class FirebaseChatDataAccessObject implements DMsUserDataAccessInterface
 
     @Override
     public List<Message> getMessagesForChat(String chatId) {
+        try {
+            return getMessagesForChatAsync(chatId).get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println("DEBUG: Error getting messages: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Message>> getMessagesForChatAsync(String chatId) {
         System.out.println("\n=== DEBUG: FirebaseChatDataAccessObject.getMessagesForChat() called ===");
         System.out.println("DEBUG: Getting messages for chat: '" + chatId + "'");
 
@@ -154,17 +256,103 @@ public class FirebaseChatDataAccessObject implements DMsUserDataAccessInterface
                 future.completeExceptionally(new RuntimeException("Failed to get messages: " + databaseError.getMessage()));
             }
         });
+        return future;
+    }
 
+    @Override
+    public MessagesPage getMessagesPage(String chatId, String beforeMessageId, int limit) {
         try {
-            return future.get(5, TimeUnit.SECONDS);
+            return getMessagesPageAsync(chatId, beforeMessageId, limit).get(5, TimeUnit.SECONDS);
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            System.err.println("DEBUG: Error getting messages: " + e.getMessage());
-            return new ArrayList<>();
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println("DEBUG: Error getting messages page: " + e.getMessage());
+            return new MessagesPage(new ArrayList<>(), null);
+        }
+    }
+
+    @Override
+    public CompletableFuture<MessagesPage> getMessagesPageAsync(String chatId, String beforeMessageId, int limit) {
+        System.out.println("DEBUG: Getting " + limit + " messages for chat '" + chatId + "' before: " + beforeMessageId);
+
+        // Message IDs start with the send time, so key order is chronological.
+        // One extra message is read to tell whether older history remains; endAt is
+        // inclusive, so the cursor message itself comes back too and is dropped.
+        Query query = messagesRef.child(chatId).orderByKey();
+        if (beforeMessageId != null) {
+            query = query.endAt(beforeMessageId).limitToLast(limit + 2);
+        } else {
+            query = query.limitToLast(limit + 1);
+        }
+        return readValue(query).thenApply(snapshot -> {
+            List<Message> messages = new ArrayList<>();
+            for (DataSnapshot messageSnapshot : snapshot.getChildren()) {
+                Message message = messageSnapshot.getValue(Message.class);
+                if (message != null && !messageSnapshot.getKey().equals(beforeMessageId)) {
+                    messages.add(message);
+                }
+            }
+            String olderCursor = null;
+            if (messages.size() > limit) {
+                messages = new ArrayList<>(messages.subList(messages.size() - limit, messages.size()));
+                olderCursor = messages.get(0).getMessageId();
+            }
+            return new MessagesPage(messages, olderCursor);
+        });
+    }
+
+    @Override
+    public MessageSubscription subscribeToMessages(String chatId, String afterMessageId, Consumer<Message> listener) {
+        System.out.println("DEBUG: Subscribing to messages of chat '" + chatId + "' after: " + afterMessageId);
+
+        // startAt is inclusive, so the last message already shown is delivered again and skipped
+        Query query = messagesRef.child(chatId).orderByKey();
+        if (afterMessageId != null) {
+            query = query.startAt(afterMessageId);
         }
+        ChildEventListener childListener = new ChildEventListener() {
+            @Override
+            public void onChildAdded(DataSnapshot snapshot, String previousChildName) {
+                Message message = snapshot.getValue(Message.class);
+                if (message != null && !snapshot.getKey().equals(afterMessageId)) {
+                    listener.accept(message);
+                }
+            }
+
+            @Override
+            public void onChildChanged(DataSnapshot snapshot, String previousChildName) {
+            }
+
+            @Override
+            public void onChildRemoved(DataSnapshot snapshot) {
+            }
+
+            @Override
+            public void onChildMoved(DataSnapshot snapshot, String previousChildName) {
+            }
+
+            @Override
+            public void onCancelled(DatabaseError databaseError) {
+                System.err.println("DEBUG: Message subscription cancelled: " + databaseError.getMessage());
+            }
+        };
+        query.addChildEventListener(childListener);
+        Query subscribed = query;
+        return () -> subscribed.removeEventListener(childListener);
     }
 
     @Override
     public Chat getChatById(String chatId) {
+        try {
+            return getChatByIdAsync(chatId).get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println("DEBUG: Error getting chat: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Chat> getChatByIdAsync(String chatId) {
         System.out.println("\n=== DEBUG: FirebaseChatDataAccessObject.getChatById() called ===");
         System.out.println("DEBUG: Getting chat by ID: '" + chatId + "'");
 
@@ -184,13 +372,7 @@ public class FirebaseChatDataAccessObject implements DMsUserDataAccessInterface
                 future.completeExceptionally(new RuntimeException("Failed to get chat: " + databaseError.getMessage()));
             }
         });
-
-        try {
-            return future.get(5, TimeUnit.SECONDS);
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            System.err.println("DEBUG: Error getting chat: " + e.getMessage());
-            return null;
-        }
+        return future;
     }
 
     private String generateChatId() {
@@ -206,47 +388,116 @@ public class FirebaseChatDataAccessObject implements DMsUserDataAccessInterface
         return userDAO.get(username);
     }
 
+    @Override
+    public CompletableFuture<User> getUserByUsernameAsync(String username) {
+        return userDAO.getAsync(username);
+    }
+
     @Override
     public boolean chatExistsBetweenUsers(String user1, String user2) {
         System.out.println("\n=== DEBUG: FirebaseChatDataAccessObject.chatExistsBetweenUsers() called ===");
         System.out.println("DEBUG: Checking if chat exists between: '" + user1 + "' and '" + user2 + "'");
 
-        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        // Chats created before canonical pair IDs keep their old IDs, so match on the indexed peer
+        CompletableFuture<Boolean> future = userChatIndex()
+            .thenCompose(ready -> readValue(userChatsRef.child(user1).orderByValue().equalTo(user2).limitToFirst(1)))
+            .thenApply(match -> {
+                System.out.println("DEBUG: Chat exists between users: " + match.exists());
+                return match.exists();
+            });
 
-        // Get all chats and check if any contain both users
-        chatsRef.addListenerForSingleValueEvent(new ValueEventListener() {
+        try {
+            return future.get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println("DEBUG: Error checking chat existence: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads the IDs of the chats indexed for a user, in key order.
+     */
+    private CompletableFuture<List<String>> readUserChats(String username) {
+        return readValue(userChatsRef.child(username)).thenApply(entries -> {
+            List<String> chatIds = new ArrayList<>();
+            for (DataSnapshot entry : entries.getChildren()) {
+                chatIds.add(entry.getKey());
+            }
+            return chatIds;
+        });
+    }
+
+    /**
+     * Builds the "userChats" entries of a chat, relative to the database root.
+     */
+    private static Map<String, Object> indexEntries(Chat chat) {
+        Map<String, Object> entries = new HashMap<>();
+        List<String> participants = chat.getParticipants();
+        for (String participant : participants) {
+            Object value = Boolean.TRUE;
+            if (participants.size() == 2) {
+                value = participant.equals(participants.get(0)) ? participants.get(1) : participants.get(0);
+            }
+            entries.put(USER_CHATS_PATH + "/" + participant + "/" + chat.getChatId(), value);
+        }
+        return entries;
+    }
+
+    /**
+     * Makes sure chats created before the index existed are indexed. The first
+     * call per process reads the marker; if it is missing, every chat is scanned
+     * once and indexed together with the marker. A failed attempt is retried on
+     * the next call.
+     */
+    private synchronized CompletableFuture<Void> userChatIndex() {
+        if (indexReady == null || indexReady.isCompletedExceptionally()) {
+            indexReady = readValue(rootRef.child(INDEX_MARKER_PATH))
+                .thenCompose(marker -> marker.exists() ? CompletableFuture.completedFuture(null) : backfillIndex());
+        }
+        return indexReady;
+    }
+
+    private CompletableFuture<Void> backfillIndex() {
+        System.out.println("DEBUG: Indexing existing chats under " + USER_CHATS_PATH);
+        return readValue(chatsRef).thenCompose(allChats -> {
+            Map<String, Object> updates = new HashMap<>();
+            for (DataSnapshot chatSnapshot : allChats.getChildren()) {
+                Chat chat = chatSnapshot.getValue(Chat.class);
+                if (chat != null && chat.getParticipants() != null) {
+                    chat.setChatId(chatSnapshot.getKey());
+                    updates.putAll(indexEntries(chat));
+                }
+            }
+            updates.put(INDEX_MARKER_PATH, Boolean.TRUE);
+
+            CompletableFuture<Void> written = new CompletableFuture<>();
+            rootRef.updateChildren(updates, (databaseError, databaseReference) -> {
+                if (databaseError != null) {
+                    written.completeExceptionally(new RuntimeException("Failed to index chats: " + databaseError.getMessage()));
+                } else {
+                    System.out.println("DEBUG: Indexed " + (updates.size() - 1) + " chat memberships");
+                    written.complete(null);
+                }
+            });
+            return written;
+        });
+    }
+
+    private static CompletableFuture<DataSnapshot> readValue(Query query) {
+        CompletableFuture<DataSnapshot> future = new CompletableFuture<>();
+        query.addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
             public void onDataChange(DataSnapshot dataSnapshot) {
-                boolean exists = false;
-                for (DataSnapshot chatSnapshot : dataSnapshot.getChildren()) {
-                    Chat chat = chatSnapshot.getValue(Chat.class);
-                    if (chat != null && chat.getParticipants() != null) {
-                        List<String> participants = chat.getParticipants();
-                        if (participants.size() == 2 &&
-                                participants.contains(user1) &&
-                                participants.contains(user2)) {
-                            exists = true;
-                            break;
-                        }
-                    }
-                }
-                System.out.println("DEBUG: Chat exists between users: " + exists);
-                future.complete(exists);
+                future.complete(dataSnapshot);
             }
 
             @Override
             public void onCancelled(DatabaseError databaseError) {
-                System.out.println("DEBUG: Firebase error checking chat existence: " + databaseError.getMessage());
-                future.completeExceptionally(new RuntimeException("Failed to check chat existence: " + databaseError.getMessage()));
+                future.completeExceptionally(new RuntimeException(databaseError.getMessage()));
             }
         });
-
-        try {
-            return future.get(5, TimeUnit.SECONDS);
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            System.err.println("DEBUG: Error checking chat existence: " + e.getMessage());
-            return false;
-        }
+        return future;
     }
 
     public void updateChatIsBlocked(String chatId, boolean isBlocked) {
@@ -289,6 +540,7 @@ public class FirebaseChatDataAccessObject implements DMsUserDataAccessInterface
         try {
             return future.get(5, TimeUnit.SECONDS);
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
             System.err.println("DEBUG: Error checking isBlocked: " + e.getMessage());
             return false; // or throw an exception, depending on your use case
         }
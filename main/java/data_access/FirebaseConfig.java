@@ -26,15 +26,8 @@ public class FirebaseConfig {
         }
         
         try {
-            // Load properties
-            Properties properties = new Properties();
-            try (InputStream input = FirebaseConfig.class.getClassLoader()
-                    .getResourceAsStream("firebase.properties")) {
-                if (input != null) {
-                    properties.load(input);
-                }
-            }
-            
+            Properties properties = loadProperties();
+
             String projectId = properties.getProperty("firebase.project.id", "csc207-cfda3");
             String databaseUrl = properties.getProperty("firebase.database.url",
                     "https://csc207-cfda3-default-rtdb.firebaseio.com");
@@ -72,6 +65,22 @@ public class FirebaseConfig {
         }
     }
     
+    /**
+     * Loads firebase.properties from the classpath.
+     * @return the properties, empty if the file is missing
+     * @throws IOException if the file cannot be read
+     */
+    static Properties loadProperties() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = FirebaseConfig.class.getClassLoader()
+                .getResourceAsStream("firebase.properties")) {
+            if (input != null) {
+                properties.load(input);
+            }
+        }
+        return properties;
+    }
+
     public static FirebaseDatabase getDatabase() {
         if (!initialized) {
             initializeFirebase();
@@ -10,8 +10,15 @@ import com.google.cloud.firestore.WriteResult;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
 import entity.Comment;
 import entity.Post;
-import use_case.dashboard.DashboardUserDataAccessInterface;
-import use_case.search.SearchUserDataAccessInterface;
+import entity.SearchDocument;
+import metrics.MetricsRegistry;
+import trace.Tracer;
+import use_case.AsyncDataAccess;
+import use_case.QueryResultCache;
+import use_case.dashboard.FacetCounts;
+import use_case.dashboard.FacetFilter;
+import use_case.dashboard.PostsPage;
+import use_case.fuzzy_search.util.TermStatistics;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -22,115 +29,493 @@ import java.util.concurrent.atomic.AtomicBoolean;
 /**
  * Firebase implementation of data access for posts.
  */
-public class FirebasePostDataAccessObject implements
-        DashboardUserDataAccessInterface,
-        SearchUserDataAccessInterface,
-        use_case.fuzzy_search.FuzzySearchUserDataAccessInterface,
-        use_case.admin.AdminUserDataAccessInterface {
+public class FirebasePostDataAccessObject implements PostDataAccessInterface {
 
     // Constants for magic numbers
+    private static final Tracer TRACER = Tracer.get(FirebasePostDataAccessObject.class);
     private static final int TIMEOUT_SECONDS = 5;
-    private static final int INITIAL_POST_COUNT = 0;
     private static final int MAX_POST_ID = 0;
     private static final int INCREMENT_VALUE = 1;
     private static final int DEFAULT_LIKES = 0;
     private static final int CREDIBILITY_POINTS = 1;
     private static final String POSTS_REFERENCE = "posts";
+    private static final String POST_INDEX_REFERENCE = "postIndex";
+    private static final String POST_COUNTER_REFERENCE = "counters/postID";
     private static final String TIMESTAMP_FIELD = "timestamp";
     private static final String POST_ID_FIELD = "postID";
+    private static final String AUTHOR_FIELD = "author";
+    private static final char CURSOR_SEPARATOR = '|';
     private static final String ANONYMOUS_AUTHOR = "anonymous";
-    private static final String DEBUG_PREFIX = "DEBUG: ";
     private static final String ERROR_PREFIX = "Error: ";
     private static final String FIREBASE_DAO_PREFIX = "FirebaseDAO: ";
 
     private final DatabaseReference postsRef;
     private final DateTimeFormatter dateFormatter;
     private final FirebaseDatabase database;
+    private final DatabaseReference postIndexRef;
+    private final DatabaseReference rootRef;
+    private final PostKeyIndex postKeys = new PostKeyIndex();
+    private final PostStore postStore;
+    private final PostSearchIndex searchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final PostIdAllocator postIdAllocator;
+    private final UserProfileCache userProfiles;
 
     /**
-     * Creates a new FirebasePostDataAccessObject.
+     * Creates a new FirebasePostDataAccessObject without live sync, reading
+     * users through the shared profile cache.
      */
     public FirebasePostDataAccessObject() {
+        this(false, UserProfileCache.shared());
+    }
+
+    /**
+     * Creates a new FirebasePostDataAccessObject.
+     * @param liveSync if true, keep a local replica of the posts node current through a
+     *                 persistent child listener and serve reads from memory
+     * @param userProfiles the cache user reads and writes go through
+     */
+    public FirebasePostDataAccessObject(final boolean liveSync, final UserProfileCache userProfiles) {
+        this.userProfiles = userProfiles;
         this.postsRef = FirebaseConfig.getDatabase().getReference(POSTS_REFERENCE);
         this.dateFormatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
         this.database = FirebaseConfig.getDatabase();
+        this.postIndexRef = database.getReference(POST_INDEX_REFERENCE);
+        this.rootRef = database.getReference();
+        this.postStore = liveSync ? new PostStore(postKeys) : null;
+        this.searchIndex = liveSync ? new PostSearchIndex() : null;
+        this.suggestionIndex = liveSync ? new SuggestionIndex() : null;
+        this.postIdAllocator = new PostIdAllocator(database.getReference(POST_COUNTER_REFERENCE),
+                this::findHighestPostId, PostIdAllocator.DEFAULT_BLOCK_SIZE);
+        if (postStore != null) {
+            postStore.addListener(searchIndex);
+            postStore.addListener(suggestionIndex);
+            postStore.attach(postsRef);
+        }
+    }
+
+    /**
+     * Detaches the live listener, if any. Reads fall back to Firebase once the
+     * replica is no longer maintained.
+     */
+    public void stopLiveSync() {
+        if (postStore != null) {
+            postStore.detach();
+        }
+    }
+
+    /**
+     * Gets the local replica when live sync is on and the initial load has finished.
+     * The first caller waits up to the usual timeout for seeding.
+     * @return the seeded store, or null to read from Firebase directly
+     */
+    private PostStore liveStore() {
+        if (postStore == null) {
+            return null;
+        }
+        if (!postStore.isSeeded()) {
+            postStore.awaitSeeded(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        return postStore.isLive() ? postStore : null;
+    }
+
+    /**
+     * Resolves the Firebase key of a post through the postID index.
+     * With a live store the in-memory mirror follows every delete, so it is
+     * read directly. Otherwise the mirror may still hold a post another client
+     * deleted, so the single postIndex entry is read instead.
+     * @param postID the post ID
+     * @return the Firebase key, or null if the index has no entry
+     */
+    private String resolvePostKey(final int postID) {
+        if (liveStore() != null) {
+            return postKeys.get(postID);
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        postIndexRef.child(String.valueOf(postID)).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(final DataSnapshot dataSnapshot) {
+                future.complete(dataSnapshot.getValue(String.class));
+            }
+
+            @Override
+            public void onCancelled(final DatabaseError databaseError) {
+                future.completeExceptionally(new RuntimeException("Failed to read post index: "
+                    + databaseError.getMessage()));
+            }
+        });
+
+        String key;
+        try {
+            key = future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println(ERROR_PREFIX + "reading post index: " + e.getMessage());
+            return null;
+        }
+        if (key != null) {
+            postKeys.put(postID, key);
+        } else {
+            postKeys.remove(postID);
+        }
+        return key;
+    }
+
+    /**
+     * Records a postID to Firebase key mapping in memory and in the postIndex node.
+     * Used to backfill posts found through the legacy query path; writes keep
+     * the index current through writePostAndIndex.
+     * @param postID the post ID
+     * @param firebaseKey the Firebase key
+     */
+    private void indexPost(final int postID, final String firebaseKey) {
+        if (firebaseKey == null) {
+            return;
+        }
+        postKeys.put(postID, firebaseKey);
+        postIndexRef.child(String.valueOf(postID)).setValue(firebaseKey, (databaseError, databaseReference) -> {
+            if (databaseError != null) {
+                System.err.println(ERROR_PREFIX + "writing post index: " + databaseError.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Writes a post and its postIndex entry in one atomic multi-path update, so
+     * the index can never point at a post that was deleted or never written.
+     * The in-memory mirror follows once the write succeeds.
+     * @param firebaseKey the Firebase key
+     * @param postID the post ID
+     * @param post the post to write, or null to delete the post and its index entry
+     * @param onComplete called with the outcome of the update
+     */
+    private void writePostAndIndex(final String firebaseKey, final int postID, final Post post,
+                                   final DatabaseReference.CompletionListener onComplete) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(POSTS_REFERENCE + "/" + firebaseKey, post);
+        updates.put(POST_INDEX_REFERENCE + "/" + postID, post == null ? null : firebaseKey);
+        rootRef.updateChildren(updates, (databaseError, databaseReference) -> {
+            if (databaseError == null) {
+                if (post == null) {
+                    postKeys.remove(postID);
+                } else {
+                    postKeys.put(postID, firebaseKey);
+                }
+            }
+            onComplete.onComplete(databaseError, databaseReference);
+        });
+    }
+
+    /**
+     * Rebuilds the postIndex node from a full scan of the posts node.
+     * Run once to migrate boards created before the index existed.
+     * @return the number of indexed posts, or -1 if the rebuild failed
+     */
+    public int rebuildPostIndex() {
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        postsRef.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(final DataSnapshot dataSnapshot) {
+                Map<String, Object> mapping = new HashMap<>();
+                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                    Post post = snapshot.getValue(Post.class);
+                    if (post != null) {
+                        mapping.put(String.valueOf(post.getPostID()), snapshot.getKey());
+                    }
+                }
+                future.complete(mapping);
+            }
+
+            @Override
+            public void onCancelled(final DatabaseError databaseError) {
+                future.completeExceptionally(new RuntimeException("Failed to scan posts: "
+                    + databaseError.getMessage()));
+            }
+        });
+
+        try {
+            Map<String, Object> mapping = future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            postIndexRef.setValueAsync(mapping).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            for (Map.Entry<String, Object> entry : mapping.entrySet()) {
+                postKeys.put(Integer.parseInt(entry.getKey()), (String) entry.getValue());
+            }
+            return mapping.size();
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println(ERROR_PREFIX + "rebuilding post index: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Reads a single post by its Firebase key. With live sync the post is a
+     * copy, so editing it leaves the replica as the server last confirmed it.
+     * @param firebaseKey the Firebase key
+     * @return the post, or null if it does not exist or the read failed
+     */
+    private Post readPostByKey(final String firebaseKey) {
+        PostStore store = liveStore();
+        if (store != null) {
+            return store.get(firebaseKey);
+        }
+        CompletableFuture<Post> future = new CompletableFuture<>();
+        postsRef.child(firebaseKey).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(final DataSnapshot dataSnapshot) {
+                future.complete(dataSnapshot.getValue(Post.class));
+            }
+
+            @Override
+            public void onCancelled(final DatabaseError databaseError) {
+                future.completeExceptionally(new RuntimeException("Failed to load post: "
+                    + databaseError.getMessage()));
+            }
+        });
+
+        try {
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println(ERROR_PREFIX + "fetching post: " + e.getMessage());
+            return null;
+        }
     }
 
     @Override
     public List<Post> getAllPosts() {
-        System.out.println("\n=== DEBUG: getAllPosts() called ===");
+        PostStore store = liveStore();
+        if (store != null) {
+            return store.getAllPosts();
+        }
+        TRACER.debug("getAllPosts() reading from Firebase");
         CompletableFuture<List<Post>> future = new CompletableFuture<>();
 
-        System.out.println(DEBUG_PREFIX + "Setting up Firebase listener...");
         postsRef.orderByChild(TIMESTAMP_FIELD)
             .addListenerForSingleValueEvent(new ValueEventListener() {
                 @Override
                 public void onDataChange(final DataSnapshot dataSnapshot) {
-                    System.out.println(DEBUG_PREFIX + "Firebase onDataChange called");
                     List<Post> posts = new ArrayList<>();
-                    int postCount = INITIAL_POST_COUNT;
                     for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
                         Post post = snapshot.getValue(Post.class);
                         if (post != null) {
                             posts.add(post);
-                            postCount++;
+                            postKeys.put(post.getPostID(), snapshot.getKey());
                         } else {
-                            System.out.println(DEBUG_PREFIX 
-                                + "Warning - null post found in snapshot");
+                            TRACER.warn("Null post found in snapshot {}", snapshot.getKey());
                         }
                     }
-                    System.out.println(DEBUG_PREFIX + "Retrieved " + postCount 
-                        + " posts from Firebase");
+                    TRACER.debug("Retrieved {} posts from Firebase", posts.size());
                     future.complete(posts);
                 }
 
                 @Override
                 public void onCancelled(final DatabaseError databaseError) {
-                    System.out.println(DEBUG_PREFIX + "Firebase onCancelled called with error: " 
-                        + databaseError.getMessage());
                     future.completeExceptionally(new RuntimeException("Failed to load posts: " 
                         + databaseError.getMessage()));
                 }
             });
 
         try {
-            System.out.println(DEBUG_PREFIX + "Waiting for Firebase response (timeout: " 
-                + TIMEOUT_SECONDS + " seconds)...");
-            List<Post> result = future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-            System.out.println(DEBUG_PREFIX + "getAllPosts() returning " + result.size() 
-                + " posts");
-            return result;
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
-            System.out.println(DEBUG_PREFIX + "InterruptedException in getAllPosts(): " 
-                + e.getMessage());
-            e.printStackTrace();
+            Thread.currentThread().interrupt();
             System.err.println(ERROR_PREFIX + "fetching posts: " + e.getMessage());
             return new ArrayList<>();
-        } catch (ExecutionException e) {
-            System.out.println(DEBUG_PREFIX + "ExecutionException in getAllPosts(): " 
-                + e.getMessage());
-            System.out.println(DEBUG_PREFIX + "ExecutionException cause: " 
-                + (e.getCause() != null ? e.getCause().getClass().getSimpleName() : "null"));
-            e.printStackTrace();
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            MetricsRegistry.reportIfTimeout(e);
             System.err.println(ERROR_PREFIX + "fetching posts: " + e.getMessage());
             return new ArrayList<>();
-        } catch (TimeoutException e) {
-            System.out.println(DEBUG_PREFIX + "TimeoutException in getAllPosts(): " 
-                + e.getMessage());
-            e.printStackTrace();
-            System.err.println(ERROR_PREFIX + "fetching posts: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the local replica without blocking. If the initial load is still
+     * running, the wait happens on the shared data access executor.
+     * @return a future of the seeded store, or of null to read from Firebase directly
+     */
+    private CompletableFuture<PostStore> liveStoreAsync() {
+        if (postStore == null || postStore.isSeeded()) {
+            return CompletableFuture.completedFuture(postStore != null && postStore.isLive() ? postStore : null);
+        }
+        return AsyncDataAccess.supply(this::liveStore);
+    }
+
+    @Override
+    public CompletableFuture<List<Post>> getAllPostsAsync() {
+        return liveStoreAsync().thenCompose(store -> store != null
+            ? CompletableFuture.completedFuture(store.getAllPosts())
+            : AsyncDataAccess.supply(this::getAllPosts));
+    }
+
+    @Override
+    public CompletableFuture<List<Post>> searchPostsAsync(final String query) {
+        return liveStoreAsync().thenCompose(store -> store != null
+            ? CompletableFuture.completedFuture(searchPosts(query))
+            : AsyncDataAccess.supply(() -> searchPosts(query)));
+    }
+
+    @Override
+    public PostsPage getPostsPage(final String cursor, final int limit) {
+        try {
+            return getPostsPageAsync(cursor, limit).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println(ERROR_PREFIX + "fetching posts page: " + e.getMessage());
+            return new PostsPage(new ArrayList<>(), null);
+        } catch (ExecutionException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println(ERROR_PREFIX + "fetching posts page: " + e.getMessage());
+            return new PostsPage(new ArrayList<>(), null);
+        }
+    }
+
+    /**
+     * Gets one page of posts, newest first, using orderByChild("timestamp") with
+     * endAt/limitToLast so only the page is transferred. The cursor is the
+     * timestamp and Firebase key of the last post on the previous page.
+     */
+    @Override
+    public CompletableFuture<PostsPage> getPostsPageAsync(final String cursor, final int limit) {
+        String endTimestamp = null;
+        String endKey = null;
+        if (cursor != null) {
+            int separator = cursor.lastIndexOf(CURSOR_SEPARATOR);
+            endTimestamp = separator > 0 ? cursor.substring(0, separator) : null;
+            endKey = cursor.substring(separator + 1);
+        }
+        final String pageEndTimestamp = endTimestamp;
+        final String pageEndKey = endKey;
+
+        // One extra post tells whether another page follows
+        return liveStoreAsync()
+            .thenCompose(store -> store != null
+                ? CompletableFuture.completedFuture(store.newestBefore(pageEndTimestamp, pageEndKey, limit + 1))
+                : queryNewestBefore(pageEndTimestamp, pageEndKey, limit + 1))
+            .thenApply(entries -> toPage(entries, limit));
+    }
+
+    static PostsPage toPage(final List<Map.Entry<String, Post>> entries, final int limit) {
+        boolean hasMore = entries.size() > limit;
+        List<Map.Entry<String, Post>> shown = hasMore ? entries.subList(0, limit) : entries;
+        List<Post> posts = new ArrayList<>(shown.size());
+        for (Map.Entry<String, Post> entry : shown) {
+            posts.add(entry.getValue());
+        }
+        String nextCursor = null;
+        if (hasMore && !shown.isEmpty()) {
+            Map.Entry<String, Post> last = shown.get(shown.size() - 1);
+            String timestamp = last.getValue().getTimestamp();
+            nextCursor = (timestamp != null ? timestamp : "") + CURSOR_SEPARATOR + last.getKey();
+        }
+        return new PostsPage(posts, nextCursor);
+    }
+
+    private CompletableFuture<List<Map.Entry<String, Post>>> queryNewestBefore(final String endTimestamp,
+                                                                               final String endKey,
+                                                                               final int limit) {
+        CompletableFuture<List<Map.Entry<String, Post>>> future = new CompletableFuture<>();
+        Query query = postsRef.orderByChild(TIMESTAMP_FIELD);
+        if (endKey != null) {
+            // endAt is inclusive, so fetch one more and drop the cursor post itself
+            query = query.endAt(endTimestamp, endKey).limitToLast(limit + 1);
+        } else {
+            query = query.limitToLast(limit);
+        }
+        query.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(final DataSnapshot dataSnapshot) {
+                List<Map.Entry<String, Post>> entries = new ArrayList<>();
+                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                    Post post = snapshot.getValue(Post.class);
+                    if (post != null && !snapshot.getKey().equals(endKey)) {
+                        entries.add(new AbstractMap.SimpleImmutableEntry<>(snapshot.getKey(), post));
+                        postKeys.put(post.getPostID(), snapshot.getKey());
+                    }
+                }
+                // Children arrive oldest first
+                Collections.reverse(entries);
+                future.complete(entries.size() > limit ? entries.subList(0, limit) : entries);
+            }
+
+            @Override
+            public void onCancelled(final DatabaseError databaseError) {
+                future.completeExceptionally(new RuntimeException("Failed to load posts page: "
+                    + databaseError.getMessage()));
+            }
+        });
+        return future.orTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public List<Post> getPostsByAuthor(final String author) {
+        try {
+            return getPostsByAuthorAsync(author).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println(ERROR_PREFIX + "fetching posts by author: " + e.getMessage());
             return new ArrayList<>();
-        } catch (Exception e) {
-            System.out.println(DEBUG_PREFIX + "Unexpected Exception in getAllPosts(): " 
-                + e.getClass().getSimpleName() + " - " + e.getMessage());
-            e.printStackTrace();
-            System.err.println(ERROR_PREFIX + "fetching posts: " + e.getMessage());
+        } catch (ExecutionException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println(ERROR_PREFIX + "fetching posts by author: " + e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    @Override
+    public CompletableFuture<List<Post>> getPostsByAuthorAsync(final String author) {
+        if (author == null) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        return liveStoreAsync().thenCompose(store -> {
+            if (store != null) {
+                List<Post> posts = new ArrayList<>();
+                for (Post post : store.getAllPosts()) {
+                    if (author.equals(post.getAuthor())) {
+                        posts.add(post);
+                    }
+                }
+                Collections.reverse(posts);
+                return CompletableFuture.completedFuture(posts);
+            }
+            return queryPostsByAuthor(author);
+        });
+    }
+
+    private CompletableFuture<List<Post>> queryPostsByAuthor(final String author) {
+        CompletableFuture<List<Post>> future = new CompletableFuture<>();
+        postsRef.orderByChild(AUTHOR_FIELD).equalTo(author)
+            .addListenerForSingleValueEvent(new ValueEventListener() {
+                @Override
+                public void onDataChange(final DataSnapshot dataSnapshot) {
+                    List<Post> authored = new ArrayList<>();
+                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                        Post post = snapshot.getValue(Post.class);
+                        if (post != null) {
+                            authored.add(post);
+                            postKeys.put(post.getPostID(), snapshot.getKey());
+                        }
+                    }
+                    authored.sort(PostStore.TIMESTAMP_ORDER.reversed());
+                    future.complete(authored);
+                }
+
+                @Override
+                public void onCancelled(final DatabaseError databaseError) {
+                    future.completeExceptionally(new RuntimeException("Failed to load posts by author: "
+                        + databaseError.getMessage()));
+                }
+            });
+        return future.orTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
     @Override
     public List<Post> searchPosts(final String query) {
+        if (liveStore() != null) {
+            List<Post> indexed = searchIndex.search(query);
+            indexed.sort(PostStore.TIMESTAMP_ORDER);
+            return indexed;
+        }
         List<Post> allPosts = getAllPosts();
         List<Post> matchingPosts = new ArrayList<>();
         String lowerQuery = query.toLowerCase();
@@ -138,8 +523,8 @@ public class FirebasePostDataAccessObject implements
         for (Post post : allPosts) {
             // Search only in title and content (description) for now 
             // tag search will be added later
-            if (post.getTitle().toLowerCase().contains(lowerQuery)
-                    || post.getDescription().toLowerCase().contains(lowerQuery)) {
+            SearchDocument document = post.searchDocument();
+            if (document.title().contains(lowerQuery) || document.description().contains(lowerQuery)) {
                 matchingPosts.add(post);
             }
         }
@@ -147,6 +532,27 @@ public class FirebasePostDataAccessObject implements
         return matchingPosts;
     }
 
+    @Override
+    public long getPostsVersion() {
+        // Without a live replica, changes by other clients go unseen, so nothing may be cached
+        return postStore != null && postStore.isLive() ? postStore.version() : QueryResultCache.UNVERSIONED;
+    }
+
+    @Override
+    public TermStatistics getTermStatistics() {
+        // The index only describes all posts while the replica is live
+        return liveStore() != null ? searchIndex.termStatistics() : null;
+    }
+
+    @Override
+    public List<String> suggestSearchTerms(final String prefix, final int limit) {
+        // Never waits for seeding or reads Firebase: a keystroke must not block
+        if (suggestionIndex == null) {
+            return Collections.emptyList();
+        }
+        return suggestionIndex.suggest(prefix, limit);
+    }
+
     @Override
     public Post getPostById(final String postID) {
         // Try to find post by hash code (which is what we're passing from the UI)
@@ -155,6 +561,10 @@ public class FirebasePostDataAccessObject implements
             return findPostByHashCode(hashCode);
         } catch (NumberFormatException e) {
             // If it's not a number, try to find it as a Firebase key
+            PostStore store = liveStore();
+            if (store != null) {
+                return store.get(postID);
+            }
             CompletableFuture<Post> future = new CompletableFuture<>();
 
             postsRef.child(postID).addListenerForSingleValueEvent(new ValueEventListener() {
@@ -174,6 +584,7 @@ public class FirebasePostDataAccessObject implements
             try {
                 return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
             } catch (InterruptedException | ExecutionException | TimeoutException ex) {
+                MetricsRegistry.reportIfTimeout(ex);
                 System.err.println(ERROR_PREFIX + "fetching post: " + ex.getMessage());
                 return null;
             }
@@ -186,6 +597,16 @@ public class FirebasePostDataAccessObject implements
      * @return the post if found, null otherwise
      */
     private Post findPostByHashCode(final int hashCode) {
+        PostStore store = liveStore();
+        if (store != null) {
+            return store.findByPostId(hashCode);
+        }
+        String firebaseKey = resolvePostKey(hashCode);
+        if (firebaseKey != null) {
+            return readPostByKey(firebaseKey);
+        }
+
+        // Not indexed yet: fall back to a scan and backfill the index
         CompletableFuture<Post> future = new CompletableFuture<>();
 
         postsRef.addListenerForSingleValueEvent(new ValueEventListener() {
@@ -196,6 +617,7 @@ public class FirebasePostDataAccessObject implements
                     Post post = snapshot.getValue(Post.class);
                     if (post != null && post.getPostID() == hashCode) {
                         foundPost = post;
+                        indexPost(hashCode, snapshot.getKey());
                         break;
                     }
                 }
@@ -212,6 +634,7 @@ public class FirebasePostDataAccessObject implements
         try {
             return future.get(5, TimeUnit.SECONDS);
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
             System.err.println("Error searching for post by hash code: " + e.getMessage());
             return null;
         }
@@ -226,15 +649,14 @@ public class FirebasePostDataAccessObject implements
             return null;
         }
 
-        // Get all posts to find the highest ID
-        List<Post> allPosts = getAllPosts();
-        int maxId = 0;
-        for (Post post : allPosts) {
-            if (post.getPostID() > maxId) {
-                maxId = post.getPostID();
-            }
+        // Take the next ID from this client's reserved block
+        int newPostId;
+        try {
+            newPostId = postIdAllocator.nextId();
+        } catch (IllegalStateException e) {
+            System.err.println("Error: " + e.getMessage());
+            return null;
         }
-        int newPostId = maxId + 1;
 
         // Create the new post with sequential ID
         Post newPost = new Post(
@@ -253,7 +675,7 @@ public class FirebasePostDataAccessObject implements
 
         // Save the post and wait for completion
         CompletableFuture<Boolean> future = new CompletableFuture<>();
-        postsRef.child(firebaseKey).setValue(newPost, (databaseError, databaseReference) -> {
+        writePostAndIndex(firebaseKey, newPostId, newPost, (databaseError, databaseReference) -> {
             if (databaseError != null) {
                 System.err.println("Error saving post: " + databaseError.getMessage());
                 future.complete(false);
@@ -271,23 +693,34 @@ public class FirebasePostDataAccessObject implements
                 return null;
             }
         } catch (Exception e) {
+            MetricsRegistry.reportIfTimeout(e);
             System.err.println("Error waiting for post save: " + e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Finds the highest post ID on the board.
+     * Only used once, to seed the post ID counter on boards that predate it.
+     * @return the highest post ID, or 0 if there are no posts
+     */
+    private int findHighestPostId() {
+        int maxId = MAX_POST_ID;
+        for (Post post : getAllPosts()) {
+            if (post.getPostID() > maxId) {
+                maxId = post.getPostID();
+            }
+        }
+        return maxId;
+    }
+
     @Override
     public List<Post> searchPostsByCriteria(String title, String location, List<String> tags, Boolean isLost) {
-        System.out.println("\n=== DEBUG: searchPostsByCriteria() called ===");
-        System.out.println("DEBUG: Search criteria:");
-        System.out.println("  - Title: '" + title + "'");
-        System.out.println("  - Location: '" + location + "'");
-        System.out.println("  - Tags: " + (tags != null ? tags.toString() : "null"));
-        System.out.println("  - IsLost: " + isLost);
+        TRACER.debug("searchPostsByCriteria(title='{}', location='{}', tags={}, isLost={})",
+                title, location, tags, isLost);
 
         // SESSION CHANGE: If all criteria are blank, return all posts sorted alphabetically by title
         List<Post> allPosts = getAllPosts();
-        System.out.println("DEBUG: Retrieved " + allPosts.size() + " total posts from database");
 
         List<Post> matchingPosts = new ArrayList<>();
 
@@ -296,92 +729,54 @@ public class FirebasePostDataAccessObject implements
                 (tags == null || tags.isEmpty()) &&
                 (isLost == null);
 
-        System.out.println("DEBUG: All criteria blank? " + allBlank);
-
         if (allBlank) {
             // Return all posts sorted alphabetically by title
-            System.out.println("DEBUG: All criteria blank, returning all posts sorted by title");
             allPosts.sort(Comparator.comparing(Post::getTitle, String.CASE_INSENSITIVE_ORDER));
             return allPosts;
         }
 
-        System.out.println("DEBUG: Starting to filter posts...");
-        int postIndex = 0;
-        for (Post post : allPosts) {
-            postIndex++;
-            System.out.println("\nDEBUG: Checking post " + postIndex + ": '" + post.getTitle() + "'");
-            boolean matches = true;
-
-            if (title != null && !title.isEmpty()) {
-                boolean titleMatches = post.getTitle().toLowerCase().contains(title.toLowerCase());
-                System.out.println("DEBUG:   Title check - Query: '" + title + "' vs Post: '" + post.getTitle() + "' -> " + titleMatches);
-                if (!titleMatches) {
-                matches = false;
-                }
-            }
-
-            if (location != null && !location.isEmpty()) {
-                boolean locationMatches = post.getLocation().toLowerCase().contains(location.toLowerCase());
-                System.out.println("DEBUG:   Location check - Query: '" + location + "' vs Post: '" + post.getLocation() + "' -> " + locationMatches);
-                if (!locationMatches) {
-                matches = false;
-                }
-            }
-
-            if (tags != null && !tags.isEmpty()) {
-                System.out.println("DEBUG:   Tags check - Query tags: " + tags + " vs Post tags: " + post.getTags());
-                boolean hasMatchingTag = false;
-                List<String> postTags = post.getTags();
-                if (postTags != null && !postTags.isEmpty()) {
-                for (String searchTag : tags) {
-                        for (String postTag : postTags) {
-                        if (postTag.toLowerCase().contains(searchTag.toLowerCase())) {
-                            hasMatchingTag = true;
-                                System.out.println("DEBUG:     Found matching tag: '" + searchTag + "' in post tag: '" + postTag + "'");
-                            break;
-                        }
-                    }
-                    if (hasMatchingTag) break;
-                    }
-                } else {
-                    System.out.println("DEBUG:     Post has no tags to check against");
-                }
-                if (!hasMatchingTag) {
-                    System.out.println("DEBUG:     No matching tags found");
-                    matches = false;
-                }
-            }
-
-            if (isLost != null) {
-                boolean lostStatusMatches = post.isLost() == isLost;
-                System.out.println("DEBUG:   Lost status check - Query: " + isLost + " vs Post: " + post.isLost() + " -> " + lostStatusMatches);
-                if (!lostStatusMatches) {
-                matches = false;
-                }
-            }
+        if (liveStore() != null) {
+            // Posting-list intersection instead of scanning every post
+            matchingPosts = searchIndex.searchByCriteria(title, location, tags, isLost);
+            matchingPosts.sort(Comparator.comparing(Post::getTitle, String.CASE_INSENSITIVE_ORDER));
+            return matchingPosts;
+        }
 
-            System.out.println("DEBUG:   Final match result: " + matches);
-            if (matches) {
+        FacetFilter filter = new FacetFilter(title, location, tags, isLost, null);
+        for (Post post : allPosts) {
+            if (filter.matches(post)) {
                 matchingPosts.add(post);
-                System.out.println("DEBUG:   ✓ Post added to results");
-            } else {
-                System.out.println("DEBUG:   ✗ Post excluded from results");
             }
         }
-
-        System.out.println("\nDEBUG: Search completed. Found " + matchingPosts.size() + " matching posts out of " + allPosts.size() + " total posts");
+        TRACER.debug("Search found {} of {} posts", matchingPosts.size(), allPosts.size());
 
         // Always sort the result alphabetically by title
         matchingPosts.sort(Comparator.comparing(Post::getTitle, String.CASE_INSENSITIVE_ORDER));
-        System.out.println("DEBUG: Results sorted alphabetically by title");
-
-        System.out.println("DEBUG: Returning " + matchingPosts.size() + " posts");
         return matchingPosts;
     }
 
+    @Override
+    public FacetCounts getFacets(FacetFilter filter) {
+        if (liveStore() != null) {
+            return searchIndex.getFacets(filter);
+        }
+        return FacetCounts.count(getAllPosts(), filter == null ? FacetFilter.all() : filter);
+    }
 
-
-
+    /**
+     * Checks a post against search criteria the way {@link #searchPostsByCriteria} does
+     * without a live index, through {@link FacetFilter#matches}. Blank criteria are ignored.
+     * @param post the post to check
+     * @param title text the title must contain (can be null/empty)
+     * @param location text the location must contain (can be null/empty)
+     * @param tags at least one post tag must contain one of these (can be null/empty)
+     * @param isLost filter by lost (true), found (false), or all (null)
+     * @return true if the post matches every given criterion
+     */
+    public static boolean matchesCriteria(final Post post, final String title, final String location,
+                                          final List<String> tags, final Boolean isLost) {
+        return new FacetFilter(title, location, tags, isLost, null).matches(post);
+    }
 
     // Fetch comments for a post from Firebase
     public List<Comment> getCommentsForPost(int postId) {
@@ -408,6 +803,7 @@ public class FirebasePostDataAccessObject implements
             });
             return future.get(5, TimeUnit.SECONDS);
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
             e.printStackTrace();
         }
         return new ArrayList<>();
@@ -498,9 +894,17 @@ public class FirebasePostDataAccessObject implements
      * @return true if update was successful, false otherwise
      */
     public boolean updatePost(Post post) {
+        if (post == null) {
+            return false;
+        }
+        String indexedKey = resolvePostKey(post.getPostID());
+        if (indexedKey != null) {
+            return savePostAt(indexedKey, post);
+        }
+
         CompletableFuture<Boolean> future = new CompletableFuture<>();
 
-        // Find the Firebase key for this post by searching through all posts
+        // Not indexed yet: find the Firebase key by searching through all posts
         postsRef.addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
             public void onDataChange(DataSnapshot dataSnapshot) {
@@ -516,8 +920,7 @@ public class FirebasePostDataAccessObject implements
                 if (firebaseKey != null) {
                     // Update the post at the correct Firebase key
                     final String finalFirebaseKey = firebaseKey;
-                    DatabaseReference postRef = postsRef.child(finalFirebaseKey);
-                    postRef.setValue(post, new DatabaseReference.CompletionListener() {
+                    writePostAndIndex(finalFirebaseKey, post.getPostID(), post, new DatabaseReference.CompletionListener() {
                         @Override
                         public void onComplete(DatabaseError databaseError, DatabaseReference databaseReference) {
                             if (databaseError != null) {
@@ -545,11 +948,64 @@ public class FirebasePostDataAccessObject implements
         try {
             return future.get(5, TimeUnit.SECONDS);
         } catch (Exception e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println("Error updating post: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes a post at a known Firebase key, together with its index entry.
+     * @param firebaseKey the Firebase key
+     * @param post the post to write
+     * @return true if the write succeeded, false otherwise
+     */
+    private boolean savePostAt(final String firebaseKey, final Post post) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        writePostAndIndex(firebaseKey, post.getPostID(), post, (databaseError, databaseReference) -> {
+            if (databaseError != null) {
+                System.err.println("Error updating post: " + databaseError.getMessage());
+                future.complete(false);
+            } else {
+                future.complete(true);
+            }
+        });
+
+        try {
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            MetricsRegistry.reportIfTimeout(e);
             System.err.println("Error updating post: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Removes a post at a known Firebase key together with its index entry.
+     * @param firebaseKey the Firebase key
+     * @param postId the post ID
+     * @return true if the removal succeeded, false otherwise
+     */
+    private boolean removePostAt(final String firebaseKey, final int postId) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        writePostAndIndex(firebaseKey, postId, null, (databaseError, databaseReference) -> {
+            if (databaseError != null) {
+                System.err.println(FIREBASE_DAO_PREFIX + "Error deleting post: " + databaseError.getMessage());
+                future.complete(false);
+            } else {
+                future.complete(true);
+            }
+        });
+
+        try {
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println(FIREBASE_DAO_PREFIX + "Error during delete operation: " + e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Deletes a post from Firebase.
      *
@@ -561,6 +1017,15 @@ public class FirebasePostDataAccessObject implements
         System.out.println("\n=== Firebase Delete Operation ===");
         System.out.println("FirebaseDAO: Starting delete operation for post ID: " + postId);
 
+        String indexedKey = resolvePostKey(postId);
+        if (indexedKey != null) {
+            return removePostAt(indexedKey, postId);
+        }
+        if (liveStore() != null) {
+            System.err.println("FirebaseDAO: Post with ID " + postId + " does not exist");
+            return false;
+        }
+
         // First verify the post exists
         List<Post> allPosts = getAllPosts();
         boolean postExists = false;
@@ -602,7 +1067,7 @@ public class FirebasePostDataAccessObject implements
                     System.out.println("FirebaseDAO: Post details - Title: " + (post != null ? post.getTitle() : "null") + 
                                      ", ID: " + (post != null ? post.getPostID() : "null"));
 
-                    postsRef.child(firebaseKey).removeValue((error, ref) -> {
+                    writePostAndIndex(firebaseKey, postId, null, (error, ref) -> {
                         if (error != null) {
                             System.err.println("FirebaseDAO: Error deleting post: " + error.getMessage());
                             future.complete(false);
@@ -628,6 +1093,7 @@ public class FirebasePostDataAccessObject implements
             // Wait for the operation to complete
             boolean completed = deleteLatch.await(5, TimeUnit.SECONDS);
             if (!completed) {
+                MetricsRegistry.reportTimeout();
                 System.err.println("FirebaseDAO: Delete operation timed out");
                 return false;
             }
@@ -635,6 +1101,7 @@ public class FirebasePostDataAccessObject implements
             System.out.println("FirebaseDAO: Delete operation completed with result: " + result);
             return result;
         } catch (Exception e) {
+            MetricsRegistry.reportIfTimeout(e);
             System.err.println("FirebaseDAO: Error during delete operation: " + e.getMessage());
             return false;
         }
@@ -655,7 +1122,22 @@ public class FirebasePostDataAccessObject implements
             return false;
         }
 
-        // Find the post
+        String indexedKey = resolvePostKey(numericId);
+        if (indexedKey != null) {
+            Post existingPost = readPostByKey(indexedKey);
+            if (existingPost == null) {
+                System.err.println("Post not found: " + postId);
+                return false;
+            }
+            applyEdits(existingPost, newTitle, description, location, tags, isLost);
+            return savePostAt(indexedKey, existingPost);
+        }
+        if (liveStore() != null) {
+            System.err.println("Post not found: " + postId);
+            return false;
+        }
+
+        // Not indexed yet: find the post by query
         CompletableFuture<Post> future = new CompletableFuture<>();
         Query query = postsRef.orderByChild("postID").equalTo((double) numericId);
 
@@ -678,24 +1160,11 @@ public class FirebasePostDataAccessObject implements
                     return;
                 }
 
-                // Update fields only if new values are provided (not null)
-                if (newTitle != null) {
-                    existingPost.setTitle(newTitle);
-                }
-                if (description != null) {
-                    existingPost.setDescription(description);
-                }
-                if (location != null) {
-                    existingPost.setLocation(location);
-                }
-                if (tags != null) {
-                    existingPost.setTags(tags);
-                }
-                existingPost.setLost(isLost);  // Boolean is always set
+                applyEdits(existingPost, newTitle, description, location, tags, isLost);
 
                 // Update the post in the database
                 String key = firstChild.getKey();
-                postsRef.child(key).setValue(existingPost, new DatabaseReference.CompletionListener() {
+                writePostAndIndex(key, numericId, existingPost, new DatabaseReference.CompletionListener() {
                     @Override
                     public void onComplete(DatabaseError databaseError, DatabaseReference databaseReference) {
                         if (databaseError != null) {
@@ -720,11 +1189,33 @@ public class FirebasePostDataAccessObject implements
             Post result = future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
             return result != null;
         } catch (Exception e) {
+            MetricsRegistry.reportIfTimeout(e);
             System.err.println("Error waiting for post update: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Applies an admin edit to a post.
+     * Fields are updated only if new values are provided (not null).
+     */
+    static void applyEdits(final Post post, final String newTitle, final String description,
+                           final String location, final List<String> tags, final boolean isLost) {
+        if (newTitle != null) {
+            post.setTitle(newTitle);
+        }
+        if (description != null) {
+            post.setDescription(description);
+        }
+        if (location != null) {
+            post.setLocation(location);
+        }
+        if (tags != null) {
+            post.setTags(tags);
+        }
+        post.setLost(isLost);  // Boolean is always set
+    }
+
     // Delete post methods
     @Override
     public void deletePost(String postId) {
@@ -738,6 +1229,17 @@ public class FirebasePostDataAccessObject implements
         System.out.println("FirebaseDAO: Converting post ID to integer: " + postId);
         int intPostId = Integer.parseInt(postId);
 
+        String indexedKey = resolvePostKey(intPostId);
+        if (indexedKey != null) {
+            if (!removePostAt(indexedKey, intPostId)) {
+                throw new RuntimeException("Failed to delete post: " + postId);
+            }
+            return;
+        }
+        if (liveStore() != null) {
+            throw new RuntimeException("Failed to delete post: No matching post found");
+        }
+
         System.out.println("FirebaseDAO: Querying for post with ID: " + intPostId);
         Query query = postsRef.orderByChild("postID").equalTo(intPostId);
         
@@ -760,7 +1262,7 @@ public class FirebasePostDataAccessObject implements
                 String firebaseKey = postSnapshot.getKey();
                 System.out.println("FirebaseDAO: Found post with Firebase key: " + firebaseKey);
 
-                postsRef.child(firebaseKey).removeValue((error, ref) -> {
+                writePostAndIndex(firebaseKey, intPostId, null, (error, ref) -> {
                     if (error != null) {
                         System.err.println("FirebaseDAO: Error deleting post: " + error.getMessage());
                         errorHolder[0] = error;
@@ -778,7 +1280,7 @@ public class FirebasePostDataAccessObject implements
         });
 
         if (!deleteLatch.await(5, TimeUnit.SECONDS)) {
-            throw new RuntimeException("Delete operation timed out");
+            throw new RuntimeException(new TimeoutException("Delete operation timed out"));
         }
         
         if (errorHolder[0] != null) {
@@ -796,11 +1298,20 @@ public class FirebasePostDataAccessObject implements
     @Override
     public boolean existsPost(String postId) {
         System.out.println("\nChecking existence for postId: " + postId);
+        int intPostId = Integer.parseInt(postId);
+        PostStore store = liveStore();
+        if (store != null) {
+            return store.findByPostId(intPostId) != null;
+        }
+        if (resolvePostKey(intPostId) != null) {
+            return true;
+        }
+
         DatabaseReference postsRef = database.getReference("posts");
         CountDownLatch latch = new CountDownLatch(1);
         AtomicBoolean exists = new AtomicBoolean(false);
 
-        postsRef.orderByChild("postID").equalTo(Integer.parseInt(postId))
+        postsRef.orderByChild("postID").equalTo(intPostId)
                 .addListenerForSingleValueEvent(new ValueEventListener() {
                     @Override
                     public void onDataChange(DataSnapshot dataSnapshot) {
@@ -809,6 +1320,7 @@ public class FirebasePostDataAccessObject implements
                         if (exists.get()) {
                             for (DataSnapshot child : dataSnapshot.getChildren()) {
                                 System.out.println("Found post with ID: " + child.child("postID").getValue());
+                                indexPost(intPostId, child.getKey());
                             }
                         }
                         latch.countDown();
@@ -824,6 +1336,7 @@ public class FirebasePostDataAccessObject implements
         try {
             boolean completed = latch.await(5, TimeUnit.SECONDS);
             if (!completed) {
+                MetricsRegistry.reportTimeout();
                 System.err.println("Database operation timed out");
                 return false;
             }
@@ -842,17 +1355,14 @@ public class FirebasePostDataAccessObject implements
 
     @Override
     public entity.User getUserByUsername(String username) {
-        // Use FirebaseUserDataAccessObject to get user data
-        FirebaseUserDataAccessObject userDAO = new FirebaseUserDataAccessObject();
-        return userDAO.get(username);
+        // Callers update the user afterwards, so read past the cache rather than risk a stale profile
+        return userProfiles.refresh(username);
     }
 
     @Override
     public boolean updateUser(entity.User user) {
-        // Use FirebaseUserDataAccessObject to update user data
-        FirebaseUserDataAccessObject userDAO = new FirebaseUserDataAccessObject();
         try {
-            userDAO.save(user);
+            userProfiles.save(user);
             return true;
         } catch (Exception e) {
             System.err.println("Error updating user: " + e.getMessage());
@@ -861,6 +1371,7 @@ public class FirebasePostDataAccessObject implements
     }
 
     // Method for AdminUserDataAccessInterface compatibility
+    @Override
     public Post getPostById(int postID) {
         return getPostById(String.valueOf(postID));
     }
@@ -3,18 +3,18 @@ package data_access;
 import com.google.firebase.database.*;
 import entity.User;
 import entity.CommonUser;
-import use_case.login.LoginUserDataAccessInterface;
-import use_case.signup.SignupUserDataAccessInterface;
-import use_case.change_password.ChangePasswordUserDataAccessInterface;
-import use_case.logout.LogoutUserDataAccessInterface;
-import use_case.change_username.ChangeUsernameUserDataAccessInterface;
+import metrics.MetricsRegistry;
+import trace.Tracer;
+import use_case.AsyncDataAccess;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,18 +22,18 @@ import java.util.Map;
 /**
  * Firebase implementation of data access for user authentication.
  */
-public class FirebaseUserDataAccessObject implements
-        LoginUserDataAccessInterface,
-        SignupUserDataAccessInterface,
-        ChangePasswordUserDataAccessInterface,
-        LogoutUserDataAccessInterface,
-        ChangeUsernameUserDataAccessInterface {
+public class FirebaseUserDataAccessObject implements UserDataAccessInterface {
+
+    private static final Tracer TRACER = Tracer.get(FirebaseUserDataAccessObject.class);
 
     private DatabaseReference usersRef;
     private boolean useMockData;
     private final Map<String, User> mockUsers = new HashMap<>();
     private final Map<String, User> accounts = new HashMap<>();
     private String currentUsername = null;
+    // Loaded in the background on first use, then kept in step with this client's changes
+    private volatile SuggestionIndex usernames;
+    private final AtomicBoolean usernamesLoading = new AtomicBoolean();
     public FirebaseUserDataAccessObject() {
         System.out.println("DEBUG: FirebaseUserDataAccessObject constructor called");
         // Try to initialize Firebase
@@ -91,6 +91,7 @@ public class FirebaseUserDataAccessObject implements
             // Add timeout to prevent blocking indefinitely
             return future.get(5, TimeUnit.SECONDS);
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
             System.err.println("DEBUG: Error checking user existence: " + e.getMessage());
             return false;
         }
@@ -104,6 +105,7 @@ public class FirebaseUserDataAccessObject implements
 
         if (useMockData) {
             mockUsers.put(user.getName(), user);
+            indexUsername(user.getName(), null);
             System.out.println("DEBUG: Mock user saved: " + user.getName());
             return;
         }
@@ -114,6 +116,7 @@ public class FirebaseUserDataAccessObject implements
                 if (databaseError != null) {
                     System.err.println("DEBUG: Firebase error saving user: " + databaseError.getMessage());
                 } else {
+                    indexUsername(user.getName(), null);
                     System.out.println("DEBUG: Firebase user saved successfully: " + user.getName());
                 }
             }
@@ -122,6 +125,18 @@ public class FirebaseUserDataAccessObject implements
 
     @Override
     public User get(String username) {
+        try {
+            // Add timeout to prevent blocking indefinitely
+            return getAsync(username).get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println("DEBUG: Error getting user: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<User> getAsync(String username) {
         System.out.println("\n=== DEBUG: FirebaseUserDataAccessObject.get() called ===");
         System.out.println("DEBUG: Getting user: '" + username + "'");
         System.out.println("DEBUG: Using mock data: " + useMockData);
@@ -129,7 +144,7 @@ public class FirebaseUserDataAccessObject implements
         if (useMockData) {
             User user = mockUsers.get(username);
             System.out.println("DEBUG: Mock user retrieved: " + (user != null ? user.getName() : "null"));
-            return user;
+            return CompletableFuture.completedFuture(user);
         }
 
         CompletableFuture<User> future = new CompletableFuture<>();
@@ -148,14 +163,7 @@ public class FirebaseUserDataAccessObject implements
                 future.completeExceptionally(new RuntimeException("Failed to get user: " + databaseError.getMessage()));
             }
         });
-
-        try {
-            // Add timeout to prevent blocking indefinitely
-            return future.get(5, TimeUnit.SECONDS);
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            System.err.println("DEBUG: Error getting user: " + e.getMessage());
-            return null;
-        }
+        return future;
     }
 
     @Override
@@ -208,6 +216,7 @@ public class FirebaseUserDataAccessObject implements
             User user = mockUsers.remove(oldUsername);
             ((entity.CommonUser)user).setName(newUsername);
             mockUsers.put(newUsername, user);
+            indexUsername(newUsername, oldUsername);
             if (currentUsername != null && currentUsername.equals(oldUsername)) {
                 currentUsername = newUsername;
             }
@@ -239,6 +248,7 @@ public class FirebaseUserDataAccessObject implements
                                         if (err2 != null) {
                                             future.complete(false);
                                         } else {
+                                            indexUsername(newUsername, oldUsername);
                                             if (currentUsername != null && currentUsername.equals(oldUsername)) {
                                                 currentUsername = newUsername;
                                             }
@@ -265,6 +275,7 @@ public class FirebaseUserDataAccessObject implements
         }
     }
     
+    @Override
     public List<String> getAllUsers() {
         System.out.println("DEBUG: Starting to fetch users");
         
@@ -309,11 +320,12 @@ public class FirebaseUserDataAccessObject implements
             return result;
         } catch (Exception e) {
             System.err.println("DEBUG: Error fetching users: " + e.getMessage());
-            throw new RuntimeException("Error fetching users: " + e.getMessage());
+            throw new RuntimeException("Error fetching users: " + e.getMessage(), e);
         }
     }
 
 
+    @Override
     public void deleteUser(String username) {
         System.out.println("DEBUG: Attempting to delete user: " + username);
 
@@ -323,6 +335,7 @@ public class FirebaseUserDataAccessObject implements
                 throw new RuntimeException("User not found");
             }
             mockUsers.remove(username);
+            indexUsername(null, username);
             System.out.println("DEBUG: User deleted from mock storage: " + username);
             return;
         }
@@ -346,6 +359,7 @@ public class FirebaseUserDataAccessObject implements
                         future.completeExceptionally(new RuntimeException("Failed to delete user: " + error.getMessage()));
                     } else {
                         System.out.println("DEBUG: Successfully deleted user: " + username);
+                        indexUsername(null, username);
                         future.complete(null);
                     }
                 });
@@ -362,7 +376,50 @@ public class FirebaseUserDataAccessObject implements
             future.get(5, TimeUnit.SECONDS);
         } catch (Exception e) {
             System.err.println("DEBUG: Exception while deleting user: " + e.getMessage());
-            throw new RuntimeException("Error deleting user: " + e.getMessage());
+            throw new RuntimeException("Error deleting user: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> suggestUsernames(String prefix, int limit) {
+        SuggestionIndex index = usernames;
+        if (index == null) {
+            // Never block a keystroke on Firebase; suggestions appear once the names are loaded
+            loadUsernames();
+            return Collections.emptyList();
+        }
+        return index.suggest(prefix, limit);
+    }
+
+    private void loadUsernames() {
+        if (!usernamesLoading.compareAndSet(false, true)) {
+            return;
+        }
+        AsyncDataAccess.run(() -> {
+            SuggestionIndex index = new SuggestionIndex();
+            for (String username : getAllUsers()) {
+                index.add(username);
+            }
+            usernames = index;
+            TRACER.debug("Indexed {} usernames for suggestions", index.size());
+        }).exceptionally(e -> {
+            // Try again on the next keystroke
+            TRACER.warn("Error indexing usernames: {}", e.getMessage());
+            usernamesLoading.set(false);
+            return null;
+        });
+    }
+
+    private void indexUsername(String added, String removed) {
+        SuggestionIndex index = usernames;
+        if (index == null) {
+            return;
+        }
+        if (removed != null) {
+            index.remove(removed);
+        }
+        if (added != null && !index.contains(added)) {
+            index.add(added);
         }
     }
-}
\ No newline at end of file
+}
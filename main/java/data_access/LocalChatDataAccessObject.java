@@ -0,0 +1,179 @@
+package data_access;
+
+import com.google.gson.Gson;
+import data_access.storage.RecordStore;
+import entity.Chat;
+import entity.Message;
+import entity.User;
+import trace.Tracer;
+import use_case.dms.DMsUserDataAccessInterface;
+import use_case.dms.MessageSubscription;
+import use_case.dms.MessagesPage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Embedded implementation of data access for chats and messages, stored in a local record store.
+ *
+ * The layout mirrors the Firebase one: chats are keyed by chat ID, each user has
+ * a "userChats/&lt;username&gt;" collection listing their chats (valued with the
+ * peer's name for two-person chats), and each chat's messages live in
+ * "messages/&lt;chatId&gt;" keyed by IDs that sort chronologically.
+ * Subscribers are notified directly when a message is sent through this object.
+ */
+public class LocalChatDataAccessObject implements DMsUserDataAccessInterface {
+
+    static final String CHATS_COLLECTION = "chats";
+    static final String USER_CHATS_PREFIX = "userChats/";
+    static final String MESSAGES_PREFIX = "messages/";
+    private static final String GROUP_MARKER = "";
+    private static final Gson GSON = new Gson();
+    private static final Tracer TRACER = Tracer.get(LocalChatDataAccessObject.class);
+
+    private final RecordStore store;
+    private final UserDataAccessInterface userDataAccessObject;
+    private final AtomicLong lastTimeKey = new AtomicLong();
+    private final Map<String, List<Consumer<Message>>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the data access object.
+     * @param store the record store holding chats and messages
+     * @param userDataAccessObject the user data access object used to look up participants
+     */
+    public LocalChatDataAccessObject(final RecordStore store, final UserDataAccessInterface userDataAccessObject) {
+        this.store = store;
+        this.userDataAccessObject = userDataAccessObject;
+    }
+
+    @Override
+    public List<Chat> getChatsForUser(final String username) {
+        List<Chat> chats = new ArrayList<>();
+        for (String chatId : store.keys(USER_CHATS_PREFIX + username)) {
+            Chat chat = getChatById(chatId);
+            if (chat != null) {
+                chats.add(chat);
+            }
+        }
+        return chats;
+    }
+
+    @Override
+    public synchronized Chat createChat(final List<String> participants) {
+        boolean pair = participants.size() == 2 && !participants.get(0).equals(participants.get(1));
+        String chatId = pair
+                ? FirebaseChatDataAccessObject.pairChatId(participants.get(0), participants.get(1))
+                : "chat_" + nextTimeKey();
+        Chat chat = new Chat(chatId, participants, LocalDateTime.now(), false);
+        store.put(CHATS_COLLECTION, chatId, GSON.toJson(chat));
+        for (String participant : participants) {
+            String peer = GROUP_MARKER;
+            if (participants.size() == 2) {
+                peer = participant.equals(participants.get(0)) ? participants.get(1) : participants.get(0);
+            }
+            store.put(USER_CHATS_PREFIX + participant, chatId, peer);
+        }
+        return chat;
+    }
+
+    @Override
+    public Message sendMessage(final String chatId, final String sender, final String content) {
+        Message message = new Message("msg_" + nextTimeKey(), chatId, sender, content, LocalDateTime.now(), false);
+        store.put(MESSAGES_PREFIX + chatId, message.getMessageId(), GSON.toJson(message));
+        for (Consumer<Message> subscriber : subscribers.getOrDefault(chatId, Collections.emptyList())) {
+            subscriber.accept(message);
+        }
+        return message;
+    }
+
+    @Override
+    public List<Message> getMessagesForChat(final String chatId) {
+        List<Message> messages = new ArrayList<>();
+        for (String json : store.getAll(MESSAGES_PREFIX + chatId).values()) {
+            messages.add(GSON.fromJson(json, Message.class));
+        }
+        return messages;
+    }
+
+    @Override
+    public MessagesPage getMessagesPage(final String chatId, final String beforeMessageId, final int limit) {
+        List<String> keys = store.keys(MESSAGES_PREFIX + chatId);
+        int end = keys.size();
+        if (beforeMessageId != null) {
+            // Everything strictly older than the cursor; the cursor itself need not exist
+            end = Collections.binarySearch(keys, beforeMessageId);
+            if (end < 0) {
+                end = -end - 1;
+            }
+        }
+        int start = Math.max(0, end - limit);
+        List<Message> messages = new ArrayList<>(end - start);
+        for (String key : keys.subList(start, end)) {
+            String json = store.get(MESSAGES_PREFIX + chatId, key);
+            if (json != null) {
+                messages.add(GSON.fromJson(json, Message.class));
+            }
+        }
+        String olderCursor = start > 0 && !messages.isEmpty() ? messages.get(0).getMessageId() : null;
+        return new MessagesPage(messages, olderCursor);
+    }
+
+    @Override
+    public MessageSubscription subscribeToMessages(final String chatId, final String afterMessageId,
+                                                   final Consumer<Message> listener) {
+        // Sends are delivered as they happen, so nothing at or before the cursor is ever replayed
+        List<Consumer<Message>> chatSubscribers =
+                subscribers.computeIfAbsent(chatId, id -> new CopyOnWriteArrayList<>());
+        chatSubscribers.add(listener);
+        return () -> chatSubscribers.remove(listener);
+    }
+
+    @Override
+    public Chat getChatById(final String chatId) {
+        String json = store.get(CHATS_COLLECTION, chatId);
+        return json == null ? null : GSON.fromJson(json, Chat.class);
+    }
+
+    @Override
+    public User getUserByUsername(final String username) {
+        return userDataAccessObject.get(username);
+    }
+
+    @Override
+    public boolean chatExistsBetweenUsers(final String user1, final String user2) {
+        return store.getAll(USER_CHATS_PREFIX + user1).containsValue(user2);
+    }
+
+    @Override
+    public synchronized void updateChatIsBlocked(final String chatId, final boolean isBlocked) {
+        Chat chat = getChatById(chatId);
+        if (chat == null) {
+            TRACER.warn("Chat not found: {}", chatId);
+            return;
+        }
+        chat.setBlocked(isBlocked);
+        store.put(CHATS_COLLECTION, chatId, GSON.toJson(chat));
+    }
+
+    @Override
+    public boolean isChatBlocked(final String chatId) {
+        Chat chat = getChatById(chatId);
+        return chat != null && chat.isBlocked();
+    }
+
+    /**
+     * Returns a zero-padded millisecond time that is unique and increasing within
+     * this process, so keys built from it sort in creation order.
+     */
+    private String nextTimeKey() {
+        long time = lastTimeKey.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+        return String.format("%013d", time);
+    }
+}
@@ -0,0 +1,243 @@
+package data_access;
+
+import com.google.gson.Gson;
+import data_access.storage.RecordStore;
+import entity.Post;
+import entity.User;
+import trace.Tracer;
+import use_case.dashboard.FacetCounts;
+import use_case.dashboard.FacetFilter;
+import use_case.dashboard.PostsPage;
+import use_case.fuzzy_search.util.TermStatistics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Embedded implementation of data access for posts, stored in a local record store.
+ *
+ * Each post is one JSON record keyed by its zero-padded post ID. Every post is
+ * loaded into a {@link PostStore} with a {@link PostSearchIndex} and a
+ * {@link SuggestionIndex} when the object
+ * is created, the same in-memory replica the live-synced Firebase DAO reads from,
+ * so reads, paging and search behave the same on both backends. Writes go to
+ * the record store first and then to the replica.
+ */
+public class LocalPostDataAccessObject implements PostDataAccessInterface {
+
+    static final String POSTS_COLLECTION = "posts";
+    private static final char CURSOR_SEPARATOR = '|';
+    private static final Gson GSON = new Gson();
+    private static final Tracer TRACER = Tracer.get(LocalPostDataAccessObject.class);
+
+    private final RecordStore store;
+    private final UserProfileCache userProfiles;
+    private final PostStore postStore = new PostStore();
+    private final PostSearchIndex searchIndex = new PostSearchIndex();
+    private final SuggestionIndex suggestionIndex = new SuggestionIndex();
+    private int highestPostId;
+
+    /**
+     * Creates the data access object and loads every stored post into memory.
+     * @param store the record store holding the posts
+     * @param userProfiles the cache used to read and update post authors
+     */
+    public LocalPostDataAccessObject(final RecordStore store, final UserProfileCache userProfiles) {
+        this.store = store;
+        this.userProfiles = userProfiles;
+        postStore.addListener(searchIndex);
+        postStore.addListener(suggestionIndex);
+        for (Map.Entry<String, String> record : store.getAll(POSTS_COLLECTION).entrySet()) {
+            Post post = GSON.fromJson(record.getValue(), Post.class);
+            postStore.put(record.getKey(), post);
+            highestPostId = Math.max(highestPostId, post.getPostID());
+        }
+        TRACER.info("Loaded {} posts from the local store", postStore.size());
+    }
+
+    @Override
+    public List<Post> getAllPosts() {
+        return postStore.getAllPosts();
+    }
+
+    @Override
+    public CompletableFuture<List<Post>> getAllPostsAsync() {
+        return CompletableFuture.completedFuture(getAllPosts());
+    }
+
+    @Override
+    public PostsPage getPostsPage(final String cursor, final int limit) {
+        String endTimestamp = null;
+        String endKey = null;
+        if (cursor != null) {
+            int separator = cursor.lastIndexOf(CURSOR_SEPARATOR);
+            endTimestamp = separator > 0 ? cursor.substring(0, separator) : null;
+            endKey = cursor.substring(separator + 1);
+        }
+        // One extra post tells whether another page follows
+        return FirebasePostDataAccessObject.toPage(postStore.newestBefore(endTimestamp, endKey, limit + 1), limit);
+    }
+
+    @Override
+    public CompletableFuture<PostsPage> getPostsPageAsync(final String cursor, final int limit) {
+        return CompletableFuture.completedFuture(getPostsPage(cursor, limit));
+    }
+
+    @Override
+    public List<Post> searchPosts(final String query) {
+        List<Post> matches = searchIndex.search(query);
+        matches.sort(PostStore.TIMESTAMP_ORDER);
+        return matches;
+    }
+
+    @Override
+    public List<Post> searchPostsByCriteria(final String title, final String location, final List<String> tags,
+                                           final Boolean isLost) {
+        boolean allBlank = (title == null || title.isEmpty())
+                && (location == null || location.isEmpty())
+                && (tags == null || tags.isEmpty())
+                && isLost == null;
+        List<Post> matches = allBlank ? getAllPosts() : searchIndex.searchByCriteria(title, location, tags, isLost);
+        matches.sort(Comparator.comparing(Post::getTitle, String.CASE_INSENSITIVE_ORDER));
+        return matches;
+    }
+
+    @Override
+    public FacetCounts getFacets(final FacetFilter filter) {
+        return searchIndex.getFacets(filter);
+    }
+
+    @Override
+    public long getPostsVersion() {
+        return postStore.version();
+    }
+
+    @Override
+    public TermStatistics getTermStatistics() {
+        return searchIndex.termStatistics();
+    }
+
+    @Override
+    public List<String> suggestSearchTerms(final String prefix, final int limit) {
+        return suggestionIndex.suggest(prefix, limit);
+    }
+
+    @Override
+    public Post getPostById(final String postID) {
+        try {
+            return postStore.findByPostId(Integer.parseInt(postID));
+        } catch (NumberFormatException e) {
+            return postStore.get(postID);
+        }
+    }
+
+    @Override
+    public Post getPostById(final int postID) {
+        return postStore.findByPostId(postID);
+    }
+
+    @Override
+    public Post addPost(final String title, final String content, final List<String> tags, final String location,
+                        final boolean isLost, final String author) {
+        Post newPost;
+        synchronized (this) {
+            highestPostId++;
+            newPost = new Post(highestPostId, title, content, tags != null ? tags : new ArrayList<>(),
+                    LocalDateTime.now(), author, location, null, isLost, 0, new HashMap<>());
+            write(newPost);
+        }
+        System.out.println("Post saved successfully with ID: " + newPost.getPostID());
+        return newPost;
+    }
+
+    @Override
+    public synchronized boolean updatePost(final Post post) {
+        if (post == null || postStore.findByPostId(post.getPostID()) == null) {
+            return false;
+        }
+        write(post);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean deletePost(final int postId) {
+        String key = postKey(postId);
+        if (!store.delete(POSTS_COLLECTION, key)) {
+            System.err.println("Post not found: " + postId);
+            return false;
+        }
+        postStore.remove(key);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean editPost(final String postId, final String title, final String description,
+                                         final String location, final List<String> tags, final boolean isLost) {
+        Post existingPost;
+        try {
+            existingPost = postStore.findByPostId(Integer.parseInt(postId));
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid post ID format: " + postId);
+            return false;
+        }
+        if (existingPost == null) {
+            System.err.println("Post not found: " + postId);
+            return false;
+        }
+        FirebasePostDataAccessObject.applyEdits(existingPost, title, description, location, tags, isLost);
+        write(existingPost);
+        return true;
+    }
+
+    @Override
+    public void deletePost(final String postId) {
+        try {
+            deletePost(Integer.parseInt(postId));
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid post ID format: " + postId);
+        }
+    }
+
+    @Override
+    public boolean existsPost(final String postId) {
+        return getPostById(postId) != null;
+    }
+
+    @Override
+    public User getUserByUsername(final String username) {
+        return userProfiles.refresh(username);
+    }
+
+    @Override
+    public boolean updateUser(final User user) {
+        try {
+            userProfiles.save(user);
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Error updating user: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes a post to the record store and the in-memory replica. The replica
+     * gets its own copy, so later changes to the caller's object are not visible
+     * until they are saved, as with Firebase.
+     */
+    private void write(final Post post) {
+        String key = postKey(post.getPostID());
+        String json = GSON.toJson(post);
+        store.put(POSTS_COLLECTION, key, json);
+        postStore.put(key, GSON.fromJson(json, Post.class));
+    }
+
+    // Zero-padded so the store lists posts in ID order
+    static String postKey(final int postID) {
+        return String.format("%010d", postID);
+    }
+}
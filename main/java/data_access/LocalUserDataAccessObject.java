@@ -0,0 +1,113 @@
+package data_access;
+
+import com.google.gson.Gson;
+import data_access.storage.RecordStore;
+import entity.CommonUser;
+import entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Embedded implementation of data access for users, stored in a local record store.
+ * Each user is one JSON record keyed by username. Usernames are also kept in
+ * a {@link SuggestionIndex} for completion.
+ */
+public class LocalUserDataAccessObject implements UserDataAccessInterface {
+
+    static final String USERS_COLLECTION = "users";
+    private static final Gson GSON = new Gson();
+
+    private final RecordStore store;
+    private final SuggestionIndex usernames = new SuggestionIndex();
+    private volatile String currentUsername;
+
+    /**
+     * Creates the data access object.
+     * @param store the record store holding the users
+     */
+    public LocalUserDataAccessObject(final RecordStore store) {
+        this.store = store;
+        for (String username : store.keys(USERS_COLLECTION)) {
+            usernames.add(username);
+        }
+    }
+
+    @Override
+    public boolean existsByName(final String username) {
+        return username != null && store.get(USERS_COLLECTION, username) != null;
+    }
+
+    @Override
+    public void save(final User user) {
+        store.put(USERS_COLLECTION, user.getName(), GSON.toJson(user));
+        if (!usernames.contains(user.getName())) {
+            usernames.add(user.getName());
+        }
+    }
+
+    @Override
+    public User get(final String username) {
+        if (username == null) {
+            return null;
+        }
+        String json = store.get(USERS_COLLECTION, username);
+        return json == null ? null : GSON.fromJson(json, CommonUser.class);
+    }
+
+    @Override
+    public CompletableFuture<User> getAsync(final String username) {
+        // A local read is a single file read, so there is nothing to wait for
+        return CompletableFuture.completedFuture(get(username));
+    }
+
+    @Override
+    public String getCurrentUsername() {
+        return currentUsername;
+    }
+
+    @Override
+    public void setCurrentUsername(final String username) {
+        this.currentUsername = username;
+    }
+
+    @Override
+    public void changePassword(final User user) {
+        save(user);
+    }
+
+    @Override
+    public synchronized boolean changeUsername(final String oldUsername, final String newUsername) {
+        CommonUser user = (CommonUser) get(oldUsername);
+        if (user == null || existsByName(newUsername)) {
+            return false;
+        }
+        user.setName(newUsername);
+        save(user);
+        store.delete(USERS_COLLECTION, oldUsername);
+        usernames.remove(oldUsername);
+        if (oldUsername.equals(currentUsername)) {
+            currentUsername = newUsername;
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> getAllUsers() {
+        return new ArrayList<>(store.keys(USERS_COLLECTION));
+    }
+
+    @Override
+    public void deleteUser(final String username) {
+        if (!store.delete(USERS_COLLECTION, username)) {
+            throw new RuntimeException("User not found");
+        }
+        usernames.remove(username);
+    }
+
+    @Override
+    public List<String> suggestUsernames(final String prefix, final int limit) {
+        return usernames.suggest(prefix, limit);
+    }
+}
@@ -0,0 +1,30 @@
+package data_access;
+
+import entity.Post;
+import use_case.admin.AdminUserDataAccessInterface;
+import use_case.dashboard.FacetCounts;
+import use_case.dashboard.FacetFilter;
+import use_case.fuzzy_search.FuzzySearchUserDataAccessInterface;
+import use_case.search.SearchUserDataAccessInterface;
+import use_case.suggest.SuggestPostDataAccessInterface;
+
+import java.util.List;
+
+/**
+ * Every post operation the application needs, implemented once per storage backend.
+ */
+public interface PostDataAccessInterface extends
+        FuzzySearchUserDataAccessInterface,
+        SearchUserDataAccessInterface,
+        AdminUserDataAccessInterface,
+        SuggestPostDataAccessInterface {
+
+    @Override
+    List<Post> searchPostsByCriteria(String title, String location, List<String> tags, Boolean isLost);
+
+    @Override
+    FacetCounts getFacets(FacetFilter filter);
+
+    @Override
+    long getPostsVersion();
+}
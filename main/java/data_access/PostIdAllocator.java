@@ -0,0 +1,147 @@
+package data_access;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+import metrics.MetricsRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntSupplier;
+
+/**
+ * Hands out unique post IDs from a counter node advanced with runTransaction.
+ * Each transaction reserves a block of IDs for this client, so most inserts
+ * need no extra round trip and concurrent posters never receive the same ID.
+ */
+public class PostIdAllocator {
+
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+    private static final int TIMEOUT_SECONDS = 5;
+    private static final long NO_SEED = -1;
+
+    private final DatabaseReference counterRef;
+    private final IntSupplier highestExistingId;
+    private final int blockSize;
+
+    // Next ID to hand out and the first ID past the reserved block
+    private long next;
+    private long limit;
+    // Counter value to assume if the node does not exist yet
+    private long seed = NO_SEED;
+
+    /**
+     * Creates an allocator.
+     * @param counterRef the counter node holding the highest reserved post ID
+     * @param highestExistingId supplies the highest post ID already on the board;
+     *                          only called once, if the counter node does not exist yet
+     * @param blockSize the number of IDs to reserve per transaction
+     */
+    public PostIdAllocator(final DatabaseReference counterRef, final IntSupplier highestExistingId,
+                           final int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.counterRef = counterRef;
+        this.highestExistingId = highestExistingId;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Gets the next unused post ID, reserving a new block if the current one is spent.
+     * @return the post ID
+     * @throws IllegalStateException if a block could not be reserved
+     */
+    public synchronized int nextId() {
+        if (next >= limit) {
+            if (seed == NO_SEED) {
+                seed = readSeed();
+            }
+            long start = reserveBlock(seed);
+            if (start < 0) {
+                throw new IllegalStateException("Could not reserve post IDs");
+            }
+            next = start;
+            limit = start + blockSize;
+        }
+        return (int) next++;
+    }
+
+    /**
+     * Reads the counter once to decide what a missing node should start from.
+     * Transactions first run against the local cache, which is empty at startup,
+     * so the seed must be known up front rather than computed inside doTransaction.
+     * @return 0 if the counter exists, otherwise the highest existing post ID
+     */
+    private long readSeed() {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        counterRef.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(final DataSnapshot dataSnapshot) {
+                future.complete(dataSnapshot.exists());
+            }
+
+            @Override
+            public void onCancelled(final DatabaseError databaseError) {
+                future.completeExceptionally(new RuntimeException("Failed to read post counter: "
+                    + databaseError.getMessage()));
+            }
+        });
+
+        try {
+            if (future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                return 0;
+            }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println("Error reading post counter: " + e.getMessage());
+        }
+        // Counter node missing: seed it from the existing posts once
+        return Math.max(0, highestExistingId.getAsInt());
+    }
+
+    /**
+     * Advances the counter by one block.
+     * @param seed the value to start from if the counter is missing
+     * @return the first ID of the reserved block, or -1 if nothing was reserved
+     */
+    private long reserveBlock(final long seed) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        counterRef.runTransaction(new Transaction.Handler() {
+            @Override
+            public Transaction.Result doTransaction(final MutableData currentData) {
+                Long current = currentData.getValue(Long.class);
+                long base = current != null ? current : seed;
+                currentData.setValue(base + blockSize);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(final DatabaseError databaseError, final boolean committed,
+                                   final DataSnapshot currentData) {
+                if (databaseError != null) {
+                    future.completeExceptionally(new RuntimeException("Failed to reserve post IDs: "
+                        + databaseError.getMessage()));
+                } else if (!committed) {
+                    future.complete(-1L);
+                } else {
+                    Long reservedUpTo = currentData.getValue(Long.class);
+                    future.complete(reservedUpTo == null ? -1L : reservedUpTo - blockSize + 1);
+                }
+            }
+        });
+
+        try {
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            System.err.println("Error reserving post IDs: " + e.getMessage());
+            return -1;
+        }
+    }
+}
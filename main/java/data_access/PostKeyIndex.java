@@ -0,0 +1,152 @@
+package data_access;
+
+/**
+ * In-memory mirror of the "postIndex" node, mapping postID to Firebase push key.
+ * Backed by an open-addressing table with primitive int keys so lookups do not box.
+ */
+public class PostKeyIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int EMPTY = 0;
+    private static final int FULL = 1;
+    private static final int REMOVED = 2;
+
+    private int[] keys;
+    private String[] values;
+    private byte[] states;
+    private int size;
+    private int used;
+
+    /**
+     * Creates an empty index.
+     */
+    public PostKeyIndex() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Gets the Firebase key for a post.
+     * @param postID the post ID
+     * @return the Firebase key, or null if the post is not indexed
+     */
+    public synchronized String get(final int postID) {
+        int slot = find(postID);
+        return slot < 0 ? null : values[slot];
+    }
+
+    /**
+     * Checks whether a post is indexed.
+     * @param postID the post ID
+     * @return true if the index holds a key for the post
+     */
+    public synchronized boolean contains(final int postID) {
+        return find(postID) >= 0;
+    }
+
+    /**
+     * Records the Firebase key for a post, replacing any previous mapping.
+     * @param postID the post ID
+     * @param firebaseKey the Firebase key
+     */
+    public synchronized void put(final int postID, final String firebaseKey) {
+        if (firebaseKey == null) {
+            return;
+        }
+        if ((used + 1) > keys.length * LOAD_FACTOR) {
+            rehash(size + 1 > keys.length * LOAD_FACTOR / 2 ? keys.length * 2 : keys.length);
+        }
+        int mask = keys.length - 1;
+        int slot = mix(postID) & mask;
+        int firstRemoved = -1;
+        while (states[slot] != EMPTY) {
+            if (states[slot] == FULL && keys[slot] == postID) {
+                values[slot] = firebaseKey;
+                return;
+            }
+            if (states[slot] == REMOVED && firstRemoved < 0) {
+                firstRemoved = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (firstRemoved >= 0) {
+            slot = firstRemoved;
+        } else {
+            used++;
+        }
+        keys[slot] = postID;
+        values[slot] = firebaseKey;
+        states[slot] = FULL;
+        size++;
+    }
+
+    /**
+     * Removes the mapping for a post.
+     * @param postID the post ID
+     * @return the removed Firebase key, or null if the post was not indexed
+     */
+    public synchronized String remove(final int postID) {
+        int slot = find(postID);
+        if (slot < 0) {
+            return null;
+        }
+        String removed = values[slot];
+        values[slot] = null;
+        states[slot] = REMOVED;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Removes every mapping.
+     */
+    public synchronized void clear() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Gets the number of indexed posts.
+     * @return the mapping count
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private int find(final int postID) {
+        int mask = keys.length - 1;
+        int slot = mix(postID) & mask;
+        while (states[slot] != EMPTY) {
+            if (states[slot] == FULL && keys[slot] == postID) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(final int capacity) {
+        int[] oldKeys = keys;
+        String[] oldValues = values;
+        byte[] oldStates = states;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStates[i] == FULL) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        values = new String[capacity];
+        states = new byte[capacity];
+        size = 0;
+        used = 0;
+    }
+
+    // Sequential post IDs would cluster without scrambling.
+    private static int mix(final int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,364 @@
+package data_access;
+
+import entity.Post;
+import entity.SearchDocument;
+import use_case.dashboard.FacetCounts;
+import use_case.dashboard.FacetFilter;
+import use_case.fuzzy_search.util.TermStatistics;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process inverted index over post fields for keyword and criteria search.
+ * Title and description are indexed as trigram tokens so the existing
+ * case-insensitive substring semantics are kept: posting lists are intersected
+ * to find candidates, and only candidates are verified with contains().
+ * Tags and locations have their own dictionaries of distinct values, and the
+ * lost/found and resolved flags are bit sets, so every filter becomes a posting-list intersection.
+ * The same structures are the facet counters: they change with every post put
+ * or removed, so counting a result set is an intersection rather than a scan.
+ * The term statistics fuzzy search ranks with are kept the same way.
+ *
+ * Posts are indexed by Firebase key, each under an internal document number
+ * that the posting lists and bit sets hold. Two posts that share a postID, as
+ * the legacy ID allocation could produce, are therefore both indexed.
+ */
+public class PostSearchIndex implements PostStore.Listener {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Integer> docNumbers = new HashMap<>();
+    private final List<IndexedPost> docs = new ArrayList<>();
+    private final Map<String, PostingList> titleGrams = new HashMap<>();
+    private final Map<String, PostingList> descriptionGrams = new HashMap<>();
+    private final Map<String, PostingList> tagDictionary = new HashMap<>();
+    private final Map<String, PostingList> locationDictionary = new HashMap<>();
+    private final BitSet allPosts = new BitSet();
+    private final BitSet lostPosts = new BitSet();
+    private final BitSet resolvedPosts = new BitSet();
+    private final TermStatistics termStatistics = new TermStatistics();
+
+    /**
+     * Adds a post, replacing any post previously indexed under the same key.
+     * @param key the Firebase key
+     * @param post the post to index
+     */
+    public synchronized void add(final String key, final Post post) {
+        if (key == null || post == null) {
+            return;
+        }
+        remove(key);
+        IndexedPost doc = new IndexedPost(post);
+        // Reuse the lowest free document number, so the bit sets stay dense
+        int id = allPosts.nextClearBit(0);
+        docNumbers.put(key, id);
+        if (id == docs.size()) {
+            docs.add(doc);
+        } else {
+            docs.set(id, doc);
+        }
+        allPosts.set(id);
+        if (post.isLost()) {
+            lostPosts.set(id);
+        }
+        if (post.isResolved()) {
+            resolvedPosts.set(id);
+        }
+        for (String gram : grams(doc.title)) {
+            titleGrams.computeIfAbsent(gram, k -> new PostingList()).add(id);
+        }
+        for (String gram : grams(doc.description)) {
+            descriptionGrams.computeIfAbsent(gram, k -> new PostingList()).add(id);
+        }
+        for (String tag : doc.tags) {
+            tagDictionary.computeIfAbsent(tag, k -> new PostingList()).add(id);
+        }
+        locationDictionary.computeIfAbsent(doc.location, k -> new PostingList()).add(id);
+        termStatistics.add(doc.document);
+    }
+
+    /**
+     * Removes a post from the index.
+     * @param key the Firebase key
+     */
+    public synchronized void remove(final String key) {
+        Integer number = docNumbers.remove(key);
+        if (number == null) {
+            return;
+        }
+        int id = number;
+        IndexedPost doc = docs.set(id, null);
+        allPosts.clear(id);
+        lostPosts.clear(id);
+        resolvedPosts.clear(id);
+        for (String gram : grams(doc.title)) {
+            removePosting(titleGrams, gram, id);
+        }
+        for (String gram : grams(doc.description)) {
+            removePosting(descriptionGrams, gram, id);
+        }
+        for (String tag : doc.tags) {
+            removePosting(tagDictionary, tag, id);
+        }
+        removePosting(locationDictionary, doc.location, id);
+        termStatistics.remove(doc.document);
+    }
+
+    /**
+     * Gets the number of indexed posts.
+     * @return the post count
+     */
+    public synchronized int size() {
+        return docNumbers.size();
+    }
+
+    /**
+     * Gets the document frequencies and field lengths of the indexed posts,
+     * updated with every post added or removed.
+     * @return the live statistics
+     */
+    public TermStatistics termStatistics() {
+        return termStatistics;
+    }
+
+    /**
+     * Finds posts whose title or description contains the query, ignoring case.
+     * @param query the search query
+     * @return matching posts in post ID order
+     */
+    public synchronized List<Post> search(final String query) {
+        String lowerQuery = query.toLowerCase();
+        BitSet matches = containing(titleGrams, lowerQuery, true);
+        matches.or(containing(descriptionGrams, lowerQuery, false));
+        return toPosts(matches);
+    }
+
+    /**
+     * Finds posts matching every given criterion. Blank criteria are ignored.
+     * @param title text the title must contain (can be null/empty)
+     * @param location text the location must contain (can be null/empty)
+     * @param tags at least one post tag must contain one of these (can be null/empty)
+     * @param isLost filter by lost (true), found (false), or all (null)
+     * @return matching posts in post ID order
+     */
+    public synchronized List<Post> searchByCriteria(final String title, final String location,
+                                                    final List<String> tags, final Boolean isLost) {
+        return toPosts(matching(title, location, tags, isLost));
+    }
+
+    /**
+     * Counts the posts under each facet value among the posts matching a filter.
+     * Without criteria the counts are the sizes of the posting lists and bit sets
+     * themselves; otherwise each is intersected with the matching posts.
+     * @param filter the filter selecting the result set
+     * @return the facet counts
+     */
+    public synchronized FacetCounts getFacets(final FacetFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return new FacetCounts(docNumbers.size(), lostPosts.cardinality(), resolvedPosts.cardinality(),
+                    dictionarySizes(tagDictionary, null), dictionarySizes(locationDictionary, null));
+        }
+        BitSet matches = matching(filter.getTitle(), filter.getLocation(), filter.getTags(), filter.getIsLost());
+        if (filter.getResolved() != null) {
+            if (filter.getResolved()) {
+                matches.and(resolvedPosts);
+            } else {
+                matches.andNot(resolvedPosts);
+            }
+        }
+        return new FacetCounts(matches.cardinality(), intersectionSize(matches, lostPosts),
+                intersectionSize(matches, resolvedPosts),
+                dictionarySizes(tagDictionary, matches), dictionarySizes(locationDictionary, matches));
+    }
+
+    @Override
+    public void onPostPut(final String key, final Post previous, final Post post) {
+        add(key, post);
+    }
+
+    @Override
+    public void onPostRemoved(final String key, final Post post) {
+        remove(key);
+    }
+
+    /** The document numbers of posts matching every non-blank criterion. */
+    private BitSet matching(final String title, final String location,
+                            final List<String> tags, final Boolean isLost) {
+        BitSet matches = (BitSet) allPosts.clone();
+        if (title != null && !title.isEmpty()) {
+            matches.and(containing(titleGrams, title.toLowerCase(), true));
+        }
+        if (location != null && !location.isEmpty()) {
+            matches.and(dictionaryMatches(locationDictionary, List.of(location)));
+        }
+        if (tags != null && !tags.isEmpty()) {
+            matches.and(dictionaryMatches(tagDictionary, tags));
+        }
+        if (isLost != null) {
+            if (isLost) {
+                matches.and(lostPosts);
+            } else {
+                matches.andNot(lostPosts);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Counts each dictionary value's posts, or only those among the matches.
+     * A posting list is walked against the match bit set, so the cost is the
+     * number of postings rather than the number of posts.
+     */
+    private static Map<String, Integer> dictionarySizes(final Map<String, PostingList> dictionary,
+                                                        final BitSet matches) {
+        Map<String, Integer> sizes = new HashMap<>();
+        for (Map.Entry<String, PostingList> entry : dictionary.entrySet()) {
+            PostingList list = entry.getValue();
+            int size = 0;
+            if (matches == null) {
+                size = list.size();
+            } else {
+                for (int i = 0; i < list.size(); i++) {
+                    if (matches.get(list.get(i))) {
+                        size++;
+                    }
+                }
+            }
+            if (size > 0) {
+                sizes.put(entry.getKey(), size);
+            }
+        }
+        return sizes;
+    }
+
+    private static int intersectionSize(final BitSet a, final BitSet b) {
+        BitSet both = (BitSet) a.clone();
+        both.and(b);
+        return both.cardinality();
+    }
+
+    /**
+     * Finds posts whose field contains the query. Posting lists of the query's
+     * trigrams are intersected, smallest first, and the survivors are verified.
+     */
+    private BitSet containing(final Map<String, PostingList> gramIndex, final String query,
+                              final boolean titleField) {
+        BitSet result = new BitSet();
+        if (query.length() < GRAM_LENGTH) {
+            // Too short to have a trigram: verify every post
+            for (int id = allPosts.nextSetBit(0); id >= 0; id = allPosts.nextSetBit(id + 1)) {
+                if (field(docs.get(id), titleField).contains(query)) {
+                    result.set(id);
+                }
+            }
+            return result;
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            PostingList list = gramIndex.get(gram);
+            if (list == null) {
+                return result;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        PostingList smallest = lists.get(0);
+        for (int i = 0; i < smallest.size(); i++) {
+            int id = smallest.get(i);
+            boolean inAll = true;
+            for (int j = 1; j < lists.size() && inAll; j++) {
+                inAll = lists.get(j).contains(id);
+            }
+            if (inAll && field(docs.get(id), titleField).contains(query)) {
+                result.set(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Unions the postings of every dictionary value containing any of the terms.
+     * Cost grows with the number of distinct values, not the number of posts.
+     */
+    private static BitSet dictionaryMatches(final Map<String, PostingList> dictionary,
+                                            final List<String> terms) {
+        BitSet result = new BitSet();
+        for (String term : terms) {
+            if (term == null) {
+                continue;
+            }
+            String lowerTerm = term.toLowerCase();
+            for (Map.Entry<String, PostingList> entry : dictionary.entrySet()) {
+                if (entry.getKey().contains(lowerTerm)) {
+                    entry.getValue().addTo(result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<Post> toPosts(final BitSet ids) {
+        List<Post> posts = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            // Copies, so callers cannot change the posts the index describes
+            posts.add(docs.get(id).post.copy());
+        }
+        // Document numbers are reused, so they do not follow post IDs
+        posts.sort(Comparator.comparingInt(Post::getPostID));
+        return posts;
+    }
+
+    private static String field(final IndexedPost doc, final boolean titleField) {
+        return titleField ? doc.title : doc.description;
+    }
+
+    private static void removePosting(final Map<String, PostingList> index, final String term, final int id) {
+        PostingList list = index.get(term);
+        if (list != null) {
+            list.remove(id);
+            if (list.isEmpty()) {
+                index.remove(term);
+            }
+        }
+    }
+
+    private static Set<String> grams(final String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * The lowercased searchable fields as indexed, kept so removal does not depend
+     * on the post object, which callers may have mutated since it was indexed.
+     */
+    private static final class IndexedPost {
+        private final Post post;
+        private final SearchDocument document;
+        private final String title;
+        private final String description;
+        private final String location;
+        private final List<String> tags;
+
+        IndexedPost(final Post post) {
+            SearchDocument document = post.searchDocument();
+            this.post = post;
+            this.document = document;
+            this.title = document.title();
+            this.description = document.description();
+            this.location = document.location();
+            this.tags = document.tags();
+        }
+    }
+}
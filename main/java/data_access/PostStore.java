@@ -0,0 +1,393 @@
+package data_access;
+
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+import entity.Post;
+import trace.Tracer;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local replica of the Firebase "posts" node.
+ * The store is seeded once and then kept current by a ChildEventListener that
+ * applies add, change and remove deltas, so reads are served from memory.
+ * Reads return copies: the replica changes only through deltas, so an edit a
+ * caller makes to a post it read is never visible until its write is applied.
+ */
+public class PostStore implements ChildEventListener {
+
+    private static final Tracer TRACER = Tracer.get(PostStore.class);
+
+    /**
+     * Order of the posts node under orderByChild("timestamp").
+     */
+    public static final Comparator<Post> TIMESTAMP_ORDER = Comparator.comparing(
+            Post::getTimestamp, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /**
+     * Receives every delta applied to the store, in order.
+     * Callbacks run while the store is locked, so they must not block.
+     */
+    public interface Listener {
+        /**
+         * Called after a post is inserted or replaced.
+         * @param key the Firebase key
+         * @param previous the replaced post, or null for an insert
+         * @param post the new post
+         */
+        void onPostPut(String key, Post previous, Post post);
+
+        /**
+         * Called after a post is removed.
+         * @param key the Firebase key
+         * @param post the removed post
+         */
+        void onPostRemoved(String key, Post post);
+    }
+
+    private final Map<String, Post> postsByKey = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final PostKeyIndex keyIndex;
+    private final CountDownLatch seededLatch = new CountDownLatch(1);
+    private Query source;
+    // Set when Firebase cancels replication; the store then never goes live again
+    private volatile boolean failed;
+
+    // Sorted view rebuilt lazily after a delta; null means stale.
+    private volatile Snapshot sortedSnapshot;
+    // Bumped by every delta; starts above QueryResultCache.UNVERSIONED
+    private volatile long version = 1;
+
+    /**
+     * Creates an empty store with its own postID index.
+     */
+    public PostStore() {
+        this(new PostKeyIndex());
+    }
+
+    /**
+     * Creates an empty store that keeps the given postID index in step with its deltas.
+     * @param keyIndex the postID to Firebase key index to maintain
+     */
+    public PostStore(final PostKeyIndex keyIndex) {
+        this.keyIndex = keyIndex;
+    }
+
+    /**
+     * Registers a listener for deltas. Register before attaching so the
+     * listener also sees the initial load.
+     * @param listener the listener to add
+     */
+    public void addListener(final Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts replicating the given query. Child events fire for every existing
+     * child first; the single value event that follows marks the store as seeded.
+     * @param query the posts reference to mirror
+     */
+    public synchronized void attach(final Query query) {
+        if (source != null) {
+            return;
+        }
+        source = query;
+        query.addChildEventListener(this);
+        query.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(final DataSnapshot dataSnapshot) {
+                seed(dataSnapshot.getChildren());
+            }
+
+            @Override
+            public void onCancelled(final DatabaseError databaseError) {
+                fail("Initial load cancelled", databaseError);
+            }
+        });
+    }
+
+    /**
+     * Stops listening for changes. The current contents stay readable.
+     */
+    public synchronized void detach() {
+        if (source != null) {
+            source.removeEventListener(this);
+            source = null;
+        }
+    }
+
+    /**
+     * Waits for the initial load to finish or fail.
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if the store is seeded, false if loading failed or the wait
+     *         timed out or was interrupted
+     */
+    public boolean awaitSeeded(final long timeout, final TimeUnit unit) {
+        try {
+            return seededLatch.await(timeout, unit) && !failed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether the initial load has finished, successfully or not, so
+     * waiting for it is pointless.
+     * @return true if the initial load has been applied or has failed
+     */
+    public boolean isSeeded() {
+        return seededLatch.getCount() == 0;
+    }
+
+    /**
+     * Checks whether the store is seeded and still receiving deltas.
+     * @return true if reads can be served from memory
+     */
+    public synchronized boolean isLive() {
+        return source != null && isSeeded() && !failed;
+    }
+
+    /**
+     * Gets every post ordered by timestamp, matching orderByChild("timestamp").
+     * The list and its posts are fresh copies so callers may change them freely.
+     * @return the list of posts
+     */
+    public List<Post> getAllPosts() {
+        Post[] posts = snapshot().posts;
+        List<Post> copies = new ArrayList<>(posts.length);
+        for (Post post : posts) {
+            copies.add(post.copy());
+        }
+        return copies;
+    }
+
+    /**
+     * Gets the posts that come before a position in orderByChild("timestamp")
+     * order (ties broken by key, as Firebase does), newest first.
+     * @param endTimestamp the timestamp of the position
+     * @param endKey the key of the position, or null to start from the newest post
+     * @param limit the maximum number of posts to return
+     * @return Firebase key and post pairs, newest first
+     */
+    public List<Map.Entry<String, Post>> newestBefore(final String endTimestamp, final String endKey,
+                                                       final int limit) {
+        Snapshot snapshot = snapshot();
+        int end = snapshot.keys.length;
+        if (endKey != null) {
+            // First position at or after the cursor; everything before it is older
+            int low = 0;
+            int high = end;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(snapshot.posts[mid].getTimestamp(), snapshot.keys[mid], endTimestamp, endKey) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            end = low;
+        }
+        List<Map.Entry<String, Post>> page = new ArrayList<>();
+        for (int i = end - 1; i >= 0 && page.size() < limit; i--) {
+            page.add(new AbstractMap.SimpleImmutableEntry<>(snapshot.keys[i], snapshot.posts[i].copy()));
+        }
+        return page;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot snapshot = sortedSnapshot;
+        return snapshot != null ? snapshot : rebuildSnapshot();
+    }
+
+    private synchronized Snapshot rebuildSnapshot() {
+        if (sortedSnapshot == null) {
+            String[] keys = postsByKey.keySet().toArray(new String[0]);
+            // Deltas are applied under the same lock, so the map is stable here
+            Arrays.sort(keys, (a, b) -> compare(postsByKey.get(a).getTimestamp(), a,
+                    postsByKey.get(b).getTimestamp(), b));
+            Post[] posts = new Post[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                posts[i] = postsByKey.get(keys[i]);
+            }
+            sortedSnapshot = new Snapshot(keys, posts);
+        }
+        return sortedSnapshot;
+    }
+
+    private static int compare(final String timestampA, final String keyA,
+                               final String timestampB, final String keyB) {
+        int order = Comparator.nullsFirst(Comparator.<String>naturalOrder()).compare(timestampA, timestampB);
+        return order != 0 ? order : keyA.compareTo(keyB);
+    }
+
+    /**
+     * Gets the number of deltas applied so far, plus one. It changes whenever
+     * a post is inserted, replaced or removed.
+     * @return the current version
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Gets a post by its Firebase key.
+     * @param key the Firebase key
+     * @return a copy of the post, or null if not present
+     */
+    public Post get(final String key) {
+        return copyOf(postsByKey.get(key));
+    }
+
+    /**
+     * Finds the post with the given numeric ID.
+     * @param postID the post ID
+     * @return a copy of the post, or null if not present
+     */
+    public Post findByPostId(final int postID) {
+        String key = keyIndex.get(postID);
+        return key == null ? null : copyOf(postsByKey.get(key));
+    }
+
+    private static Post copyOf(final Post post) {
+        return post == null ? null : post.copy();
+    }
+
+    /**
+     * Gets the number of posts held in memory.
+     * @return the post count
+     */
+    public int size() {
+        return postsByKey.size();
+    }
+
+    /**
+     * Inserts or replaces a post.
+     * @param key the Firebase key
+     * @param post the post value
+     */
+    public synchronized void put(final String key, final Post post) {
+        if (key == null || post == null) {
+            return;
+        }
+        Post previous = postsByKey.put(key, post);
+        if (previous != null && previous.getPostID() != post.getPostID()) {
+            unindex(previous, key);
+        }
+        keyIndex.put(post.getPostID(), key);
+        sortedSnapshot = null;
+        version++;
+        for (Listener listener : listeners) {
+            listener.onPostPut(key, previous, post);
+        }
+    }
+
+    /**
+     * Removes a post.
+     * @param key the Firebase key
+     */
+    public synchronized void remove(final String key) {
+        if (key == null) {
+            return;
+        }
+        Post removed = postsByKey.remove(key);
+        if (removed != null) {
+            unindex(removed, key);
+            sortedSnapshot = null;
+            version++;
+            for (Listener listener : listeners) {
+                listener.onPostRemoved(key, removed);
+            }
+        }
+    }
+
+    private void unindex(final Post post, final String key) {
+        if (key.equals(keyIndex.get(post.getPostID()))) {
+            keyIndex.remove(post.getPostID());
+        }
+    }
+
+    /**
+     * Marks the store as seeded from the initial value event. Firebase raises
+     * that event after the child events for the same data, so children already
+     * present were delivered by onChildAdded, at least as fresh; only children
+     * the store has not seen are put, and listeners index each post once.
+     * @param children the child snapshots of the posts node
+     */
+    void seed(final Iterable<DataSnapshot> children) {
+        for (DataSnapshot child : children) {
+            if (!postsByKey.containsKey(child.getKey())) {
+                put(child.getKey(), child.getValue(Post.class));
+            }
+        }
+        seededLatch.countDown();
+        TRACER.debug("Seeded with {} posts", postsByKey.size());
+    }
+
+    /**
+     * Stops serving live reads after Firebase cancels replication, and releases
+     * anyone waiting for the initial load so they fall back to Firebase at once.
+     * The postID index is cleared, since it no longer follows deletes.
+     */
+    private void fail(final String what, final DatabaseError databaseError) {
+        TRACER.warn("{}: {}", what, databaseError.getMessage());
+        synchronized (this) {
+            failed = true;
+            if (source != null) {
+                source.removeEventListener(this);
+                source = null;
+            }
+        }
+        keyIndex.clear();
+        seededLatch.countDown();
+    }
+
+    @Override
+    public void onChildAdded(final DataSnapshot snapshot, final String previousChildName) {
+        put(snapshot.getKey(), snapshot.getValue(Post.class));
+    }
+
+    @Override
+    public void onChildChanged(final DataSnapshot snapshot, final String previousChildName) {
+        put(snapshot.getKey(), snapshot.getValue(Post.class));
+    }
+
+    @Override
+    public void onChildRemoved(final DataSnapshot snapshot) {
+        remove(snapshot.getKey());
+    }
+
+    @Override
+    public void onChildMoved(final DataSnapshot snapshot, final String previousChildName) {
+        // Ordering is recomputed on read, so moves need no bookkeeping.
+    }
+
+    @Override
+    public void onCancelled(final DatabaseError databaseError) {
+        fail("Listener cancelled", databaseError);
+    }
+
+    /** Keys and posts in the same sorted order. */
+    private static final class Snapshot {
+        private final String[] keys;
+        private final Post[] posts;
+
+        Snapshot(final String[] keys, final Post[] posts) {
+            this.keys = keys;
+            this.posts = posts;
+        }
+    }
+}
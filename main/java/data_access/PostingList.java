@@ -0,0 +1,95 @@
+package data_access;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Sorted list of post IDs used as a posting list by the search indexes.
+ * Stored as a primitive int array so sparse terms stay small.
+ */
+public class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds a post ID, keeping the list sorted.
+     * @param id the post ID
+     * @return true if the ID was not already present
+     */
+    public boolean add(final int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return false;
+        }
+        int insertAt = -pos - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes a post ID.
+     * @param id the post ID
+     * @return true if the ID was present
+     */
+    public boolean remove(final int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Checks whether a post ID is present.
+     * @param id the post ID
+     * @return true if present
+     */
+    public boolean contains(final int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    /**
+     * Gets the ID at a position in ascending order.
+     * @param index the position
+     * @return the post ID
+     */
+    public int get(final int index) {
+        return ids[index];
+    }
+
+    /**
+     * Gets the number of IDs.
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the list is empty.
+     * @return true if there are no IDs
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Sets the bit of every ID in the target.
+     * @param target the bit set to union into
+     */
+    public void addTo(final BitSet target) {
+        for (int i = 0; i < size; i++) {
+            target.set(ids[i]);
+        }
+    }
+}
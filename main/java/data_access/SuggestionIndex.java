@@ -0,0 +1,261 @@
+package data_access;
+
+import entity.Post;
+import entity.SearchDocument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefix trie of counted terms for typeahead suggestions.
+ *
+ * Each node keeps the {@link #MAX_SUGGESTIONS} most frequent terms below it,
+ * so completing a prefix is a walk down the prefix followed by a copy of that
+ * node's list, independent of how many terms share the prefix. Counts change
+ * incrementally: a change moves the term within the lists on its path, and a
+ * node's list is rebuilt from its children only when a term drops out of it.
+ *
+ * Paths are lowercased, so matching ignores case, but terms are suggested as
+ * they were added. As a {@link PostStore.Listener} the index counts, per post,
+ * the words of its title, its tags and its location, all lowercased as in the
+ * post's {@link SearchDocument}.
+ */
+public class SuggestionIndex implements PostStore.Listener {
+
+    /** The most suggestions one prefix can return. */
+    public static final int MAX_SUGGESTIONS = 10;
+    // Shorter title words are rarely worth completing to
+    private static final int MIN_WORD_LENGTH = 2;
+
+    /** More frequent first, then alphabetical. */
+    private static final Comparator<Ranked> RANKING = Comparator.comparingInt((Ranked ranked) -> -ranked.count)
+            .thenComparing(ranked -> ranked.term);
+
+    private final Node root = new Node();
+    private int termCount;
+
+    /**
+     * Counts one more occurrence of a term.
+     * @param term the term; blank terms are ignored
+     */
+    public synchronized void add(final String term) {
+        change(term, 1);
+    }
+
+    /**
+     * Counts one less occurrence of a term, dropping it when none remain.
+     * @param term the term
+     */
+    public synchronized void remove(final String term) {
+        change(term, -1);
+    }
+
+    /**
+     * Completes a prefix, ignoring case.
+     * @param prefix the text typed so far
+     * @param limit the maximum number of suggestions, capped at {@link #MAX_SUGGESTIONS}
+     * @return the most frequent terms starting with the prefix, most frequent first
+     */
+    public synchronized List<String> suggest(final String prefix, final int limit) {
+        if (prefix == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Node node = root;
+        String key = prefix.toLowerCase();
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        int count = Math.min(limit, node.top.length);
+        List<String> suggestions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            suggestions.add(node.top[i].term);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Tells whether a term has been added and not yet removed.
+     * @param term the term, matched exactly
+     * @return true if the term is counted
+     */
+    public synchronized boolean contains(final String term) {
+        if (term == null) {
+            return false;
+        }
+        Node node = root;
+        String key = term.toLowerCase();
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node != null && node.counts.containsKey(term);
+    }
+
+    /**
+     * Gets the number of distinct terms.
+     * @return the term count
+     */
+    public synchronized int size() {
+        return termCount;
+    }
+
+    @Override
+    public synchronized void onPostPut(final String key, final Post previous, final Post post) {
+        if (previous != null) {
+            onPostRemoved(key, previous);
+        }
+        for (String term : terms(post)) {
+            add(term);
+        }
+    }
+
+    @Override
+    public synchronized void onPostRemoved(final String key, final Post post) {
+        for (String term : terms(post)) {
+            remove(term);
+        }
+    }
+
+    // Each distinct term counts once per post, so counts are post frequencies
+    private static Set<String> terms(final Post post) {
+        SearchDocument document = post.searchDocument();
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : document.tokens(SearchDocument.TITLE)) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                terms.add(word);
+            }
+        }
+        terms.addAll(document.tags());
+        terms.add(document.location());
+        terms.remove("");
+        return terms;
+    }
+
+    private void change(final String term, final int delta) {
+        if (term == null || term.trim().isEmpty()) {
+            return;
+        }
+        String key = term.toLowerCase();
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                if (delta < 0) {
+                    return;
+                }
+                child = new Node();
+                node.children.put(key.charAt(i), child);
+            }
+            node = child;
+            path[i + 1] = node;
+        }
+
+        int count = node.counts.getOrDefault(term, 0) + delta;
+        if (count > 0) {
+            if (!node.counts.containsKey(term)) {
+                termCount++;
+            }
+            node.counts.put(term, count);
+        } else if (node.counts.remove(term) != null) {
+            termCount--;
+        } else {
+            return;
+        }
+
+        // Refresh the lists bottom-up, pruning branches left without terms
+        for (int depth = key.length(); depth >= 0; depth--) {
+            Node current = path[depth];
+            current.update(term, count, delta < 0);
+            if (depth > 0 && current.top.length == 0) {
+                path[depth - 1].children.remove(key.charAt(depth - 1));
+            }
+        }
+    }
+
+    /** A term and its count. */
+    private static final class Ranked {
+        private final String term;
+        private final int count;
+
+        Ranked(final String term, final int count) {
+            this.term = term;
+            this.count = count;
+        }
+    }
+
+    /** A trie node: the terms ending here and the best terms at or below it. */
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final Map<String, Integer> counts = new HashMap<>(1);
+        private Ranked[] top = new Ranked[0];
+
+        /**
+         * Moves one term to its place for a new count. Only a term leaving a
+         * full list can let in one that was not listed, which takes a re-rank.
+         */
+        void update(final String term, final int count, final boolean decreased) {
+            int index = indexOf(term);
+            if (decreased && index >= 0 && top.length == MAX_SUGGESTIONS) {
+                rank();
+                return;
+            }
+            Ranked[] rest = top;
+            if (index >= 0) {
+                rest = new Ranked[top.length - 1];
+                System.arraycopy(top, 0, rest, 0, index);
+                System.arraycopy(top, index + 1, rest, index, rest.length - index);
+            }
+            if (count <= 0) {
+                top = rest;
+                return;
+            }
+            Ranked ranked = new Ranked(term, count);
+            int position = 0;
+            while (position < rest.length && RANKING.compare(rest[position], ranked) < 0) {
+                position++;
+            }
+            if (position >= MAX_SUGGESTIONS) {
+                top = rest;
+                return;
+            }
+            Ranked[] updated = new Ranked[Math.min(MAX_SUGGESTIONS, rest.length + 1)];
+            System.arraycopy(rest, 0, updated, 0, position);
+            updated[position] = ranked;
+            System.arraycopy(rest, position, updated, position + 1, updated.length - position - 1);
+            top = updated;
+        }
+
+        // Merges the children's lists with the terms ending here
+        void rank() {
+            List<Ranked> candidates = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                candidates.add(new Ranked(entry.getKey(), entry.getValue()));
+            }
+            for (Node child : children.values()) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(RANKING);
+            top = candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size())).toArray(new Ranked[0]);
+        }
+
+        private int indexOf(final String term) {
+            for (int i = 0; i < top.length; i++) {
+                if (top[i].term.equals(term)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package data_access;
+
+import use_case.change_password.ChangePasswordUserDataAccessInterface;
+import use_case.change_username.ChangeUsernameUserDataAccessInterface;
+import use_case.deleteUser.DeleteUserDataAccessInterface;
+import use_case.login.LoginUserDataAccessInterface;
+import use_case.logout.LogoutUserDataAccessInterface;
+import use_case.signup.SignupUserDataAccessInterface;
+import use_case.suggest.SuggestUserDataAccessInterface;
+
+/**
+ * Every user operation the application needs, implemented once per storage backend.
+ */
+public interface UserDataAccessInterface extends
+        LoginUserDataAccessInterface,
+        SignupUserDataAccessInterface,
+        ChangePasswordUserDataAccessInterface,
+        LogoutUserDataAccessInterface,
+        ChangeUsernameUserDataAccessInterface,
+        DeleteUserDataAccessInterface,
+        SuggestUserDataAccessInterface {
+}
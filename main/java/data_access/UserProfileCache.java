@@ -0,0 +1,231 @@
+package data_access;
+
+import entity.User;
+import metrics.MetricsRegistry;
+import trace.Tracer;
+import use_case.login.LoginUserDataAccessInterface;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared cache of user profiles keyed by username, with a time-to-live.
+ * Lookups are asynchronous so views can render first and fill in profile
+ * details (such as credibility) when they arrive. Concurrent lookups of the
+ * same missing user share one database read, and bulk lookups fetch every
+ * missing user in parallel. At most a fixed number of profiles is kept, least
+ * recently used first out, and expired profiles are dropped as the cache is written.
+ */
+public class UserProfileCache {
+
+    public static final long DEFAULT_TTL_MILLIS = 60_000;
+    /** The number of profiles kept when no capacity is configured. */
+    public static final int DEFAULT_CAPACITY = 1_000;
+    private static final int TIMEOUT_SECONDS = 5;
+    private static final Tracer TRACER = Tracer.get(UserProfileCache.class);
+
+    private final LoginUserDataAccessInterface userDataAccessObject;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<User>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a cache with the default time-to-live.
+     * @param userDataAccessObject the user data access object to read through and write through
+     */
+    public UserProfileCache(final LoginUserDataAccessInterface userDataAccessObject) {
+        this(userDataAccessObject, DEFAULT_TTL_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache with the default capacity.
+     * @param userDataAccessObject the user data access object to read through and write through
+     * @param ttlMillis how long a loaded profile is served before it is read again
+     * @param clock supplies the current time in milliseconds
+     */
+    public UserProfileCache(final LoginUserDataAccessInterface userDataAccessObject, final long ttlMillis,
+                            final LongSupplier clock) {
+        this(userDataAccessObject, ttlMillis, DEFAULT_CAPACITY, clock);
+    }
+
+    /**
+     * Creates a cache.
+     * @param userDataAccessObject the user data access object to read through and write through
+     * @param ttlMillis how long a loaded profile is served before it is read again
+     * @param capacity the maximum number of profiles kept
+     * @param clock supplies the current time in milliseconds
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public UserProfileCache(final LoginUserDataAccessInterface userDataAccessObject, final long ttlMillis,
+                            final int capacity, final LongSupplier clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.userDataAccessObject = userDataAccessObject;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, UserProfileCache.Entry> eldest) {
+                if (size() > capacity) {
+                    return true;
+                }
+                // Sweep expired profiles from the least recently used end
+                Iterator<UserProfileCache.Entry> iterator = values().iterator();
+                while (iterator.hasNext() && isExpired(iterator.next())) {
+                    iterator.remove();
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Gets the application-wide cache, backed by the configured user data access object.
+     * @return the shared cache
+     */
+    public static UserProfileCache shared() {
+        return DataAccessFactory.shared().userProfiles();
+    }
+
+    /**
+     * Gets a user, reading it only if there is no fresh cached copy.
+     * @param username the username
+     * @return a future of the user, completed with null if there is none
+     */
+    public CompletableFuture<User> getUserAsync(final String username) {
+        Entry entry = entries.get(username);
+        if (entry != null && !isExpired(entry)) {
+            return CompletableFuture.completedFuture(entry.user);
+        }
+        return load(username);
+    }
+
+    /**
+     * Gets several users at once. Cached users are served directly and the
+     * rest are read in parallel; users that do not exist or fail to load are left out.
+     * @param usernames the usernames, duplicates and nulls are ignored
+     * @return a future of the users found, keyed by username
+     */
+    public CompletableFuture<Map<String, User>> getUsers(final Collection<String> usernames) {
+        List<String> names = new ArrayList<>();
+        List<CompletableFuture<User>> lookups = new ArrayList<>();
+        for (String username : new LinkedHashSet<>(usernames)) {
+            if (username == null) {
+                continue;
+            }
+            names.add(username);
+            lookups.add(getUserAsync(username).exceptionally(error -> null));
+        }
+        return CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0])).thenApply(done -> {
+            Map<String, User> users = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                User user = lookups.get(i).join();
+                if (user != null) {
+                    users.put(names.get(i), user);
+                }
+            }
+            return users;
+        });
+    }
+
+    /**
+     * Reads a user from the database, bypassing the cache. Used by callers
+     * that modify the user, so they do not start from a stale profile. The
+     * user read is not cached, so edits made to it are only published once
+     * they are saved through {@link #save}.
+     * @param username the username
+     * @return the user, or null if there is none or the read failed
+     */
+    public User refresh(final String username) {
+        try {
+            return userDataAccessObject.getAsync(username).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            MetricsRegistry.reportIfTimeout(e);
+            TRACER.warn("Error refreshing the profile of '{}': {}", username, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Saves a user through the data access object and caches the saved profile.
+     * @param user the user to save
+     */
+    public void save(final User user) {
+        userDataAccessObject.save(user);
+        entries.put(user.getName(), new Entry(user, clock.getAsLong()));
+    }
+
+    /**
+     * Drops the cached profile of a user.
+     * @param username the username
+     */
+    public void invalidate(final String username) {
+        entries.remove(username);
+    }
+
+    /**
+     * Gets the number of cached profiles, including expired ones not yet dropped.
+     * @return the entry count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(final Entry entry) {
+        return clock.getAsLong() - entry.loadedAt >= ttlMillis;
+    }
+
+    private CompletableFuture<User> load(final String username) {
+        CompletableFuture<User> existing = pending.get(username);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<User> result = new CompletableFuture<>();
+        existing = pending.putIfAbsent(username, result);
+        if (existing != null) {
+            return existing;
+        }
+
+        long startedAt = clock.getAsLong();
+        userDataAccessObject.getAsync(username).whenComplete((user, error) -> {
+            if (error == null) {
+                // Keep a profile saved while the read was in flight; it is newer than this read
+                entries.compute(username, (name, current) ->
+                    current != null && current.loadedAt >= startedAt ? current : new Entry(user, startedAt));
+            }
+            pending.remove(username, result);
+            if (error == null) {
+                result.complete(user);
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+        return result;
+    }
+
+    /** A cached profile and when it was read. The user is null if none exists. */
+    private static final class Entry {
+        private final User user;
+        private final long loadedAt;
+
+        Entry(final User user, final long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
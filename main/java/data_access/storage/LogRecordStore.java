@@ -0,0 +1,348 @@
+package data_access.storage;
+
+import trace.Tracer;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded record store backed by a single append-only log file.
+ *
+ * Every put and delete is appended as one checksummed record; nothing in the
+ * file is ever rewritten in place. An in-memory index maps each live key to
+ * the position of its latest value, so a read is one positional file read and
+ * the index is rebuilt by replaying the log on open. A record cut short by a
+ * crash is detected by its length or checksum and truncated away.
+ *
+ * Superseded values stay in the log until it is compacted: once at least half
+ * of a large enough log is garbage, the live records are copied to a new file
+ * that atomically replaces the old one.
+ */
+public class LogRecordStore implements RecordStore {
+
+    /** Name of the log file inside the store directory. */
+    public static final String LOG_FILE = "records.log";
+    private static final String COMPACT_FILE = "records.log.compact";
+    private static final long MIN_COMPACT_BYTES = 1024 * 1024;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    // Body length and checksum
+    private static final int HEADER_BYTES = 8;
+    private static final Tracer TRACER = Tracer.get(LogRecordStore.class);
+
+    private final Path directory;
+    private final Path logPath;
+    private final boolean syncWrites;
+    private final Map<String, TreeMap<String, Location>> index = new HashMap<>();
+    private FileChannel channel;
+    private long endOffset;
+    private long liveBytes;
+
+    /**
+     * Opens a store, creating the directory and log if needed and replaying any existing log.
+     * @param directory the directory that holds the log
+     * @param syncWrites if true, each write is forced to disk before it returns
+     * @throws StorageException if the log cannot be opened or read
+     */
+    public LogRecordStore(final Path directory, final boolean syncWrites) {
+        this.directory = directory;
+        this.logPath = directory.resolve(LOG_FILE);
+        this.syncWrites = syncWrites;
+        try {
+            Files.createDirectories(directory);
+            Files.deleteIfExists(directory.resolve(COMPACT_FILE));
+            channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            replay();
+        } catch (IOException e) {
+            throw new StorageException("Failed to open record log " + logPath, e);
+        }
+        TRACER.info("Opened record log {} ({} bytes)", logPath, endOffset);
+    }
+
+    @Override
+    public synchronized String get(final String collection, final String key) {
+        Location location = locate(collection, key);
+        return location == null ? null : readValue(location);
+    }
+
+    @Override
+    public synchronized void put(final String collection, final String key, final String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long start = append(PUT, collection, key, bytes);
+        int recordBytes = (int) (endOffset - start);
+        release(index.computeIfAbsent(collection, name -> new TreeMap<>())
+                .put(key, new Location(endOffset - bytes.length, bytes.length, recordBytes)));
+        liveBytes += recordBytes;
+        compactIfWasteful();
+    }
+
+    @Override
+    public synchronized boolean delete(final String collection, final String key) {
+        TreeMap<String, Location> records = index.get(collection);
+        if (records == null || !records.containsKey(key)) {
+            return false;
+        }
+        append(DELETE, collection, key, new byte[0]);
+        release(records.remove(key));
+        if (records.isEmpty()) {
+            index.remove(collection);
+        }
+        compactIfWasteful();
+        return true;
+    }
+
+    @Override
+    public synchronized List<String> keys(final String collection) {
+        TreeMap<String, Location> records = index.get(collection);
+        return records == null ? new ArrayList<>() : new ArrayList<>(records.keySet());
+    }
+
+    @Override
+    public synchronized Map<String, String> getAll(final String collection) {
+        Map<String, String> values = new LinkedHashMap<>();
+        TreeMap<String, Location> records = index.get(collection);
+        if (records != null) {
+            for (Map.Entry<String, Location> entry : records.entrySet()) {
+                values.put(entry.getKey(), readValue(entry.getValue()));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Gets the size of the log, including superseded records.
+     * @return the log length in bytes
+     */
+    public synchronized long logBytes() {
+        return endOffset;
+    }
+
+    /**
+     * Rewrites the log with only the live records.
+     * @throws StorageException if the new log cannot be written
+     */
+    public synchronized void compact() {
+        Path compactPath = directory.resolve(COMPACT_FILE);
+        Map<String, TreeMap<String, Location>> compacted = new HashMap<>();
+        long offset = 0;
+        try (FileChannel out = FileChannel.open(compactPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Map.Entry<String, TreeMap<String, Location>> collection : index.entrySet()) {
+                TreeMap<String, Location> records = new TreeMap<>();
+                for (Map.Entry<String, Location> entry : collection.getValue().entrySet()) {
+                    byte[] value = readBytes(entry.getValue());
+                    ByteBuffer record = encode(PUT, collection.getKey(), entry.getKey(), value);
+                    int recordBytes = record.remaining();
+                    writeFully(out, record, offset);
+                    offset += recordBytes;
+                    records.put(entry.getKey(), new Location(offset - value.length, value.length, recordBytes));
+                }
+                compacted.put(collection.getKey(), records);
+            }
+            out.force(true);
+        } catch (IOException e) {
+            throw new StorageException("Failed to compact record log " + logPath, e);
+        }
+
+        try {
+            channel.close();
+            Files.move(compactPath, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new StorageException("Failed to replace record log " + logPath, e);
+        }
+        TRACER.info("Compacted record log from {} to {} bytes", endOffset, offset);
+        index.clear();
+        index.putAll(compacted);
+        endOffset = offset;
+        liveBytes = offset;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (channel.isOpen()) {
+                channel.force(true);
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to close record log " + logPath, e);
+        }
+    }
+
+    private Location locate(final String collection, final String key) {
+        TreeMap<String, Location> records = index.get(collection);
+        return records == null ? null : records.get(key);
+    }
+
+    private void release(final Location previous) {
+        if (previous != null) {
+            liveBytes -= previous.recordBytes;
+        }
+    }
+
+    private void compactIfWasteful() {
+        if (endOffset >= MIN_COMPACT_BYTES && liveBytes * 2 <= endOffset) {
+            compact();
+        }
+    }
+
+    /**
+     * Appends one record and returns the file offset it starts at.
+     */
+    private long append(final byte op, final String collection, final String key, final byte[] value) {
+        ByteBuffer record = encode(op, collection, key, value);
+        long start = endOffset;
+        int recordBytes = record.remaining();
+        try {
+            writeFully(channel, record, start);
+            if (syncWrites) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to append to record log " + logPath, e);
+        }
+        endOffset = start + recordBytes;
+        return start;
+    }
+
+    private static ByteBuffer encode(final byte op, final String collection, final String key,
+                                     final byte[] value) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(value.length + 64);
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            out.writeByte(op);
+            out.writeUTF(collection);
+            out.writeUTF(key);
+            out.write(value);
+        } catch (IOException e) {
+            // In-memory streams do not fail
+            throw new IllegalStateException(e);
+        }
+        byte[] bytes = body.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + bytes.length);
+        record.putInt(bytes.length).putInt((int) crc.getValue()).put(bytes).flip();
+        return record;
+    }
+
+    private static void writeFully(final FileChannel target, final ByteBuffer buffer, final long position)
+            throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            at += target.write(buffer, at);
+        }
+    }
+
+    private String readValue(final Location location) {
+        return new String(readBytes(location), StandardCharsets.UTF_8);
+    }
+
+    private byte[] readBytes(final Location location) {
+        ByteBuffer buffer = ByteBuffer.allocate(location.length);
+        try {
+            long at = location.offset;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, at);
+                if (read < 0) {
+                    throw new EOFException("Record log ended inside a value");
+                }
+                at += read;
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to read record log " + logPath, e);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Rebuilds the index from the log. Stops at the first incomplete or corrupt
+     * record, which can only be the tail of an interrupted append, and cuts it off.
+     */
+    private void replay() throws IOException {
+        long fileBytes = channel.size();
+        long offset = 0;
+        InputStream stream = new BufferedInputStream(Channels.newInputStream(channel.position(0)), 1 << 16);
+        DataInputStream in = new DataInputStream(stream);
+        while (offset + HEADER_BYTES <= fileBytes) {
+            int bodyBytes = in.readInt();
+            int checksum = in.readInt();
+            if (bodyBytes <= 0 || offset + HEADER_BYTES + bodyBytes > fileBytes) {
+                break;
+            }
+            byte[] body = new byte[bodyBytes];
+            in.readFully(body);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            applyRecord(body, offset);
+            offset += HEADER_BYTES + bodyBytes;
+        }
+        if (offset < fileBytes) {
+            TRACER.warn("Truncating {} bytes of torn record log tail", fileBytes - offset);
+            channel.truncate(offset);
+            channel.force(true);
+        }
+        endOffset = offset;
+    }
+
+    private void applyRecord(final byte[] body, final long recordOffset) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        byte op = in.readByte();
+        String collection = in.readUTF();
+        String key = in.readUTF();
+        int valueBytes = in.available();
+        int recordBytes = HEADER_BYTES + body.length;
+        TreeMap<String, Location> records = index.computeIfAbsent(collection, name -> new TreeMap<>());
+        if (op == PUT) {
+            long valueOffset = recordOffset + recordBytes - valueBytes;
+            release(records.put(key, new Location(valueOffset, valueBytes, recordBytes)));
+            liveBytes += recordBytes;
+        } else {
+            release(records.remove(key));
+            if (records.isEmpty()) {
+                index.remove(collection);
+            }
+        }
+    }
+
+    /** Where the latest value of a key lives in the log. */
+    private static final class Location {
+        private final long offset;
+        private final int length;
+        private final int recordBytes;
+
+        Location(final long offset, final int length, final int recordBytes) {
+            this.offset = offset;
+            this.length = length;
+            this.recordBytes = recordBytes;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package data_access.storage;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage SPI used by the embedded data access objects.
+ * Records are string values stored under a key within a named collection,
+ * e.g. collection "users" and key "alice". Collections need no setup and
+ * disappear when their last record is deleted. Implementations must be
+ * safe for concurrent use.
+ */
+public interface RecordStore extends AutoCloseable {
+
+    /**
+     * Gets a record.
+     * @param collection the collection name
+     * @param key the record key
+     * @return the value, or null if there is no such record
+     */
+    String get(String collection, String key);
+
+    /**
+     * Inserts or replaces a record. The write is durable once this returns,
+     * to the degree the implementation promises.
+     * @param collection the collection name
+     * @param key the record key
+     * @param value the value, not null
+     */
+    void put(String collection, String key, String value);
+
+    /**
+     * Deletes a record.
+     * @param collection the collection name
+     * @param key the record key
+     * @return true if the record existed
+     */
+    boolean delete(String collection, String key);
+
+    /**
+     * Gets the keys of a collection in ascending order.
+     * @param collection the collection name
+     * @return a snapshot of the keys, empty if the collection does not exist
+     */
+    List<String> keys(String collection);
+
+    /**
+     * Gets every record of a collection.
+     * @param collection the collection name
+     * @return a snapshot of the records in ascending key order
+     */
+    Map<String, String> getAll(String collection);
+
+    /**
+     * Releases the store. Further calls fail.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,16 @@
+package data_access.storage;
+
+/**
+ * Thrown when a record store cannot read or write its backing storage.
+ */
+public class StorageException extends RuntimeException {
+
+    /**
+     * Creates the exception.
+     * @param message what failed
+     * @param cause the underlying I/O error
+     */
+    public StorageException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,6 +2,8 @@ package entity;
 
 import com.google.firebase.database.IgnoreExtraProperties;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -26,6 +28,8 @@ public class Post {
     private boolean resolved;
     private String resolvedBy;
     private String creditedTo;
+    // Derived from the searchable fields; dropped whenever one of them is set
+    private transient volatile SearchDocument searchDocument;
     
     /**
      * Default constructor required for Firebase.
@@ -94,7 +98,8 @@ public class Post {
      * @param title the title to set
      */
     public void setTitle(final String title) { 
-        this.title = title; 
+        this.title = title;
+        this.searchDocument = null;
     }
     
     /**
@@ -110,7 +115,8 @@ public class Post {
      * @param description the description to set
      */
     public void setDescription(final String description) { 
-        this.description = description; 
+        this.description = description;
+        this.searchDocument = null;
     }
     
     /**
@@ -126,7 +132,8 @@ public class Post {
      * @param tags the tags to set
      */
     public void setTags(final List<String> tags) { 
-        this.tags = tags; 
+        this.tags = tags;
+        this.searchDocument = null;
     }
     
     /**
@@ -174,7 +181,8 @@ public class Post {
      * @param location the location to set
      */
     public void setLocation(final String location) { 
-        this.location = location; 
+        this.location = location;
+        this.searchDocument = null;
     }
     
     /**
@@ -304,4 +312,46 @@ public class Post {
     public void setCreditedTo(final String creditedTo) { 
         this.creditedTo = creditedTo; 
     }
-} 
\ No newline at end of file
+
+    /**
+     * Copies the post, so the copy can be edited without changing this one.
+     * The tag and comment lists and the reactions map are copied; the search
+     * document is immutable and shared until the copy's fields are set.
+     * @return the copy
+     */
+    public Post copy() {
+        Post copy = new Post();
+        copy.postID = postID;
+        copy.title = title;
+        copy.description = description;
+        copy.tags = tags == null ? null : new ArrayList<>(tags);
+        copy.timestamp = timestamp;
+        copy.author = author;
+        copy.location = location;
+        copy.imageURL = imageURL;
+        copy.isLost = isLost;
+        copy.numberOfLikes = numberOfLikes;
+        copy.reactions = reactions == null ? null : new HashMap<>(reactions);
+        copy.comments = comments == null ? null : new ArrayList<>(comments);
+        copy.resolved = resolved;
+        copy.resolvedBy = resolvedBy;
+        copy.creditedTo = creditedTo;
+        copy.searchDocument = searchDocument;
+        return copy;
+    }
+
+    /**
+     * Gets the normalized, tokenized searchable fields. Built on first use and
+     * rebuilt after the title, description, location or tags are set; a tag
+     * list changed in place is not noticed, so set it again after changing it.
+     * @return the search document
+     */
+    public SearchDocument searchDocument() {
+        SearchDocument document = searchDocument;
+        if (document == null) {
+            document = new SearchDocument(this);
+            searchDocument = document;
+        }
+        return document;
+    }
+}
@@ -0,0 +1,125 @@
+package entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized copy of a post's searchable fields, built once per post version.
+ *
+ * Each field is kept lowercased ("" when missing), with the tags joined by
+ * spaces, and split into its distinct word tokens, so searches compare against
+ * ready-made strings and token arrays instead of lowercasing, joining and
+ * splitting every post on every query. Get it with {@link Post#searchDocument()}.
+ * Instances are immutable; the returned arrays and lists are shared and must
+ * not be modified.
+ */
+public final class SearchDocument {
+
+    /** Field positions, in decreasing search weight. */
+    public static final int TITLE = 0;
+    public static final int TAGS = 1;
+    public static final int DESCRIPTION = 2;
+    public static final int LOCATION = 3;
+    public static final int FIELD_COUNT = 4;
+
+    private static final Pattern NON_WORD = Pattern.compile("\\W+");
+
+    private final String rawTitle;
+    private final String rawDescription;
+    private final String rawLocation;
+    private final List<String> rawTags;
+    private final String[] texts = new String[FIELD_COUNT];
+    private final String[][] tokens = new String[FIELD_COUNT][];
+    private final List<String> tags;
+
+    SearchDocument(final Post post) {
+        this.rawTitle = post.getTitle();
+        this.rawDescription = post.getDescription();
+        this.rawLocation = post.getLocation();
+        this.rawTags = post.getTags() == null ? null : new ArrayList<>(post.getTags());
+
+        List<String> lowerTags = new ArrayList<>();
+        if (rawTags != null) {
+            for (String tag : rawTags) {
+                if (tag != null) {
+                    lowerTags.add(tag.toLowerCase());
+                }
+            }
+        }
+        this.tags = Collections.unmodifiableList(lowerTags);
+
+        texts[TITLE] = lower(rawTitle);
+        texts[TAGS] = rawTags == null ? "" : String.join(" ", rawTags).toLowerCase();
+        texts[DESCRIPTION] = lower(rawDescription);
+        texts[LOCATION] = lower(rawLocation);
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            tokens[f] = tokenize(texts[f]);
+        }
+    }
+
+    /**
+     * Splits text into its distinct non-empty word tokens, in order of first occurrence.
+     * @param text the text, usually already lowercased
+     * @return the tokens
+     */
+    public static String[] tokenize(final String text) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String token : NON_WORD.split(text)) {
+            if (!token.isEmpty()) {
+                distinct.add(token);
+            }
+        }
+        return distinct.toArray(new String[0]);
+    }
+
+    /**
+     * Gets the lowercased text of a field.
+     * @param field the field position, e.g. {@link #TITLE}
+     * @return the text, never null
+     */
+    public String text(final int field) {
+        return texts[field];
+    }
+
+    /**
+     * Gets the distinct tokens of a field.
+     * @param field the field position, e.g. {@link #TITLE}
+     * @return the tokens, shared and not to be modified
+     */
+    public String[] tokens(final int field) {
+        return tokens[field];
+    }
+
+    public String title() { return texts[TITLE]; }
+    public String description() { return texts[DESCRIPTION]; }
+    public String location() { return texts[LOCATION]; }
+
+    /**
+     * Gets the lowercased tags, without nulls.
+     * @return the tags
+     */
+    public List<String> tags() {
+        return tags;
+    }
+
+    /**
+     * Tells whether this document was built from the post's current searchable fields.
+     * @param post the post to compare with
+     * @return true if the title, description, location and tags are unchanged
+     */
+    public boolean describes(final Post post) {
+        return Objects.equals(rawTitle, post.getTitle())
+                && Objects.equals(rawDescription, post.getDescription())
+                && Objects.equals(rawLocation, post.getLocation())
+                && Objects.equals(rawTags, post.getTags());
+    }
+
+    private static String lower(final String value) {
+        return value == null ? "" : value.toLowerCase();
+    }
+}
@@ -0,0 +1,26 @@
+package interface_adapter;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs view model updates on the Swing event dispatch thread.
+ * Use cases may complete on data access threads, and views may only be
+ * touched from the event dispatch thread.
+ */
+public final class EventDispatch {
+
+    private EventDispatch() {
+    }
+
+    /**
+     * Runs the update now if already on the event dispatch thread, otherwise queues it there.
+     * @param update the view model update
+     */
+    public static void run(Runnable update) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            update.run();
+        } else {
+            SwingUtilities.invokeLater(update);
+        }
+    }
+}
@@ -3,14 +3,20 @@ package interface_adapter.dashboard;
 import interface_adapter.ViewManagerModel;
 import use_case.dashboard.DashboardInputBoundary;
 import use_case.dashboard.DashboardInputData;
+import use_case.dashboard.FacetFilter;
 import entity.Post;
 import java.util.List;
 
 /**
  * The controller for the Dashboard View.
+ * Use cases are started asynchronously so Swing listeners return immediately;
+ * the presenter updates the view once results arrive.
  */
 public class DashboardController {
 
+    /** Number of posts fetched per page on the posts tab. */
+    public static final int POSTS_PAGE_SIZE = 20;
+
     private final DashboardInputBoundary dashboardInteractor;
     private final ViewManagerModel viewManagerModel;
     private String currentUser; // Add current user tracking
@@ -43,11 +49,20 @@ public class DashboardController {
     }
 
     /**
-     * Loads all posts for the dashboard.
+     * Loads the first page of posts for the dashboard, and the current user's posts.
      */
     public void loadPosts() {
-        DashboardInputData dashboardInputData = new DashboardInputData("load_posts");
-        dashboardInteractor.execute(dashboardInputData);
+        DashboardInputData dashboardInputData = new DashboardInputData("load_posts_page", null, POSTS_PAGE_SIZE, currentUser);
+        dashboardInteractor.executeAsync(dashboardInputData);
+    }
+
+    /**
+     * Loads the page of posts that follows the ones already shown.
+     * @param cursor the cursor returned with the previous page
+     */
+    public void loadMorePosts(String cursor) {
+        DashboardInputData dashboardInputData = new DashboardInputData("load_posts_page", cursor, POSTS_PAGE_SIZE, currentUser);
+        dashboardInteractor.executeAsync(dashboardInputData);
     }
 
     /**
@@ -56,7 +71,7 @@ public class DashboardController {
      */
     public void searchPosts(String searchQuery) {
         DashboardInputData dashboardInputData = new DashboardInputData("search_posts", searchQuery);
-        dashboardInteractor.execute(dashboardInputData);
+        dashboardInteractor.executeAsync(dashboardInputData);
     }
 
 
@@ -71,7 +86,17 @@ public class DashboardController {
     public void executeAdvancedSearch(String title, String location, java.util.List<String> tags, Boolean isLost) {
         // Use a specific action for advanced search that the interactor can handle
         DashboardInputData dashboardInputData = new DashboardInputData("advanced_search", title, location, tags, isLost);
-        dashboardInteractor.execute(dashboardInputData);
+        dashboardInteractor.executeAsync(dashboardInputData);
+    }
+
+    /**
+     * Counts, for the posts whose title contains the text, how many carry each
+     * tag and location and how many are lost or found.
+     * @param title text the title must contain; blank counts every post
+     */
+    public void loadFacets(String title) {
+        DashboardInputData dashboardInputData = new DashboardInputData("load_facets", FacetFilter.byTitle(title));
+        dashboardInteractor.executeAsync(dashboardInputData);
     }
 
     /**
@@ -84,7 +109,7 @@ public class DashboardController {
      */
     public void addPost(String title, String content, List<String> tags, String location, boolean isLost) {
         DashboardInputData dashboardInputData = new DashboardInputData("add_post", title, content, tags, location, isLost, currentUser);
-        dashboardInteractor.execute(dashboardInputData);
+        dashboardInteractor.executeAsync(dashboardInputData);
     }
 
     /**
@@ -100,7 +125,7 @@ public class DashboardController {
      */
     public void updatePost(Post post) {
         DashboardInputData dashboardInputData = new DashboardInputData("update_post", post);
-        dashboardInteractor.execute(dashboardInputData);
+        dashboardInteractor.executeAsync(dashboardInputData);
     }
     
     /**
@@ -109,7 +134,7 @@ public class DashboardController {
      */
     public void deletePost(int postId) {
         DashboardInputData dashboardInputData = new DashboardInputData("delete_post", postId);
-        dashboardInteractor.execute(dashboardInputData);
+        dashboardInteractor.executeAsync(dashboardInputData);
     }
 
     /**
@@ -120,6 +145,6 @@ public class DashboardController {
      */
     public void resolvePost(String postId, String creditedUsername, String resolvedByUsername) {
         DashboardInputData dashboardInputData = new DashboardInputData("resolve_post", postId, creditedUsername, resolvedByUsername);
-        dashboardInteractor.execute(dashboardInputData);
+        dashboardInteractor.executeAsync(dashboardInputData);
     }
 }
@@ -1,11 +1,17 @@
 package interface_adapter.dashboard;
 
+import interface_adapter.EventDispatch;
 import use_case.dashboard.DashboardOutputBoundary;
 import use_case.dashboard.DashboardOutputData;
+import use_case.dashboard.FacetCounts;
+import entity.Post;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Presenter for the Dashboard View.
  * Handles the output from the dashboard use case and updates the view model.
+ * Updates run on the event dispatch thread, as results may arrive on data access threads.
  */
 public class DashboardPresenter implements DashboardOutputBoundary {
     private final DashboardViewModel dashboardViewModel;
@@ -16,44 +22,76 @@ public class DashboardPresenter implements DashboardOutputBoundary {
 
     @Override
     public void prepareSuccessView(DashboardOutputData dashboardOutputData) {
-        DashboardState currentState = dashboardViewModel.getState();
+        EventDispatch.run(() -> {
+            DashboardState currentState = dashboardViewModel.getState();
+
+            FacetCounts facets = dashboardOutputData.getFacets();
+            if (facets != null) {
+                currentState.setFacetTotal(facets.getTotal());
+                currentState.setLostCount(facets.getLost());
+                currentState.setFoundCount(facets.getFound());
+                currentState.setTagCounts(facets.getTagCounts());
+                currentState.setLocationCounts(facets.getLocationCounts());
+                dashboardViewModel.setState(currentState);
+                dashboardViewModel.firePropertyChanged(DashboardViewModel.FACETS_PROPERTY);
+                return;
+            }
         
-        if (dashboardOutputData.getPosts() != null) {
-            currentState.setPosts(dashboardOutputData.getPosts());
-        }
-        if (dashboardOutputData.getSelectedPost() != null) {
-            currentState.setSelectedPost(dashboardOutputData.getSelectedPost());
-        }
-        if (dashboardOutputData.getSuccessMessage() != null) {
-            System.out.println("DEBUG: DashboardPresenter setting success message: '" + dashboardOutputData.getSuccessMessage() + "'");
-            currentState.setSuccessMessage(dashboardOutputData.getSuccessMessage());
-        }
+            currentState.setAppendedPosts(null);
+            if (dashboardOutputData.getPosts() != null) {
+                if (dashboardOutputData.isAppendedPage() && currentState.getPosts() != null) {
+                    // Infinite scroll: keep what is shown and tell the view which posts are new
+                    List<Post> allPosts = new ArrayList<>(currentState.getPosts());
+                    allPosts.addAll(dashboardOutputData.getPosts());
+                    currentState.setPosts(allPosts);
+                    currentState.setAppendedPosts(dashboardOutputData.getPosts());
+                } else {
+                    currentState.setPosts(dashboardOutputData.getPosts());
+                }
+                // Search results are complete lists; only paged loads carry a cursor
+                currentState.setNextPostsCursor(dashboardOutputData.getNextCursor());
+            }
+            if (dashboardOutputData.getMyPosts() != null) {
+                currentState.setMyPosts(dashboardOutputData.getMyPosts());
+            }
+            if (dashboardOutputData.getSelectedPost() != null) {
+                currentState.setSelectedPost(dashboardOutputData.getSelectedPost());
+            }
+            if (dashboardOutputData.getSuccessMessage() != null) {
+                System.out.println("DEBUG: DashboardPresenter setting success message: '" + dashboardOutputData.getSuccessMessage() + "'");
+                currentState.setSuccessMessage(dashboardOutputData.getSuccessMessage());
+            }
         
-        currentState.setError("");
-        currentState.setLoading(false);
-        dashboardViewModel.setState(currentState);
-        dashboardViewModel.firePropertyChanged();
+            currentState.setError("");
+            currentState.setLoading(false);
+            dashboardViewModel.setState(currentState);
+            dashboardViewModel.firePropertyChanged();
+        });
     }
 
     @Override
     public void prepareFailView(DashboardOutputData dashboardOutputData) {
-        DashboardState currentState = dashboardViewModel.getState();
-        currentState.setError(dashboardOutputData.getError());
-        currentState.setSuccessMessage("");
-        currentState.setLoading(false);
-        dashboardViewModel.setState(currentState);
-        dashboardViewModel.firePropertyChanged();
+        EventDispatch.run(() -> {
+            DashboardState currentState = dashboardViewModel.getState();
+            currentState.setError(dashboardOutputData.getError());
+            currentState.setSuccessMessage("");
+            currentState.setLoading(false);
+            dashboardViewModel.setState(currentState);
+            dashboardViewModel.firePropertyChanged();
+        });
     }
 
     /**
      * Prepares the view for loading state.
      */
     public void prepareLoadingView() {
-        DashboardState currentState = dashboardViewModel.getState();
-        currentState.setLoading(true);
-        currentState.setError("");
-        currentState.setSuccessMessage("");
-        dashboardViewModel.setState(currentState);
-        dashboardViewModel.firePropertyChanged();
+        EventDispatch.run(() -> {
+            DashboardState currentState = dashboardViewModel.getState();
+            currentState.setLoading(true);
+            currentState.setError("");
+            currentState.setSuccessMessage("");
+            dashboardViewModel.setState(currentState);
+            dashboardViewModel.firePropertyChanged();
+        });
     }
 }
@@ -1,7 +1,9 @@
 package interface_adapter.dashboard;
 
 import entity.Post;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The state for the Dashboard View Model.
@@ -13,6 +15,15 @@ public class DashboardState {
     private String error = "";
     private String successMessage = "";
     private boolean isLoading = false;
+    private String nextPostsCursor = null;
+    private List<Post> appendedPosts = null;
+    private List<Post> myPosts = null;
+    // Facet counts of the posts the search field would select by title
+    private int facetTotal = 0;
+    private int lostCount = 0;
+    private int foundCount = 0;
+    private Map<String, Integer> tagCounts = Collections.emptyMap();
+    private Map<String, Integer> locationCounts = Collections.emptyMap();
 
     public List<Post> getPosts() { return posts; }
     public Post getSelectedPost() { return selectedPost; }
@@ -20,6 +31,15 @@ public class DashboardState {
     public String getError() { return error; }
     public String getSuccessMessage() { return successMessage; }
     public boolean isLoading() { return isLoading; }
+    public String getNextPostsCursor() { return nextPostsCursor; }
+    public boolean hasMorePosts() { return nextPostsCursor != null; }
+    public List<Post> getAppendedPosts() { return appendedPosts; }
+    public List<Post> getMyPosts() { return myPosts; }
+    public int getFacetTotal() { return facetTotal; }
+    public int getLostCount() { return lostCount; }
+    public int getFoundCount() { return foundCount; }
+    public Map<String, Integer> getTagCounts() { return tagCounts; }
+    public Map<String, Integer> getLocationCounts() { return locationCounts; }
 
     public void setPosts(List<Post> posts) { this.posts = posts; }
     public void setSelectedPost(Post selectedPost) { this.selectedPost = selectedPost; }
@@ -27,4 +47,12 @@ public class DashboardState {
     public void setError(String error) { this.error = error; }
     public void setSuccessMessage(String successMessage) { this.successMessage = successMessage; }
     public void setLoading(boolean loading) { this.isLoading = loading; }
+    public void setNextPostsCursor(String nextPostsCursor) { this.nextPostsCursor = nextPostsCursor; }
+    public void setAppendedPosts(List<Post> appendedPosts) { this.appendedPosts = appendedPosts; }
+    public void setMyPosts(List<Post> myPosts) { this.myPosts = myPosts; }
+    public void setFacetTotal(int facetTotal) { this.facetTotal = facetTotal; }
+    public void setLostCount(int lostCount) { this.lostCount = lostCount; }
+    public void setFoundCount(int foundCount) { this.foundCount = foundCount; }
+    public void setTagCounts(Map<String, Integer> tagCounts) { this.tagCounts = tagCounts; }
+    public void setLocationCounts(Map<String, Integer> locationCounts) { this.locationCounts = locationCounts; }
 }
@@ -7,6 +7,9 @@ import interface_adapter.ViewModel;
  */
 public class DashboardViewModel extends ViewModel<DashboardState> {
 
+    /** Property fired when only the facet counts changed, so the posts are not redrawn. */
+    public static final String FACETS_PROPERTY = "facets";
+
     public DashboardViewModel() {
         super("dashboard");
         this.setState(new DashboardState());
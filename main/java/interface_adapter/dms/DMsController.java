@@ -7,6 +7,8 @@ import java.util.List;
 
 /**
  * Controller for chat functionality.
+ * Chat loads and sends are started asynchronously so Swing listeners return
+ * immediately; the presenter updates the view once results arrive.
  */
 public class DMsController {
     private final DMsInputBoundary dMsInputBoundary;
@@ -21,7 +23,7 @@ public class DMsController {
      */
     public void loadChats(String username) {
         DMsInputData inputData = new DMsInputData(username);
-        dMsInputBoundary.loadChats(inputData);
+        dMsInputBoundary.loadChatsAsync(inputData);
     }
 
     /**
@@ -30,7 +32,7 @@ public class DMsController {
      */
     public void createChat(List<User> participants) {
         DMsInputData inputData = new DMsInputData(participants);
-        dMsInputBoundary.createChat(inputData);
+        dMsInputBoundary.createChatAsync(inputData);
     }
 
     /**
@@ -41,7 +43,7 @@ public class DMsController {
      */
     public void sendMessage(String chatId, String username, String messageContent) {
         DMsInputData inputData = new DMsInputData(chatId, username, messageContent);
-        dMsInputBoundary.sendMessage(inputData);
+        dMsInputBoundary.sendMessageAsync(inputData);
     }
 
     /**
@@ -51,7 +53,26 @@ public class DMsController {
      */
     public void loadMessages(String chatId, String username) {
         DMsInputData inputData = new DMsInputData(chatId, username);
-        dMsInputBoundary.loadMessages(inputData);
+        dMsInputBoundary.loadMessagesAsync(inputData);
+    }
+
+    /**
+     * Loads the messages before the oldest one shown in the open chat.
+     * @param chatId the ID of the open chat
+     * @param username the current user's username
+     * @param beforeMessageId the older-messages cursor from the last page
+     */
+    public void loadOlderMessages(String chatId, String username, String beforeMessageId) {
+        DMsInputData inputData = new DMsInputData(chatId, username);
+        inputData.setBeforeMessageId(beforeMessageId);
+        dMsInputBoundary.loadOlderMessagesAsync(inputData);
+    }
+
+    /**
+     * Stops live updates of the open chat.
+     */
+    public void closeMessages() {
+        dMsInputBoundary.closeMessages();
     }
 
     /**
@@ -1,14 +1,17 @@
 package interface_adapter.dms;
 
+import interface_adapter.EventDispatch;
 import use_case.dms.DMsOutputBoundary;
 import use_case.dms.DMsOutputData;
 import entity.Chat;
 import entity.Message;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Presenter for the DMs use case.
+ * Updates run on the event dispatch thread, as results may arrive on data access threads.
  */
 public class DMsPresenter implements DMsOutputBoundary {
     private final DMsViewModel dMsViewModel;
@@ -19,38 +22,75 @@ public class DMsPresenter implements DMsOutputBoundary {
 
     @Override
     public void prepareLoadChatsView(DMsOutputData outputData) {
-        DMsState dMsState = dMsViewModel.getState();
-        dMsState.setChats(outputData.getChats());
-        dMsState.setError(outputData.getError());
-        dMsViewModel.setState(dMsState);
-        dMsViewModel.firePropertyChanged();
+        EventDispatch.run(() -> {
+            DMsState dMsState = dMsViewModel.getState();
+            dMsState.clearMessageUpdates();
+            dMsState.setChats(outputData.getChats());
+            dMsState.setError(outputData.getError());
+            dMsViewModel.setState(dMsState);
+            dMsViewModel.firePropertyChanged();
+        });
     }
 
     @Override
     public void prepareLoadMessagesView(DMsOutputData outputData) {
-        DMsState dMsState = dMsViewModel.getState();
-        dMsState.setMessages(outputData.getMessages());
-        dMsState.setCurrentChat(outputData.getCurrentChat());
-        dMsState.setError(outputData.getError());
-        dMsViewModel.setState(dMsState);
-        dMsViewModel.firePropertyChanged();
+        EventDispatch.run(() -> {
+            DMsState dMsState = dMsViewModel.getState();
+            dMsState.clearMessageUpdates();
+            dMsState.setMessages(outputData.getMessages());
+            dMsState.setOlderMessagesCursor(outputData.getOlderCursor());
+            dMsState.setCurrentChat(outputData.getCurrentChat());
+            dMsState.setError(outputData.getError());
+            dMsViewModel.setState(dMsState);
+            dMsViewModel.firePropertyChanged();
+        });
     }
 
     @Override
     public void prepareSendMessageView(DMsOutputData outputData) {
-        DMsState dMsState = dMsViewModel.getState();
-        dMsState.setMessages(outputData.getMessages());
-        dMsState.setError(outputData.getError());
-        dMsViewModel.setState(dMsState);
-        dMsViewModel.firePropertyChanged();
+        // The sent message is appended like any other new message
+        prepareNewMessagesView(outputData);
+    }
+
+    @Override
+    public void prepareNewMessagesView(DMsOutputData outputData) {
+        EventDispatch.run(() -> {
+            DMsState dMsState = dMsViewModel.getState();
+            dMsState.clearMessageUpdates();
+            dMsState.setNewMessages(outputData.getMessages());
+            dMsState.setError(outputData.getError());
+            dMsViewModel.setState(dMsState);
+            dMsViewModel.firePropertyChanged();
+        });
+    }
+
+    @Override
+    public void prepareOlderMessagesView(DMsOutputData outputData) {
+        EventDispatch.run(() -> {
+            DMsState dMsState = dMsViewModel.getState();
+            dMsState.clearMessageUpdates();
+            if (outputData.getError() == null) {
+                dMsState.setOlderMessages(outputData.getMessages());
+                dMsState.setOlderMessagesCursor(outputData.getOlderCursor());
+            } else {
+                // Still answer the load, so the view can page again after a failure
+                dMsState.setOlderMessages(new ArrayList<>());
+            }
+            dMsState.setError(outputData.getError());
+            dMsViewModel.setState(dMsState);
+            dMsViewModel.firePropertyChanged();
+        });
     }
 
     @Override
     public void prepareCreateChatView(DMsOutputData outputData) {
-        DMsState dMsState = dMsViewModel.getState();
-        dMsState.setCurrentChat(outputData.getCurrentChat());
-        dMsState.setError(outputData.getError());
-        dMsViewModel.setState(dMsState);
-        dMsViewModel.firePropertyChanged();
+        EventDispatch.run(() -> {
+            DMsState dMsState = dMsViewModel.getState();
+            dMsState.clearMessageUpdates();
+            dMsState.setCurrentChat(outputData.getCurrentChat());
+            dMsState.setError(outputData.getError());
+            dMsViewModel.setState(dMsState);
+            dMsViewModel.firePropertyChanged();
+        });
     }
 }
\ No newline at end of file
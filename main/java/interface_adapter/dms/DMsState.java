@@ -11,6 +11,10 @@ import java.util.List;
 public class DMsState {
     private List<Chat> chats;
     private List<Message> messages;
+    // One-shot updates of the open chat: messages to append, and older messages to prepend
+    private List<Message> newMessages;
+    private List<Message> olderMessages;
+    private String olderMessagesCursor;
     private Chat currentChat;
     private String currentUsername;
     private String error;
@@ -26,6 +30,9 @@ public class DMsState {
     public DMsState(DMsState copy) {
         this.chats = copy.chats;
         this.messages = copy.messages;
+        this.newMessages = copy.newMessages;
+        this.olderMessages = copy.olderMessages;
+        this.olderMessagesCursor = copy.olderMessagesCursor;
         this.currentChat = copy.currentChat;
         this.currentUsername = copy.currentUsername;
         this.error = copy.error;
@@ -47,6 +54,39 @@ public class DMsState {
         this.messages = messages;
     }
 
+    public List<Message> getNewMessages() {
+        return newMessages;
+    }
+
+    public void setNewMessages(List<Message> newMessages) {
+        this.newMessages = newMessages;
+    }
+
+    public List<Message> getOlderMessages() {
+        return olderMessages;
+    }
+
+    public void setOlderMessages(List<Message> olderMessages) {
+        this.olderMessages = olderMessages;
+    }
+
+    public String getOlderMessagesCursor() {
+        return olderMessagesCursor;
+    }
+
+    public void setOlderMessagesCursor(String olderMessagesCursor) {
+        this.olderMessagesCursor = olderMessagesCursor;
+    }
+
+    /**
+     * Clears the message lists so the next update does not redraw the chat.
+     */
+    public void clearMessageUpdates() {
+        this.messages = null;
+        this.newMessages = null;
+        this.olderMessages = null;
+    }
+
     public Chat getCurrentChat() {
         return currentChat;
     }
@@ -0,0 +1,31 @@
+package interface_adapter.suggest;
+
+import use_case.suggest.SuggestInputBoundary;
+import use_case.suggest.SuggestInputData;
+
+/**
+ * Controller for typeahead suggestions.
+ */
+public class SuggestController {
+    private final SuggestInputBoundary suggestInteractor;
+
+    public SuggestController(SuggestInputBoundary suggestInteractor) {
+        this.suggestInteractor = suggestInteractor;
+    }
+
+    /**
+     * Asks for completions of a search term.
+     * @param prefix the text typed so far
+     */
+    public void suggestSearchTerms(String prefix) {
+        suggestInteractor.execute(new SuggestInputData(SuggestInputData.SEARCH_TERMS, prefix));
+    }
+
+    /**
+     * Asks for completions of a username.
+     * @param prefix the text typed so far
+     */
+    public void suggestUsernames(String prefix) {
+        suggestInteractor.execute(new SuggestInputData(SuggestInputData.USERNAMES, prefix));
+    }
+}
@@ -0,0 +1,29 @@
+package interface_adapter.suggest;
+
+import interface_adapter.EventDispatch;
+import use_case.suggest.SuggestInputData;
+import use_case.suggest.SuggestOutputBoundary;
+import use_case.suggest.SuggestOutputData;
+
+/**
+ * Presenter for typeahead suggestions.
+ */
+public class SuggestPresenter implements SuggestOutputBoundary {
+    private final SuggestViewModel suggestViewModel;
+
+    public SuggestPresenter(SuggestViewModel suggestViewModel) {
+        this.suggestViewModel = suggestViewModel;
+    }
+
+    @Override
+    public void prepareSuccessView(SuggestOutputData outputData) {
+        EventDispatch.run(() -> {
+            SuggestState state = new SuggestState();
+            state.setUsernames(SuggestInputData.USERNAMES.equals(outputData.getKind()));
+            state.setPrefix(outputData.getPrefix());
+            state.setSuggestions(outputData.getSuggestions());
+            suggestViewModel.setState(state);
+            suggestViewModel.firePropertyChanged(SuggestViewModel.SUGGESTIONS_PROPERTY);
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package interface_adapter.suggest;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * State for typeahead suggestions.
+ */
+public class SuggestState {
+    private boolean usernames;
+    private String prefix = "";
+    private List<String> suggestions = Collections.emptyList();
+
+    public boolean isUsernames() {
+        return usernames;
+    }
+
+    public void setUsernames(boolean usernames) {
+        this.usernames = usernames;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(List<String> suggestions) {
+        this.suggestions = suggestions;
+    }
+}
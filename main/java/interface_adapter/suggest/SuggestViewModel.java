@@ -0,0 +1,17 @@
+package interface_adapter.suggest;
+
+import interface_adapter.ViewModel;
+
+/**
+ * ViewModel for typeahead suggestions, shared by every field that offers them.
+ * Changes are fired as {@value #SUGGESTIONS_PROPERTY}; each field checks what
+ * the state completes, and its prefix, to tell whether the suggestions are its own.
+ */
+public class SuggestViewModel extends ViewModel<SuggestState> {
+    public static final String SUGGESTIONS_PROPERTY = "suggestions";
+
+    public SuggestViewModel() {
+        super("suggest");
+        setState(new SuggestState());
+    }
+}
@@ -0,0 +1,102 @@
+package metrics;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Forwards calls to the wrapped object and records each one in a registry.
+ * The call in progress on each thread is tracked, so the wrapped object can
+ * report a timeout it handled itself.
+ */
+class InstrumentedInvocationHandler implements InvocationHandler {
+
+    // The innermost instrumented call running on each thread
+    private static final ThreadLocal<Call> CURRENT = new ThreadLocal<>();
+
+    private final MetricsRegistry registry;
+    private final Object target;
+    private final String name;
+
+    InstrumentedInvocationHandler(final MetricsRegistry registry, final Object target, final String name) {
+        this.registry = registry;
+        this.target = target;
+        this.name = name;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(target, args);
+        }
+        String operation = name + "." + method.getName();
+        Call call = new Call();
+        Call outer = CURRENT.get();
+        CURRENT.set(call);
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            registry.record(operation, System.nanoTime() - start, e.getCause(), call.timedOut, -1);
+            throw e.getCause();
+        } finally {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+
+        if (result instanceof CompletionStage) {
+            // Time asynchronous calls until their result arrives
+            ((CompletionStage<?>) result).whenComplete((value, error) ->
+                    registry.record(operation, System.nanoTime() - start, error, call.timedOut, payloadSize(value)));
+        } else {
+            registry.record(operation, System.nanoTime() - start, null, call.timedOut, payloadSize(result));
+        }
+        return result;
+    }
+
+    /**
+     * Marks the call in progress on this thread as timed out, if there is one.
+     */
+    static void markTimedOut() {
+        Call call = CURRENT.get();
+        if (call != null) {
+            call.timedOut = true;
+        }
+    }
+
+    /**
+     * Measures a result: items for collections, maps, arrays and sized results such as pages,
+     * characters for strings, and -1 for anything else.
+     */
+    static long payloadSize(final Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        if (result instanceof CharSequence) {
+            return ((CharSequence) result).length();
+        }
+        if (result instanceof SizedResult) {
+            return ((SizedResult) result).resultSize();
+        }
+        if (result != null && result.getClass().isArray()) {
+            return Array.getLength(result);
+        }
+        return -1;
+    }
+
+    /** State of one instrumented call. */
+    private static final class Call {
+        private volatile boolean timedOut;
+    }
+}
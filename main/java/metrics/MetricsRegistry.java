@@ -0,0 +1,226 @@
+package metrics;
+
+import trace.Tracer;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of per-operation call metrics: latency histograms, call, error and
+ * timeout counts, and result payload sizes.
+ *
+ * Data access objects and interactors are instrumented by wrapping them with
+ * {@link #instrument}. A call counts as timed out if it fails with a
+ * TimeoutException, or if the data access object, having caught its own
+ * timeout and returned a default, says so with {@link #reportTimeout()}.
+ */
+public class MetricsRegistry {
+
+    private static final String HEADER = String.format("%-60s %8s %6s %6s %10s %10s %10s %10s %10s",
+            "operation", "calls", "errors", "t/o", "p50 ms", "p95 ms", "p99 ms", "max ms", "payload");
+    private static final Tracer TRACER = Tracer.get(MetricsRegistry.class);
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private ScheduledExecutorService dumpExecutor;
+    private ScheduledFuture<?> dumpTask;
+
+    /**
+     * Gets the application-wide registry.
+     * @return the global registry
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Wraps an object so every call through the interface is recorded under
+     * "name.method". Asynchronous methods are timed until their future completes.
+     * @param type the interface to instrument
+     * @param target the object to wrap
+     * @param name the operation prefix, usually the target's class name
+     * @param <T> the interface type
+     * @return the instrumented object
+     */
+    public <T> T instrument(final Class<T> type, final T target, final String name) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                new InstrumentedInvocationHandler(this, target, name)));
+    }
+
+    /**
+     * Marks the instrumented call running on this thread as timed out. Data
+     * access objects call this when they catch their own timeout and return a
+     * default instead of failing. Outside an instrumented call it does nothing.
+     */
+    public static void reportTimeout() {
+        InstrumentedInvocationHandler.markTimedOut();
+    }
+
+    /**
+     * Marks the instrumented call running on this thread as timed out if an
+     * error it caught is, or was caused by, a TimeoutException.
+     * @param error the error caught
+     */
+    public static void reportIfTimeout(final Throwable error) {
+        if (isTimeout(error)) {
+            reportTimeout();
+        }
+    }
+
+    /**
+     * Records one completed call.
+     * @param operation the operation name
+     * @param nanos how long the call took
+     * @param error whatever the call threw or failed with, or null on success
+     * @param payload the size of the result, or -1 if it has none
+     */
+    public void record(final String operation, final long nanos, final Throwable error, final long payload) {
+        record(operation, nanos, error, false, payload);
+    }
+
+    /**
+     * Records one completed call.
+     * @param operation the operation name
+     * @param nanos how long the call took
+     * @param error whatever the call threw or failed with, or null on success
+     * @param timedOut whether the call reported a timeout it did not throw
+     * @param payload the size of the result, or -1 if it has none
+     */
+    public void record(final String operation, final long nanos, final Throwable error, final boolean timedOut,
+                       final long payload) {
+        Operation stats = operations.computeIfAbsent(operation, name -> new Operation());
+        stats.latency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        if (error != null) {
+            stats.errors.increment();
+        }
+        if (timedOut || isTimeout(error)) {
+            stats.timeouts.increment();
+        }
+        if (payload >= 0) {
+            stats.payloadTotal.add(payload);
+            stats.payloadSamples.increment();
+        }
+    }
+
+    /**
+     * Takes a snapshot of every operation, sorted by name.
+     * @return the snapshots
+     */
+    public List<OperationSnapshot> snapshot() {
+        List<OperationSnapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<String, Operation> entry : operations.entrySet()) {
+            Operation stats = entry.getValue();
+            long samples = stats.payloadSamples.sum();
+            snapshots.add(new OperationSnapshot(entry.getKey(), stats.latency.count(), stats.errors.sum(),
+                    stats.timeouts.sum(), stats.latency, samples == 0 ? 0 : (double) stats.payloadTotal.sum() / samples));
+        }
+        snapshots.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return snapshots;
+    }
+
+    /**
+     * Formats a snapshot as a table, one operation per line.
+     * @param snapshots the snapshots to format
+     * @return the table
+     */
+    public static String format(final List<OperationSnapshot> snapshots) {
+        StringBuilder table = new StringBuilder(HEADER).append(System.lineSeparator());
+        for (OperationSnapshot snapshot : snapshots) {
+            table.append(snapshot).append(System.lineSeparator());
+        }
+        return table.toString();
+    }
+
+    /**
+     * Drops every recorded metric.
+     */
+    public void reset() {
+        operations.clear();
+    }
+
+    /**
+     * Writes the current snapshot to a file. The file is replaced atomically,
+     * so readers never see a partial table.
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void dump(final Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        if (absolute.getParent() != null) {
+            Files.createDirectories(absolute.getParent());
+        }
+        Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        String content = "# Metrics at " + LocalDateTime.now() + System.lineSeparator() + format(snapshot());
+        Files.write(temporary, content.getBytes(StandardCharsets.UTF_8));
+        Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Starts rewriting the snapshot file periodically on a daemon thread,
+     * replacing any dump started earlier.
+     * @param file the file to write
+     * @param periodSeconds seconds between dumps
+     */
+    public synchronized void startDumping(final Path file, final long periodSeconds) {
+        stopDumping();
+        if (dumpExecutor == null) {
+            dumpExecutor = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "metrics-dump");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        dumpTask = dumpExecutor.scheduleAtFixedRate(() -> {
+            try {
+                dump(file);
+            } catch (IOException | RuntimeException e) {
+                TRACER.warn("Error writing metrics to {}: {}", file, e.getMessage());
+            }
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        TRACER.info("Writing metrics to {} every {}s", file.toAbsolutePath(), periodSeconds);
+    }
+
+    /**
+     * Stops periodic dumping, if it was started.
+     */
+    public synchronized void stopDumping() {
+        if (dumpTask != null) {
+            dumpTask.cancel(false);
+            dumpTask = null;
+        }
+    }
+
+    private static boolean isTimeout(final Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Counters of one operation. */
+    private static final class Operation {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder payloadTotal = new LongAdder();
+        private final LongAdder payloadSamples = new LongAdder();
+    }
+}
@@ -0,0 +1,55 @@
+package metrics;
+
+/**
+ * Point-in-time statistics of one instrumented operation.
+ * Latencies are in milliseconds.
+ */
+public class OperationSnapshot {
+
+    private final String name;
+    private final long calls;
+    private final long errors;
+    private final long timeouts;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final double meanMillis;
+    private final double meanPayload;
+
+    OperationSnapshot(final String name, final long calls, final long errors, final long timeouts,
+                      final LatencyHistogram latency, final double meanPayload) {
+        this.name = name;
+        this.calls = calls;
+        this.errors = errors;
+        this.timeouts = timeouts;
+        this.p50Millis = latency.percentile(0.50) / 1000.0;
+        this.p95Millis = latency.percentile(0.95) / 1000.0;
+        this.p99Millis = latency.percentile(0.99) / 1000.0;
+        this.maxMillis = latency.max() / 1000.0;
+        this.meanMillis = latency.mean() / 1000.0;
+        this.meanPayload = meanPayload;
+    }
+
+    public String getName() { return name; }
+    public long getCalls() { return calls; }
+    public long getErrors() { return errors; }
+    public long getTimeouts() { return timeouts; }
+    public double getP50Millis() { return p50Millis; }
+    public double getP95Millis() { return p95Millis; }
+    public double getP99Millis() { return p99Millis; }
+    public double getMaxMillis() { return maxMillis; }
+    public double getMeanMillis() { return meanMillis; }
+
+    /**
+     * Gets the mean result size: items for collections and pages, characters for strings.
+     * @return the mean payload size, or 0 if no call returned a sized result
+     */
+    public double getMeanPayload() { return meanPayload; }
+
+    @Override
+    public String toString() {
+        return String.format("%-60s %8d %6d %6d %10.2f %10.2f %10.2f %10.2f %10.1f",
+                name, calls, errors, timeouts, p50Millis, p95Millis, p99Millis, maxMillis, meanPayload);
+    }
+}
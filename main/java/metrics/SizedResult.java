@@ -0,0 +1,15 @@
+package metrics;
+
+/**
+ * A result that is not itself a collection but carries a number of items,
+ * such as one page of a longer list. Instrumented calls returning it record
+ * that number as their payload size.
+ */
+public interface SizedResult {
+
+    /**
+     * Gets the number of items the result carries.
+     * @return the item count
+     */
+    int resultSize();
+}
@@ -0,0 +1,18 @@
+package trace;
+
+/**
+ * Destination for trace events.
+ */
+public interface Appender {
+
+    /**
+     * Writes an event. Called on the thread that traced it, so it must not block for long.
+     * @param event the event to write
+     */
+    void append(TraceEvent event);
+
+    /**
+     * Waits until every event appended so far has been written.
+     */
+    void flush();
+}
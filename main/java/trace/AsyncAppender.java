@@ -0,0 +1,114 @@
+package trace;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands events to another appender on a background thread.
+ *
+ * Callers only pay for a queue offer. The queue is bounded, and when it is full
+ * events are dropped rather than blocking the caller; the number dropped is
+ * reported once the writer catches up.
+ */
+public class AsyncAppender implements Appender {
+
+    /** Default number of events that can wait to be written. */
+    public static final int DEFAULT_CAPACITY = 8192;
+    private static final long FLUSH_TIMEOUT_SECONDS = 5;
+
+    private final Appender delegate;
+    private final BlockingQueue<Object> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Creates an appender with the default capacity and starts its writer thread.
+     * @param delegate the appender that does the writing
+     */
+    public AsyncAppender(final Appender delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an appender and starts its writer thread.
+     * @param delegate the appender that does the writing
+     * @param capacity how many events can wait before new ones are dropped
+     */
+    public AsyncAppender(final Appender delegate, final int capacity) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "trace-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void append(final TraceEvent event) {
+        if (closed || !queue.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void flush() {
+        CountDownLatch written = new CountDownLatch(1);
+        try {
+            // The marker is written after everything queued before it
+            if (!closed && queue.offer(written, FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                written.await(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes everything queued and stops the writer thread. Later events are dropped.
+     */
+    public void close() {
+        flush();
+        closed = true;
+        writer.interrupt();
+    }
+
+    /**
+     * Gets how many events were dropped because the queue was full or the appender closed.
+     * @return the number of dropped events
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    private void drain() {
+        long reported = 0;
+        while (!closed) {
+            Object item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (item instanceof CountDownLatch) {
+                delegate.flush();
+                ((CountDownLatch) item).countDown();
+                continue;
+            }
+            try {
+                delegate.append((TraceEvent) item);
+                long lost = dropped.get();
+                if (lost > reported && queue.isEmpty()) {
+                    delegate.append(new TraceEvent(System.currentTimeMillis(), Level.WARN,
+                            AsyncAppender.class.getName(), writer.getName(),
+                            (lost - reported) + " trace events dropped, queue full"));
+                    reported = lost;
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Error writing trace event: " + e.getMessage());
+            }
+        }
+    }
+}
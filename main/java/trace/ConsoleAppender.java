@@ -0,0 +1,60 @@
+package trace;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes events as single lines, WARN and above to standard error and the rest
+ * to standard output. Writing is synchronous; wrap it in an {@link AsyncAppender}
+ * to keep console I/O off the calling thread.
+ */
+public class ConsoleAppender implements Appender {
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final PrintStream out;
+    private final PrintStream err;
+
+    /**
+     * Creates an appender writing to the standard streams.
+     */
+    public ConsoleAppender() {
+        this(System.out, System.err);
+    }
+
+    /**
+     * Creates an appender writing to the given streams.
+     * @param out the stream for events below WARN
+     * @param err the stream for WARN and ERROR events
+     */
+    public ConsoleAppender(final PrintStream out, final PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    @Override
+    public void append(final TraceEvent event) {
+        PrintStream stream = event.getLevel().compareTo(Level.WARN) >= 0 ? err : out;
+        stream.println(format(event));
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+        err.flush();
+    }
+
+    /**
+     * Formats an event as "time LEVEL [thread] tracer - message".
+     * @param event the event to format
+     * @return the line, without a line separator
+     */
+    static String format(final TraceEvent event) {
+        return TIME_FORMAT.format(Instant.ofEpochMilli(event.getTimeMillis())) + ' '
+                + String.format("%-5s", event.getLevel()) + " [" + event.getThreadName() + "] "
+                + event.getTracerName() + " - " + event.getMessage();
+    }
+}
@@ -0,0 +1,9 @@
+package trace;
+
+/**
+ * Trace levels, from the most to the least verbose. A tracer set to a level
+ * writes events of that level and above; OFF writes nothing.
+ */
+public enum Level {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF
+}
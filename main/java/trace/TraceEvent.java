@@ -0,0 +1,36 @@
+package trace;
+
+/**
+ * One formatted trace message, captured on the thread that wrote it.
+ */
+public class TraceEvent {
+
+    private final long timeMillis;
+    private final Level level;
+    private final String tracerName;
+    private final String threadName;
+    private final String message;
+
+    /**
+     * Creates an event.
+     * @param timeMillis when the event happened, in epoch milliseconds
+     * @param level the event's level
+     * @param tracerName the name of the tracer that wrote it
+     * @param threadName the name of the thread that wrote it
+     * @param message the formatted message
+     */
+    public TraceEvent(final long timeMillis, final Level level, final String tracerName, final String threadName,
+                      final String message) {
+        this.timeMillis = timeMillis;
+        this.level = level;
+        this.tracerName = tracerName;
+        this.threadName = threadName;
+        this.message = message;
+    }
+
+    public long getTimeMillis() { return timeMillis; }
+    public Level getLevel() { return level; }
+    public String getTracerName() { return tracerName; }
+    public String getThreadName() { return threadName; }
+    public String getMessage() { return message; }
+}
@@ -0,0 +1,90 @@
+package trace;
+
+/**
+ * Writes leveled trace messages for one class or package.
+ *
+ * Messages are templates with "{}" placeholders that are filled in only if the
+ * level is enabled, so a disabled call does no formatting or string building.
+ * Loops that would still build arguments per item should check
+ * {@link #isEnabled} first. Enabled events go to {@link Tracing}'s appender,
+ * which by default writes them off the calling thread.
+ */
+public final class Tracer {
+
+    private final String name;
+    private volatile Level threshold;
+
+    Tracer(final String name, final Level threshold) {
+        this.name = name;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Gets the tracer for a class, configured by its package and name.
+     * @param type the class doing the tracing
+     * @return the shared tracer
+     */
+    public static Tracer get(final Class<?> type) {
+        return Tracing.tracer(type.getName());
+    }
+
+    public String getName() { return name; }
+    public Level getLevel() { return threshold; }
+
+    void setLevel(final Level level) {
+        this.threshold = level;
+    }
+
+    /**
+     * Tells whether messages of a level are written.
+     * @param level the level to check
+     * @return true if this tracer writes that level
+     */
+    public boolean isEnabled(final Level level) {
+        return level.compareTo(threshold) >= 0 && level != Level.OFF;
+    }
+
+    public boolean isTraceEnabled() { return isEnabled(Level.TRACE); }
+    public boolean isDebugEnabled() { return isEnabled(Level.DEBUG); }
+
+    public void trace(final String template, final Object... args) { log(Level.TRACE, template, args); }
+    public void debug(final String template, final Object... args) { log(Level.DEBUG, template, args); }
+    public void info(final String template, final Object... args) { log(Level.INFO, template, args); }
+    public void warn(final String template, final Object... args) { log(Level.WARN, template, args); }
+    public void error(final String template, final Object... args) { log(Level.ERROR, template, args); }
+
+    /**
+     * Writes a message if its level is enabled.
+     * @param level the message's level
+     * @param template the message, with "{}" for each argument
+     * @param args the arguments, formatted with String.valueOf
+     */
+    public void log(final Level level, final String template, final Object... args) {
+        if (isEnabled(level)) {
+            Tracing.appender().append(new TraceEvent(System.currentTimeMillis(), level, name,
+                    Thread.currentThread().getName(), format(template, args)));
+        }
+    }
+
+    /**
+     * Replaces each "{}" in a template with the next argument. Placeholders
+     * without an argument are left as they are and extra arguments are ignored.
+     * @param template the template
+     * @param args the arguments
+     * @return the message
+     */
+    static String format(final String template, final Object... args) {
+        if (args == null || args.length == 0) {
+            return template;
+        }
+        StringBuilder message = new StringBuilder(template.length() + 16 * args.length);
+        int from = 0;
+        int arg = 0;
+        int placeholder;
+        while (arg < args.length && (placeholder = template.indexOf("{}", from)) >= 0) {
+            message.append(template, from, placeholder).append(args[arg++]);
+            from = placeholder + 2;
+        }
+        return message.append(template, from, template.length()).toString();
+    }
+}
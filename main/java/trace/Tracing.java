@@ -0,0 +1,131 @@
+package trace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Configures tracers and holds the appender they write to.
+ *
+ * Levels come from "trace.level" properties: "trace.level" sets the default
+ * and "trace.level.&lt;package or class&gt;" overrides it for that package or
+ * class, the most specific setting winning. They are read from firebase.properties
+ * on first use, with system properties of the same names taking precedence,
+ * and can be changed at run time with {@link #configure}.
+ */
+public final class Tracing {
+
+    /** Property holding the default level. */
+    public static final String LEVEL_PROPERTY = "trace.level";
+    private static final String LEVEL_PREFIX = LEVEL_PROPERTY + ".";
+    private static final Level DEFAULT_LEVEL = Level.INFO;
+
+    private static final Map<String, Tracer> TRACERS = new ConcurrentHashMap<>();
+    private static volatile Map<String, Level> levels = defaultLevels();
+    private static volatile Appender appender = new AsyncAppender(new ConsoleAppender());
+
+    private Tracing() {
+    }
+
+    /**
+     * Gets the tracer with a name, creating it on first use.
+     * @param name the tracer name, usually a fully qualified class name
+     * @return the shared tracer
+     */
+    public static Tracer tracer(final String name) {
+        return TRACERS.computeIfAbsent(name, key -> new Tracer(key, levelFor(key, levels)));
+    }
+
+    /**
+     * Replaces the level settings and applies them to every existing tracer.
+     * Properties not starting with "trace.level" are ignored.
+     * @param properties the settings
+     * @throws IllegalArgumentException if a level name is not recognised
+     */
+    public static synchronized void configure(final Properties properties) {
+        Map<String, Level> parsed = parseLevels(properties);
+        levels = parsed;
+        for (Tracer tracer : TRACERS.values()) {
+            tracer.setLevel(levelFor(tracer.getName(), parsed));
+        }
+    }
+
+    /**
+     * Gets the appender enabled events are written to.
+     * @return the current appender
+     */
+    public static Appender appender() {
+        return appender;
+    }
+
+    /**
+     * Replaces the appender, flushing the old one first.
+     * @param newAppender the appender to write to
+     */
+    public static synchronized void setAppender(final Appender newAppender) {
+        appender.flush();
+        appender = newAppender;
+    }
+
+    /**
+     * Waits until every event traced so far has been written.
+     */
+    public static void flush() {
+        appender.flush();
+    }
+
+    static Level levelFor(final String name, final Map<String, Level> settings) {
+        // Walk up from the class to its enclosing packages until a setting is found
+        String prefix = name;
+        while (true) {
+            Level level = settings.get(prefix);
+            if (level != null) {
+                return level;
+            }
+            int separator = Math.max(prefix.lastIndexOf('.'), prefix.lastIndexOf('$'));
+            if (separator < 0) {
+                return settings.getOrDefault("", DEFAULT_LEVEL);
+            }
+            prefix = prefix.substring(0, separator);
+        }
+    }
+
+    static Map<String, Level> parseLevels(final Properties properties) {
+        Map<String, Level> parsed = new ConcurrentHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            String scope;
+            if (key.equals(LEVEL_PROPERTY)) {
+                scope = "";
+            } else if (key.startsWith(LEVEL_PREFIX)) {
+                scope = key.substring(LEVEL_PREFIX.length());
+            } else {
+                continue;
+            }
+            String value = properties.getProperty(key).trim();
+            if (!value.isEmpty()) {
+                parsed.put(scope, Level.valueOf(value.toUpperCase()));
+            }
+        }
+        return parsed;
+    }
+
+    private static Map<String, Level> defaultLevels() {
+        Properties properties = new Properties();
+        try (InputStream input = Tracing.class.getClassLoader().getResourceAsStream("firebase.properties")) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading trace levels: " + e.getMessage());
+        }
+        properties.putAll(System.getProperties());
+        try {
+            return parseLevels(properties);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid trace level, using " + DEFAULT_LEVEL + ": " + e.getMessage());
+            return new ConcurrentHashMap<>();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package use_case;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shared executor for data access work that has no native asynchronous form.
+ * Blocking DAO calls and interactors run here instead of on the Swing event
+ * dispatch thread, and independent requests can overlap.
+ */
+public final class AsyncDataAccess {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "data-access-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AsyncDataAccess() {
+    }
+
+    /**
+     * Runs a blocking call on the shared executor.
+     * @param supplier the call to run
+     * @param <T> the result type
+     * @return a future completed with the call's result
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, EXECUTOR);
+    }
+
+    /**
+     * Runs a blocking task on the shared executor.
+     * @param task the task to run
+     * @return a future completed when the task finishes
+     */
+    public static CompletableFuture<Void> run(Runnable task) {
+        return CompletableFuture.runAsync(task, EXECUTOR);
+    }
+
+    /**
+     * Gets the shared executor, for composing stages that block.
+     * @return the executor
+     */
+    public static Executor executor() {
+        return EXECUTOR;
+    }
+}
@@ -0,0 +1,161 @@
+package use_case;
+
+import entity.Post;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, least-recently-used cache of search results, keyed by search mode
+ * and normalized query.
+ *
+ * Every entry is tagged with the posts version it was computed at, as reported
+ * by the data access object. Any add, edit, delete or resolve moves the version
+ * on, so an entry from an older version is never served. A version of
+ * {@link #UNVERSIONED} means the data access object cannot tell when posts
+ * change, and nothing is cached.
+ */
+public class QueryResultCache {
+
+    /** The posts version of a data access object that does not track changes. */
+    public static final long UNVERSIONED = 0;
+    /** Results of searchPosts, shared by every interactor that calls it. */
+    public static final String KEYWORD_MODE = "keyword";
+    /** Results of searchPostsByCriteria. */
+    public static final String CRITERIA_MODE = "criteria";
+    /** Results of FuzzyMatchHelper over all posts. */
+    public static final String FUZZY_MODE = "fuzzy";
+    /** The number of queries kept when no capacity is configured. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final Map<String, CachedResults> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates an empty cache.
+     * @param capacity the maximum number of queries kept
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public QueryResultCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.entries = new LinkedHashMap<String, CachedResults>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResults> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached results of a query if they were computed at the given
+     * version, otherwise computes and caches them. The caller must read the
+     * version before searching, so results racing with a write are tagged with
+     * the older version and never served after it.
+     * @param mode the kind of search, e.g. {@link #FUZZY_MODE}
+     * @param query the query as entered
+     * @param version the current posts version
+     * @param search computes the results on a miss
+     * @return a fresh copy of the results, which the caller may modify
+     */
+    public List<Post> get(String mode, String query, long version, Supplier<List<Post>> search) {
+        List<Post> cached = lookup(mode, query, version);
+        if (cached != null) return new ArrayList<>(cached);
+        List<Post> results = search.get();
+        put(mode, query, version, results);
+        return results;
+    }
+
+    /**
+     * Gets the cached results of a query computed at the given version.
+     * @param mode the kind of search
+     * @param query the query as entered
+     * @param version the current posts version
+     * @return an unmodifiable list of the results, or null on a miss
+     */
+    public synchronized List<Post> lookup(String mode, String query, long version) {
+        if (version == UNVERSIONED) return null;
+        String key = key(mode, query);
+        CachedResults entry = entries.get(key);
+        if (entry == null || entry.version != version) {
+            if (entry != null) entries.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.results;
+    }
+
+    /**
+     * Caches the results of a query.
+     * @param mode the kind of search
+     * @param query the query as entered
+     * @param version the posts version the results were computed at
+     * @param results the results, which are copied
+     */
+    public synchronized void put(String mode, String query, long version, List<Post> results) {
+        if (version == UNVERSIONED || results == null) return;
+        entries.put(key(mode, query), new CachedResults(version, Collections.unmodifiableList(new ArrayList<>(results))));
+    }
+
+    /**
+     * Drops every cached query.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of cached queries.
+     * @return the entry count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of lookups served from the cache.
+     * @return the hit count
+     */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that found nothing current.
+     * @return the miss count
+     */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * Normalizes a query the way every search mode does before matching,
+     * trimmed and lowercased, so equivalent queries share an entry.
+     * @param query the query as entered
+     * @return the normalized query
+     */
+    public static String normalize(String query) {
+        if (query == null) return "";
+        return query.trim().toLowerCase();
+    }
+
+    private static String key(String mode, String query) {
+        return mode + '\u0000' + normalize(query);
+    }
+
+    /** Results of one query and the posts version they were computed at. */
+    private static final class CachedResults {
+        private final long version;
+        private final List<Post> results;
+
+        CachedResults(long version, List<Post> results) {
+            this.version = version;
+            this.results = results;
+        }
+    }
+}
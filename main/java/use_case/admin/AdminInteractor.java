@@ -1,6 +1,5 @@
 package use_case.admin;
 
-import data_access.FirebasePostDataAccessObject;
 import entity.Post;
 
 import java.util.List;
@@ -10,10 +9,10 @@ import java.util.List;
  * Implements the business logic for admin operations.
  */
 public class AdminInteractor implements AdminInputBoundary {
-    private final FirebasePostDataAccessObject adminDataAccessObject;
+    private final AdminUserDataAccessInterface adminDataAccessObject;
     private final AdminOutputBoundary adminOutputBoundary;
 
-    public AdminInteractor(FirebasePostDataAccessObject adminDataAccessObject,
+    public AdminInteractor(AdminUserDataAccessInterface adminDataAccessObject,
                                AdminOutputBoundary adminOutputBoundary) {
         this.adminDataAccessObject = adminDataAccessObject;
         this.adminOutputBoundary = adminOutputBoundary;
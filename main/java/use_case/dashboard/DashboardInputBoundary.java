@@ -1,5 +1,9 @@
 package use_case.dashboard;
 
+import use_case.AsyncDataAccess;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Input boundary for the dashboard use case.
  */
@@ -9,4 +13,15 @@ public interface DashboardInputBoundary {
      * @param dashboardInputData the input data for the dashboard
      */
     void execute(DashboardInputData dashboardInputData);
+
+    /**
+     * Executes the dashboard use case without blocking the caller, so it can be
+     * started from the Swing event dispatch thread. The default runs execute()
+     * on the shared data access executor.
+     * @param dashboardInputData the input data for the dashboard
+     * @return a future completed once the presenter has been called
+     */
+    default CompletableFuture<Void> executeAsync(DashboardInputData dashboardInputData) {
+        return AsyncDataAccess.run(() -> execute(dashboardInputData));
+    }
 }
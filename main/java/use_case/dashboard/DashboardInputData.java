@@ -6,7 +6,7 @@ import java.util.List;
  * Input data for the dashboard use case.
  */
 public class DashboardInputData {
-    private final String action; // "load_posts", "search_posts", "add_post"
+    private final String action; // "load_posts", "load_posts_page", "search_posts", "load_facets", "add_post"
     private final String searchQuery;
 
     private final String postTitle;
@@ -19,6 +19,9 @@ public class DashboardInputData {
     private final int postId; // For delete operations
     private final String creditedUsername; // For resolve post operations
     private final String resolvedByUsername; // For resolve post operations
+    private final String cursor; // For paged loads, null for the first page
+    private final int pageSize; // For paged loads
+    private final FacetFilter facetFilter; // For facet counts
 
     public DashboardInputData(String action) {
         this.action = action;
@@ -33,6 +36,9 @@ public class DashboardInputData {
         this.postId = 0;
         this.creditedUsername = null;
         this.resolvedByUsername = null;
+        this.cursor = null;
+        this.pageSize = 0;
+        this.facetFilter = null;
     }
 
     public DashboardInputData(String action, String searchQuery) {
@@ -48,6 +54,9 @@ public class DashboardInputData {
         this.postId = 0;
         this.creditedUsername = null;
         this.resolvedByUsername = null;
+        this.cursor = null;
+        this.pageSize = 0;
+        this.facetFilter = null;
     }
 
 
@@ -65,6 +74,9 @@ public class DashboardInputData {
         this.postId = 0;
         this.creditedUsername = null;
         this.resolvedByUsername = null;
+        this.cursor = null;
+        this.pageSize = 0;
+        this.facetFilter = null;
     }
 
     public DashboardInputData(String action, String postTitle, String postContent, 
@@ -81,6 +93,9 @@ public class DashboardInputData {
         this.postId = 0;
         this.creditedUsername = null;
         this.resolvedByUsername = null;
+        this.cursor = null;
+        this.pageSize = 0;
+        this.facetFilter = null;
     }
     
     public DashboardInputData(String action, String postTitle, String postContent, 
@@ -97,6 +112,9 @@ public class DashboardInputData {
         this.postId = 0;
         this.creditedUsername = null;
         this.resolvedByUsername = null;
+        this.cursor = null;
+        this.pageSize = 0;
+        this.facetFilter = null;
     }
     
     public DashboardInputData(String action, entity.Post post) {
@@ -112,6 +130,9 @@ public class DashboardInputData {
         this.postId = 0;
         this.creditedUsername = null;
         this.resolvedByUsername = null;
+        this.cursor = null;
+        this.pageSize = 0;
+        this.facetFilter = null;
     }
     
     // Make sure there's a constructor that accepts an action and an integer post ID
@@ -128,6 +149,9 @@ public class DashboardInputData {
         this.postId = postId;
         this.creditedUsername = null;
         this.resolvedByUsername = null;
+        this.cursor = null;
+        this.pageSize = 0;
+        this.facetFilter = null;
     }
 
     public DashboardInputData(String action, String postId, String creditedUsername, String resolvedByUsername) {
@@ -143,6 +167,45 @@ public class DashboardInputData {
         this.postId = Integer.parseInt(postId);
         this.creditedUsername = creditedUsername;
         this.resolvedByUsername = resolvedByUsername;
+        this.cursor = null;
+        this.pageSize = 0;
+        this.facetFilter = null;
+    }
+
+    public DashboardInputData(String action, String cursor, int pageSize, String author) {
+        this.action = action;
+        this.searchQuery = null;
+        this.postTitle = null;
+        this.postContent = null;
+        this.postTags = null;
+        this.postLocation = null;
+        this.isLost = false;
+        this.author = author;
+        this.post = null;
+        this.postId = 0;
+        this.creditedUsername = null;
+        this.resolvedByUsername = null;
+        this.cursor = cursor;
+        this.pageSize = pageSize;
+        this.facetFilter = null;
+    }
+
+    public DashboardInputData(String action, FacetFilter facetFilter) {
+        this.action = action;
+        this.searchQuery = null;
+        this.postTitle = null;
+        this.postContent = null;
+        this.postTags = null;
+        this.postLocation = null;
+        this.isLost = false;
+        this.author = null;
+        this.post = null;
+        this.postId = 0;
+        this.creditedUsername = null;
+        this.resolvedByUsername = null;
+        this.cursor = null;
+        this.pageSize = 0;
+        this.facetFilter = facetFilter;
     }
 
     // Getters
@@ -163,4 +226,7 @@ public class DashboardInputData {
     }
     public String getCreditedUsername() { return creditedUsername; }
     public String getResolvedByUsername() { return resolvedByUsername; }
+    public String getCursor() { return cursor; }
+    public int getPageSize() { return pageSize; }
+    public FacetFilter getFacetFilter() { return facetFilter; }
 }
\ No newline at end of file
@@ -1,22 +1,39 @@
 package use_case.dashboard;
 
 import entity.Post;
+import use_case.QueryResultCache;
+
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 // SESSION CHANGE: Dashboard search returns all posts alphabetically if query is blank. See also: FirebasePostDataAccessObject, DashboardView, LoginPresenter, SignupPresenter, LoggedInView, AppBuilder.
 
 /**
  * Interactor for the dashboard use case.
  * Implements the business logic for dashboard operations.
+ * Search results are cached until the posts change.
  */
 public class DashboardInteractor implements DashboardInputBoundary {
+    // Blank searches list every post by title
+    private static final String ALL_BY_TITLE_MODE = "all_by_title";
+
     private final DashboardUserDataAccessInterface dashboardDataAccessObject;
     private final DashboardOutputBoundary dashboardOutputBoundary;
+    private final QueryResultCache resultCache;
 
     public DashboardInteractor(DashboardUserDataAccessInterface dashboardDataAccessObject,
                                DashboardOutputBoundary dashboardOutputBoundary) {
+        this(dashboardDataAccessObject, dashboardOutputBoundary, new QueryResultCache(QueryResultCache.DEFAULT_CAPACITY));
+    }
+
+    public DashboardInteractor(DashboardUserDataAccessInterface dashboardDataAccessObject,
+                               DashboardOutputBoundary dashboardOutputBoundary,
+                               QueryResultCache resultCache) {
         this.dashboardDataAccessObject = dashboardDataAccessObject;
         this.dashboardOutputBoundary = dashboardOutputBoundary;
+        this.resultCache = resultCache;
     }
 
     @Override
@@ -35,15 +52,32 @@ public class DashboardInteractor implements DashboardInputBoundary {
                     dashboardOutputBoundary.prepareSuccessView(outputData);
                     break;
 
+                case "load_posts_page":
+                    String cursor = dashboardInputData.getCursor();
+                    PostsPage page = dashboardDataAccessObject.getPostsPage(cursor, dashboardInputData.getPageSize());
+                    // The first page also refreshes My Posts, which paging the board can no longer derive
+                    List<Post> myPosts = null;
+                    if (cursor == null && dashboardInputData.getAuthor() != null) {
+                        myPosts = dashboardDataAccessObject.getPostsByAuthor(dashboardInputData.getAuthor());
+                    }
+                    dashboardOutputBoundary.prepareSuccessView(new DashboardOutputData(page, cursor != null, myPosts));
+                    break;
+
                 case "search_posts":
                     // SESSION CHANGE: If search query is blank, return all posts sorted alphabetically by title
+                    long version = dashboardDataAccessObject.getPostsVersion();
                     if (dashboardInputData.getSearchQuery() != null && !dashboardInputData.getSearchQuery().trim().isEmpty()) {
-                        List<Post> searchResults = dashboardDataAccessObject.searchPosts(dashboardInputData.getSearchQuery().trim());
+                        String query = dashboardInputData.getSearchQuery().trim();
+                        List<Post> searchResults = resultCache.get(QueryResultCache.KEYWORD_MODE, query, version,
+                            () -> dashboardDataAccessObject.searchPosts(query));
                         DashboardOutputData searchOutputData = new DashboardOutputData(searchResults);
                         dashboardOutputBoundary.prepareSuccessView(searchOutputData);
                     } else {
-                        List<Post> allPosts = dashboardDataAccessObject.getAllPosts();
-                        allPosts.sort(java.util.Comparator.comparing(Post::getTitle, String.CASE_INSENSITIVE_ORDER));
+                        List<Post> allPosts = resultCache.get(ALL_BY_TITLE_MODE, "", version, () -> {
+                            List<Post> sorted = dashboardDataAccessObject.getAllPosts();
+                            sorted.sort(java.util.Comparator.comparing(Post::getTitle, String.CASE_INSENSITIVE_ORDER));
+                            return sorted;
+                        });
                         DashboardOutputData allPostsOutputData = new DashboardOutputData(allPosts);
                         dashboardOutputBoundary.prepareSuccessView(allPostsOutputData);
                     }
@@ -61,6 +95,14 @@ public class DashboardInteractor implements DashboardInputBoundary {
                     dashboardOutputBoundary.prepareSuccessView(advancedOutputData);
                     break;
 
+                case "load_facets":
+                    // Counted from the data access layer's facet index, without loading the posts
+                    FacetFilter facetFilter = dashboardInputData.getFacetFilter() != null
+                        ? dashboardInputData.getFacetFilter() : FacetFilter.all();
+                    FacetCounts facets = dashboardDataAccessObject.getFacets(facetFilter);
+                    dashboardOutputBoundary.prepareSuccessView(new DashboardOutputData(facets));
+                    break;
+
                 case "add_post":
                     if (dashboardInputData.getPostTitle() != null && !dashboardInputData.getPostTitle().trim().isEmpty() &&
                         dashboardInputData.getPostContent() != null && !dashboardInputData.getPostContent().trim().isEmpty()) {
@@ -184,4 +226,52 @@ public class DashboardInteractor implements DashboardInputBoundary {
             dashboardOutputBoundary.prepareFailView(new DashboardOutputData("An error occurred: " + e.getMessage()));
         }
     }
+
+    @Override
+    public CompletableFuture<Void> executeAsync(DashboardInputData dashboardInputData) {
+        String action = dashboardInputData.getAction();
+
+        if ("load_posts_page".equals(action)) {
+            String cursor = dashboardInputData.getCursor();
+            // The page and My Posts are independent reads, so they run concurrently
+            CompletableFuture<PostsPage> page = dashboardDataAccessObject.getPostsPageAsync(
+                cursor, dashboardInputData.getPageSize());
+            CompletableFuture<List<Post>> myPosts = (cursor == null && dashboardInputData.getAuthor() != null)
+                ? dashboardDataAccessObject.getPostsByAuthorAsync(dashboardInputData.getAuthor())
+                : CompletableFuture.completedFuture(null);
+            return present(page.thenCombine(myPosts,
+                (loaded, mine) -> new DashboardOutputData(loaded, cursor != null, mine)));
+        }
+
+        String query = dashboardInputData.getSearchQuery();
+        if ("search_posts".equals(action) && query != null && !query.trim().isEmpty()) {
+            String trimmed = query.trim();
+            // Read the version first, so results racing with a write are never served after it
+            long version = dashboardDataAccessObject.getPostsVersion();
+            List<Post> cached = resultCache.lookup(QueryResultCache.KEYWORD_MODE, trimmed, version);
+            if (cached != null) {
+                return present(CompletableFuture.completedFuture(new DashboardOutputData(new ArrayList<>(cached))));
+            }
+            return present(dashboardDataAccessObject.searchPostsAsync(trimmed).thenApply(searchResults -> {
+                resultCache.put(QueryResultCache.KEYWORD_MODE, trimmed, version, searchResults);
+                return new DashboardOutputData(searchResults);
+            }));
+        }
+
+        // Writes and the remaining reads compose several blocking calls; run them off the caller
+        return DashboardInputBoundary.super.executeAsync(dashboardInputData);
+    }
+
+    private CompletableFuture<Void> present(CompletableFuture<DashboardOutputData> result) {
+        return result.handle((outputData, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                dashboardOutputBoundary.prepareFailView(new DashboardOutputData("An error occurred: " + cause.getMessage()));
+            } else {
+                dashboardOutputBoundary.prepareSuccessView(outputData);
+            }
+            return null;
+        });
+    }
 }
\ No newline at end of file
@@ -11,12 +11,37 @@ public class DashboardOutputData {
     private final Post selectedPost;
     private final String error;
     private final String successMessage;
+    private final String nextCursor;
+    private final boolean appendedPage;
+    private final List<Post> myPosts;
+    private final FacetCounts facets;
 
     public DashboardOutputData(List<Post> posts) {
         this.posts = posts;
         this.selectedPost = null;
         this.error = null;
         this.successMessage = null;
+        this.nextCursor = null;
+        this.appendedPage = false;
+        this.myPosts = null;
+        this.facets = null;
+    }
+
+    /**
+     * Creates output for one page of posts.
+     * @param page the loaded page
+     * @param appendedPage true if the page continues the posts already shown
+     * @param myPosts the current user's posts, or null if they were not reloaded
+     */
+    public DashboardOutputData(PostsPage page, boolean appendedPage, List<Post> myPosts) {
+        this.posts = page.getPosts();
+        this.selectedPost = null;
+        this.error = null;
+        this.successMessage = null;
+        this.nextCursor = page.getNextCursor();
+        this.appendedPage = appendedPage;
+        this.myPosts = myPosts;
+        this.facets = null;
     }
 
     public DashboardOutputData(Post selectedPost) {
@@ -24,6 +49,10 @@ public class DashboardOutputData {
         this.selectedPost = selectedPost;
         this.error = null;
         this.successMessage = null;
+        this.nextCursor = null;
+        this.appendedPage = false;
+        this.myPosts = null;
+        this.facets = null;
     }
 
     public DashboardOutputData(String error) {
@@ -31,6 +60,10 @@ public class DashboardOutputData {
         this.selectedPost = null;
         this.error = error;
         this.successMessage = null;
+        this.nextCursor = null;
+        this.appendedPage = false;
+        this.myPosts = null;
+        this.facets = null;
     }
 
     public DashboardOutputData(String successMessage, boolean isSuccess) {
@@ -38,6 +71,21 @@ public class DashboardOutputData {
         this.selectedPost = null;
         this.error = null;
         this.successMessage = successMessage;
+        this.nextCursor = null;
+        this.appendedPage = false;
+        this.myPosts = null;
+        this.facets = null;
+    }
+
+    public DashboardOutputData(FacetCounts facets) {
+        this.posts = null;
+        this.selectedPost = null;
+        this.error = null;
+        this.successMessage = null;
+        this.nextCursor = null;
+        this.appendedPage = false;
+        this.myPosts = null;
+        this.facets = facets;
     }
 
     // Getters
@@ -45,6 +93,10 @@ public class DashboardOutputData {
     public Post getSelectedPost() { return selectedPost; }
     public String getError() { return error; }
     public String getSuccessMessage() { return successMessage; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isAppendedPage() { return appendedPage; }
+    public List<Post> getMyPosts() { return myPosts; }
+    public FacetCounts getFacets() { return facets; }
     public boolean hasError() { return error != null; }
     public boolean hasSuccess() { return successMessage != null; }
 }
\ No newline at end of file
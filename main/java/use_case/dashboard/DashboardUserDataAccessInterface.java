@@ -1,7 +1,11 @@
 package use_case.dashboard;
 
 import entity.Post;
+import use_case.AsyncDataAccess;
+import use_case.QueryResultCache;
+
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for data access operations related to dashboard functionality.
@@ -13,6 +17,41 @@ public interface DashboardUserDataAccessInterface {
      */
     List<Post> getAllPosts();
 
+    /**
+     * Gets one page of posts, newest first. Cursors are opaque to callers and only
+     * valid for the implementation that issued them. The default pages over
+     * getAllPosts() for implementations that have no native paging.
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of posts to return
+     * @return the page of posts and the cursor of the next page
+     */
+    default PostsPage getPostsPage(String cursor, int limit) {
+        List<Post> posts = new java.util.ArrayList<>(getAllPosts());
+        posts.sort(java.util.Comparator.comparing(Post::getTimestamp,
+                java.util.Comparator.nullsFirst(java.util.Comparator.<String>naturalOrder())).reversed());
+        int from = cursor == null ? 0 : Integer.parseInt(cursor);
+        int to = Math.min(posts.size(), from + limit);
+        String nextCursor = to < posts.size() ? String.valueOf(to) : null;
+        return new PostsPage(new java.util.ArrayList<>(posts.subList(Math.min(from, to), to)), nextCursor);
+    }
+
+    /**
+     * Gets every post written by an author, newest first.
+     * @param author the author's username
+     * @return List of the author's posts
+     */
+    default List<Post> getPostsByAuthor(String author) {
+        List<Post> posts = new java.util.ArrayList<>();
+        for (Post post : getAllPosts()) {
+            if (author != null && author.equals(post.getAuthor())) {
+                posts.add(post);
+            }
+        }
+        posts.sort(java.util.Comparator.comparing(Post::getTimestamp,
+                java.util.Comparator.nullsFirst(java.util.Comparator.<String>naturalOrder())).reversed());
+        return posts;
+    }
+
     /**
      * Searches posts by query string.
      * @param query the search query
@@ -39,6 +78,17 @@ public interface DashboardUserDataAccessInterface {
         return java.util.Collections.emptyList();
     }
 
+    /**
+     * Counts the posts under each tag, location, lost/found and resolved/open
+     * value among the posts matching a filter. The default checks every post;
+     * implementations that index posts should count from the index instead.
+     * @param filter the filter selecting the result set
+     * @return the facet counts of the matching posts
+     */
+    default FacetCounts getFacets(FacetFilter filter) {
+        return FacetCounts.count(getAllPosts(), filter);
+    }
+
     /**
      * Gets a specific post by ID.
      * @param postID the ID of the post
@@ -88,4 +138,54 @@ public interface DashboardUserDataAccessInterface {
      * @return true if update was successful, false otherwise
      */
     default boolean updateUser(entity.User user) { return false; }
-}
\ No newline at end of file
+
+    /**
+     * Gets a number that changes whenever any post is added, edited, deleted or
+     * resolved, so search results can be cached until the posts change.
+     * The default does not track changes, which disables caching.
+     * @return the current posts version, or QueryResultCache.UNVERSIONED
+     */
+    default long getPostsVersion() { return QueryResultCache.UNVERSIONED; }
+
+    /*
+     * Asynchronous counterparts. The defaults run the blocking method on the
+     * shared data access executor; implementations with a native asynchronous
+     * API should override them so no thread waits on the network.
+     */
+
+    /**
+     * Gets all posts without blocking the caller.
+     * @return a future of all posts
+     */
+    default CompletableFuture<List<Post>> getAllPostsAsync() {
+        return AsyncDataAccess.supply(this::getAllPosts);
+    }
+
+    /**
+     * Gets one page of posts without blocking the caller.
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of posts to return
+     * @return a future of the page
+     */
+    default CompletableFuture<PostsPage> getPostsPageAsync(String cursor, int limit) {
+        return AsyncDataAccess.supply(() -> getPostsPage(cursor, limit));
+    }
+
+    /**
+     * Gets an author's posts without blocking the caller.
+     * @param author the author's username
+     * @return a future of the author's posts, newest first
+     */
+    default CompletableFuture<List<Post>> getPostsByAuthorAsync(String author) {
+        return AsyncDataAccess.supply(() -> getPostsByAuthor(author));
+    }
+
+    /**
+     * Searches posts without blocking the caller.
+     * @param query the search query
+     * @return a future of the matching posts
+     */
+    default CompletableFuture<List<Post>> searchPostsAsync(String query) {
+        return AsyncDataAccess.supply(() -> searchPosts(query));
+    }
+}
@@ -0,0 +1,100 @@
+package use_case.dashboard;
+
+import entity.Post;
+import entity.SearchDocument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How many posts of a result set fall under each filter value: every tag and
+ * location, lost or found, and resolved or open. Tag and location counts are
+ * ordered most posts first, then alphabetically, and leave out blank values.
+ */
+public class FacetCounts {
+    private final int total;
+    private final int lost;
+    private final int resolved;
+    private final Map<String, Integer> tagCounts;
+    private final Map<String, Integer> locationCounts;
+
+    /**
+     * Creates counts.
+     * @param total the number of posts in the result set
+     * @param lost how many of them are lost items
+     * @param resolved how many of them are resolved
+     * @param tagCounts the number of posts per lowercased tag, in any order
+     * @param locationCounts the number of posts per lowercased location, in any order
+     */
+    public FacetCounts(int total, int lost, int resolved,
+                       Map<String, Integer> tagCounts, Map<String, Integer> locationCounts) {
+        this.total = total;
+        this.lost = lost;
+        this.resolved = resolved;
+        this.tagCounts = ranked(tagCounts);
+        this.locationCounts = ranked(locationCounts);
+    }
+
+    /**
+     * Counts facets by checking every post against the filter, for backends
+     * that do not maintain a facet index.
+     * @param posts the posts to count over
+     * @param filter the filter selecting the result set
+     * @return the counts
+     */
+    public static FacetCounts count(List<Post> posts, FacetFilter filter) {
+        int total = 0;
+        int lost = 0;
+        int resolved = 0;
+        Map<String, Integer> tagCounts = new HashMap<>();
+        Map<String, Integer> locationCounts = new HashMap<>();
+        for (Post post : posts) {
+            if (!filter.matches(post)) {
+                continue;
+            }
+            total++;
+            if (post.isLost()) {
+                lost++;
+            }
+            if (post.isResolved()) {
+                resolved++;
+            }
+            SearchDocument document = post.searchDocument();
+            // A post counts once per distinct tag, as it does in the index
+            for (String tag : new LinkedHashSet<>(document.tags())) {
+                tagCounts.merge(tag, 1, Integer::sum);
+            }
+            locationCounts.merge(document.location(), 1, Integer::sum);
+        }
+        return new FacetCounts(total, lost, resolved, tagCounts, locationCounts);
+    }
+
+    public int getTotal() { return total; }
+    public int getLost() { return lost; }
+    public int getFound() { return total - lost; }
+    public int getResolved() { return resolved; }
+    public int getOpen() { return total - resolved; }
+    public Map<String, Integer> getTagCounts() { return tagCounts; }
+    public Map<String, Integer> getLocationCounts() { return locationCounts; }
+
+    private static Map<String, Integer> ranked(Map<String, Integer> counts) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > 0 && !entry.getKey().trim().isEmpty()) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+            .thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> ranked = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : entries) {
+            ranked.put(entry.getKey(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(ranked);
+    }
+}
@@ -0,0 +1,119 @@
+package use_case.dashboard;
+
+import entity.Post;
+import entity.SearchDocument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result set facets are counted over: the same criteria as
+ * searchPostsByCriteria, plus the resolved flag. Blank criteria are ignored.
+ */
+public class FacetFilter {
+    private static final FacetFilter ALL = new FacetFilter(null, null, null, null, null);
+
+    private final String title;
+    private final String location;
+    private final List<String> tags;
+    private final Boolean isLost;
+    private final Boolean resolved;
+    // Criteria lowercased once, so matching a post does not lowercase them again
+    private final String lowerTitle;
+    private final String lowerLocation;
+    private final List<String> lowerTags;
+
+    /**
+     * Creates a filter.
+     * @param title text the title must contain (can be null/empty)
+     * @param location text the location must contain (can be null/empty)
+     * @param tags at least one post tag must contain one of these (can be null/empty)
+     * @param isLost filter by lost (true), found (false), or all (null)
+     * @param resolved filter by resolved (true), open (false), or all (null)
+     */
+    public FacetFilter(String title, String location, List<String> tags, Boolean isLost, Boolean resolved) {
+        this.title = title;
+        this.location = location;
+        this.tags = tags == null ? Collections.<String>emptyList() : tags;
+        this.isLost = isLost;
+        this.resolved = resolved;
+        this.lowerTitle = title == null || title.isEmpty() ? null : title.toLowerCase();
+        this.lowerLocation = location == null || location.isEmpty() ? null : location.toLowerCase();
+        this.lowerTags = new ArrayList<>(this.tags.size());
+        for (String tag : this.tags) {
+            if (tag != null) {
+                lowerTags.add(tag.toLowerCase());
+            }
+        }
+    }
+
+    /**
+     * Gets the filter that matches every post.
+     * @return the empty filter
+     */
+    public static FacetFilter all() {
+        return ALL;
+    }
+
+    /**
+     * Gets a filter on the title only, as the dashboard's title search applies it.
+     * @param title text the title must contain (can be null/empty)
+     * @return the filter
+     */
+    public static FacetFilter byTitle(String title) {
+        return new FacetFilter(title, null, null, null, null);
+    }
+
+    public String getTitle() { return title; }
+    public String getLocation() { return location; }
+    public List<String> getTags() { return tags; }
+    public Boolean getIsLost() { return isLost; }
+    public Boolean getResolved() { return resolved; }
+
+    /**
+     * Tells whether the filter has no criteria, so every post matches.
+     * @return true if every criterion is blank
+     */
+    public boolean isEmpty() {
+        return (title == null || title.isEmpty())
+            && (location == null || location.isEmpty())
+            && tags.isEmpty()
+            && isLost == null
+            && resolved == null;
+    }
+
+    /**
+     * Checks one post against the filter, for backends without a facet index.
+     * Every text criterion is a case-insensitive substring match.
+     * @param post the post to check
+     * @return true if the post matches every given criterion
+     */
+    public boolean matches(Post post) {
+        SearchDocument document = post.searchDocument();
+        if (lowerTitle != null && !document.title().contains(lowerTitle)) {
+            return false;
+        }
+        if (lowerLocation != null && !document.location().contains(lowerLocation)) {
+            return false;
+        }
+        if (!tags.isEmpty() && !anyTagContains(document.tags())) {
+            return false;
+        }
+        if (isLost != null && post.isLost() != isLost) {
+            return false;
+        }
+        return resolved == null || post.isResolved() == resolved;
+    }
+
+    private boolean anyTagContains(List<String> postTags) {
+        for (String lowerTag : lowerTags) {
+            for (String postTag : postTags) {
+                if (postTag.contains(lowerTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package use_case.dashboard;
+
+import entity.Post;
+import metrics.SizedResult;
+import java.util.List;
+
+/**
+ * One page of posts, newest first, with the cursor of the page that follows.
+ */
+public class PostsPage implements SizedResult {
+    private final List<Post> posts;
+    private final String nextCursor;
+
+    /**
+     * Creates a page.
+     * @param posts the posts on this page, newest first
+     * @param nextCursor the cursor of the next page, or null if this is the last page
+     */
+    public PostsPage(List<Post> posts, String nextCursor) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Post> getPosts() { return posts; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean hasMore() { return nextCursor != null; }
+
+    @Override
+    public int resultSize() { return posts.size(); }
+}
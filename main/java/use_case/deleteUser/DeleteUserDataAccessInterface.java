@@ -0,0 +1,22 @@
+package use_case.deleteUser;
+
+import java.util.List;
+
+/**
+ * DAO for the Delete User Use Case.
+ */
+public interface DeleteUserDataAccessInterface {
+
+    /**
+     * Gets the names of all users.
+     * @return the usernames
+     */
+    List<String> getAllUsers();
+
+    /**
+     * Deletes a user.
+     * @param username the username
+     * @throws RuntimeException if the user does not exist or cannot be deleted
+     */
+    void deleteUser(String username);
+}
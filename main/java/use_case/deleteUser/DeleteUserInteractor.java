@@ -1,12 +1,10 @@
 package use_case.deleteUser;
 
-import data_access.FirebaseUserDataAccessObject;
-
 public class DeleteUserInteractor implements DeleteUserInputBoundary {
-    final FirebaseUserDataAccessObject userDataAccessObject;
+    final DeleteUserDataAccessInterface userDataAccessObject;
     final DeleteUserOutputBoundary deleteUserOutputBoundary;
 
-    public DeleteUserInteractor(FirebaseUserDataAccessObject userDataAccessObject,
+    public DeleteUserInteractor(DeleteUserDataAccessInterface userDataAccessObject,
                                 DeleteUserOutputBoundary deleteUserOutputBoundary) {
         this.userDataAccessObject = userDataAccessObject;
         this.deleteUserOutputBoundary = deleteUserOutputBoundary;
@@ -1,6 +1,9 @@
 package use_case.dms;
 
 import entity.User;
+import use_case.AsyncDataAccess;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for chat use case input operations.
@@ -31,6 +34,17 @@ public interface DMsInputBoundary {
      */
     void loadMessages(DMsInputData inputData);
 
+    /**
+     * Loads the page of messages before the oldest one shown in the open chat.
+     * @param inputData the input data containing the chat and the older-messages cursor
+     */
+    void loadOlderMessages(DMsInputData inputData);
+
+    /**
+     * Stops delivering new messages of the open chat.
+     */
+    void closeMessages();
+
     /**
      * Gets a user by their username.
      * @param username the username to search for
@@ -59,4 +73,54 @@ public interface DMsInputBoundary {
      * @return true if the chat is blocked
      */
     boolean isChatBlocked(String chatId);
-}
\ No newline at end of file
+
+    /*
+     * Non-blocking variants for callers on the Swing event dispatch thread.
+     * The defaults run the blocking operation on the shared data access executor.
+     */
+
+    /**
+     * Loads all chats for the current user without blocking the caller.
+     * @param inputData the input data containing user information
+     * @return a future completed once the presenter has been called
+     */
+    default CompletableFuture<Void> loadChatsAsync(DMsInputData inputData) {
+        return AsyncDataAccess.run(() -> loadChats(inputData));
+    }
+
+    /**
+     * Creates a new chat without blocking the caller.
+     * @param inputData the input data containing participant information
+     * @return a future completed once the presenter has been called
+     */
+    default CompletableFuture<Void> createChatAsync(DMsInputData inputData) {
+        return AsyncDataAccess.run(() -> createChat(inputData));
+    }
+
+    /**
+     * Sends a message without blocking the caller.
+     * @param inputData the input data containing message information
+     * @return a future completed once the presenter has been called
+     */
+    default CompletableFuture<Void> sendMessageAsync(DMsInputData inputData) {
+        return AsyncDataAccess.run(() -> sendMessage(inputData));
+    }
+
+    /**
+     * Loads messages for a chat without blocking the caller.
+     * @param inputData the input data containing chat information
+     * @return a future completed once the presenter has been called
+     */
+    default CompletableFuture<Void> loadMessagesAsync(DMsInputData inputData) {
+        return AsyncDataAccess.run(() -> loadMessages(inputData));
+    }
+
+    /**
+     * Loads older messages without blocking the caller.
+     * @param inputData the input data containing the chat and the older-messages cursor
+     * @return a future completed once the presenter has been called
+     */
+    default CompletableFuture<Void> loadOlderMessagesAsync(DMsInputData inputData) {
+        return AsyncDataAccess.run(() -> loadOlderMessages(inputData));
+    }
+}
@@ -11,6 +11,7 @@ public class DMsInputData {
     private String chatId;
     private String messageContent;
     private List<User> participants;
+    private String beforeMessageId;
 
     /**
      * Constructor for loading chats.
@@ -80,4 +81,12 @@ public class DMsInputData {
     public void setParticipants(List<User> participants) {
         this.participants = participants;
     }
-}
\ No newline at end of file
+
+    public String getBeforeMessageId() {
+        return beforeMessageId;
+    }
+
+    public void setBeforeMessageId(String beforeMessageId) {
+        this.beforeMessageId = beforeMessageId;
+    }
+}
@@ -6,13 +6,19 @@ import entity.User;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Interactor for chat use case operations.
  */
 public class DMsInteractor implements DMsInputBoundary {
+    public static final int MESSAGE_PAGE_SIZE = 50;
+
     private final DMsUserDataAccessInterface dmsUserDataAccessInterface;
     private final DMsOutputBoundary dmsOutputBoundary;
+    // Live updates of the chat that is currently open
+    private MessageSubscription messageSubscription;
 
     public DMsInteractor(DMsUserDataAccessInterface dmsUserDataAccessInterface, DMsOutputBoundary dmsOutputBoundary) {
         this.dmsUserDataAccessInterface = dmsUserDataAccessInterface;
@@ -101,9 +107,12 @@ public class DMsInteractor implements DMsInputBoundary {
                 return;
             }
 
-            // Send the message directly with the username
+            // Send the message directly with the username; only the new message goes to the view
             Message message = dmsUserDataAccessInterface.sendMessage(chatId, username, messageContent);
-            List<Message> messages = dmsUserDataAccessInterface.getMessagesForChat(chatId);
+            List<Message> messages = new ArrayList<>();
+            if (message != null) {
+                messages.add(message);
+            }
             DMsOutputData outputData = new DMsOutputData(null, messages, null, null);
             dmsOutputBoundary.prepareSendMessageView(outputData);
         } catch (Exception e) {
@@ -131,15 +140,116 @@ public class DMsInteractor implements DMsInputBoundary {
                 return;
             }
 
-            List<Message> messages = dmsUserDataAccessInterface.getMessagesForChat(chatId);
-            DMsOutputData outputData = new DMsOutputData(null, messages, currentChat, null);
-            dmsOutputBoundary.prepareLoadMessagesView(outputData);
+            MessagesPage page = dmsUserDataAccessInterface.getMessagesPage(chatId, null, MESSAGE_PAGE_SIZE);
+            dmsOutputBoundary.prepareLoadMessagesView(new DMsOutputData(page, currentChat));
+            subscribe(chatId, page);
         } catch (Exception e) {
             DMsOutputData outputData = new DMsOutputData(null, null, null, "Failed to load messages: " + e.getMessage());
             dmsOutputBoundary.prepareLoadMessagesView(outputData);
         }
     }
 
+    @Override
+    public CompletableFuture<Void> loadChatsAsync(DMsInputData inputData) {
+        return dmsUserDataAccessInterface.getChatsForUserAsync(inputData.getUsername())
+            .handle((chats, error) -> {
+                DMsOutputData outputData = error == null
+                    ? new DMsOutputData(chats, null, null, null)
+                    : new DMsOutputData(null, null, null, "Failed to load chats: " + rootMessage(error));
+                dmsOutputBoundary.prepareLoadChatsView(outputData);
+                return null;
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> loadMessagesAsync(DMsInputData inputData) {
+        String chatId = inputData.getChatId();
+        if (chatId == null || inputData.getUsername() == null) {
+            dmsOutputBoundary.prepareLoadMessagesView(new DMsOutputData(null, null, null, "Invalid chat data"));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // The chat and its latest messages are independent reads, so they run concurrently
+        CompletableFuture<Chat> chat = dmsUserDataAccessInterface.getChatByIdAsync(chatId);
+        CompletableFuture<MessagesPage> messages = dmsUserDataAccessInterface.getMessagesPageAsync(
+            chatId, null, MESSAGE_PAGE_SIZE);
+        return chat.thenCombine(messages, (currentChat, page) -> {
+                if (currentChat == null) {
+                    dmsOutputBoundary.prepareLoadMessagesView(new DMsOutputData(null, null, null, "Chat not found"));
+                } else {
+                    dmsOutputBoundary.prepareLoadMessagesView(new DMsOutputData(page, currentChat));
+                    subscribe(chatId, page);
+                }
+                return (Void) null;
+            })
+            .exceptionally(error -> {
+                dmsOutputBoundary.prepareLoadMessagesView(
+                    new DMsOutputData(null, null, null, "Failed to load messages: " + rootMessage(error)));
+                return null;
+            });
+    }
+
+    @Override
+    public void loadOlderMessages(DMsInputData inputData) {
+        try {
+            String chatId = inputData.getChatId();
+            String before = inputData.getBeforeMessageId();
+            if (chatId == null || before == null) {
+                dmsOutputBoundary.prepareOlderMessagesView(new DMsOutputData(null, null, null, "Invalid chat data"));
+                return;
+            }
+            MessagesPage page = dmsUserDataAccessInterface.getMessagesPage(chatId, before, MESSAGE_PAGE_SIZE);
+            dmsOutputBoundary.prepareOlderMessagesView(new DMsOutputData(page, null));
+        } catch (Exception e) {
+            dmsOutputBoundary.prepareOlderMessagesView(
+                new DMsOutputData(null, null, null, "Failed to load messages: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> loadOlderMessagesAsync(DMsInputData inputData) {
+        String chatId = inputData.getChatId();
+        String before = inputData.getBeforeMessageId();
+        if (chatId == null || before == null) {
+            dmsOutputBoundary.prepareOlderMessagesView(new DMsOutputData(null, null, null, "Invalid chat data"));
+            return CompletableFuture.completedFuture(null);
+        }
+        return dmsUserDataAccessInterface.getMessagesPageAsync(chatId, before, MESSAGE_PAGE_SIZE)
+            .handle((page, error) -> {
+                dmsOutputBoundary.prepareOlderMessagesView(error == null ? new DMsOutputData(page, null)
+                    : new DMsOutputData(null, null, null, "Failed to load messages: " + rootMessage(error)));
+                return null;
+            });
+    }
+
+    @Override
+    public synchronized void closeMessages() {
+        if (messageSubscription != null) {
+            messageSubscription.close();
+            messageSubscription = null;
+        }
+    }
+
+    /**
+     * Replaces the live subscription with one for the given chat, starting
+     * after the newest message of the page just shown.
+     */
+    private synchronized void subscribe(String chatId, MessagesPage page) {
+        closeMessages();
+        List<Message> shown = page.getMessages();
+        String after = shown.isEmpty() ? null : shown.get(shown.size() - 1).getMessageId();
+        messageSubscription = dmsUserDataAccessInterface.subscribeToMessages(chatId, after, message -> {
+            List<Message> added = new ArrayList<>();
+            added.add(message);
+            dmsOutputBoundary.prepareNewMessagesView(new DMsOutputData(null, added, null, null));
+        });
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage();
+    }
+
     @Override
     public User getUserByUsername(String username) {
         try {
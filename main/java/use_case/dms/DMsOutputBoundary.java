@@ -28,4 +28,16 @@ public interface DMsOutputBoundary {
      * @param outputData the output data containing chat information
      */
     void prepareCreateChatView(DMsOutputData outputData);
-}
\ No newline at end of file
+
+    /**
+     * Prepares the view for messages that arrived in the open chat.
+     * @param outputData the output data containing the new messages, oldest first
+     */
+    void prepareNewMessagesView(DMsOutputData outputData);
+
+    /**
+     * Prepares the view for a page of older messages in the open chat.
+     * @param outputData the output data containing the page and the next older cursor
+     */
+    void prepareOlderMessagesView(DMsOutputData outputData);
+}
@@ -13,6 +13,7 @@ public class DMsOutputData {
     private List<Message> messages;
     private Chat currentChat;
     private String error;
+    private String olderCursor;
 
     public DMsOutputData(List<Chat> chats, List<Message> messages, Chat currentChat, String error) {
         this.chats = chats;
@@ -21,6 +22,16 @@ public class DMsOutputData {
         this.error = error;
     }
 
+    /**
+     * Constructor for a page of chat history.
+     * @param page the page of messages
+     * @param currentChat the chat the page belongs to, or null when paging an open chat
+     */
+    public DMsOutputData(MessagesPage page, Chat currentChat) {
+        this(null, page.getMessages(), currentChat, null);
+        this.olderCursor = page.getOlderCursor();
+    }
+
     public List<Chat> getChats() {
         return chats;
     }
@@ -52,4 +63,12 @@ public class DMsOutputData {
     public void setError(String error) {
         this.error = error;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the cursor for loading older messages.
+     * @return the cursor, or null if there is no older history
+     */
+    public String getOlderCursor() {
+        return olderCursor;
+    }
+}
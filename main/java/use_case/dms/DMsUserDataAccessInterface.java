@@ -3,8 +3,12 @@ package use_case.dms;
 import entity.Chat;
 import entity.Message;
 import entity.User;
+import use_case.AsyncDataAccess;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface DMsUserDataAccessInterface {
     /**
@@ -72,4 +76,95 @@ public interface DMsUserDataAccessInterface {
      * @return true if the chat is blocked
      */
     boolean isChatBlocked(String chatId);
+
+    /**
+     * Gets a page of a chat's history, ending just before a cursor.
+     * The default pages through getMessagesForChat(); implementations that can
+     * query a range should override it.
+     * @param chatId the ID of the chat
+     * @param beforeMessageId the cursor from a previous page, or null for the latest messages
+     * @param limit the maximum number of messages
+     * @return the page, oldest message first
+     */
+    default MessagesPage getMessagesPage(String chatId, String beforeMessageId, int limit) {
+        List<Message> all = getMessagesForChat(chatId);
+        int end = all.size();
+        if (beforeMessageId != null) {
+            end = 0;
+            while (end < all.size() && !beforeMessageId.equals(all.get(end).getMessageId())) {
+                end++;
+            }
+            if (end == all.size()) {
+                return new MessagesPage(new ArrayList<>(), null);
+            }
+        }
+        int start = Math.max(0, end - limit);
+        String olderCursor = start > 0 ? all.get(start).getMessageId() : null;
+        return new MessagesPage(new ArrayList<>(all.subList(start, end)), olderCursor);
+    }
+
+    /**
+     * Delivers messages added to a chat after a given message, as they arrive.
+     * The default has no push channel and delivers nothing.
+     * @param chatId the ID of the chat
+     * @param afterMessageId the last message already shown, or null to receive every message
+     * @param listener called with each new message, possibly on a data access thread
+     * @return the subscription, to be closed when the chat is no longer shown
+     */
+    default MessageSubscription subscribeToMessages(String chatId, String afterMessageId, Consumer<Message> listener) {
+        return () -> { };
+    }
+
+    /*
+     * Asynchronous counterparts. The defaults run the blocking method on the
+     * shared data access executor; implementations with a native asynchronous
+     * API should override them.
+     */
+
+    /**
+     * Gets all chats for a user without blocking the caller.
+     * @param username the username to get chats for
+     * @return a future of the user's chats
+     */
+    default CompletableFuture<List<Chat>> getChatsForUserAsync(String username) {
+        return AsyncDataAccess.supply(() -> getChatsForUser(username));
+    }
+
+    /**
+     * Gets the messages of a chat without blocking the caller.
+     * @param chatId the ID of the chat
+     * @return a future of the chat's messages
+     */
+    default CompletableFuture<List<Message>> getMessagesForChatAsync(String chatId) {
+        return AsyncDataAccess.supply(() -> getMessagesForChat(chatId));
+    }
+
+    /**
+     * Gets a page of a chat's history without blocking the caller.
+     * @param chatId the ID of the chat
+     * @param beforeMessageId the cursor from a previous page, or null for the latest messages
+     * @param limit the maximum number of messages
+     * @return a future of the page
+     */
+    default CompletableFuture<MessagesPage> getMessagesPageAsync(String chatId, String beforeMessageId, int limit) {
+        return AsyncDataAccess.supply(() -> getMessagesPage(chatId, beforeMessageId, limit));
+    }
+
+    /**
+     * Gets a chat without blocking the caller.
+     * @param chatId the ID of the chat
+     * @return a future of the chat, completed with null if not found
+     */
+    default CompletableFuture<Chat> getChatByIdAsync(String chatId) {
+        return AsyncDataAccess.supply(() -> getChatById(chatId));
+    }
+
+    /**
+     * Gets a user without blocking the caller.
+     * @param username the username to search for
+     * @return a future of the user, completed with null if not found
+     */
+    default CompletableFuture<User> getUserByUsernameAsync(String username) {
+        return AsyncDataAccess.supply(() -> getUserByUsername(username));
+    }
 }
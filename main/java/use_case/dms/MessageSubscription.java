@@ -0,0 +1,12 @@
+package use_case.dms;
+
+/**
+ * Handle of a live message subscription.
+ */
+public interface MessageSubscription {
+
+    /**
+     * Stops delivering messages. Closing more than once has no effect.
+     */
+    void close();
+}
@@ -0,0 +1,30 @@
+package use_case.dms;
+
+import entity.Message;
+import metrics.SizedResult;
+import java.util.List;
+
+/**
+ * One page of a chat's history, oldest first, with the cursor of the page before it.
+ */
+public class MessagesPage implements SizedResult {
+    private final List<Message> messages;
+    private final String olderCursor;
+
+    /**
+     * Creates a page.
+     * @param messages the messages on this page, oldest first
+     * @param olderCursor the cursor of the older page, or null if this page starts the chat
+     */
+    public MessagesPage(List<Message> messages, String olderCursor) {
+        this.messages = messages;
+        this.olderCursor = olderCursor;
+    }
+
+    public List<Message> getMessages() { return messages; }
+    public String getOlderCursor() { return olderCursor; }
+    public boolean hasOlder() { return olderCursor != null; }
+
+    @Override
+    public int resultSize() { return messages.size(); }
+}
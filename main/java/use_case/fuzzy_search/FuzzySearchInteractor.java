@@ -1,22 +1,36 @@
 package use_case.fuzzy_search;
 
 import entity.Post;
+import use_case.QueryResultCache;
 import use_case.fuzzy_search.util.FuzzyMatchHelper;
+import use_case.fuzzy_search.util.SynonymExpander;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Interactor for the fuzzy search use case.
  * Implements the business logic for fuzzy searching posts.
+ * Results are cached until the posts change, so repeating a query neither
+ * refetches the posts nor scores them again.
  */
 public class FuzzySearchInteractor implements FuzzySearchInputBoundary {
     private final FuzzySearchUserDataAccessInterface fuzzySearchDataAccessObject;
     private final FuzzySearchOutputBoundary fuzzySearchOutputBoundary;
+    private final QueryResultCache resultCache;
 
     public FuzzySearchInteractor(FuzzySearchUserDataAccessInterface fuzzySearchDataAccessObject,
                                 FuzzySearchOutputBoundary fuzzySearchOutputBoundary) {
+        this(fuzzySearchDataAccessObject, fuzzySearchOutputBoundary,
+                new QueryResultCache(QueryResultCache.DEFAULT_CAPACITY));
+    }
+
+    public FuzzySearchInteractor(FuzzySearchUserDataAccessInterface fuzzySearchDataAccessObject,
+                                FuzzySearchOutputBoundary fuzzySearchOutputBoundary,
+                                QueryResultCache resultCache) {
         this.fuzzySearchDataAccessObject = fuzzySearchDataAccessObject;
         this.fuzzySearchOutputBoundary = fuzzySearchOutputBoundary;
+        this.resultCache = resultCache;
     }
 
     @Override
@@ -32,6 +46,16 @@ public class FuzzySearchInteractor implements FuzzySearchInputBoundary {
                 return;
             }
 
+            // Read the version first, so results racing with a write are never served after it
+            long version = fuzzySearchDataAccessObject.getPostsVersion();
+            // Results also depend on the synonyms, which may be reloaded at any time
+            String cacheMode = QueryResultCache.FUZZY_MODE + SynonymExpander.currentDictionary().generation();
+            List<Post> cached = resultCache.lookup(cacheMode, searchQuery, version);
+            if (cached != null) {
+                presentResults(new ArrayList<>(cached), searchQuery);
+                return;
+            }
+
             // Get all posts from data access
             List<Post> allPosts = fuzzySearchDataAccessObject.getAllPosts();
             System.out.println("DEBUG: FuzzySearchInteractor - Retrieved " + (allPosts != null ? allPosts.size() : "null") + " posts from data access");
@@ -45,22 +69,14 @@ public class FuzzySearchInteractor implements FuzzySearchInputBoundary {
             }
 
             // Perform fuzzy search using existing utility
-            List<Post> searchResults = FuzzyMatchHelper.fuzzyMatchPosts(allPosts, searchQuery);
+            // The term index is reused by version, so only posts read within one version may key it
+            long indexVersion = fuzzySearchDataAccessObject.getPostsVersion() == version
+                    ? version : QueryResultCache.UNVERSIONED;
+            List<Post> searchResults = FuzzyMatchHelper.fuzzyMatchPosts(allPosts, searchQuery, Integer.MAX_VALUE,
+                    fuzzySearchDataAccessObject.getTermStatistics(), indexVersion);
             System.out.println("DEBUG: FuzzySearchInteractor - Fuzzy search returned " + searchResults.size() + " results");
-            
-            if (searchResults.isEmpty()) {
-                String message = String.format("No results found for '%s'. Try different keywords or check spelling.", searchQuery);
-                System.out.println("DEBUG: FuzzySearchInteractor - No results found, calling prepareFailView");
-                fuzzySearchOutputBoundary.prepareFailView(
-                    new FuzzySearchOutputData(message, false, searchQuery)
-                );
-            } else {
-                String message = String.format("Found %d results for '%s'", searchResults.size(), searchQuery);
-                System.out.println("DEBUG: FuzzySearchInteractor - Results found, calling prepareSuccessView with message: " + message);
-                fuzzySearchOutputBoundary.prepareSuccessView(
-                    new FuzzySearchOutputData(searchResults, message, true, searchQuery)
-                );
-            }
+            resultCache.put(cacheMode, searchQuery, version, searchResults);
+            presentResults(searchResults, searchQuery);
 
         } catch (Exception e) {
             fuzzySearchOutputBoundary.prepareFailView(
@@ -68,4 +84,20 @@ public class FuzzySearchInteractor implements FuzzySearchInputBoundary {
             );
         }
     }
+
+    private void presentResults(List<Post> searchResults, String searchQuery) {
+        if (searchResults.isEmpty()) {
+            String message = String.format("No results found for '%s'. Try different keywords or check spelling.", searchQuery);
+            System.out.println("DEBUG: FuzzySearchInteractor - No results found, calling prepareFailView");
+            fuzzySearchOutputBoundary.prepareFailView(
+                new FuzzySearchOutputData(message, false, searchQuery)
+            );
+        } else {
+            String message = String.format("Found %d results for '%s'", searchResults.size(), searchQuery);
+            System.out.println("DEBUG: FuzzySearchInteractor - Results found, calling prepareSuccessView with message: " + message);
+            fuzzySearchOutputBoundary.prepareSuccessView(
+                new FuzzySearchOutputData(searchResults, message, true, searchQuery)
+            );
+        }
+    }
 }
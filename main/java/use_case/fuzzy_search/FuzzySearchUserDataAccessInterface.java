@@ -1,11 +1,19 @@
 package use_case.fuzzy_search;
 
 import use_case.dashboard.DashboardUserDataAccessInterface;
+import use_case.fuzzy_search.util.TermStatistics;
 
 /**
  * Data access interface for the fuzzy search use case.
  * Extends the existing search interface to reuse the same data access infrastructure.
  */
 public interface FuzzySearchUserDataAccessInterface extends DashboardUserDataAccessInterface {
-    // No additional methods needed - fuzzy search just uses the existing getAllPosts() method
+
+    /**
+     * Gets the term statistics of all posts, kept up to date as posts change,
+     * for ranking. The default keeps none, so they are counted from the posts
+     * searched instead.
+     * @return the live statistics, or null if none are kept
+     */
+    default TermStatistics getTermStatistics() { return null; }
 }
@@ -1,8 +1,14 @@
 package use_case.fuzzy_search.util;
 
 import entity.Post;
+import entity.SearchDocument;
+import use_case.QueryResultCache;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToIntFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -10,26 +16,92 @@ import java.util.regex.Pattern;
  * FuzzyMatchHelper with an internal Chain of Responsibility:
  * Normalize -> Score -> Rank
  *
- * Public API stays the same so callers/tests don't need changes.
+ * Scored results are carried from stage to stage, so each post is scored once.
+ * Large corpora are scored in parallel on a dedicated fork/join pool; see
+ * {@link #setParallelThreshold}.
+ *
+ * Posts are ranked with BM25F: for each keyword, the quality of its best match
+ * in every field is boosted per field (see {@link #setFieldBoosts}) and scaled
+ * by the field's length relative to the average, then saturated and weighted
+ * by how rare the keyword is across all posts, so a common word like "black"
+ * counts for less than a rare one. Those collection statistics come from the
+ * caller's {@link TermStatistics} when it keeps them up to date, and are
+ * otherwise counted from the posts searched.
  */
 public class FuzzyMatchHelper {
 
     /* -------------------- constants (unchanged) -------------------- */
     private static final int FUZZY_THRESHOLD = 2;
-    private static final List<String> SEARCH_FIELDS = Arrays.asList(
-            "title", "tags", "description", "location"
-    );
     private static final int EXACT_MATCH_WEIGHT = 3;
     private static final int FUZZY_MATCH_WEIGHT = 1;
     private static final int PHRASE_MATCH_WEIGHT = 2;
-
-    /* -------------------- public API (unchanged) -------------------- */
+    // BM25 term frequency saturation and field length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    /** Field names accepted by {@link #setFieldBoosts}, in {@link SearchDocument} field order. */
+    public static final List<String> FIELD_NAMES = List.of("title", "tags", "description", "location");
+    // Title weighs most, location least, as before relevance scoring
+    private static final double[] DEFAULT_FIELD_BOOSTS = {4, 3, 2, 1};
+    private static final Pattern WORD = Pattern.compile("\\w+");
+    // A quoted phrase or a run of non-blank characters
+    private static final Pattern QUERY_TOKEN = Pattern.compile("\"([^\"]*)\"|(\\S+)");
+
+    /** Higher score first; equal scores keep their position in the searched list. */
+    private static final Comparator<PostWithScore> BEST_FIRST =
+            Comparator.comparingDouble(PostWithScore::getScore).reversed()
+                    .thenComparingInt(PostWithScore::getPosition);
+
+    // Ranges smaller than this are not worth handing to another thread
+    private static final int MIN_PARALLEL_RANGE = 2048;
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 20_000;
+
+    // Index of the last post list searched; rebuilt only when the posts change
+    private static volatile CachedIndex cachedIndex;
+    private static volatile int parallelThreshold =
+            Integer.getInteger("search.parallel.threshold", DEFAULT_PARALLEL_THRESHOLD);
+    private static volatile ForkJoinPool searchPool;
+    private static volatile double[] fieldBoosts = DEFAULT_FIELD_BOOSTS.clone();
+
+    /* -------------------- public API -------------------- */
     public static List<Post> fuzzyMatchPosts(List<Post> posts, String query) {
+        return fuzzyMatchPosts(posts, query, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the best matching posts, best first, ties in their original order.
+     * Only the top {@code limit} are kept while ranking, so asking for one page
+     * of results does not sort every match.
+     * @param posts the posts to search
+     * @param query the search query
+     * @param limit the maximum number of results
+     * @return at most {@code limit} posts
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public static List<Post> fuzzyMatchPosts(List<Post> posts, String query, int limit) {
+        return fuzzyMatchPosts(posts, query, limit, null, QueryResultCache.UNVERSIONED);
+    }
+
+    /**
+     * Returns the best matching posts like {@link #fuzzyMatchPosts(List, String, int)},
+     * ranked with collection statistics the caller keeps up to date. The term
+     * index of the posts is reused for as long as the posts version is unchanged,
+     * without comparing the posts.
+     * @param posts all posts the statistics describe
+     * @param query the search query
+     * @param limit the maximum number of results
+     * @param statistics the document frequencies and field lengths of the posts, or null to count them
+     * @param postsVersion the posts version read before the posts, or QueryResultCache.UNVERSIONED
+     * @return at most {@code limit} posts
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public static List<Post> fuzzyMatchPosts(List<Post> posts, String query, int limit,
+                                             TermStatistics statistics, long postsVersion) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive: " + limit);
         if (posts == null || posts.isEmpty()) return Collections.emptyList();
         if (query == null || query.trim().isEmpty()) return Collections.emptyList();
 
         // Build the chain: Normalize -> Score -> Rank
-        SearchContext ctx = new SearchContext(query);
+        SearchContext ctx = new SearchContext(query, posts, limit, statistics, postsVersion);
         SearchHandler h1 = new NormalizeHandler();  // 规范化 & 同义词扩展
         SearchHandler h2 = new ScoreHandler();      // 逐帖打分（>0 保留）
         SearchHandler h3 = new RankHandler();       // 结果排序（分数降序）
@@ -37,7 +109,7 @@ public class FuzzyMatchHelper {
         h1.setNext(h2);
         h2.setNext(h3);
 
-        List<PostWithScore> finalScored = h1.handle(posts, ctx);
+        List<PostWithScore> finalScored = h1.handle(Collections.emptyList(), ctx);
 
         // Extract posts only
         List<Post> results = new ArrayList<>(finalScored.size());
@@ -50,17 +122,26 @@ public class FuzzyMatchHelper {
     /** Context passed along the chain. */
     private static class SearchContext {
         final String originalQuery;
+        final List<Post> posts;
+        final int limit;
+        final TermStatistics statistics;
+        final long postsVersion;
         Set<String> keywords; // filled by NormalizeHandler
 
-        SearchContext(String originalQuery) {
+        SearchContext(String originalQuery, List<Post> posts, int limit,
+                      TermStatistics statistics, long postsVersion) {
             this.originalQuery = originalQuery;
+            this.posts = posts;
+            this.limit = limit;
+            this.statistics = statistics;
+            this.postsVersion = postsVersion;
         }
     }
 
-    /** Handler interface. */
+    /** Handler interface: each stage refines the scored results of the one before. */
     private interface SearchHandler {
         void setNext(SearchHandler next);
-        List<PostWithScore> handle(List<Post> inputPosts, SearchContext ctx);
+        List<PostWithScore> handle(List<PostWithScore> scored, SearchContext ctx);
     }
 
     /** Base handler with next linkage. */
@@ -68,154 +149,415 @@ public class FuzzyMatchHelper {
         protected SearchHandler next;
         @Override public void setNext(SearchHandler next) { this.next = next; }
         protected List<PostWithScore> nextOr(List<PostWithScore> out, SearchContext ctx) {
-            return (next == null) ? out : next.handle(extractPosts(out), ctx);
-        }
-        // helper: convert PostWithScore list -> pass as posts to next.handle
-        private List<Post> extractPosts(List<PostWithScore> list) {
-            List<Post> posts = new ArrayList<>(list.size());
-            for (PostWithScore pws : list) posts.add(pws.getPost());
-            return posts;
+            return (next == null) ? out : next.handle(out, ctx);
         }
     }
 
-    /** Step 1: normalize query & expand synonyms, pass all posts through. */
+    /** Step 1: normalize query & expand synonyms; nothing is scored yet. */
     private static class NormalizeHandler extends BaseHandler {
         @Override
-        public List<PostWithScore> handle(List<Post> inputPosts, SearchContext ctx) {
+        public List<PostWithScore> handle(List<PostWithScore> scored, SearchContext ctx) {
             ctx.keywords = preprocessQuery(ctx.originalQuery);
             if (ctx.keywords == null || ctx.keywords.isEmpty()) return Collections.emptyList();
-
-            // Wrap input as score=0 and pass along
-            List<PostWithScore> passthrough = new ArrayList<>(inputPosts.size());
-            for (Post p : inputPosts) passthrough.add(new PostWithScore(p, 0));
-            return nextOr(passthrough, ctx);
+            return nextOr(scored, ctx);
         }
     }
 
-    /** Step 2: score each post (>0 are kept). */
+    /**
+     * Step 2: score candidate posts from the term index, once each (>0 are kept).
+     * Corpora of at least the parallel threshold are split into ranges scored
+     * on the search pool, each range keeping only its own top ctx.limit.
+     */
     private static class ScoreHandler extends BaseHandler {
         @Override
-        public List<PostWithScore> handle(List<Post> inputPosts, SearchContext ctx) {
-            List<PostWithScore> scored = new ArrayList<>();
-            for (Post p : inputPosts) {
-                int score = calculatePostScore(p, ctx.keywords);
-                if (score > 0) scored.add(new PostWithScore(p, score));
+        public List<PostWithScore> handle(List<PostWithScore> scored, SearchContext ctx) {
+            List<Post> posts = (ctx.posts instanceof RandomAccess) ? ctx.posts : new ArrayList<>(ctx.posts);
+            FuzzyTermIndex index = indexFor(posts, ctx.statistics, ctx.postsVersion);
+            List<KeywordMatch> matches = matchKeywords(index, ctx.statistics, ctx.keywords);
+            double[] averageLengths = new double[index.fieldCount()];
+            for (int f = 0; f < averageLengths.length; f++) {
+                averageLengths[f] = ctx.statistics != null
+                        ? ctx.statistics.averageFieldLength(f) : index.averageFieldLength(f);
             }
-            return nextOr(scored, ctx);
+
+            List<PostWithScore> candidates = posts.size() >= parallelThreshold
+                    ? searchPool().invoke(new ScoreTask(posts, index, matches, averageLengths,
+                            0, posts.size(), ctx.limit))
+                    : scoreRange(posts, index, matches, averageLengths, 0, posts.size());
+            return nextOr(candidates, ctx);
         }
     }
 
-    /** Step 3: sort by score desc and finish. */
+    /** Step 3: order by score desc, keeping only the top ctx.limit, and finish. */
     private static class RankHandler extends BaseHandler {
         @Override
-        public List<PostWithScore> handle(List<Post> inputPosts, SearchContext ctx) {
-            // Input here are plain posts; rescore to ensure order by score
-            List<PostWithScore> scored = new ArrayList<>();
-            for (Post p : inputPosts) {
-                int score = calculatePostScore(p, ctx.keywords);
-                if (score > 0) scored.add(new PostWithScore(p, score));
+        public List<PostWithScore> handle(List<PostWithScore> scored, SearchContext ctx) {
+            List<PostWithScore> ranked = topK(scored, ctx.limit);
+            return nextOr(ranked, ctx);
+        }
+    }
+
+    /**
+     * Selects the best {@code k} results with a bounded min-heap, so only
+     * O(n log k) work is done, and returns them best first.
+     */
+    private static List<PostWithScore> topK(List<PostWithScore> scored, int k) {
+        if (scored.size() <= k) {
+            List<PostWithScore> all = new ArrayList<>(scored);
+            all.sort(BEST_FIRST);
+            return all;
+        }
+        // The head of the heap is the worst result kept so far
+        PriorityQueue<PostWithScore> heap = new PriorityQueue<>(k + 1, BEST_FIRST.reversed());
+        for (PostWithScore candidate : scored) {
+            if (heap.size() < k) {
+                heap.add(candidate);
+            } else if (BEST_FIRST.compare(candidate, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
             }
-            scored.sort(Comparator.comparingInt(PostWithScore::getScore).reversed());
-            return scored; // end of chain
         }
+        List<PostWithScore> best = new ArrayList<>(heap);
+        best.sort(BEST_FIRST);
+        return best;
     }
 
-    /* ==================== original helper logic ==================== */
+    /* ==================== term index scoring ==================== */
+
+    /**
+     * Reuses the last index while it describes the posts. With statistics and a
+     * posts version it does so while the version is unchanged; otherwise the
+     * posts are compared with the indexed ones.
+     */
+    private static FuzzyTermIndex indexFor(List<Post> posts, TermStatistics statistics, long postsVersion) {
+        boolean versioned = statistics != null && postsVersion != QueryResultCache.UNVERSIONED;
+        CachedIndex cached = cachedIndex;
+        if (cached != null) {
+            if (versioned ? cached.statistics == statistics && cached.postsVersion == postsVersion
+                    : cached.statistics == null && cached.index.isCurrentFor(posts)) {
+                return cached.index;
+            }
+        }
+        FuzzyTermIndex index = new FuzzyTermIndex(posts);
+        cachedIndex = new CachedIndex(index, versioned ? statistics : null,
+                versioned ? postsVersion : QueryResultCache.UNVERSIONED);
+        return index;
+    }
 
-    private static Set<String> preprocessQuery(String query) {
-        Set<String> allKeywords = new HashSet<>();
-        String normalized = query.trim().toLowerCase();
+    /**
+     * Looks up the vocabulary terms within FUZZY_THRESHOLD of each keyword, once
+     * per query, so ranges scored in parallel share the lookups. The keywords and
+     * their synonyms are matched together in a single pass over the vocabulary.
+     */
+    private static List<KeywordMatch> matchKeywords(FuzzyTermIndex index, TermStatistics statistics,
+                                                    Set<String> keywords) {
+        List<String> lookups = new ArrayList<>(keywords.size());
+        for (String keyword : keywords) {
+            if (keyword == null || keyword.isEmpty()) continue;
+            lookups.add(keyword);
+        }
+        List<String> lowercased = new ArrayList<>(lookups.size());
+        for (String keyword : lookups) lowercased.add(keyword.toLowerCase());
+
+        List<List<FuzzyTermIndex.Term>> terms = index.matchAll(lowercased, FUZZY_THRESHOLD);
+        List<KeywordMatch> matches = new ArrayList<>(lookups.size());
+        for (int i = 0; i < lookups.size(); i++) {
+            KeywordMatch match = new KeywordMatch(lookups.get(i), terms.get(i));
+            match.idf = statistics != null
+                    ? inverseDocumentFrequency(statistics.documentCount(), statistics::documentFrequency, match)
+                    : inverseDocumentFrequency(index.size(), index::documentFrequency, match);
+            matches.add(match);
+        }
+        return matches;
+    }
 
-        List<String> tokens = new ArrayList<>();
-        Pattern pattern = Pattern.compile("\"([^\"]*)\"|(\\S+)");
-        Matcher matcher = pattern.matcher(normalized);
+    /**
+     * BM25 idf of a keyword. A fuzzy keyword is taken to occur in every post
+     * containing one of its terms; a phrase in at most as many posts as its
+     * rarest word.
+     */
+    private static double inverseDocumentFrequency(int postCount, ToIntFunction<String> documentFrequency,
+                                                   KeywordMatch match) {
+        long frequency = 0;
+        if (match.singleWord) {
+            for (FuzzyTermIndex.Term term : match.terms) frequency += documentFrequency.applyAsInt(term.getText());
+        } else {
+            frequency = postCount;
+            Matcher words = WORD.matcher(match.keyword);
+            while (words.find()) frequency = Math.min(frequency, documentFrequency.applyAsInt(words.group()));
+        }
+        frequency = Math.max(1, Math.min(frequency, postCount));
+        return Math.log(1 + (postCount - frequency + 0.5) / (frequency + 0.5));
+    }
 
-        while (matcher.find()) {
-            if (matcher.group(1) != null) {
-                tokens.add(matcher.group(1));
-            } else {
-                tokens.add(matcher.group(2));
+    /**
+     * Scores the posts at positions [from, to) that contain a term within
+     * FUZZY_THRESHOLD of some keyword. Per keyword and field, an exact token or
+     * whole-field match counts EXACT_MATCH_WEIGHT, a phrase inside the field
+     * PHRASE_MATCH_WEIGHT and a fuzzy token FUZZY_MATCH_WEIGHT; the fields are
+     * then combined with BM25F.
+     * @return the posts with a positive score, in position order
+     */
+    private static List<PostWithScore> scoreRange(List<Post> posts, FuzzyTermIndex index, List<KeywordMatch> matches,
+                                                  double[] averageLengths, int from, int to) {
+        Map<Integer, Double> scores = new TreeMap<>();
+        int fieldCount = index.fieldCount();
+        double[] boosts = fieldBoosts;
+
+        for (KeywordMatch match : matches) {
+            String keyword = match.keyword;
+
+            // best match per field for each candidate post
+            Map<Integer, int[]> best = new HashMap<>();
+            for (FuzzyTermIndex.Term term : match.terms) {
+                int matchScore = term.getText().equals(keyword) ? EXACT_MATCH_WEIGHT : FUZZY_MATCH_WEIGHT;
+                for (int f = 0; f < fieldCount; f++) {
+                    int[] postings = term.getPostings(f);
+                    for (int i = firstAtOrAfter(postings, from); i < postings.length && postings[i] < to; i++) {
+                        int[] fieldScores = best.computeIfAbsent(postings[i], k -> new int[fieldCount]);
+                        fieldScores[f] = Math.max(fieldScores[f], matchScore);
+                    }
+                }
+            }
+
+            // Whole-field and phrase matches of multi-word keywords are not token aligned
+            if (!match.singleWord) {
+                for (int position = from; position < to; position++) {
+                    for (int f = 0; f < fieldCount; f++) {
+                        String fieldText = index.getFieldText(position, f);
+                        int matchScore = 0;
+                        if (fieldText.equals(keyword)) {
+                            matchScore = EXACT_MATCH_WEIGHT;
+                        } else if (keyword.contains(" ") && fieldText.contains(keyword)) {
+                            matchScore = PHRASE_MATCH_WEIGHT;
+                        }
+                        if (matchScore > 0) {
+                            int[] fieldScores = best.computeIfAbsent(position, k -> new int[fieldCount]);
+                            fieldScores[f] = Math.max(fieldScores[f], matchScore);
+                        }
+                    }
+                }
             }
+
+            for (Map.Entry<Integer, int[]> entry : best.entrySet()) {
+                int position = entry.getKey();
+                int[] fieldScores = entry.getValue();
+                // Boosted, length-normalized match quality summed over the fields
+                double frequency = 0;
+                for (int f = 0; f < fieldCount; f++) {
+                    if (fieldScores[f] == 0) continue;
+                    double boost = f < boosts.length ? boosts[f] : 1;
+                    double norm = averageLengths[f] > 0
+                            ? 1 - B + B * index.fieldLength(position, f) / averageLengths[f] : 1;
+                    frequency += boost * fieldScores[f] / EXACT_MATCH_WEIGHT / norm;
+                }
+                if (frequency > 0) {
+                    scores.merge(position, match.idf * frequency / (K1 + frequency), Double::sum);
+                }
+            }
+        }
+
+        List<PostWithScore> scored = new ArrayList<>(scores.size());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            scored.add(new PostWithScore(posts.get(entry.getKey()), entry.getValue(), entry.getKey()));
+        }
+        return scored;
+    }
+
+    // Index of the first posting >= position in an ascending postings array
+    private static int firstAtOrAfter(int[] postings, int position) {
+        int low = 0;
+        int high = postings.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (postings[mid] < position) low = mid + 1; else high = mid;
         }
+        return low;
+    }
 
-        for (String token : tokens) {
-            allKeywords.add(token);
-            // include synonyms if available
-            allKeywords.addAll(SynonymExpander.expand(token));
+    /* ==================== field boosts ==================== */
+
+    /**
+     * Sets the BM25F boosts of the fields from a comma-separated list such as
+     * {@code title=4, tags=3, description=2, location=1}. Fields not listed
+     * go back to their default boost.
+     * @param spec the boosts by field name; blank for the defaults
+     * @throws IllegalArgumentException if a field is unknown or a boost is not a positive number
+     */
+    public static void setFieldBoosts(String spec) {
+        double[] boosts = DEFAULT_FIELD_BOOSTS.clone();
+        if (spec != null && !spec.trim().isEmpty()) {
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.split("=", 2);
+                int field = FIELD_NAMES.indexOf(parts[0].trim().toLowerCase());
+                if (field < 0 || parts.length < 2) {
+                    throw new IllegalArgumentException("expected <field>=<boost> with a field of "
+                            + FIELD_NAMES + ": " + entry.trim());
+                }
+                double boost;
+                try {
+                    boost = Double.parseDouble(parts[1].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("boost is not a number: " + entry.trim(), e);
+                }
+                if (!(boost > 0) || Double.isInfinite(boost)) {
+                    throw new IllegalArgumentException("boost must be positive: " + entry.trim());
+                }
+                boosts[field] = boost;
+            }
         }
-        return allKeywords;
+        fieldBoosts = boosts;
     }
 
-    private static int calculatePostScore(Post post, Set<String> keywords) {
-        int totalScore = 0;
+    /**
+     * Gets the BM25F boost of a field.
+     * @param field a name from {@link #FIELD_NAMES}
+     * @return the boost
+     * @throws IllegalArgumentException if the field is unknown
+     */
+    public static double getFieldBoost(String field) {
+        int index = FIELD_NAMES.indexOf(field);
+        if (index < 0) throw new IllegalArgumentException("unknown field: " + field);
+        return fieldBoosts[index];
+    }
+
+    /* ==================== parallel scoring ==================== */
 
-        for (String field : SEARCH_FIELDS) {
-            String fieldValue = getFieldValue(post, field);
-            if (fieldValue == null || fieldValue.isEmpty()) continue;
+    /**
+     * Sets the corpus size from which posts are scored in parallel.
+     * @param threshold the minimum number of posts; Integer.MAX_VALUE disables parallel scoring
+     * @throws IllegalArgumentException if threshold is not positive
+     */
+    public static void setParallelThreshold(int threshold) {
+        if (threshold <= 0) throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        parallelThreshold = threshold;
+    }
 
-            String cleanField = fieldValue.toLowerCase();
+    /**
+     * Gets the corpus size from which posts are scored in parallel.
+     * @return the threshold
+     */
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
 
-            for (String keyword : keywords) {
-                int matchScore = matchKeyword(cleanField, keyword);
-                if (matchScore > 0) {
-                    int fieldWeight = SEARCH_FIELDS.size() - SEARCH_FIELDS.indexOf(field);
-                    totalScore += matchScore * fieldWeight;
+    private static ForkJoinPool searchPool() {
+        ForkJoinPool pool = searchPool;
+        if (pool == null) {
+            synchronized (FuzzyMatchHelper.class) {
+                if (searchPool == null) {
+                    // Separate from the common pool so searches never wait behind unrelated work
+                    searchPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), forkJoinPool -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory
+                                .newThread(forkJoinPool);
+                        thread.setName("fuzzy-search-" + thread.getPoolIndex());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, null, false);
                 }
+                pool = searchPool;
             }
         }
-        return totalScore;
+        return pool;
     }
 
-    private static String getFieldValue(Post post, String fieldName) {
-        switch (fieldName) {
-            case "title":
-                return post.getTitle() != null ? post.getTitle() : "";
-            case "description":
-                return post.getDescription() != null ? post.getDescription() : "";
-            case "location":
-                return post.getLocation() != null ? post.getLocation() : "";
-            case "tags":
-                if (post.getTags() == null) return "";
-                return String.join(" ", post.getTags());
-            default:
-                return "";
+    /** Scores a range of positions, splitting it while it is large, and keeps its top results. */
+    private static final class ScoreTask extends RecursiveTask<List<PostWithScore>> {
+        private final List<Post> posts;
+        private final FuzzyTermIndex index;
+        private final List<KeywordMatch> matches;
+        private final double[] averageLengths;
+        private final int from;
+        private final int to;
+        private final int limit;
+
+        ScoreTask(List<Post> posts, FuzzyTermIndex index, List<KeywordMatch> matches, double[] averageLengths,
+                  int from, int to, int limit) {
+            this.posts = posts;
+            this.index = index;
+            this.matches = matches;
+            this.averageLengths = averageLengths;
+            this.from = from;
+            this.to = to;
+            this.limit = limit;
+        }
+
+        @Override
+        protected List<PostWithScore> compute() {
+            int leafSize = Math.max(MIN_PARALLEL_RANGE, posts.size() / (getPool().getParallelism() * 4));
+            if (to - from <= leafSize) {
+                return topK(scoreRange(posts, index, matches, averageLengths, from, to), limit);
+            }
+            int middle = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(posts, index, matches, averageLengths, from, middle, limit);
+            ScoreTask right = new ScoreTask(posts, index, matches, averageLengths, middle, to, limit);
+            left.fork();
+            List<PostWithScore> merged = new ArrayList<>(right.compute());
+            merged.addAll(left.join());
+            return topK(merged, limit);
         }
     }
 
-    private static int matchKeyword(String fieldValue, String keyword) {
-        if (fieldValue == null || fieldValue.isEmpty() || keyword == null || keyword.isEmpty()) return 0;
+    /** A term index with the statistics and posts version it was built for, if any. */
+    private static final class CachedIndex {
+        private final FuzzyTermIndex index;
+        private final TermStatistics statistics;
+        private final long postsVersion;
 
-        // exact match on full field
-        if (fieldValue.equals(keyword)) return EXACT_MATCH_WEIGHT;
+        CachedIndex(FuzzyTermIndex index, TermStatistics statistics, long postsVersion) {
+            this.index = index;
+            this.statistics = statistics;
+            this.postsVersion = postsVersion;
+        }
+    }
 
-        // phrase inclusion
-        if (keyword.contains(" ") && fieldValue.contains(keyword)) return PHRASE_MATCH_WEIGHT;
+    /** A query keyword with the vocabulary terms it fuzzily matches. */
+    private static final class KeywordMatch {
+        private final String keyword;
+        private final List<FuzzyTermIndex.Term> terms;
+        private final boolean singleWord;
+        private double idf;
+
+        KeywordMatch(String keyword, List<FuzzyTermIndex.Term> terms) {
+            this.keyword = keyword;
+            this.terms = terms;
+            this.singleWord = WORD.matcher(keyword).matches();
+        }
+    }
 
-        int maxScore = 0;
-        String[] tokens = fieldValue.split("\\W+");
+    /* ==================== original helper logic ==================== */
 
-        for (String token : tokens) {
-            if (token.isEmpty()) continue;
+    private static Set<String> preprocessQuery(String query) {
+        String normalized = query.trim().toLowerCase();
 
-            if (token.equals(keyword)) return EXACT_MATCH_WEIGHT;
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = QUERY_TOKEN.matcher(normalized);
 
-            if (FuzzyMatcher.isFuzzyMatch(token, keyword, FUZZY_THRESHOLD)) {
-                maxScore = Math.max(maxScore, FUZZY_MATCH_WEIGHT);
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                tokens.add(matcher.group(1));
+            } else {
+                tokens.add(matcher.group(2));
             }
         }
-        return maxScore;
+
+        // Every token plus the synonyms of the longest phrases found among them
+        return SynonymExpander.expandTokens(tokens);
     }
 
     /* -------------------- local type -------------------- */
     private static class PostWithScore {
         private final Post post;
-        private final int score;
+        private final double score;
+        private final int position;
 
-        PostWithScore(Post post, int score) {
+        PostWithScore(Post post, double score, int position) {
             this.post = post;
             this.score = score;
+            this.position = position;
         }
         public Post getPost() { return post; }
-        public int getScore() { return score; }
+        public double getScore() { return score; }
+        public int getPosition() { return position; }
     }
 }
@@ -1,7 +1,22 @@
 package use_case.fuzzy_search.util;
 
+/**
+ * Edit distance between short strings.
+ *
+ * Strings whose shorter side fits in 64 characters use Myers' bit-parallel
+ * algorithm (in Hyyrö's formulation for whole-string distance), which handles
+ * a whole DP column per machine word. Longer strings fall back to a DP
+ * restricted to the diagonal band the threshold allows. Scratch space is kept
+ * per thread, so neither path allocates per call.
+ */
 public class FuzzyMatcher {
     private static final int DEFAULT_THRESHOLD = 2;
+    private static final int WORD_BITS = Long.SIZE;
+    private static final int ASCII = 128;
+    // Larger than any distance, with room to add one without overflowing
+    private static final int FAR = Integer.MAX_VALUE / 2;
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
 
     public static boolean isFuzzyMatch(String a, String b) {
         return isFuzzyMatch(a, b, DEFAULT_THRESHOLD);
@@ -16,6 +31,14 @@ public class FuzzyMatcher {
         return levenshteinDistance(a.toLowerCase(), b.toLowerCase(), threshold) <= threshold;
     }
 
+    /**
+     * Computes the edit distance between two strings, giving up early once it
+     * must exceed the threshold.
+     * @param s1 one string
+     * @param s2 the other string
+     * @param threshold the largest distance of interest
+     * @return the distance if it is at most the threshold, otherwise threshold + 1
+     */
     public static int levenshteinDistance(String s1, String s2, int threshold) {
         if (s1.length() > s2.length()) {
             String temp = s1;
@@ -29,18 +52,95 @@ public class FuzzyMatcher {
         if (n - m > threshold) {
             return threshold + 1;
         }
+        int distance;
+        if (m == 0) {
+            distance = n;
+        } else if (m <= WORD_BITS) {
+            distance = myers(s1, s2, threshold);
+        } else {
+            distance = banded(s1, s2, threshold);
+        }
+        return distance <= threshold ? distance : threshold + 1;
+    }
+
+    /**
+     * Bit-parallel distance for a pattern of 1 to 64 characters. Bit i of the
+     * vertical delta vectors describes row i + 1 of the current DP column.
+     */
+    private static int myers(String pattern, String text, int threshold) {
+        Workspace workspace = WORKSPACE.get();
+        long[] peq = workspace.peq;
+        int m = pattern.length();
+        int n = text.length();
+        for (int i = 0; i < m; i++) {
+            char c = pattern.charAt(i);
+            if (c < ASCII) peq[c] |= 1L << i;
+        }
 
-        int[] dp = new int[m + 1];
+        long last = 1L << (m - 1);
+        long pv = -1L;
+        long mv = 0L;
+        int score = m;
+        for (int j = 0; j < n; j++) {
+            char c = text.charAt(j);
+            long eq = c < ASCII ? peq[c] : matchMask(pattern, c);
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & last) != 0) {
+                score++;
+            } else if ((mh & last) != 0) {
+                score--;
+            }
+            // Row 0 of every column grows by one, so a +1 enters at the bottom
+            ph = (ph << 1) | 1L;
+            mh <<= 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+            // Each remaining text character can lower the distance by at most one
+            if (score - (n - j - 1) > threshold) {
+                score = threshold + 1;
+                break;
+            }
+        }
+
+        for (int i = 0; i < m; i++) {
+            char c = pattern.charAt(i);
+            if (c < ASCII) peq[c] = 0L;
+        }
+        return score;
+    }
+
+    private static long matchMask(String pattern, char c) {
+        long mask = 0L;
+        for (int i = 0; i < pattern.length(); i++) {
+            if (pattern.charAt(i) == c) mask |= 1L << i;
+        }
+        return mask;
+    }
+
+    /**
+     * DP over the cells within threshold of the diagonal; cells outside it
+     * cannot lead to a distance within the threshold.
+     */
+    private static int banded(String s1, String s2, int threshold) {
+        int m = s1.length();
+        int n = s2.length();
+        int band = Math.min(threshold, n);
+        int[] dp = WORKSPACE.get().row(m + 1);
         for (int i = 0; i <= m; i++) {
-            dp[i] = i;
+            dp[i] = i <= band ? i : FAR;
         }
 
         for (int j = 1; j <= n; j++) {
-            int prev = dp[0];
-            dp[0] = j;
-            int minInRow = dp[0];
+            int low = Math.max(1, j - band);
+            int high = (int) Math.min(m, (long) j + band);
+            int prev = dp[low - 1];
+            dp[low - 1] = low == 1 ? j : FAR;
+            int minInRow = dp[low - 1];
 
-            for (int i = 1; i <= m; i++) {
+            for (int i = low; i <= high; i++) {
                 int temp = dp[i];
                 int cost = (s1.charAt(i - 1) == s2.charAt(j - 1)) ? 0 : 1;
 
@@ -60,4 +160,16 @@ public class FuzzyMatcher {
 
         return dp[m];
     }
-}
\ No newline at end of file
+
+    /** Per-thread scratch space. */
+    private static final class Workspace {
+        // Match masks of the current pattern's ASCII characters, cleared after each use
+        private final long[] peq = new long[ASCII];
+        private int[] row = new int[0];
+
+        int[] row(int size) {
+            if (row.length < size) row = new int[Math.max(size, row.length * 2)];
+            return row;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package use_case.fuzzy_search.util;
+
+import entity.Post;
+import entity.SearchDocument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vocabulary-level fuzzy index over a list of posts.
+ *
+ * Every distinct field token is stored once, grouped by length, together with
+ * the positions of the posts containing it in each field. A fuzzy lookup runs
+ * a {@link LevenshteinAutomaton} over the vocabulary terms of plausible length
+ * instead of over every token of every post, and looks up a keyword and all
+ * its synonyms in the same pass.
+ *
+ * The index also keeps the collection statistics relevance scoring needs: the
+ * number of posts containing each term, and the token count of every field
+ * with its average. They are counted in the same pass that builds the postings.
+ *
+ * Posts are addressed by their position in the indexed list. The index is
+ * immutable once built; {@link #isCurrentFor(List)} tells whether it still
+ * describes a given post list, so it can be reused across queries.
+ */
+public class FuzzyTermIndex {
+
+    private final int fieldCount;
+    private final SearchDocument[] documents;
+    private final String[][] fieldTexts;
+    private final int[][] fieldLengths;
+    private final long[] totalFieldLengths;
+    private final Map<String, Term> terms = new HashMap<>();
+    // Vocabulary terms indexed by token length
+    private Term[][] termsByLength;
+
+    /**
+     * Builds the index over the fields of each post's {@link SearchDocument},
+     * in {@link SearchDocument} field order, reusing its lowercased texts and tokens.
+     * @param posts the posts to index, addressed by their position in this list
+     */
+    public FuzzyTermIndex(List<Post> posts) {
+        this.fieldCount = SearchDocument.FIELD_COUNT;
+        this.documents = new SearchDocument[posts.size()];
+        this.fieldTexts = new String[posts.size()][fieldCount];
+        this.fieldLengths = new int[posts.size()][fieldCount];
+        this.totalFieldLengths = new long[fieldCount];
+        int i = 0;
+        for (Post post : posts) {
+            SearchDocument document = post.searchDocument();
+            documents[i] = document;
+            for (int f = 0; f < fieldCount; f++) {
+                addField(i, f, document.text(f), document.tokens(f));
+            }
+            i++;
+        }
+        trimTerms();
+    }
+
+    private void addField(int position, int field, String text, String[] tokens) {
+        fieldTexts[position][field] = text;
+        fieldLengths[position][field] = tokens.length;
+        totalFieldLengths[field] += tokens.length;
+        for (String token : tokens) {
+            termFor(token).add(field, position);
+        }
+    }
+
+    private void trimTerms() {
+        int longest = 0;
+        for (Term term : terms.values()) {
+            term.trim();
+            longest = Math.max(longest, term.text.length());
+        }
+        int[] counts = new int[longest + 1];
+        for (Term term : terms.values()) {
+            counts[term.text.length()]++;
+        }
+        termsByLength = new Term[longest + 1][];
+        for (int length = 0; length <= longest; length++) {
+            termsByLength[length] = new Term[counts[length]];
+        }
+        for (Term term : terms.values()) {
+            int length = term.text.length();
+            termsByLength[length][--counts[length]] = term;
+        }
+    }
+
+    /**
+     * Checks whether this index still describes the given posts: the same number
+     * of posts, in the same order, with unchanged searchable fields. The post
+     * objects themselves may differ, e.g. after a fresh read from the database.
+     * A post whose search document was not rebuilt since indexing is unchanged
+     * without comparing any field.
+     * @param candidates the post list to compare with
+     * @return true if the index can be reused for the list
+     */
+    public boolean isCurrentFor(List<Post> candidates) {
+        if (candidates.size() != documents.length) return false;
+        int i = 0;
+        for (Post post : candidates) {
+            if (post == null) return false;
+            if (post.searchDocument() != documents[i] && !documents[i].describes(post)) return false;
+            i++;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of indexed posts.
+     * @return the post count
+     */
+    public int size() {
+        return documents.length;
+    }
+
+    /**
+     * Gets the number of distinct tokens.
+     * @return the vocabulary size
+     */
+    public int vocabularySize() {
+        return terms.size();
+    }
+
+    /**
+     * Gets the lowercased text of a field.
+     * @param position the post position
+     * @param field the field position
+     * @return the field text, never null
+     */
+    public String getFieldText(int position, int field) {
+        return fieldTexts[position][field];
+    }
+
+    /**
+     * Gets the number of distinct tokens in a field of a post.
+     * @param position the post position
+     * @param field the field position
+     * @return the field length
+     */
+    public int fieldLength(int position, int field) {
+        return fieldLengths[position][field];
+    }
+
+    /**
+     * Gets the average number of distinct tokens in a field over all posts.
+     * @param field the field position
+     * @return the average field length, 0 if nothing is indexed
+     */
+    public double averageFieldLength(int field) {
+        return documents.length == 0 ? 0 : (double) totalFieldLengths[field] / documents.length;
+    }
+
+    /**
+     * Gets the number of posts containing a token in any field.
+     * @param token the lowercased token
+     * @return the document frequency, 0 if the token is not in the vocabulary
+     */
+    public int documentFrequency(String token) {
+        Term term = terms.get(token);
+        return term == null ? 0 : term.documentFrequency;
+    }
+
+    /**
+     * Gets the number of indexed fields.
+     * @return the field count
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Finds every vocabulary term within the given edit distance of the keyword.
+     * @param keyword the lowercased keyword
+     * @param threshold the maximum edit distance
+     * @return the matching terms
+     */
+    public List<Term> match(String keyword, int threshold) {
+        if (keyword == null || keyword.isEmpty()) return new ArrayList<>();
+        return matchAll(Collections.singletonList(keyword), threshold).get(0);
+    }
+
+    /**
+     * Finds the vocabulary terms within the given edit distance of each keyword,
+     * scanning the vocabulary once for all of them.
+     * @param keywords the lowercased, non-empty keywords
+     * @param threshold the maximum edit distance
+     * @return the matching terms of each keyword, in keyword order
+     */
+    public List<List<Term>> matchAll(List<String> keywords, int threshold) {
+        List<List<Term>> matches = new ArrayList<>(keywords.size());
+        for (int i = 0; i < keywords.size(); i++) {
+            matches.add(new ArrayList<>());
+        }
+        for (int from = 0; from < keywords.size(); from += LevenshteinAutomaton.MAX_KEYWORDS) {
+            int to = Math.min(keywords.size(), from + LevenshteinAutomaton.MAX_KEYWORDS);
+            LevenshteinAutomaton automaton = new LevenshteinAutomaton(keywords.subList(from, to), threshold);
+            int maxLength = Math.min(termsByLength.length - 1, automaton.maxWordLength());
+            for (int length = automaton.minWordLength(); length <= maxLength; length++) {
+                for (Term term : termsByLength[length]) {
+                    for (long accepted = automaton.accept(term.text); accepted != 0; accepted &= accepted - 1) {
+                        matches.get(from + Long.numberOfTrailingZeros(accepted)).add(term);
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private Term termFor(String token) {
+        return terms.computeIfAbsent(token, text -> new Term(text, fieldCount));
+    }
+
+    /**
+     * A distinct token with the positions of the posts that contain it, per field.
+     */
+    public static final class Term {
+        private final String text;
+        private final int[][] postings;
+        private final int[] counts;
+        private int documentFrequency;
+        private int lastPosition = -1;
+
+        Term(String text, int fieldCount) {
+            this.text = text;
+            this.postings = new int[fieldCount][];
+            this.counts = new int[fieldCount];
+        }
+
+        /**
+         * Gets the token.
+         * @return the token text
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Gets the ascending positions of the posts containing this token in a field.
+         * The returned array is shared and must not be modified.
+         * @param field the field position
+         * @return the post positions
+         */
+        public int[] getPostings(int field) {
+            return postings[field];
+        }
+
+        /**
+         * Gets the number of posts containing this token in any field.
+         * @return the document frequency
+         */
+        public int getDocumentFrequency() {
+            return documentFrequency;
+        }
+
+        // Posts are added in position order, so the lists stay sorted and duplicate-free
+        void add(int field, int position) {
+            if (position != lastPosition) {
+                documentFrequency++;
+                lastPosition = position;
+            }
+            int[] list = postings[field];
+            if (list == null) {
+                list = new int[2];
+            } else if (counts[field] == list.length) {
+                list = Arrays.copyOf(list, list.length * 2);
+            }
+            list[counts[field]++] = position;
+            postings[field] = list;
+        }
+
+        void trim() {
+            for (int f = 0; f < postings.length; f++) {
+                postings[f] = postings[f] == null ? new int[0] : Arrays.copyOf(postings[f], counts[f]);
+            }
+        }
+    }
+}
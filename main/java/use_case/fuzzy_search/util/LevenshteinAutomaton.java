@@ -0,0 +1,180 @@
+package use_case.fuzzy_search.util;
+
+import java.util.List;
+
+/**
+ * Accepts the words within a fixed edit distance of any of up to 64 keywords,
+ * typically a query keyword and its synonyms.
+ *
+ * Each keyword is compiled once into a bit-parallel Levenshtein NFA (Wu and
+ * Manber): for every error count d up to the threshold, one machine word holds
+ * the keyword prefixes that match the characters read so far with at most d
+ * errors. All keywords are stepped together over the word's characters, so a
+ * word is tested against the whole set in one pass, and a keyword is dropped
+ * as soon as none of its prefixes can still match. Keywords longer than
+ * {@link #MAX_KEYWORD_LENGTH} characters are checked with {@link FuzzyMatcher}.
+ *
+ * An automaton reuses its state vectors between words, so it must not be
+ * used by several threads at once.
+ */
+public class LevenshteinAutomaton {
+
+    /** The largest number of keywords one automaton can hold. */
+    public static final int MAX_KEYWORDS = Long.SIZE;
+    /** The longest keyword compiled into the NFA; bit 0 stands for the empty prefix. */
+    public static final int MAX_KEYWORD_LENGTH = Long.SIZE - 1;
+    private static final int ASCII = 128;
+
+    private final String[] keywords;
+    private final int threshold;
+    // Per keyword: bit i + 1 is set where the keyword's character i is the table index
+    private final long[][] asciiMasks;
+    private final long[] acceptBits;
+    private final long[] liveBits;
+    private final long compiled;
+    private final long[] states;
+    private final int minLength;
+    private final int maxLength;
+
+    /**
+     * Compiles the keywords.
+     * @param keywords the lowercased keywords, at most {@link #MAX_KEYWORDS}
+     * @param threshold the maximum edit distance
+     * @throws IllegalArgumentException if there are too many keywords or the threshold is negative
+     */
+    public LevenshteinAutomaton(List<String> keywords, int threshold) {
+        if (keywords.size() > MAX_KEYWORDS) {
+            throw new IllegalArgumentException("at most " + MAX_KEYWORDS + " keywords: " + keywords.size());
+        }
+        if (threshold < 0) throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+
+        this.keywords = keywords.toArray(new String[0]);
+        this.threshold = threshold;
+        this.asciiMasks = new long[this.keywords.length][];
+        this.acceptBits = new long[this.keywords.length];
+        this.liveBits = new long[this.keywords.length];
+
+        long nfa = 0L;
+        int shortest = Integer.MAX_VALUE;
+        int longest = 0;
+        for (int k = 0; k < this.keywords.length; k++) {
+            String keyword = this.keywords[k];
+            shortest = Math.min(shortest, keyword.length());
+            longest = Math.max(longest, keyword.length());
+            if (keyword.length() > MAX_KEYWORD_LENGTH) continue;
+
+            long[] masks = new long[ASCII];
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (c < ASCII) masks[c] |= 1L << (i + 1);
+            }
+            asciiMasks[k] = masks;
+            acceptBits[k] = 1L << keyword.length();
+            liveBits[k] = keyword.length() == MAX_KEYWORD_LENGTH ? -1L : (1L << (keyword.length() + 1)) - 1;
+            nfa |= 1L << k;
+        }
+        this.compiled = nfa;
+        this.states = new long[this.keywords.length * (threshold + 1)];
+        this.minLength = this.keywords.length == 0 ? 0 : shortest;
+        this.maxLength = longest;
+    }
+
+    /**
+     * Gets the keywords, in the order of the bits returned by {@link #accept}.
+     * @param index the keyword index
+     * @return the keyword
+     */
+    public String keyword(int index) {
+        return keywords[index];
+    }
+
+    /**
+     * Gets the number of keywords.
+     * @return the keyword count
+     */
+    public int size() {
+        return keywords.length;
+    }
+
+    /**
+     * Gets the length of the shortest word any keyword can accept.
+     * @return the minimum word length
+     */
+    public int minWordLength() {
+        return Math.max(0, minLength - threshold);
+    }
+
+    /**
+     * Gets the length of the longest word any keyword can accept.
+     * @return the maximum word length
+     */
+    public int maxWordLength() {
+        return maxLength + threshold;
+    }
+
+    /**
+     * Finds the keywords within the threshold of a word.
+     * @param word the lowercased word
+     * @return a mask with bit k set if keyword k accepts the word
+     */
+    public long accept(String word) {
+        int n = word.length();
+        long accepted = 0L;
+        long pending = 0L;
+        for (int k = 0; k < keywords.length; k++) {
+            if (Math.abs(keywords[k].length() - n) > threshold) continue;
+            if ((compiled & (1L << k)) != 0) {
+                pending |= 1L << k;
+            } else if (FuzzyMatcher.levenshteinDistance(keywords[k], word, threshold) <= threshold) {
+                accepted |= 1L << k;
+            }
+        }
+        if (pending == 0) return accepted;
+
+        // states[k * (threshold + 1) + d]: prefixes of keyword k matched with at most d errors
+        int rows = threshold + 1;
+        for (long rest = pending; rest != 0; rest &= rest - 1) {
+            int k = Long.numberOfTrailingZeros(rest);
+            // Before any input, a prefix of length i needs i deletions
+            for (int d = 0; d < rows; d++) {
+                states[k * rows + d] = d + 1 < Long.SIZE ? ((1L << (d + 1)) - 1) & liveBits[k] : liveBits[k];
+            }
+        }
+
+        for (int j = 0; j < n && pending != 0; j++) {
+            char c = word.charAt(j);
+            for (long rest = pending; rest != 0; rest &= rest - 1) {
+                int k = Long.numberOfTrailingZeros(rest);
+                long eq = c < ASCII ? asciiMasks[k][c] : matchMask(keywords[k], c);
+                int base = k * rows;
+                long previousOld = states[base];
+                long previousNew = (previousOld << 1) & eq;
+                states[base] = previousNew;
+                for (int d = 1; d < rows; d++) {
+                    long old = states[base + d];
+                    // match | insertion | substitution | deletion
+                    long next = ((old << 1) & eq) | previousOld | (previousOld << 1) | (previousNew << 1);
+                    next &= liveBits[k];
+                    states[base + d] = next;
+                    previousOld = old;
+                    previousNew = next;
+                }
+                if (previousNew == 0) pending &= ~(1L << k);
+            }
+        }
+
+        for (long rest = pending; rest != 0; rest &= rest - 1) {
+            int k = Long.numberOfTrailingZeros(rest);
+            if ((states[k * rows + threshold] & acceptBits[k]) != 0) accepted |= 1L << k;
+        }
+        return accepted;
+    }
+
+    private static long matchMask(String keyword, char c) {
+        long mask = 0L;
+        for (int i = 0; i < keyword.length(); i++) {
+            if (keyword.charAt(i) == c) mask |= 1L << (i + 1);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,229 @@
+package use_case.fuzzy_search.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable synonym groups compiled into a trie over whitespace tokens, so a
+ * query can be scanned once, left to right, for the longest phrase starting
+ * at each token.
+ *
+ * The source format is one group per line, terms separated by commas, e.g.
+ * {@code charger, charging cable, power adapter}. Blank lines and lines
+ * starting with '#' are ignored. Terms are lowercased and their whitespace
+ * collapsed. A term in several groups is a synonym of every term in all of
+ * them.
+ */
+public class SynonymDictionary {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final char COMMENT = '#';
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
+    private final Node root = new Node();
+    private final long generation = GENERATIONS.incrementAndGet();
+    private final int groupCount;
+    private final int termCount;
+
+    private SynonymDictionary(List<List<String>> groups) {
+        Map<String, Set<String>> synonyms = new HashMap<>();
+        for (List<String> group : groups) {
+            for (String term : group) {
+                Set<String> connections = synonyms.computeIfAbsent(term, k -> new LinkedHashSet<>());
+                for (String other : group) {
+                    if (!other.equals(term)) connections.add(other);
+                }
+            }
+        }
+        for (Map.Entry<String, Set<String>> entry : synonyms.entrySet()) {
+            Node node = root;
+            for (String token : WHITESPACE.split(entry.getKey())) {
+                node = node.children.computeIfAbsent(token, k -> new Node());
+            }
+            node.phrase = entry.getKey();
+            node.synonyms = Collections.unmodifiableList(new ArrayList<>(entry.getValue()));
+        }
+        this.groupCount = groups.size();
+        this.termCount = synonyms.size();
+    }
+
+    /**
+     * Gets a dictionary with no synonyms.
+     * @return the empty dictionary
+     */
+    public static SynonymDictionary empty() {
+        return new SynonymDictionary(Collections.emptyList());
+    }
+
+    /**
+     * Builds a dictionary from groups of terms.
+     * @param groups the synonym groups
+     * @return the dictionary
+     */
+    public static SynonymDictionary of(List<List<String>> groups) {
+        List<List<String>> clean = new ArrayList<>(groups.size());
+        for (List<String> group : groups) {
+            List<String> terms = new ArrayList<>(group.size());
+            for (String term : group) {
+                String normalized = normalize(term);
+                if (!normalized.isEmpty() && !terms.contains(normalized)) terms.add(normalized);
+            }
+            if (terms.size() > 1) clean.add(terms);
+        }
+        return new SynonymDictionary(clean);
+    }
+
+    /**
+     * Parses a dictionary in the line format described above.
+     * @param reader the source, which is read to the end but not closed
+     * @return the dictionary
+     * @throws IOException if the source cannot be read
+     */
+    public static SynonymDictionary parse(Reader reader) throws IOException {
+        List<List<String>> groups = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.charAt(0) == COMMENT) continue;
+            List<String> group = new ArrayList<>();
+            for (String term : trimmed.split(",")) group.add(term);
+            groups.add(group);
+        }
+        return of(groups);
+    }
+
+    /**
+     * Lowercases a term or phrase and collapses its whitespace.
+     * @param term the term
+     * @return the normalized term, empty for null
+     */
+    public static String normalize(String term) {
+        if (term == null) return "";
+        return WHITESPACE.matcher(term.trim().toLowerCase()).replaceAll(" ");
+    }
+
+    /**
+     * Gets the synonyms of a whole term or phrase.
+     * @param term the normalized term
+     * @return the synonyms, without the term itself; empty if it is not in the dictionary
+     */
+    public List<String> synonymsOf(String term) {
+        Node node = root;
+        for (String token : WHITESPACE.split(term)) {
+            node = node.children.get(token);
+            if (node == null) return Collections.emptyList();
+        }
+        return node.phrase == null ? Collections.<String>emptyList() : node.synonyms;
+    }
+
+    /**
+     * Finds the longest dictionary phrase made of the tokens starting at a position.
+     * @param tokens the lowercased query tokens
+     * @param from the position of the first token
+     * @return the match, or null if no phrase starts there
+     */
+    public Match longestMatch(List<String> tokens, int from) {
+        Node node = root;
+        Node best = null;
+        int bestEnd = from;
+        for (int i = from; i < tokens.size(); i++) {
+            node = node.children.get(tokens.get(i));
+            if (node == null) break;
+            if (node.phrase != null) {
+                best = node;
+                bestEnd = i + 1;
+            }
+        }
+        return best == null ? null : new Match(best.phrase, from, bestEnd, best.synonyms);
+    }
+
+    /**
+     * Gets a number unique to this dictionary, so results that depend on the
+     * synonyms in use can tell when the dictionary was replaced.
+     * @return the generation
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Gets the number of synonym groups.
+     * @return the group count
+     */
+    public int groupCount() {
+        return groupCount;
+    }
+
+    /**
+     * Gets the number of distinct terms and phrases.
+     * @return the term count
+     */
+    public int termCount() {
+        return termCount;
+    }
+
+    /** A dictionary phrase found in a token list. */
+    public static final class Match {
+        private final String phrase;
+        private final int start;
+        private final int end;
+        private final List<String> synonyms;
+
+        Match(String phrase, int start, int end, List<String> synonyms) {
+            this.phrase = phrase;
+            this.start = start;
+            this.end = end;
+            this.synonyms = synonyms;
+        }
+
+        /**
+         * Gets the matched phrase.
+         * @return the phrase, tokens joined by single spaces
+         */
+        public String getPhrase() {
+            return phrase;
+        }
+
+        /**
+         * Gets the position of the first matched token.
+         * @return the start position
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * Gets the position after the last matched token.
+         * @return the end position
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        /**
+         * Gets the synonyms of the phrase.
+         * @return the synonyms, without the phrase itself
+         */
+        public List<String> getSynonyms() {
+            return synonyms;
+        }
+    }
+
+    /** A trie node; phrase is set where a dictionary term ends. */
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>(4);
+        private String phrase;
+        private List<String> synonyms = Collections.emptyList();
+    }
+}
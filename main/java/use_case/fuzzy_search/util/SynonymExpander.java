@@ -1,67 +1,156 @@
 package use_case.fuzzy_search.util;
 
+import trace.Tracer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
+/**
+ * Expands query terms with their synonyms.
+ *
+ * The dictionary is read from the bundled {@value #RESOURCE} resource, or from
+ * a file given to {@link #useFile}, which is then reloaded whenever it changes.
+ * It is compiled into a {@link SynonymDictionary} token trie, so a query is
+ * expanded in one left-to-right pass that also finds multi-word phrases such
+ * as "charging cable".
+ */
 public class SynonymExpander {
-    private static final Map<String, Set<String>> synonymGraph = new HashMap<>();
+    // Declared first: the bundled dictionary is loaded during class initialization
+    private static final Tracer TRACER = Tracer.get(SynonymExpander.class);
+    /** Classpath resource holding the bundled dictionary. */
+    public static final String RESOURCE = "synonyms.txt";
+    // How often a watched file is checked for changes
+    private static final long CHECK_INTERVAL_MILLIS = 1_000;
 
-    static {
-        addSynonyms("laptop", "macbook", "computer", "pc");
-        addSynonyms("phone", "mobile", "smartphone", "cellphone");
-        addSynonyms("tablet", "ipad", "android tablet");
-        addSynonyms("earbuds", "earphones", "headphones");
-        addSynonyms("charger", "charging cable", "power adapter");
-        addSynonyms("watch", "smartwatch", "wristwatch");
-        addSynonyms("wallet", "billfold", "cardholder");
-        addSynonyms("keys", "keychain", "car keys");
-        addSynonyms("bag", "backpack", "tote", "handbag");
-        addSynonyms("id card", "identification", "student id");
-        addSynonyms("passport", "travel document");
-        addSynonyms("jacket", "coat", "windbreaker");
-        addSynonyms("glasses", "eyeglasses", "sunglasses");
-        addSynonyms("hat", "cap", "beanie");
-        addSynonyms("scarf", "neck warmer");
-        addSynonyms("umbrella", "rain umbrella");
-        addSynonyms("notebook", "notepad", "writing pad");
-        addSynonyms("pen", "ballpoint", "marker");
-        addSynonyms("textbook", "course book");
-        addSynonyms("credit card", "debit card", "payment card");
-        addSynonyms("student card", "campus id");
-        addSynonyms("bottle", "water bottle", "tumbler");
-        addSynonyms("calculator", "scientific calculator");
-    }
+    private static volatile SynonymDictionary dictionary = loadResource();
+    private static volatile Path watchedFile;
+    private static volatile long watchedModified;
+    private static volatile long nextCheckMillis;
 
     public static List<String> expand(String term) {
         if (term == null) {
             return Collections.emptyList();
         }
 
-        String normalized = term.trim().toLowerCase();
-        Set<String> results = new HashSet<>();
+        String normalized = SynonymDictionary.normalize(term);
+        Set<String> results = new LinkedHashSet<>();
         results.add(normalized);
+        results.addAll(currentDictionary().synonymsOf(normalized));
+        return new ArrayList<>(results);
+    }
 
-        if (synonymGraph.containsKey(normalized)) {
-            results.addAll(synonymGraph.get(normalized));
+    /**
+     * Expands a tokenized query. Every token is kept, and at each position the
+     * longest dictionary phrase starting there adds itself and its synonyms;
+     * scanning resumes after the phrase. A token containing spaces, such as a
+     * quoted phrase, is looked up whole.
+     * @param tokens the lowercased query tokens, in order
+     * @return the tokens, phrases and synonyms, without duplicates
+     */
+    public static Set<String> expandTokens(List<String> tokens) {
+        SynonymDictionary current = currentDictionary();
+        Set<String> keywords = new LinkedHashSet<>(tokens);
+        int i = 0;
+        while (i < tokens.size()) {
+            String token = tokens.get(i);
+            if (token.indexOf(' ') >= 0) {
+                String phrase = SynonymDictionary.normalize(token);
+                keywords.add(phrase);
+                keywords.addAll(current.synonymsOf(phrase));
+                i++;
+                continue;
+            }
+            SynonymDictionary.Match match = current.longestMatch(tokens, i);
+            if (match == null) {
+                i++;
+                continue;
+            }
+            keywords.add(match.getPhrase());
+            keywords.addAll(match.getSynonyms());
+            i = match.getEnd();
         }
+        return keywords;
+    }
 
-        return new ArrayList<>(results);
+    /**
+     * Loads the dictionary from a file and reloads it whenever the file changes.
+     * @param file the dictionary file
+     * @throws IOException if the file cannot be read; the current dictionary is kept
+     */
+    public static synchronized void useFile(Path file) throws IOException {
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        dictionary = load(file);
+        watchedFile = file;
+        watchedModified = modified;
+        nextCheckMillis = System.currentTimeMillis() + CHECK_INTERVAL_MILLIS;
+    }
+
+    /**
+     * Replaces the dictionary and stops watching any file.
+     * @param replacement the new dictionary
+     */
+    public static synchronized void useDictionary(SynonymDictionary replacement) {
+        watchedFile = null;
+        dictionary = replacement;
     }
 
-    private static void addSynonyms(String baseTerm, String... synonyms) {
-        Set<String> termGroup = new HashSet<>();
-        termGroup.add(baseTerm.toLowerCase());
+    /**
+     * Goes back to the bundled dictionary and stops watching any file.
+     */
+    public static void useBundled() {
+        useDictionary(loadResource());
+    }
 
-        for (String synonym : synonyms) {
-            termGroup.add(synonym.toLowerCase());
+    /**
+     * Gets the dictionary in use, reloading a watched file first if it changed.
+     * @return the current dictionary
+     */
+    public static SynonymDictionary currentDictionary() {
+        if (watchedFile != null && System.currentTimeMillis() >= nextCheckMillis) {
+            reloadIfChanged();
         }
+        return dictionary;
+    }
 
-        for (String term : termGroup) {
-            synonymGraph.computeIfAbsent(term, k -> new HashSet<>());
+    private static synchronized void reloadIfChanged() {
+        Path file = watchedFile;
+        if (file == null || System.currentTimeMillis() < nextCheckMillis) return;
+        nextCheckMillis = System.currentTimeMillis() + CHECK_INTERVAL_MILLIS;
+        try {
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            if (modified != watchedModified) {
+                dictionary = load(file);
+                watchedModified = modified;
+                TRACER.info("Reloaded {} synonym groups from {}", dictionary.groupCount(), file);
+            }
+        } catch (IOException e) {
+            // Keep serving the last good dictionary; the file may be mid-edit
+            TRACER.warn("Error reloading synonyms from {}: {}", file, e.getMessage());
+        }
+    }
 
-            Set<String> connections = new HashSet<>(termGroup);
-            connections.remove(term);
+    private static SynonymDictionary load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return SynonymDictionary.parse(reader);
+        }
+    }
 
-            synonymGraph.get(term).addAll(connections);
+    private static SynonymDictionary loadResource() {
+        try (InputStream input = SynonymExpander.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (input == null) {
+                TRACER.warn("Synonym dictionary {} not found; searching without synonyms", RESOURCE);
+                return SynonymDictionary.empty();
+            }
+            return SynonymDictionary.parse(new InputStreamReader(input, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            TRACER.warn("Error reading synonym dictionary {}: {}", RESOURCE, e.getMessage());
+            return SynonymDictionary.empty();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package use_case.fuzzy_search.util;
+
+import entity.SearchDocument;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collection statistics for relevance scoring, kept up to date one post at a
+ * time: the number of posts containing each token in any field, and the total
+ * token count of every field. The owner adds the search document of every
+ * post put and removes the document it added when the post changes or goes,
+ * so the statistics never need a pass over the whole corpus.
+ *
+ * Field lengths count distinct tokens, as {@link FuzzyTermIndex} does.
+ * All methods are thread-safe.
+ */
+public class TermStatistics {
+
+    private final Map<String, Integer> documentFrequencies = new HashMap<>();
+    private final long[] totalFieldLengths = new long[SearchDocument.FIELD_COUNT];
+    private int documentCount;
+
+    /**
+     * Counts a post's document.
+     * @param document the search document of the post added
+     */
+    public synchronized void add(SearchDocument document) {
+        documentCount++;
+        for (int f = 0; f < SearchDocument.FIELD_COUNT; f++) {
+            totalFieldLengths[f] += document.tokens(f).length;
+        }
+        for (String token : distinctTokens(document)) {
+            documentFrequencies.merge(token, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Stops counting a post's document.
+     * @param document the document previously passed to {@link #add}
+     */
+    public synchronized void remove(SearchDocument document) {
+        documentCount--;
+        for (int f = 0; f < SearchDocument.FIELD_COUNT; f++) {
+            totalFieldLengths[f] -= document.tokens(f).length;
+        }
+        for (String token : distinctTokens(document)) {
+            documentFrequencies.computeIfPresent(token, (text, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    /**
+     * Gets the number of posts counted.
+     * @return the post count
+     */
+    public synchronized int documentCount() {
+        return documentCount;
+    }
+
+    /**
+     * Gets the number of posts containing a token in any field.
+     * @param token the lowercased token
+     * @return the document frequency, 0 if no post contains the token
+     */
+    public synchronized int documentFrequency(String token) {
+        return documentFrequencies.getOrDefault(token, 0);
+    }
+
+    /**
+     * Gets the average number of distinct tokens in a field over all posts.
+     * @param field the field position, e.g. {@link SearchDocument#TITLE}
+     * @return the average field length, 0 if nothing is counted
+     */
+    public synchronized double averageFieldLength(int field) {
+        return documentCount == 0 ? 0 : (double) totalFieldLengths[field] / documentCount;
+    }
+
+    private static Set<String> distinctTokens(SearchDocument document) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (int f = 0; f < SearchDocument.FIELD_COUNT; f++) {
+            for (String token : document.tokens(f)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
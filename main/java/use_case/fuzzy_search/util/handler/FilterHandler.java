@@ -0,0 +1,47 @@
+package use_case.fuzzy_search.util.handler;
+
+import entity.Post;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A stage that drops the posts it does not accept, lazily and in encounter order.
+ */
+public abstract class FilterHandler implements SearchHandler {
+    private SearchHandler next;
+
+    @Override public void setNext(SearchHandler next) { this.next = next; }
+
+    @Override
+    public Iterator<Post> handle(Iterator<Post> current, String query) {
+        Iterator<Post> filtered = new Iterator<Post>() {
+            private Post pending;
+
+            @Override
+            public boolean hasNext() {
+                while (pending == null && current.hasNext()) {
+                    Post candidate = current.next();
+                    if (accept(candidate, query)) pending = candidate;
+                }
+                return pending != null;
+            }
+
+            @Override
+            public Post next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Post post = pending;
+                pending = null;
+                return post;
+            }
+        };
+        return (next == null) ? filtered : next.handle(filtered, query);
+    }
+
+    /**
+     * Tells whether a post passes this stage.
+     * @param post the post
+     * @param query the query passed to this stage
+     * @return true to keep the post
+     */
+    protected abstract boolean accept(Post post, String query);
+}
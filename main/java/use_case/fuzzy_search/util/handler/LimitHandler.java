@@ -0,0 +1,46 @@
+package use_case.fuzzy_search.util.handler;
+
+import entity.Post;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Passes on at most a page of posts, in encounter order. Once the page is
+ * full, no further post is pulled from the stages before it.
+ */
+public class LimitHandler implements SearchHandler {
+    private final int limit;
+    private SearchHandler next;
+
+    /**
+     * Creates the handler.
+     * @param limit the page size
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public LimitHandler(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("limit must not be negative: " + limit);
+        this.limit = limit;
+    }
+
+    @Override public void setNext(SearchHandler next) { this.next = next; }
+
+    @Override
+    public Iterator<Post> handle(Iterator<Post> current, String query) {
+        Iterator<Post> page = new Iterator<Post>() {
+            private int remaining = limit;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0 && current.hasNext();
+            }
+
+            @Override
+            public Post next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                remaining--;
+                return current.next();
+            }
+        };
+        return (next == null) ? page : next.handle(page, query);
+    }
+}
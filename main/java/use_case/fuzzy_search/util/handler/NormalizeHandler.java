@@ -1,15 +1,18 @@
 package use_case.fuzzy_search.util.handler;
 
 import entity.Post;
-import java.util.List;
+import java.util.Iterator;
 
+/**
+ * Trims and lowercases the query for the stages after it; the posts pass unchanged.
+ */
 public class NormalizeHandler implements SearchHandler {
     private SearchHandler next;
 
     @Override public void setNext(SearchHandler next) { this.next = next; }
 
     @Override
-    public List<Post> handle(List<Post> current, String query) {
+    public Iterator<Post> handle(Iterator<Post> current, String query) {
         String q = (query == null) ? "" : query.trim().toLowerCase();
         return (next == null) ? current : next.handle(current, q);
     }
@@ -0,0 +1,49 @@
+package use_case.fuzzy_search.util.handler;
+
+import entity.Post;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the posts matching a condition that does not depend on the query.
+ * Conditions compose by chaining handlers, each of which only looks at the
+ * posts the ones before it let through.
+ */
+public class PostFilterHandler extends FilterHandler {
+    private final Predicate<Post> condition;
+
+    public PostFilterHandler(Predicate<Post> condition) { this.condition = condition; }
+
+    /**
+     * Keeps lost or found posts.
+     * @param isLost true for lost posts, false for found ones
+     * @return the handler
+     */
+    public static PostFilterHandler lost(boolean isLost) {
+        return new PostFilterHandler(post -> post.isLost() == isLost);
+    }
+
+    /**
+     * Keeps resolved or open posts.
+     * @param resolved true for resolved posts, false for open ones
+     * @return the handler
+     */
+    public static PostFilterHandler resolved(boolean resolved) {
+        return new PostFilterHandler(post -> post.isResolved() == resolved);
+    }
+
+    /**
+     * Keeps the posts whose location contains the given text, ignoring case,
+     * as the criteria search does.
+     * @param location the text to look for
+     * @return the handler
+     */
+    public static PostFilterHandler location(String location) {
+        String wanted = location.toLowerCase();
+        return new PostFilterHandler(post -> post.searchDocument().location().contains(wanted));
+    }
+
+    @Override
+    protected boolean accept(Post post, String query) {
+        return condition.test(post);
+    }
+}
@@ -1,18 +1,95 @@
-// use_case/fuzzy_search/util/handler/RankHandler.java
 package use_case.fuzzy_search.util.handler;
 
 import entity.Post;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 
+/**
+ * Orders posts by likes, most first, ties in encounter order.
+ *
+ * Ranking needs every post, so this stage reads its whole input when the
+ * first post is pulled. With a limit it keeps only that many in a bounded
+ * heap rather than collecting and sorting all of them.
+ */
 public class RankHandler implements SearchHandler {
+    private final int limit;
     private SearchHandler next;
 
+    public RankHandler() { this(Integer.MAX_VALUE); }
+
+    /**
+     * Creates a handler that passes on only the best posts.
+     * @param limit the number of posts to keep
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public RankHandler(int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive: " + limit);
+        this.limit = limit;
+    }
+
     @Override public void setNext(SearchHandler next) { this.next = next; }
 
     @Override
-    public List<Post> handle(List<Post> current, String query) {
-        current.sort(Comparator.comparingInt(Post::getNumberOfLikes).reversed());
-        return (next == null) ? current : next.handle(current, query);
+    public Iterator<Post> handle(Iterator<Post> current, String query) {
+        Iterator<Post> ranked = new Iterator<Post>() {
+            private Iterator<Post> best;
+
+            @Override
+            public boolean hasNext() {
+                if (best == null) best = rank(current).iterator();
+                return best.hasNext();
+            }
+
+            @Override
+            public Post next() {
+                hasNext();
+                return best.next();
+            }
+        };
+        return (next == null) ? ranked : next.handle(ranked, query);
+    }
+
+    private List<Post> rank(Iterator<Post> posts) {
+        // The head of the heap is the worst post kept so far
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(Collections.reverseOrder());
+        int position = 0;
+        while (posts.hasNext()) {
+            Ranked candidate = new Ranked(posts.next(), position++);
+            if (heap.size() < limit) {
+                heap.add(candidate);
+            } else if (candidate.compareTo(heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        List<Ranked> kept = new ArrayList<>(heap);
+        Collections.sort(kept);
+        List<Post> result = new ArrayList<>(kept.size());
+        for (Ranked ranked : kept) result.add(ranked.post);
+        return result;
+    }
+
+    /** A post and its encounter position, best first. */
+    private static final class Ranked implements Comparable<Ranked> {
+        private static final Comparator<Ranked> ORDER =
+                Comparator.comparingInt((Ranked r) -> r.post.getNumberOfLikes()).reversed()
+                        .thenComparingInt(r -> r.position);
+
+        private final Post post;
+        private final int position;
+
+        Ranked(Post post, int position) {
+            this.post = post;
+            this.position = position;
+        }
+
+        @Override
+        public int compareTo(Ranked other) {
+            return ORDER.compare(this, other);
+        }
     }
 }
@@ -1,9 +1,28 @@
 package use_case.fuzzy_search.util.handler;
 
 import entity.Post;
-import java.util.List;
+import java.util.Iterator;
 
+/**
+ * One stage of a pull-based search pipeline.
+ *
+ * A stage wraps the iterator of the stage before it and hands its own
+ * iterator to the next one, so nothing is evaluated until the consumer pulls,
+ * and a consumer that stops early (see {@link LimitHandler}) stops every stage
+ * before it. Stages never modify or copy the posts they are given.
+ *
+ * Ordering contract: filtering and limiting stages keep the encounter order of
+ * their input. Only {@link RankHandler} reorders, and it must read its whole
+ * input before producing its first post; ties keep their encounter order.
+ */
 public interface SearchHandler {
     void setNext(SearchHandler next);
-    List<Post> handle(List<Post> current, String query);
+
+    /**
+     * Wraps the posts of the previous stage and passes them on.
+     * @param current the posts of the previous stage, not yet pulled
+     * @param query the query, as passed on by the previous stage
+     * @return the posts of the last stage in the chain, evaluated on demand
+     */
+    Iterator<Post> handle(Iterator<Post> current, String query);
 }
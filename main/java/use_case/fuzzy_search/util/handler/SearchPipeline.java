@@ -0,0 +1,48 @@
+package use_case.fuzzy_search.util.handler;
+
+import entity.Post;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Links handlers into a chain and runs posts through it.
+ */
+public class SearchPipeline {
+    private final SearchHandler first;
+
+    /**
+     * Links the handlers in the order given.
+     * @param handlers the stages, at least one
+     * @throws IllegalArgumentException if there are none
+     */
+    public SearchPipeline(SearchHandler... handlers) {
+        if (handlers.length == 0) throw new IllegalArgumentException("at least one handler is required");
+        List<SearchHandler> chain = Arrays.asList(handlers);
+        for (int i = 0; i + 1 < chain.size(); i++) chain.get(i).setNext(chain.get(i + 1));
+        this.first = chain.get(0);
+    }
+
+    /**
+     * Runs the pipeline lazily: posts are read from the source only as the result is iterated.
+     * @param posts the source, which must not change while the result is iterated
+     * @param query the query
+     * @return the posts leaving the last stage
+     */
+    public Iterator<Post> iterator(Iterable<Post> posts, String query) {
+        return first.handle(posts.iterator(), query);
+    }
+
+    /**
+     * Runs the pipeline and collects what leaves it.
+     * @param posts the source
+     * @param query the query
+     * @return the posts leaving the last stage, in order
+     */
+    public List<Post> search(Iterable<Post> posts, String query) {
+        List<Post> results = new ArrayList<>();
+        iterator(posts, query).forEachRemaining(results::add);
+        return results;
+    }
+}
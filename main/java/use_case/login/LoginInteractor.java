@@ -1,11 +1,14 @@
 package use_case.login;
 
 import entity.User;
+import trace.Tracer;
 
 /**
  * The Login Interactor.
  */
 public class LoginInteractor implements LoginInputBoundary {
+    private static final Tracer TRACER = Tracer.get(LoginInteractor.class);
+
     private final LoginUserDataAccessInterface userDataAccessObject;
     private final LoginOutputBoundary loginPresenter;
 
@@ -13,39 +16,29 @@ public class LoginInteractor implements LoginInputBoundary {
                            LoginOutputBoundary loginOutputBoundary) {
         this.userDataAccessObject = userDataAccessInterface;
         this.loginPresenter = loginOutputBoundary;
-        System.out.println("DEBUG: LoginInteractor initialized with DAO: " + userDataAccessInterface.getClass().getSimpleName());
+        TRACER.debug("LoginInteractor initialized with DAO: {}", userDataAccessInterface.getClass().getSimpleName());
     }
 
     @Override
     public void execute(LoginInputData loginInputData) {
-        System.out.println("\n=== DEBUG: LoginInteractor.execute() called ===");
         final String username = loginInputData.getUsername();
         final String password = loginInputData.getPassword();
         final boolean admin = loginInputData.getAdmin();
-        
-        System.out.println("DEBUG: Login attempt:");
-        System.out.println("DEBUG:   - Username: '" + username + "'");
-        System.out.println("DEBUG:   - Password length: " + password.length());
-        System.out.println("DEBUG:   - Password: '" + password + "'");
-        
+        TRACER.debug("Login attempt for '{}'", username);
+
         if (!userDataAccessObject.existsByName(username)) {
-            System.out.println("DEBUG: ❌ User does not exist in database");
+            TRACER.debug("User '{}' does not exist", username);
             loginPresenter.prepareFailView(username + ": Account does not exist.");
         }
         else {
-            System.out.println("DEBUG: ✅ User exists, checking password...");
             final String pwd = userDataAccessObject.get(username).getPassword();
-            System.out.println("DEBUG: Password comparison:");
-            System.out.println("DEBUG:   - Input password: '" + password + "'");
-            System.out.println("DEBUG:   - Stored password: '" + pwd + "'");
-            System.out.println("DEBUG:   - Passwords match: " + password.equals(pwd));
-            
+
             if (!password.equals(pwd)) {
-                System.out.println("DEBUG: ❌ Password mismatch!");
+                TRACER.debug("Password mismatch for '{}'", username);
                 loginPresenter.prepareFailView("Incorrect password for \"" + username + "\".");
             }
             else {
-                System.out.println("DEBUG: ✅ Login successful!");
+                TRACER.debug("Login successful for '{}'", username);
                 final User user = userDataAccessObject.get(loginInputData.getUsername());
 
                 userDataAccessObject.setCurrentUsername(user.getName());
@@ -1,6 +1,9 @@
 package use_case.login;
 
 import entity.User;
+import use_case.AsyncDataAccess;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * DAO for the Login Use Case.
@@ -27,6 +30,16 @@ public interface LoginUserDataAccessInterface {
      */
     User get(String username);
 
+    /**
+     * Returns the user with the given username without blocking the caller.
+     * The default runs get() on the shared data access executor.
+     * @param username the username to look up
+     * @return a future of the user, completed with null if there is none
+     */
+    default CompletableFuture<User> getAsync(String username) {
+        return AsyncDataAccess.supply(() -> get(username));
+    }
+
     /**
      * Returns the username of the curren user of the application.
      * @return the username of the current user; null indicates that no one is logged into the application.
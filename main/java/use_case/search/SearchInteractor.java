@@ -1,42 +1,59 @@
 package use_case.search;
 
 import entity.Post;
+import use_case.QueryResultCache;
+
 import java.util.List;
 
 /**
  * Interactor for the search use case.
  * Implements the business logic for searching posts.
+ * Results are cached until the posts change.
  */
 public class SearchInteractor implements SearchInputBoundary {
     private final SearchUserDataAccessInterface searchDataAccessObject;
     private final SearchOutputBoundary searchOutputBoundary;
+    private final QueryResultCache resultCache;
 
     public SearchInteractor(SearchUserDataAccessInterface searchDataAccessObject,
                            SearchOutputBoundary searchOutputBoundary) {
+        this(searchDataAccessObject, searchOutputBoundary, new QueryResultCache(QueryResultCache.DEFAULT_CAPACITY));
+    }
+
+    public SearchInteractor(SearchUserDataAccessInterface searchDataAccessObject,
+                           SearchOutputBoundary searchOutputBoundary,
+                           QueryResultCache resultCache) {
         this.searchDataAccessObject = searchDataAccessObject;
         this.searchOutputBoundary = searchOutputBoundary;
+        this.resultCache = resultCache;
     }
 
     @Override
     public void execute(SearchInputData searchInputData) {
         try {
             List<Post> posts;
-            
+            // Read the version first, so results racing with a write are never served after it
+            long version = searchDataAccessObject.getPostsVersion();
+
             // Check if we're doing a simple query search or criteria search
             if (searchInputData.getQuery() != null && !searchInputData.getQuery().trim().isEmpty()) {
                 String query = searchInputData.getQuery().trim();
                 
                 System.out.println("DEBUG: Executing regular search for query: " + query);
-                posts = searchDataAccessObject.searchPosts(query);
+                posts = resultCache.get(QueryResultCache.KEYWORD_MODE, query, version,
+                    () -> searchDataAccessObject.searchPosts(query));
             } else {
                 // Criteria-based search
                 System.out.println("DEBUG: Executing criteria-based search");
-                posts = searchDataAccessObject.searchPostsByCriteria(
-                    searchInputData.getTitle(),
-                    searchInputData.getLocation(),
-                    searchInputData.getTags(),
-                    searchInputData.getIsLost()
-                );
+                String criteria = criteriaKey(searchInputData.getTitle(), searchInputData.getLocation(),
+                    searchInputData.getTags(), searchInputData.getIsLost());
+                posts = resultCache.get(QueryResultCache.CRITERIA_MODE, criteria, version,
+                    () -> searchDataAccessObject.searchPostsByCriteria(
+                        searchInputData.getTitle(),
+                        searchInputData.getLocation(),
+                        searchInputData.getTags(),
+                        searchInputData.getIsLost()
+                    ));
             }
 
             // Create output data
@@ -57,4 +74,33 @@ public class SearchInteractor implements SearchInputBoundary {
             );
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Encodes search criteria as a cache key. Every string is length-prefixed
+     * and a missing value has a marker of its own, so a null title never meets
+     * the title "null" and the tags [a, b] never meet the single tag "a, b".
+     */
+    static String criteriaKey(String title, String location, List<String> tags, Boolean isLost) {
+        StringBuilder key = new StringBuilder();
+        appendValue(key, title);
+        appendValue(key, location);
+        if (tags == null) {
+            key.append('-');
+        } else {
+            key.append('[').append(tags.size()).append(']');
+            for (String tag : tags) {
+                appendValue(key, tag);
+            }
+        }
+        key.append(isLost == null ? '-' : isLost ? 'L' : 'F');
+        return key.toString();
+    }
+
+    private static void appendValue(StringBuilder key, String value) {
+        if (value == null) {
+            key.append('-');
+        } else {
+            key.append(value.length()).append(':').append(value);
+        }
+    }
+}
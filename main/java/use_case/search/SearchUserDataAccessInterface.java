@@ -1,6 +1,8 @@
 package use_case.search;
 
 import entity.Post;
+import use_case.QueryResultCache;
+
 import java.util.List;
 
 /**
@@ -24,5 +26,11 @@ public interface SearchUserDataAccessInterface {
      */
     List<Post> searchPostsByCriteria(String title, String location, List<String> tags, Boolean isLost);
 
-
+    /**
+     * Gets a number that changes whenever any post is added, edited, deleted or
+     * resolved, so search results can be cached until the posts change.
+     * The default does not track changes, which disables caching.
+     * @return the current posts version, or QueryResultCache.UNVERSIONED
+     */
+    default long getPostsVersion() { return QueryResultCache.UNVERSIONED; }
 }
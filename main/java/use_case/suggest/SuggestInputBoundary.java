@@ -0,0 +1,13 @@
+package use_case.suggest;
+
+/**
+ * Input Boundary for typeahead suggestions.
+ */
+public interface SuggestInputBoundary {
+
+    /**
+     * Executes the Suggest use case.
+     * @param suggestInputData the input data
+     */
+    void execute(SuggestInputData suggestInputData);
+}
@@ -0,0 +1,27 @@
+package use_case.suggest;
+
+/**
+ * The Input Data for the Suggest Use Case.
+ */
+public class SuggestInputData {
+    /** Complete words of post titles, tags and locations. */
+    public static final String SEARCH_TERMS = "search terms";
+    /** Complete usernames. */
+    public static final String USERNAMES = "usernames";
+
+    private final String kind;
+    private final String prefix;
+
+    public SuggestInputData(String kind, String prefix) {
+        this.kind = kind;
+        this.prefix = prefix;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+}
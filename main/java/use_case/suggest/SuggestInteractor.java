@@ -0,0 +1,41 @@
+package use_case.suggest;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The Suggest Interactor. Suggestions are served from in-memory prefix
+ * indexes, so it runs synchronously on the caller's thread.
+ */
+public class SuggestInteractor implements SuggestInputBoundary {
+    /** The number of suggestions shown under a field. */
+    public static final int SUGGESTION_LIMIT = 8;
+
+    private final SuggestPostDataAccessInterface postDataAccessObject;
+    private final SuggestUserDataAccessInterface userDataAccessObject;
+    private final SuggestOutputBoundary suggestPresenter;
+
+    public SuggestInteractor(SuggestPostDataAccessInterface postDataAccessObject,
+                             SuggestUserDataAccessInterface userDataAccessObject,
+                             SuggestOutputBoundary suggestPresenter) {
+        this.postDataAccessObject = postDataAccessObject;
+        this.userDataAccessObject = userDataAccessObject;
+        this.suggestPresenter = suggestPresenter;
+    }
+
+    @Override
+    public void execute(SuggestInputData suggestInputData) {
+        String kind = suggestInputData.getKind();
+        String prefix = suggestInputData.getPrefix() == null ? "" : suggestInputData.getPrefix().trim();
+        List<String> suggestions;
+        if (prefix.isEmpty()) {
+            // Every term matches an empty prefix, which is no help while typing
+            suggestions = Collections.emptyList();
+        } else if (SuggestInputData.USERNAMES.equals(kind)) {
+            suggestions = userDataAccessObject.suggestUsernames(prefix, SUGGESTION_LIMIT);
+        } else {
+            suggestions = postDataAccessObject.suggestSearchTerms(prefix, SUGGESTION_LIMIT);
+        }
+        suggestPresenter.prepareSuccessView(new SuggestOutputData(kind, suggestInputData.getPrefix(), suggestions));
+    }
+}
@@ -0,0 +1,12 @@
+package use_case.suggest;
+
+/**
+ * The output boundary for the Suggest Use Case.
+ */
+public interface SuggestOutputBoundary {
+    /**
+     * Prepares the suggestions for display.
+     * @param outputData the suggestions and the prefix they complete
+     */
+    void prepareSuccessView(SuggestOutputData outputData);
+}
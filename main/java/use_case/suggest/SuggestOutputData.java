@@ -0,0 +1,30 @@
+package use_case.suggest;
+
+import java.util.List;
+
+/**
+ * Output Data for the Suggest Use Case.
+ */
+public class SuggestOutputData {
+    private final String kind;
+    private final String prefix;
+    private final List<String> suggestions;
+
+    public SuggestOutputData(String kind, String prefix, List<String> suggestions) {
+        this.kind = kind;
+        this.prefix = prefix;
+        this.suggestions = suggestions;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+}
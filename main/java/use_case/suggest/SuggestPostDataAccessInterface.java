@@ -0,0 +1,18 @@
+package use_case.suggest;
+
+import java.util.List;
+
+/**
+ * DAO for completing search terms in the Suggest Use Case.
+ */
+public interface SuggestPostDataAccessInterface {
+
+    /**
+     * Completes a prefix to the words of post titles, tags and locations.
+     * Called on every keystroke, so it must answer from memory.
+     * @param prefix the text typed so far
+     * @param limit the maximum number of suggestions
+     * @return the most common matching terms, most common first; empty if none are known yet
+     */
+    List<String> suggestSearchTerms(String prefix, int limit);
+}
@@ -0,0 +1,18 @@
+package use_case.suggest;
+
+import java.util.List;
+
+/**
+ * DAO for completing usernames in the Suggest Use Case.
+ */
+public interface SuggestUserDataAccessInterface {
+
+    /**
+     * Completes a prefix to usernames. Called on every keystroke, so it must
+     * answer from memory.
+     * @param prefix the text typed so far
+     * @param limit the maximum number of suggestions
+     * @return the matching usernames in alphabetical order; empty if none are known yet
+     */
+    List<String> suggestUsernames(String prefix, int limit);
+}
@@ -7,6 +7,8 @@ import interface_adapter.ViewManagerModel;
 import interface_adapter.dms.DMsController;
 import interface_adapter.dms.DMsState;
 import interface_adapter.dms.DMsViewModel;
+import interface_adapter.suggest.SuggestController;
+import interface_adapter.suggest.SuggestViewModel;
 
 import javax.swing.*;
 import java.awt.*;
@@ -15,7 +17,9 @@ import java.awt.event.ComponentEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * The View for the DMs page.
@@ -34,6 +38,8 @@ public class DMsView extends JPanel implements PropertyChangeListener {
     private static final int FONT_SIZE_12 = 12;
     private static final int FONT_SIZE_14 = 14;
     private static final int FONT_SIZE_16 = 16;
+    // Older messages are requested when the chat is scrolled this close to the top
+    private static final int HISTORY_LOAD_THRESHOLD = 50;
     
     // Color constants
     private static final Color LIGHT_GRAY_BACKGROUND = new Color(245, 245, 245);
@@ -71,6 +77,10 @@ public class DMsView extends JPanel implements PropertyChangeListener {
     private DMsViewModel dmsViewModel;
     private String currentUsername;
     private String selectedChatId;
+    private String olderMessagesCursor;
+    private boolean loadingOlderMessages;
+    // IDs of the messages in the chat area, so a message reported twice is shown once
+    private final Set<String> shownMessageIds = new HashSet<>();
 
     /**
      * Creates a new DMsView.
@@ -147,6 +157,7 @@ public class DMsView extends JPanel implements PropertyChangeListener {
         chatScrollPane = new JScrollPane(chatArea);
         chatScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         chatScrollPane.setPreferredSize(new Dimension(CHAT_PANEL_WIDTH, 500));
+        chatScrollPane.getVerticalScrollBar().addAdjustmentListener(e -> loadOlderMessagesIfNeeded());
         chatPanel.add(chatScrollPane, BorderLayout.CENTER);
 
         // Chat input area (bottom of chat panel)
@@ -170,7 +181,12 @@ public class DMsView extends JPanel implements PropertyChangeListener {
         this.add(toolbarPanel, BorderLayout.NORTH);
         this.add(mainPanel, BorderLayout.CENTER);
 
-        backButton.addActionListener(e -> {viewManagerModel.popViewOrClose();});
+        backButton.addActionListener(e -> {
+            if (dmsController != null) {
+                dmsController.closeMessages();
+            }
+            viewManagerModel.popViewOrClose();
+        });
 
         blockButton.addActionListener(e -> {
             String userToBlock = chatWithLabel.getText();
@@ -252,6 +268,15 @@ public class DMsView extends JPanel implements PropertyChangeListener {
         this.dmsController = dmsController;
     }
 
+    /**
+     * Offers completions of usernames under the new DM field.
+     * @param suggestController the controller asked for completions
+     * @param suggestViewModel the view model the completions arrive on
+     */
+    public void setSuggestController(SuggestController suggestController, SuggestViewModel suggestViewModel) {
+        new SuggestionPopup(newDMField, suggestController, suggestViewModel, true);
+    }
+
     public void setCurrentUsername(String username) {
         this.currentUsername = username;
     }
@@ -265,6 +290,9 @@ public class DMsView extends JPanel implements PropertyChangeListener {
                 ", currentChat: " + (state.getCurrentChat() != null ? state.getCurrentChat().getChatId() : "null"));
 
         if (state.getError() != null) {
+            if (state.getOlderMessages() != null) {
+                loadingOlderMessages = false;
+            }
             JOptionPane.showMessageDialog(this, state.getError(), "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
@@ -275,6 +303,17 @@ public class DMsView extends JPanel implements PropertyChangeListener {
 
         if (state.getMessages() != null) {
             updateChatArea(state.getMessages());
+            olderMessagesCursor = state.getOlderMessagesCursor();
+        }
+
+        if (state.getNewMessages() != null) {
+            appendMessages(state.getNewMessages());
+        }
+
+        if (state.getOlderMessages() != null && isForOpenChat(state.getOlderMessages())) {
+            prependMessages(state.getOlderMessages());
+            olderMessagesCursor = state.getOlderMessagesCursor();
+            loadingOlderMessages = false;
         }
 
         if (state.getCurrentChat() != null) {
@@ -385,21 +424,73 @@ public class DMsView extends JPanel implements PropertyChangeListener {
 
     private void updateChatArea(List<Message> messages) {
         chatArea.setText("");
+        shownMessageIds.clear();
+        loadingOlderMessages = false;
         if (messages != null && !messages.isEmpty()) {
-            StringBuilder chatText = new StringBuilder();
+            chatArea.setText(formatMessages(messages));
+            // Scroll to bottom
+            chatArea.setCaretPosition(chatArea.getDocument().getLength());
+        }
+    }
 
-            for (Message message : messages) {
-                String time = message.getSentAt();
-                String senderName = message.getSender(); // Now directly a String username
-                String content = message.getContent();
+    /** Appends new messages of the open chat without redrawing the earlier ones. */
+    private void appendMessages(List<Message> messages) {
+        // A subscription of the previous chat may still deliver a message after switching
+        if (!isForOpenChat(messages)) {
+            return;
+        }
+        String text = formatMessages(messages);
+        if (!text.isEmpty()) {
+            chatArea.append(text);
+            chatArea.setCaretPosition(chatArea.getDocument().getLength());
+        }
+    }
 
-                chatText.append(String.format("[%s] %s: %s\n", time, senderName, content));
+    /** Inserts a page of older messages above the ones shown, keeping the visible lines in place. */
+    private void prependMessages(List<Message> messages) {
+        String text = formatMessages(messages);
+        if (text.isEmpty()) {
+            return;
+        }
+        JScrollBar scrollBar = chatScrollPane.getVerticalScrollBar();
+        int distanceFromBottom = scrollBar.getMaximum() - scrollBar.getValue();
+        chatArea.insert(text, 0);
+        SwingUtilities.invokeLater(() -> scrollBar.setValue(scrollBar.getMaximum() - distanceFromBottom));
+    }
+
+    private void loadOlderMessagesIfNeeded() {
+        if (olderMessagesCursor == null || loadingOlderMessages || dmsController == null || selectedChatId == null) {
+            return;
+        }
+        if (chatScrollPane.getVerticalScrollBar().getValue() <= HISTORY_LOAD_THRESHOLD) {
+            loadingOlderMessages = true;
+            dmsController.loadOlderMessages(selectedChatId, currentUsername, olderMessagesCursor);
+        }
+    }
+
+    private boolean isForOpenChat(List<Message> messages) {
+        for (Message message : messages) {
+            if (message.getChatId() != null && !message.getChatId().equals(selectedChatId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Formats messages as chat lines, skipping any that are already shown. */
+    private String formatMessages(List<Message> messages) {
+        StringBuilder chatText = new StringBuilder();
+        for (Message message : messages) {
+            if (message.getMessageId() != null && !shownMessageIds.add(message.getMessageId())) {
+                continue;
             }
+            String time = message.getSentAt();
+            String senderName = message.getSender(); // Now directly a String username
+            String content = message.getContent();
 
-            chatArea.setText(chatText.toString());
-            // Scroll to bottom
-            chatArea.setCaretPosition(chatArea.getDocument().getLength());
+            chatText.append(String.format("[%s] %s: %s\n", time, senderName, content));
         }
+        return chatText.toString();
     }
 
     /** Updates the header label to show the other participant’s username. */
@@ -1,11 +1,14 @@
 package view;
 
-import data_access.FirebaseUserDataAccessObject;
+import data_access.UserProfileCache;
 import entity.Comment;
 import entity.Post;
 import interface_adapter.dashboard.DashboardController;
 import interface_adapter.dashboard.DashboardState;
 import interface_adapter.dashboard.DashboardViewModel;
+import interface_adapter.suggest.SuggestController;
+import interface_adapter.suggest.SuggestViewModel;
+import trace.Tracer;
 
 import javax.swing.*;
 import java.awt.*;
@@ -32,6 +35,7 @@ import java.util.Collections;
 public class DashboardView extends JPanel implements PropertyChangeListener {
 
     // Constants for magic numbers
+    private static final Tracer TRACER = Tracer.get(DashboardView.class);
     private static final int SEARCH_FIELD_COLUMNS = 20;
     private static final int FONT_SIZE_14 = 14;
     private static final int FONT_SIZE_12 = 12;
@@ -89,6 +93,7 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
     private static final int TEXT_AREA_COLUMNS_80 = 80;
     private static final int TEXT_AREA_COLUMNS_100 = 100;
     private static final int SCROLL_SPEED_1000 = 1000;
+    private static final int SCROLL_LOAD_THRESHOLD = 200; // pixels from the bottom that trigger the next page
     private static final int MAX_METHOD_LENGTH = 150;
 
     // Color constants
@@ -117,9 +122,14 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
     private final DashboardViewModel dashboardViewModel;
     private final JTextField searchField = new JTextField(SEARCH_FIELD_COLUMNS);
 
-    private final JComboBox<String> searchCriteriaDropdown = new JComboBox<>(new String[]{
+    private final CriteriaModel searchCriteriaModel = new CriteriaModel(new String[]{
         "General Search", "Title", "Location", "Tags", "Lost Items", "Found Items"
     });
+    private final JComboBox<String> searchCriteriaDropdown = new JComboBox<>(searchCriteriaModel);
+    // Facet counts are shown once the first ones arrive
+    private boolean facetsLoaded = false;
+    // Values listed in the Tags and Location tooltips
+    private static final int FACET_TOOLTIP_VALUES = 5;
     private JButton searchButton;
     private JButton addPostButton;
     private JButton backButton;
@@ -142,6 +152,8 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
     private Post currentPost = null; // Store the currently displayed post
     private final Set<Integer> likedPosts = new HashSet<>(); // Track which posts have been liked
     private String currentUser = null; // Track the current user
+    private String nextPostsCursor = null; // Cursor of the next page of posts, null when all are shown
+    private boolean loadingMorePosts = false;
     
     /**
      * Represents a comment node in the comment tree structure.
@@ -238,6 +250,29 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
         searchCriteriaDropdown.setFont(new Font("Segoe UI", Font.PLAIN, FONT_SIZE_12));
         searchCriteriaDropdown.setPreferredSize(new Dimension(BUTTON_WIDTH_120, BUTTON_HEIGHT_35));
         searchCriteriaDropdown.setBorder(BorderFactory.createLineBorder(LIGHT_BLUE, 1));
+        searchCriteriaDropdown.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                String criteria = (String) value;
+                // The closed box keeps the plain label; counts are shown in the open list
+                boolean withCounts = index >= 0 && facetsLoaded;
+                JLabel cell = (JLabel) super.getListCellRendererComponent(list,
+                    withCounts ? criteriaLabel(criteria) : criteria, index, isSelected, cellHasFocus);
+                cell.setToolTipText(withCounts ? criteriaToolTip(criteria) : null);
+                return cell;
+            }
+        });
+        // Count what each criterion would find for the text typed so far
+        searchCriteriaDropdown.addPopupMenuListener(new javax.swing.event.PopupMenuListener() {
+            public void popupMenuWillBecomeVisible(javax.swing.event.PopupMenuEvent e) {
+                if (dashboardController != null) {
+                    dashboardController.loadFacets(searchField.getText().trim());
+                }
+            }
+            public void popupMenuWillBecomeInvisible(javax.swing.event.PopupMenuEvent e) { }
+            public void popupMenuCanceled(javax.swing.event.PopupMenuEvent e) { }
+        });
         
         searchButton = createStyledButton("Search", PRIMARY_BLUE);
         searchButton.setPreferredSize(new Dimension(BUTTON_WIDTH_80, BUTTON_HEIGHT_35));
@@ -337,6 +372,8 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
         postsScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         postsScrollPane.setPreferredSize(new Dimension(WINDOW_WIDTH_400, WINDOW_HEIGHT_600));
         postsScrollPane.setBorder(BorderFactory.createLineBorder(LIGHT_BLUE, 1));
+        // Infinite scroll: fetch the next page when the user nears the bottom
+        postsScrollPane.getVerticalScrollBar().addAdjustmentListener(e -> loadMorePostsIfNeeded());
 
         // Post detail panel on the right
         postDetailPanel.setLayout(new BorderLayout());
@@ -537,11 +574,28 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
 
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
+        if (evt.getPropertyName().equals(DashboardViewModel.FACETS_PROPERTY)) {
+            facetsLoaded = true;
+            searchCriteriaModel.refresh();
+            return;
+        }
         if (evt.getPropertyName().equals("state")) {
             final DashboardState state = (DashboardState) evt.getNewValue();
 
-            // Update posts list
-            updatePostsList(state.getPosts());
+            // Update posts list; a page loaded by scrolling is appended rather than rebuilt
+            if (state.getAppendedPosts() != null) {
+                appendPostItems(state.getAppendedPosts());
+                prefetchAuthors(state.getAppendedPosts());
+            } else {
+                prefetchAuthors(state.getPosts());
+                updatePostsList(state.getPosts());
+                // My Posts has its own query; fall back to filtering the shown posts
+                updateMyPostsList(state.getMyPosts() != null ? state.getMyPosts() : state.getPosts());
+            }
+            nextPostsCursor = state.getNextPostsCursor();
+            loadingMorePosts = false;
+            // A short first page leaves no scroll bar, so keep loading until the viewport is full
+            SwingUtilities.invokeLater(this::loadMorePostsIfNeeded);
 
             // Update selected post details
             updatePostDetails(state.getSelectedPost());
@@ -596,9 +650,63 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
 
         postsPanel.revalidate();
         postsPanel.repaint();
-        
-        // Also update the My Posts list
-        updateMyPostsList(posts);
+    }
+
+    /**
+     * Creates the "Posted by" label of a post detail view. The credibility score
+     * is filled in once the author's profile arrives from the shared cache.
+     */
+    private JLabel createAuthorDetailLabel(String author) {
+        String authorText = author != null ? author : "Anonymous";
+        JLabel authorLabel = new JLabel("👤 Posted by: " + authorText);
+        if (!"Anonymous".equals(authorText)) {
+            UserProfileCache.shared().getUserAsync(authorText).thenAccept(authorUser -> {
+                if (authorUser != null) {
+                    SwingUtilities.invokeLater(() -> authorLabel.setText("👤 Posted by: " + authorText
+                        + " (Credibility: " + authorUser.getCredibilityScore() + " pts)"));
+                }
+            });
+            // If we can't get user info, the label just stays without credibility
+        }
+        return authorLabel;
+    }
+
+    /**
+     * Loads the profiles of the authors of the given posts in one batch, so
+     * opening a post shows its author's credibility without another round trip.
+     */
+    private static void prefetchAuthors(List<Post> posts) {
+        if (posts == null || posts.isEmpty()) {
+            return;
+        }
+        Set<String> authors = new HashSet<>();
+        for (Post post : posts) {
+            if (post.getAuthor() != null) {
+                authors.add(post.getAuthor());
+            }
+        }
+        UserProfileCache.shared().getUsers(authors);
+    }
+
+    private void appendPostItems(List<Post> posts) {
+        for (Post post : posts) {
+            postsPanel.add(createPostListItem(post));
+            postsPanel.add(Box.createVerticalStrut(MARGIN_8));
+        }
+        postsPanel.revalidate();
+        postsPanel.repaint();
+    }
+
+    private void loadMorePostsIfNeeded() {
+        if (nextPostsCursor == null || loadingMorePosts || dashboardController == null) {
+            return;
+        }
+        JScrollBar scrollBar = postsScrollPane.getVerticalScrollBar();
+        if (scrollBar.getValue() + scrollBar.getVisibleAmount() >= scrollBar.getMaximum() - SCROLL_LOAD_THRESHOLD) {
+            loadingMorePosts = true;
+            String cursor = nextPostsCursor;
+            SwingUtilities.invokeLater(() -> dashboardController.loadMorePosts(cursor));
+        }
     }
 
     private static String formatTimestamp(String timestamp) {
@@ -753,21 +861,7 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
         detailsPanel.add(Box.createVerticalStrut(MARGIN_12));
 
         // Author with credibility points
-        String authorText = post.getAuthor() != null ? post.getAuthor() : "Anonymous";
-        String credibilityText = "";
-        if (!"Anonymous".equals(authorText)) {
-            try {
-                // Try to get user credibility from Firebase
-                data_access.FirebaseUserDataAccessObject userDAO = new data_access.FirebaseUserDataAccessObject();
-                entity.User authorUser = userDAO.get(authorText);
-                if (authorUser != null) {
-                    credibilityText = " (Credibility: " + authorUser.getCredibilityScore() + " pts)";
-                }
-            } catch (Exception e) {
-                // If we can't get user info, just continue without credibility
-            }
-        }
-        JLabel authorLabel = new JLabel("👤 Posted by: " + authorText + credibilityText);
+        JLabel authorLabel = createAuthorDetailLabel(post.getAuthor());
         authorLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
         authorLabel.setFont(new Font("Segoe UI", Font.BOLD, FONT_SIZE_14));
         authorLabel.setForeground(PRIMARY_BLUE);
@@ -1005,12 +1099,12 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
 
     private void updateMyPostsList(List<Post> allPosts) {
         if (allPosts == null) {
-            System.out.println("DEBUG: updateMyPostsList() called with null posts list");
+            TRACER.debug("updateMyPostsList() called with null posts list");
             return;
         }
-        System.out.println("DEBUG: updateMyPostsList() called with " + allPosts.size() + " posts, currentUser: '" + currentUser + "'");
+        TRACER.debug("updateMyPostsList() called with {} posts, currentUser: '{}'", allPosts.size(), currentUser);
         if (myPostsPanel == null || currentUser == null) {
-            System.out.println("DEBUG: Skipping updateMyPostsList - myPostsPanel: " + (myPostsPanel == null) + ", currentUser: " + (currentUser == null));
+            TRACER.debug("Skipping updateMyPostsList - no panel: {}, no user: {}", myPostsPanel == null, currentUser == null);
             return;
         }
         
@@ -1018,12 +1112,9 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
         
         // Filter posts to show only current user's posts
         List<Post> myPosts = allPosts.stream()
-            .filter(post -> {
-                boolean matches = currentUser.equals(post.getAuthor());
-                System.out.println("DEBUG: Post '" + post.getTitle() + "' by '" + post.getAuthor() + "' matches currentUser '" + currentUser + "': " + matches);
-                return matches;
-            })
+            .filter(post -> currentUser.equals(post.getAuthor()))
             .collect(java.util.stream.Collectors.toList());
+        TRACER.debug("{} of {} posts are by '{}'", myPosts.size(), allPosts.size(), currentUser);
         
         if (myPosts.isEmpty()) {
             JLabel noPostsLabel = new JLabel("You haven't created any posts yet.");
@@ -1186,21 +1277,7 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
         detailsPanel.add(Box.createVerticalStrut(MARGIN_12));
 
         // Author with credibility points
-        String authorText = post.getAuthor() != null ? post.getAuthor() : "Anonymous";
-        String credibilityText = "";
-        if (!"Anonymous".equals(authorText)) {
-            try {
-                // Try to get user credibility from Firebase
-                data_access.FirebaseUserDataAccessObject userDAO = new data_access.FirebaseUserDataAccessObject();
-                entity.User authorUser = userDAO.get(authorText);
-                if (authorUser != null) {
-                    credibilityText = " (Credibility: " + authorUser.getCredibilityScore() + " pts)";
-                }
-            } catch (Exception e) {
-                // If we can't get user info, just continue without credibility
-            }
-        }
-        JLabel authorLabel = new JLabel("👤 Posted by: " + authorText + credibilityText);
+        JLabel authorLabel = createAuthorDetailLabel(post.getAuthor());
         authorLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
         authorLabel.setFont(new Font("Segoe UI", Font.BOLD, FONT_SIZE_14));
         authorLabel.setForeground(PRIMARY_BLUE);
@@ -1493,6 +1570,66 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
         }
     }
 
+    /**
+     * Labels a search criterion with the number of posts it would find. Title,
+     * Lost Items and Found Items filter by title, the counted result set; Tags
+     * and Location list their most common values in a tooltip instead.
+     */
+    private String criteriaLabel(String criteria) {
+        DashboardState state = dashboardViewModel.getState();
+        switch (criteria) {
+            case "Title":
+                return criteria + " (" + state.getFacetTotal() + ")";
+            case "Lost Items":
+                return criteria + " (" + state.getLostCount() + ")";
+            case "Found Items":
+                return criteria + " (" + state.getFoundCount() + ")";
+            default:
+                return criteria;
+        }
+    }
+
+    // Lists the most common tags or locations among the counted posts
+    private String criteriaToolTip(String criteria) {
+        DashboardState state = dashboardViewModel.getState();
+        Map<String, Integer> counts;
+        if ("Tags".equals(criteria)) {
+            counts = state.getTagCounts();
+        } else if ("Location".equals(criteria)) {
+            counts = state.getLocationCounts();
+        } else {
+            return null;
+        }
+        if (counts.isEmpty()) {
+            return "No posts to count";
+        }
+        StringBuilder tip = new StringBuilder();
+        int listed = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (listed == FACET_TOOLTIP_VALUES) {
+                tip.append(", ...");
+                break;
+            }
+            if (listed > 0) {
+                tip.append(", ");
+            }
+            tip.append(entry.getKey()).append(" (").append(entry.getValue()).append(")");
+            listed++;
+        }
+        return tip.toString();
+    }
+
+    /** Combo box model that can ask its list to redraw when the counts change. */
+    private static final class CriteriaModel extends DefaultComboBoxModel<String> {
+        CriteriaModel(String[] items) {
+            super(items);
+        }
+
+        void refresh() {
+            fireContentsChanged(this, 0, getSize() - 1);
+        }
+    }
+
     public String getViewName() {
         return viewName;
     }
@@ -1500,6 +1637,15 @@ public class DashboardView extends JPanel implements PropertyChangeListener {
     public void setDashboardController(DashboardController dashboardController) {
         this.dashboardController = dashboardController;
     }
+
+    /**
+     * Offers completions of search terms under the search field.
+     * @param suggestController the controller asked for completions
+     * @param suggestViewModel the view model the completions arrive on
+     */
+    public void setSuggestController(SuggestController suggestController, SuggestViewModel suggestViewModel) {
+        new SuggestionPopup(searchField, suggestController, suggestViewModel, false);
+    }
     
     public void setCurrentUser(String username) {
         this.currentUser = username;
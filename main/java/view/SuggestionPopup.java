@@ -0,0 +1,128 @@
+package view;
+
+import interface_adapter.suggest.SuggestController;
+import interface_adapter.suggest.SuggestState;
+import interface_adapter.suggest.SuggestViewModel;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.List;
+
+/**
+ * Drop-down of typeahead suggestions under a text field.
+ *
+ * Every edit asks the controller for completions; suggestions for text that has
+ * since changed are ignored. Picking one replaces the field's text or, for a
+ * search query, only the word being typed.
+ */
+public class SuggestionPopup implements PropertyChangeListener {
+    private final JTextField field;
+    private final SuggestController suggestController;
+    private final boolean usernames;
+    private final JPopupMenu popup = new JPopupMenu();
+    private boolean accepting;
+
+    /**
+     * Attaches suggestions to a field.
+     * @param field the field to complete
+     * @param suggestController the controller asked for completions
+     * @param suggestViewModel the view model the completions arrive on
+     * @param usernames true to complete the whole text to a username, false to
+     *                  complete the last word to a search term
+     */
+    public SuggestionPopup(JTextField field, SuggestController suggestController,
+                           SuggestViewModel suggestViewModel, boolean usernames) {
+        this.field = field;
+        this.suggestController = suggestController;
+        this.usernames = usernames;
+        // Keep the caret in the field while the list is open
+        popup.setFocusable(false);
+        suggestViewModel.addPropertyChangeListener(this);
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { requestSuggestions(); }
+            public void removeUpdate(DocumentEvent e) { requestSuggestions(); }
+            public void changedUpdate(DocumentEvent e) { }
+        });
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                popup.setVisible(false);
+            }
+        });
+        // Enter submits the field as typed
+        field.addActionListener(e -> popup.setVisible(false));
+    }
+
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        if (!SuggestViewModel.SUGGESTIONS_PROPERTY.equals(evt.getPropertyName())) {
+            return;
+        }
+        SuggestState state = (SuggestState) evt.getNewValue();
+        if (state.isUsernames() != usernames || !currentPrefix().equals(state.getPrefix())) {
+            return;
+        }
+        show(state.getSuggestions());
+    }
+
+    private void requestSuggestions() {
+        if (accepting) {
+            return;
+        }
+        // The document is locked while it notifies, so read it afterwards
+        SwingUtilities.invokeLater(() -> {
+            String prefix = currentPrefix();
+            if (prefix.isEmpty()) {
+                popup.setVisible(false);
+            } else if (usernames) {
+                suggestController.suggestUsernames(prefix);
+            } else {
+                suggestController.suggestSearchTerms(prefix);
+            }
+        });
+    }
+
+    private String currentPrefix() {
+        String text = field.getText();
+        if (usernames) {
+            return text.trim();
+        }
+        return text.substring(text.lastIndexOf(' ') + 1);
+    }
+
+    private void show(List<String> suggestions) {
+        popup.setVisible(false);
+        popup.removeAll();
+        if (suggestions.isEmpty() || !field.isShowing() || !field.hasFocus()) {
+            return;
+        }
+        for (String suggestion : suggestions) {
+            JMenuItem item = new JMenuItem(suggestion);
+            item.addActionListener(e -> accept(suggestion));
+            popup.add(item);
+        }
+        popup.show(field, 0, field.getHeight());
+    }
+
+    private void accept(String suggestion) {
+        accepting = true;
+        try {
+            if (usernames) {
+                field.setText(suggestion);
+            } else {
+                String text = field.getText();
+                field.setText(text.substring(0, text.lastIndexOf(' ') + 1) + suggestion);
+            }
+        } finally {
+            accepting = false;
+        }
+        popup.setVisible(false);
+        field.requestFocusInWindow();
+    }
+}
@@ -48,6 +48,12 @@ class FirebaseChatDataAccessObjectTest {
     @Mock
     private DatabaseReference mockBlockedRef;
 
+    @Mock
+    private DatabaseReference mockRootRef;
+
+    @Mock
+    private DatabaseReference mockUserChatsRef;
+
     @Mock
     private FirebaseUserDataAccessObject mockUserDAO;
 
@@ -67,6 +73,8 @@ class FirebaseChatDataAccessObjectTest {
         // Setup basic mocking behavior
         when(mockFirebaseDatabase.getReference("chats")).thenReturn(mockChatsRef);
         when(mockFirebaseDatabase.getReference("messages")).thenReturn(mockMessagesRef);
+        when(mockFirebaseDatabase.getReference("userChats")).thenReturn(mockUserChatsRef);
+        when(mockFirebaseDatabase.getReference()).thenReturn(mockRootRef);
 
         // Use MockedStatic to mock static FirebaseDatabase.getInstance()
         try (MockedStatic<FirebaseDatabase> mockedFirebaseDatabase = mockStatic(FirebaseDatabase.class)) {
@@ -126,46 +134,42 @@ class FirebaseChatDataAccessObjectTest {
     // === GET CHATS FOR USER TESTS ===
 
     @Test
-    void getChatsForUser_returnsFilteredChats() {
+    void getChatsForUser_readsIndexedChats() {
         // Prepare test data
         String username = "testUser";
-
-        // Setup mock behavior for the listener
-        doAnswer(invocation -> {
-            ValueEventListener listener = invocation.getArgument(0);
-
-            // Create mock DataSnapshots
-            DataSnapshot mockDataSnapshot = mock(DataSnapshot.class);
-            DataSnapshot chatSnapshot1 = mock(DataSnapshot.class);
-            DataSnapshot chatSnapshot2 = mock(DataSnapshot.class);
-
-            // Setup Chat objects
-            Chat chat1 = new Chat("chat1", Arrays.asList("testUser", "otherUser"), LocalDateTime.now(), false);
-            Chat chat2 = new Chat("chat2", Arrays.asList("anotherUser", "someUser"), LocalDateTime.now(), false);
-
-            // Connect mocks
-            when(mockDataSnapshot.getChildren()).thenReturn(Arrays.asList(chatSnapshot1, chatSnapshot2));
-            when(chatSnapshot1.getValue(Chat.class)).thenReturn(chat1);
-            when(chatSnapshot2.getValue(Chat.class)).thenReturn(chat2);
-
-            // Trigger the listener
-            listener.onDataChange(mockDataSnapshot);
-            return null;
-        }).when(mockChatsRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
+        markIndexed();
+
+        DatabaseReference userIndexRef = mock(DatabaseReference.class);
+        when(mockUserChatsRef.child(username)).thenReturn(userIndexRef);
+        DataSnapshot entry = mock(DataSnapshot.class);
+        when(entry.getKey()).thenReturn("chat1");
+        DataSnapshot index = mock(DataSnapshot.class);
+        when(index.getChildren()).thenReturn(Arrays.asList(entry));
+        respond(userIndexRef, index);
+
+        DatabaseReference chatRef = mock(DatabaseReference.class);
+        when(mockChatsRef.child("chat1")).thenReturn(chatRef);
+        DataSnapshot chatSnapshot = mock(DataSnapshot.class);
+        when(chatSnapshot.getValue(Chat.class))
+            .thenReturn(new Chat("chat1", Arrays.asList("testUser", "otherUser"), LocalDateTime.now(), false));
+        respond(chatRef, chatSnapshot);
 
         // Execute method under test
         List<Chat> result = chatDAO.getChatsForUser(username);
 
-        // Verify results
+        // Verify results: only the user's indexed chat is read, never the whole chats node
         assertEquals(1, result.size());
         assertEquals("chat1", result.get(0).getChatId());
         assertTrue(result.get(0).getParticipants().contains(username));
+        verify(mockChatsRef, never()).addListenerForSingleValueEvent(any(ValueEventListener.class));
     }
 
     @Test
     void getChatsForUser_handlesErrors() {
         // Prepare test data
         String username = "testUser";
+        DatabaseReference markerRef = mock(DatabaseReference.class);
+        when(mockRootRef.child(FirebaseChatDataAccessObject.INDEX_MARKER_PATH)).thenReturn(markerRef);
 
         // Setup mock behavior for error case
         doAnswer(invocation -> {
@@ -176,7 +180,7 @@ class FirebaseChatDataAccessObjectTest {
             // Trigger error callback
             listener.onCancelled(mockError);
             return null;
-        }).when(mockChatsRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
+        }).when(markerRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
 
         // Execute method under test
         List<Chat> result = chatDAO.getChatsForUser(username);
@@ -186,26 +190,49 @@ class FirebaseChatDataAccessObjectTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void getChatsForUser_indexesExistingChatsOnce() {
+        // Prepare test data: no marker yet, one chat created before the index
+        DatabaseReference markerRef = mock(DatabaseReference.class);
+        when(mockRootRef.child(FirebaseChatDataAccessObject.INDEX_MARKER_PATH)).thenReturn(markerRef);
+        respond(markerRef, mock(DataSnapshot.class));
+
+        DataSnapshot allChats = mock(DataSnapshot.class);
+        DataSnapshot legacySnapshot = mock(DataSnapshot.class);
+        when(legacySnapshot.getKey()).thenReturn("chat_1");
+        when(legacySnapshot.getValue(Chat.class))
+            .thenReturn(new Chat("chat_1", Arrays.asList("alice", "bob"), LocalDateTime.now(), false));
+        when(allChats.getChildren()).thenReturn(Arrays.asList(legacySnapshot));
+        respond(mockChatsRef, allChats);
+        completeUpdates();
+
+        DatabaseReference userIndexRef = mock(DatabaseReference.class);
+        when(mockUserChatsRef.child("alice")).thenReturn(userIndexRef);
+        respond(userIndexRef, mock(DataSnapshot.class));
+
+        // Execute method under test, twice
+        chatDAO.getChatsForUser("alice");
+        chatDAO.getChatsForUser("alice");
+
+        // Verify the scan and index write happen once, with the peer as the value
+        ArgumentCaptor<java.util.Map<String, Object>> updates = ArgumentCaptor.forClass(java.util.Map.class);
+        verify(mockRootRef, times(1)).updateChildren(updates.capture(), any(DatabaseReference.CompletionListener.class));
+        assertEquals("bob", updates.getValue().get("userChats/alice/chat_1"));
+        assertEquals("alice", updates.getValue().get("userChats/bob/chat_1"));
+        assertEquals(Boolean.TRUE, updates.getValue().get(FirebaseChatDataAccessObject.INDEX_MARKER_PATH));
+        verify(mockChatsRef, times(1)).addListenerForSingleValueEvent(any(ValueEventListener.class));
+    }
+
     // === CREATE CHAT TESTS ===
 
 
     @Test
     void createChat_savesToFirebaseAndReturnsChat() {
         // Prepare test data
-        List<String> participants = Arrays.asList("user1", "user2");
-        DatabaseReference mockChildRef = mock(DatabaseReference.class);
-
-        // Mock the chain of calls
-        when(mockChatsRef.child(anyString())).thenReturn(mockChildRef);
-
-        doAnswer(invocation -> {
-            Chat chat = invocation.getArgument(0);
-            DatabaseReference.CompletionListener listener = invocation.getArgument(1);
-
-            // Simulate successful completion
-            listener.onComplete(null, mockChildRef);
-            return null;
-        }).when(mockChildRef).setValue(any(Chat.class), any(DatabaseReference.CompletionListener.class));
+        List<String> participants = Arrays.asList("user2", "user1");
+        String chatId = FirebaseChatDataAccessObject.pairChatId("user1", "user2");
+        MutableData data = runPairTransaction(chatId, null, null);
+        completeUpdates();
 
         // Execute method under test
         Chat result = chatDAO.createChat(participants);
@@ -214,30 +241,65 @@ class FirebaseChatDataAccessObjectTest {
         assertNotNull(result);
         assertEquals(participants, result.getParticipants());
         assertFalse(result.isBlocked());
-        assertNotNull(result.getChatId());
+        assertEquals(chatId, result.getChatId());
+        verify(data).setValue(result);
 
-        // Verify Firebase interactions
-        verify(mockChatsRef).child(anyString());
-        verify(mockChildRef).setValue(any(Chat.class), any(DatabaseReference.CompletionListener.class));
+        // Verify both index entries are written once the chat exists
+        ArgumentCaptor<java.util.Map<String, Object>> updates = ArgumentCaptor.forClass(java.util.Map.class);
+        verify(mockRootRef).updateChildren(updates.capture(), any(DatabaseReference.CompletionListener.class));
+        assertEquals("user1", updates.getValue().get("userChats/user2/" + chatId));
+        assertEquals("user2", updates.getValue().get("userChats/user1/" + chatId));
+    }
+
+    @Test
+    void createChat_keepsExistingPairChat() {
+        String chatId = FirebaseChatDataAccessObject.pairChatId("user1", "user2");
+        Chat existing = new Chat(chatId, Arrays.asList("user1", "user2"), LocalDateTime.of(2024, 1, 1, 9, 0), true);
+        MutableData data = runPairTransaction(chatId, existing, null);
+        completeUpdates();
+
+        Chat result = chatDAO.createChat(Arrays.asList("user2", "user1"));
+
+        assertSame(existing, result);
+        assertTrue(result.isBlocked(), "An existing chat must not be unblocked");
+        verify(data, never()).setValue(any());
+        ArgumentCaptor<java.util.Map<String, Object>> updates = ArgumentCaptor.forClass(java.util.Map.class);
+        verify(mockRootRef).updateChildren(updates.capture(), any(DatabaseReference.CompletionListener.class));
+        assertFalse(updates.getValue().containsKey("chats/" + chatId), "Only the index entries are written");
+        assertEquals("user2", updates.getValue().get("userChats/user1/" + chatId));
+    }
+
+    @Test
+    void createChat_groupChatGetsGeneratedId() {
+        completeUpdates();
+
+        Chat result = chatDAO.createChat(Arrays.asList("user1", "user2", "user3"));
+
+        assertTrue(result.getChatId().startsWith("chat_"));
+        ArgumentCaptor<java.util.Map<String, Object>> updates = ArgumentCaptor.forClass(java.util.Map.class);
+        verify(mockRootRef).updateChildren(updates.capture(), any(DatabaseReference.CompletionListener.class));
+        assertEquals(Boolean.TRUE, updates.getValue().get("userChats/user3/" + result.getChatId()));
     }
 
     @Test
     void createChat_handlesFirebaseErrors() {
         List<String> participants = Arrays.asList("user1", "user2");
-        DatabaseReference mockChildRef = mock(DatabaseReference.class);
-        when(mockChatsRef.child(anyString())).thenReturn(mockChildRef);
-        
-        doAnswer(invocation -> {
-            DatabaseReference.CompletionListener listener = invocation.getArgument(1);
-            DatabaseError mockError = mock(DatabaseError.class);
-            when(mockError.getMessage()).thenReturn("Test error");
-            listener.onComplete(mockError, mockChildRef);
-            return null;
-        }).when(mockChildRef).setValue(any(Chat.class), any(DatabaseReference.CompletionListener.class));
+        DatabaseError mockError = mock(DatabaseError.class);
+        when(mockError.getMessage()).thenReturn("Test error");
+        runPairTransaction(FirebaseChatDataAccessObject.pairChatId("user1", "user2"), null, mockError);
 
         Chat result = chatDAO.createChat(participants);
         assertNotNull(result);
         assertEquals(participants, result.getParticipants());
+        verify(mockRootRef, never()).updateChildren(anyMap(), any(DatabaseReference.CompletionListener.class));
+    }
+
+    @Test
+    void pairChatId_isOrderIndependentAndUnambiguous() {
+        assertEquals(FirebaseChatDataAccessObject.pairChatId("alice", "bob"),
+            FirebaseChatDataAccessObject.pairChatId("bob", "alice"));
+        assertNotEquals(FirebaseChatDataAccessObject.pairChatId("a_b", "c"),
+            FirebaseChatDataAccessObject.pairChatId("a", "b_c"));
     }
 
     // === SEND MESSAGE TESTS ===
@@ -345,6 +407,69 @@ class FirebaseChatDataAccessObjectTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void getMessagesPage_dropsCursorAndReportsOlderHistory() {
+        String chatId = "chat123";
+        DatabaseReference chatMessagesRef = mock(DatabaseReference.class);
+        Query byKey = mock(Query.class);
+        Query endAt = mock(Query.class);
+        Query limited = mock(Query.class);
+        when(mockMessagesRef.child(chatId)).thenReturn(chatMessagesRef);
+        when(chatMessagesRef.orderByKey()).thenReturn(byKey);
+        when(byKey.endAt("msg_4")).thenReturn(endAt);
+        when(endAt.limitToLast(4)).thenReturn(limited);
+
+        // Three older messages plus the cursor itself come back for a page of two
+        List<DataSnapshot> children = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            DataSnapshot child = mock(DataSnapshot.class);
+            when(child.getKey()).thenReturn("msg_" + i);
+            when(child.getValue(Message.class))
+                .thenReturn(new Message("msg_" + i, chatId, "user1", "text", LocalDateTime.now(), false));
+            children.add(child);
+        }
+        DataSnapshot page = mock(DataSnapshot.class);
+        when(page.getChildren()).thenReturn(children);
+        respond(limited, page);
+
+        use_case.dms.MessagesPage result = chatDAO.getMessagesPage(chatId, "msg_4", 2);
+
+        assertEquals(2, result.getMessages().size());
+        assertEquals("msg_2", result.getMessages().get(0).getMessageId());
+        assertEquals("msg_3", result.getMessages().get(1).getMessageId());
+        assertEquals("msg_2", result.getOlderCursor());
+    }
+
+    @Test
+    void subscribeToMessages_deliversOnlyNewMessagesUntilClosed() {
+        String chatId = "chat123";
+        DatabaseReference chatMessagesRef = mock(DatabaseReference.class);
+        Query byKey = mock(Query.class);
+        Query startAt = mock(Query.class);
+        when(mockMessagesRef.child(chatId)).thenReturn(chatMessagesRef);
+        when(chatMessagesRef.orderByKey()).thenReturn(byKey);
+        when(byKey.startAt("msg_1")).thenReturn(startAt);
+
+        List<Message> received = new ArrayList<>();
+        use_case.dms.MessageSubscription subscription = chatDAO.subscribeToMessages(chatId, "msg_1", received::add);
+
+        ArgumentCaptor<ChildEventListener> listener = ArgumentCaptor.forClass(ChildEventListener.class);
+        verify(startAt).addChildEventListener(listener.capture());
+        for (String key : Arrays.asList("msg_1", "msg_2")) {
+            DataSnapshot child = mock(DataSnapshot.class);
+            when(child.getKey()).thenReturn(key);
+            when(child.getValue(Message.class))
+                .thenReturn(new Message(key, chatId, "user1", "text", LocalDateTime.now(), false));
+            listener.getValue().onChildAdded(child, null);
+        }
+
+        assertEquals(1, received.size());
+        assertEquals("msg_2", received.get(0).getMessageId());
+
+        subscription.close();
+        verify(startAt).removeEventListener(listener.getValue());
+    }
+
     // === GET CHAT BY ID TESTS ===
 
     @Test
@@ -492,78 +617,26 @@ class FirebaseChatDataAccessObjectTest {
 
     @Test
     void chatExistsBetweenUsers_returnsTrueWhenChatExists() {
-        // Prepare test data
-        String user1 = "alice";
-        String user2 = "bob";
-
-        // Setup mock behavior
-        doAnswer(invocation -> {
-            ValueEventListener listener = invocation.getArgument(0);
-
-            // Create mock DataSnapshots for testing
-            DataSnapshot mockDataSnapshot = mock(DataSnapshot.class);
-            DataSnapshot chatSnapshot1 = mock(DataSnapshot.class);
-            DataSnapshot chatSnapshot2 = mock(DataSnapshot.class);
+        markIndexed();
+        DataSnapshot match = mock(DataSnapshot.class);
+        when(match.exists()).thenReturn(true);
+        respond(peerQuery("alice", "bob"), match);
 
-            // Setup Chat objects
-            Chat chat1 = new Chat("chat1", Arrays.asList("alice", "charlie"), LocalDateTime.now(), false);
-            Chat chat2 = new Chat("chat2", Arrays.asList("alice", "bob"), LocalDateTime.now(), false);
-
-            // Connect mocks
-            when(mockDataSnapshot.getChildren()).thenReturn(Arrays.asList(chatSnapshot1, chatSnapshot2));
-            when(chatSnapshot1.getValue(Chat.class)).thenReturn(chat1);
-            when(chatSnapshot2.getValue(Chat.class)).thenReturn(chat2);
-
-            // Trigger the listener
-            listener.onDataChange(mockDataSnapshot);
-            return null;
-        }).when(mockChatsRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
-
-        // Execute method under test
-        boolean result = chatDAO.chatExistsBetweenUsers(user1, user2);
-
-        // Verify results
-        assertTrue(result);
+        assertTrue(chatDAO.chatExistsBetweenUsers("alice", "bob"));
     }
 
     @Test
     void chatExistsBetweenUsers_returnsFalseWhenChatDoesNotExist() {
-        // Prepare test data
-        String user1 = "alice";
-        String user2 = "dave";
-
-        // Setup mock behavior
-        doAnswer(invocation -> {
-            ValueEventListener listener = invocation.getArgument(0);
+        markIndexed();
+        respond(peerQuery("alice", "dave"), mock(DataSnapshot.class));
 
-            // Create mock DataSnapshots for testing
-            DataSnapshot mockDataSnapshot = mock(DataSnapshot.class);
-            DataSnapshot chatSnapshot1 = mock(DataSnapshot.class);
-
-            // Setup Chat objects (no chat with alice and dave)
-            Chat chat1 = new Chat("chat1", Arrays.asList("alice", "charlie"), LocalDateTime.now(), false);
-
-            // Connect mocks
-            when(mockDataSnapshot.getChildren()).thenReturn(Arrays.asList(chatSnapshot1));
-            when(chatSnapshot1.getValue(Chat.class)).thenReturn(chat1);
-
-            // Trigger the listener
-            listener.onDataChange(mockDataSnapshot);
-            return null;
-        }).when(mockChatsRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
-
-        // Execute method under test
-        boolean result = chatDAO.chatExistsBetweenUsers(user1, user2);
-
-        // Verify results
-        assertFalse(result);
+        assertFalse(chatDAO.chatExistsBetweenUsers("alice", "dave"));
     }
 
     @Test
     void chatExistsBetweenUsers_handlesErrors() {
-        // Prepare test data
-        String user1 = "alice";
-        String user2 = "bob";
+        markIndexed();
+        Query query = peerQuery("alice", "bob");
 
         // Setup mock behavior for error case
         doAnswer(invocation -> {
@@ -574,13 +647,10 @@ class FirebaseChatDataAccessObjectTest {
             // Trigger error callback
             listener.onCancelled(mockError);
             return null;
-        }).when(mockChatsRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
-
-        // Execute method under test
-        boolean result = chatDAO.chatExistsBetweenUsers(user1, user2);
+        }).when(query).addListenerForSingleValueEvent(any(ValueEventListener.class));
 
         // Verify false is returned on error
-        assertFalse(result);
+        assertFalse(chatDAO.chatExistsBetweenUsers("alice", "bob"));
     }
 
     // === UPDATE CHAT IS BLOCKED TESTS ===
@@ -694,4 +764,62 @@ class FirebaseChatDataAccessObjectTest {
         boolean result = chatDAO.isChatBlocked(chatId);
         assertFalse(result);
     }
-}
\ No newline at end of file
+
+    // === HELPERS ===
+
+    private static void respond(Query ref, DataSnapshot snapshot) {
+        doAnswer(invocation -> {
+            ValueEventListener listener = invocation.getArgument(0);
+            listener.onDataChange(snapshot);
+            return null;
+        }).when(ref).addListenerForSingleValueEvent(any(ValueEventListener.class));
+    }
+
+    private void markIndexed() {
+        DatabaseReference markerRef = mock(DatabaseReference.class);
+        when(mockRootRef.child(FirebaseChatDataAccessObject.INDEX_MARKER_PATH)).thenReturn(markerRef);
+        DataSnapshot marker = mock(DataSnapshot.class);
+        when(marker.exists()).thenReturn(true);
+        respond(markerRef, marker);
+    }
+
+    /**
+     * Runs the transaction on a pair chat's node against the given stored chat,
+     * then completes it the way Firebase would: committed if the node was free.
+     */
+    private MutableData runPairTransaction(String chatId, Chat stored, DatabaseError error) {
+        DatabaseReference chatRef = mock(DatabaseReference.class);
+        when(mockChatsRef.child(chatId)).thenReturn(chatRef);
+        MutableData data = mock(MutableData.class);
+        when(data.getValue()).thenReturn(stored);
+        DataSnapshot current = mock(DataSnapshot.class);
+        lenient().when(current.getValue(Chat.class)).thenReturn(stored);
+        doAnswer(invocation -> {
+            Transaction.Handler handler = invocation.getArgument(0);
+            Transaction.Result result = handler.doTransaction(data);
+            handler.onComplete(error, error == null && result.isSuccess(), current);
+            return null;
+        }).when(chatRef).runTransaction(any(Transaction.Handler.class));
+        return data;
+    }
+
+    private void completeUpdates() {
+        doAnswer(invocation -> {
+            DatabaseReference.CompletionListener listener = invocation.getArgument(1);
+            listener.onComplete(null, mockRootRef);
+            return null;
+        }).when(mockRootRef).updateChildren(anyMap(), any(DatabaseReference.CompletionListener.class));
+    }
+
+    private Query peerQuery(String user, String peer) {
+        DatabaseReference userIndexRef = mock(DatabaseReference.class);
+        Query byValue = mock(Query.class);
+        Query equalTo = mock(Query.class);
+        Query limited = mock(Query.class);
+        when(mockUserChatsRef.child(user)).thenReturn(userIndexRef);
+        when(userIndexRef.orderByValue()).thenReturn(byValue);
+        when(byValue.equalTo(peer)).thenReturn(equalTo);
+        when(equalTo.limitToFirst(1)).thenReturn(limited);
+        return limited;
+    }
+}
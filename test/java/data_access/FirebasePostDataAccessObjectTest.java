@@ -4,7 +4,6 @@ import com.google.firebase.database.*;
 import entity.Post;
 import entity.Comment;
 import org.junit.jupiter.api.*;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -29,6 +28,10 @@ class FirebasePostDataAccessObjectTest {
     private DatabaseReference mockPostsRef;
     @Mock
     private FirebaseDatabase mockDatabase;
+    @Mock
+    private DatabaseReference mockPostIndexRef;
+    @Mock
+    private DatabaseReference mockRootRef;
     
     @BeforeEach
     void setUp() {
@@ -37,6 +40,52 @@ class FirebasePostDataAccessObjectTest {
         dao = new FirebasePostDataAccessObject();
         setPrivateField(dao, "postsRef", mockPostsRef);
         setPrivateField(dao, "database", mockDatabase);
+        setPrivateField(dao, "postIndexRef", mockPostIndexRef);
+        setPrivateField(dao, "rootRef", mockRootRef);
+
+        // By default the postIndex node has no entries, so lookups take the query path
+        DatabaseReference mockIndexEntry = mock(DatabaseReference.class);
+        DataSnapshot missingEntry = mock(DataSnapshot.class);
+        when(mockPostIndexRef.child(anyString())).thenReturn(mockIndexEntry);
+        doAnswer(invocation -> {
+            ValueEventListener listener = invocation.getArgument(0);
+            listener.onDataChange(missingEntry);
+            return null;
+        }).when(mockIndexEntry).addListenerForSingleValueEvent(any(ValueEventListener.class));
+    }
+
+    @Test
+    @DisplayName("getPostById - Indexed post is read by key")
+    void getPostById_IndexedPost_ReadsByKey() {
+        // Arrange
+        Post expectedPost = new Post();
+        expectedPost.setPostID(42);
+        DatabaseReference mockIndexEntry = mock(DatabaseReference.class);
+        DataSnapshot indexSnapshot = mock(DataSnapshot.class);
+        when(indexSnapshot.getValue(String.class)).thenReturn("pushKey42");
+        when(mockPostIndexRef.child("42")).thenReturn(mockIndexEntry);
+        doAnswer(invocation -> {
+            ValueEventListener listener = invocation.getArgument(0);
+            listener.onDataChange(indexSnapshot);
+            return null;
+        }).when(mockIndexEntry).addListenerForSingleValueEvent(any(ValueEventListener.class));
+
+        DatabaseReference mockPostRef = mock(DatabaseReference.class);
+        DataSnapshot postSnapshot = mock(DataSnapshot.class);
+        when(postSnapshot.getValue(Post.class)).thenReturn(expectedPost);
+        when(mockPostsRef.child("pushKey42")).thenReturn(mockPostRef);
+        doAnswer(invocation -> {
+            ValueEventListener listener = invocation.getArgument(0);
+            listener.onDataChange(postSnapshot);
+            return null;
+        }).when(mockPostRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
+
+        // Act
+        Post result = dao.getPostById("42");
+
+        // Assert
+        assertSame(expectedPost, result);
+        verify(mockPostsRef, never()).addListenerForSingleValueEvent(any(ValueEventListener.class));
     }
 
     @Test
@@ -130,11 +179,7 @@ class FirebasePostDataAccessObjectTest {
         }).when(mockEqualToQuery).addListenerForSingleValueEvent(any(ValueEventListener.class));
 
         // Mock removal behavior
-        doAnswer(invocation -> {
-            DatabaseReference.CompletionListener listener = invocation.getArgument(0);
-            listener.onComplete(null, mockChildRef);
-            return null;
-        }).when(mockChildRef).removeValue(any(DatabaseReference.CompletionListener.class));
+        stubRootUpdates(null);
 
         // Act & Assert
         assertDoesNotThrow(() -> dao.deletePost(postId));
@@ -151,7 +196,10 @@ class FirebasePostDataAccessObjectTest {
         boolean isLost = true;
         String author = "Test Author";
 
-        // Mock for getAllPosts
+        // Mock the post ID allocator
+        PostIdAllocator mockAllocator = mock(PostIdAllocator.class);
+        when(mockAllocator.nextId()).thenReturn(1);
+        setPrivateField(dao, "postIdAllocator", mockAllocator);
         DatabaseReference mockOrderByRef = mock(DatabaseReference.class);
         when(mockPostsRef.orderByChild(anyString())).thenReturn(mockOrderByRef);
 
@@ -172,14 +220,10 @@ class FirebasePostDataAccessObjectTest {
             return null;
         }).when(mockOrderByRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
 
-        // Mock child and setValue behavior
+        // Mock the post write
         DatabaseReference mockChildRef = mock(DatabaseReference.class);
         when(mockPostsRef.child(anyString())).thenReturn(mockChildRef);
-        doAnswer(invocation -> {
-            DatabaseReference.CompletionListener listener = invocation.getArgument(1);
-            listener.onComplete(null, mockChildRef);
-            return mockChildRef;
-        }).when(mockChildRef).setValue(any(), any(DatabaseReference.CompletionListener.class));
+        stubRootUpdates(null);
 
         // Act
         Post result = dao.addPost(title, content, tags, location, isLost, author);
@@ -340,11 +384,7 @@ class FirebasePostDataAccessObjectTest {
         }).when(mockQuery).addListenerForSingleValueEvent(any(ValueEventListener.class));
 
         // Mock removal error
-        doAnswer(invocation -> {
-            DatabaseReference.CompletionListener listener = invocation.getArgument(0);
-            listener.onComplete(DatabaseError.fromException(new Exception("Delete error")), mockChildRef);
-            return null;
-        }).when(mockChildRef).removeValue(any(DatabaseReference.CompletionListener.class));
+        stubRootUpdates(DatabaseError.fromException(new Exception("Delete error")));
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> dao.deletePost(postId));
@@ -369,6 +409,22 @@ class FirebasePostDataAccessObjectTest {
         assertThrows(RuntimeException.class, () -> dao.deletePost(postId));
     }
 
+    /**
+     * Completes every multi-path update on the root reference with the given error.
+     * @param error the error to report, or null for success
+     * @return the updates written, in order
+     */
+    private List<Map<String, Object>> stubRootUpdates(DatabaseError error) {
+        List<Map<String, Object>> updates = new ArrayList<>();
+        doAnswer(invocation -> {
+            updates.add(invocation.getArgument(0));
+            DatabaseReference.CompletionListener listener = invocation.getArgument(1);
+            listener.onComplete(error, mockRootRef);
+            return null;
+        }).when(mockRootRef).updateChildren(anyMap(), any(DatabaseReference.CompletionListener.class));
+        return updates;
+    }
+
     // Helper method to set private fields
     private void setPrivateField(Object target, String fieldName, Object value) {
         try {
@@ -566,11 +622,7 @@ class FirebasePostDataAccessObjectTest {
             // Mock the actual delete operation
             DatabaseReference mockChildRef = mock(DatabaseReference.class);
             when(mockPostsRef.child(anyString())).thenReturn(mockChildRef);
-            doAnswer(invocation -> {
-                DatabaseReference.CompletionListener listener = invocation.getArgument(0);
-                listener.onComplete(null, mockChildRef);
-                return null;
-            }).when(mockChildRef).removeValue(any(DatabaseReference.CompletionListener.class));
+            stubRootUpdates(null);
 
             // Act & Assert
             assertTrue(dao.deletePost(postId));
@@ -691,11 +743,7 @@ class FirebasePostDataAccessObjectTest {
             // Mock error during delete
             DatabaseReference mockChildRef = mock(DatabaseReference.class);
             when(mockPostsRef.child(anyString())).thenReturn(mockChildRef);
-            doAnswer(invocation -> {
-                DatabaseReference.CompletionListener listener = invocation.getArgument(0);
-                listener.onComplete(DatabaseError.fromException(new Exception("Delete failed")), mockChildRef);
-                return null;
-            }).when(mockChildRef).removeValue(any(DatabaseReference.CompletionListener.class));
+            stubRootUpdates(DatabaseError.fromException(new Exception("Delete failed")));
 
             // Act & Assert
             assertFalse(dao.deletePost(postId));
@@ -768,12 +816,8 @@ class FirebasePostDataAccessObjectTest {
                 return null;
             }).when(mockPostsRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
 
-            // Mock the setValue behavior with successful completion
-            doAnswer(invocation -> {
-                DatabaseReference.CompletionListener completionListener = invocation.getArgument(1);
-                completionListener.onComplete(null, mockChildRef);
-                return null;
-            }).when(mockChildRef).setValue(any(Post.class), any(DatabaseReference.CompletionListener.class));
+            // Mock the post write with successful completion
+            stubRootUpdates(null);
 
             // Act
             boolean result = dao.updatePost(post);
@@ -781,7 +825,7 @@ class FirebasePostDataAccessObjectTest {
             // Assert
             assertTrue(result);
             verify(mockPostsRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
-            verify(mockChildRef).setValue(any(Post.class), any(DatabaseReference.CompletionListener.class));
+            verify(mockRootRef).updateChildren(anyMap(), any(DatabaseReference.CompletionListener.class));
         }
 
         @Test
@@ -859,7 +903,7 @@ class FirebasePostDataAccessObjectTest {
         }
 
         @Test
-        @DisplayName("updatePost - setValue Error")
+        @DisplayName("updatePost - write Error")
         void updatePost_SetValueError() {
             // Arrange
             Post post = new Post();
@@ -891,12 +935,8 @@ class FirebasePostDataAccessObjectTest {
                 return null;
             }).when(mockEqualToQuery).addListenerForSingleValueEvent(any(ValueEventListener.class));
 
-            // Mock setValue error
-            doAnswer(invocation -> {
-                DatabaseReference.CompletionListener listener = invocation.getArgument(1);
-                listener.onComplete(DatabaseError.fromException(new Exception("Save error")), mockChildRef);
-                return null;
-            }).when(mockChildRef).setValue(eq(post), any(DatabaseReference.CompletionListener.class));
+            // Mock a write error
+            stubRootUpdates(DatabaseError.fromException(new Exception("Save error")));
 
             // Act
             boolean result = dao.updatePost(post);
@@ -976,20 +1016,13 @@ class FirebasePostDataAccessObjectTest {
                 return null;
             }).when(mockEqualToQuery).addListenerForSingleValueEvent(any(ValueEventListener.class));
 
-            // Mock updatePost to return success
-            // Use an argument captor to capture the modified post
-            ArgumentCaptor<Post> postCaptor = ArgumentCaptor.forClass(Post.class);
-
             // Mock child reference for updatePost
             when(mockChildSnapshot.getKey()).thenReturn("mockKey");
             DatabaseReference mockChildRef = mock(DatabaseReference.class);
             when(mockPostsRef.child("mockKey")).thenReturn(mockChildRef);
 
-            doAnswer(invocation -> {
-                DatabaseReference.CompletionListener listener = invocation.getArgument(1);
-                listener.onComplete(null, mockChildRef);
-                return null;
-            }).when(mockChildRef).setValue(postCaptor.capture(), any(DatabaseReference.CompletionListener.class));
+            // Mock updatePost to return success, recording the updates to inspect the modified post
+            List<Map<String, Object>> updates = stubRootUpdates(null);
 
             // Act
             boolean result = dao.editPost(postId, newTitle, description, location, tags, isLost);
@@ -998,7 +1031,7 @@ class FirebasePostDataAccessObjectTest {
             assertTrue(result);
 
             // Verify captured post has correct modifications
-            Post capturedPost = postCaptor.getValue();
+            Post capturedPost = (Post) updates.get(0).get("posts/mockKey");
             assertEquals(123, capturedPost.getPostID());
             assertEquals(newTitle, capturedPost.getTitle());
             assertEquals(description, capturedPost.getDescription());
@@ -1141,11 +1174,7 @@ class FirebasePostDataAccessObjectTest {
             DatabaseReference mockChildRef = mock(DatabaseReference.class);
             when(mockPostsRef.child("mockKey")).thenReturn(mockChildRef);
 
-            doAnswer(invocation -> {
-                DatabaseReference.CompletionListener listener = invocation.getArgument(1);
-                listener.onComplete(DatabaseError.fromException(new Exception("Update error")), mockChildRef);
-                return null;
-            }).when(mockChildRef).setValue(any(Post.class), any(DatabaseReference.CompletionListener.class));
+            stubRootUpdates(DatabaseError.fromException(new Exception("Update error")));
 
             // Act
             boolean result = dao.editPost(postId, newTitle, description, location, tags, isLost);
@@ -1195,17 +1224,8 @@ class FirebasePostDataAccessObjectTest {
             DatabaseReference mockChildRef = mock(DatabaseReference.class);
             when(mockPostsRef.child("mockKey")).thenReturn(mockChildRef);
 
-            // Create a placeholder to capture the Post being saved
-            final ArgumentCaptor<Post> postCaptor = ArgumentCaptor.forClass(Post.class);
-
-            // Setup setValue to simulate success and capture the post being saved
-            doAnswer(invocation -> {
-                Post capturedPost = invocation.getArgument(0);
-                DatabaseReference.CompletionListener listener = invocation.getArgument(1);
-                // Return success
-                listener.onComplete(null, mockChildRef);
-                return null;
-            }).when(mockChildRef).setValue(postCaptor.capture(), any(DatabaseReference.CompletionListener.class));
+            // Simulate a successful write and record the post being saved
+            List<Map<String, Object>> updates = stubRootUpdates(null);
 
             // Act - Call editPost with null parameters
             boolean result = dao.editPost(postId, null, null, null, null, true);
@@ -1214,10 +1234,10 @@ class FirebasePostDataAccessObjectTest {
             assertTrue(result, "Edit with null parameters should succeed");
 
             // Verify the post was updated
-            verify(mockChildRef).setValue(any(Post.class), any(DatabaseReference.CompletionListener.class));
+            verify(mockRootRef).updateChildren(anyMap(), any(DatabaseReference.CompletionListener.class));
 
             // Get the captured post that was saved
-            Post savedPost = postCaptor.getValue();
+            Post savedPost = (Post) updates.get(0).get("posts/mockKey");
 
             // Verify original values were preserved for null parameters
             assertEquals("Original Title", savedPost.getTitle(), "Title should remain unchanged");
@@ -0,0 +1,91 @@
+package data_access;
+
+import data_access.storage.LogRecordStore;
+import entity.Chat;
+import entity.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import use_case.dms.MessageSubscription;
+import use_case.dms.MessagesPage;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalChatDataAccessObjectTest {
+
+    @TempDir
+    Path directory;
+
+    private LogRecordStore store;
+    private LocalChatDataAccessObject dao;
+
+    @BeforeEach
+    void setUp() {
+        store = new LogRecordStore(directory, false);
+        dao = new LocalChatDataAccessObject(store, new LocalUserDataAccessObject(store));
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("createChat - indexes two-person chats for both users")
+    void createChat_IndexesParticipants() {
+        Chat chat = dao.createChat(Arrays.asList("bob", "alice"));
+
+        assertEquals(FirebaseChatDataAccessObject.pairChatId("alice", "bob"), chat.getChatId());
+        assertTrue(dao.chatExistsBetweenUsers("alice", "bob"));
+        assertFalse(dao.chatExistsBetweenUsers("alice", "carol"));
+        assertEquals(1, dao.getChatsForUser("alice").size());
+
+        dao.updateChatIsBlocked(chat.getChatId(), true);
+        assertTrue(dao.isChatBlocked(chat.getChatId()));
+    }
+
+    @Test
+    @DisplayName("getMessagesPage - pages older history by cursor")
+    void getMessagesPage_PagesHistory() {
+        String chatId = dao.createChat(Arrays.asList("alice", "bob")).getChatId();
+        for (int i = 0; i < 5; i++) {
+            dao.sendMessage(chatId, "alice", "m" + i);
+        }
+
+        MessagesPage latest = dao.getMessagesPage(chatId, null, 3);
+        assertEquals(Arrays.asList("m2", "m3", "m4"), contents(latest.getMessages()));
+        MessagesPage older = dao.getMessagesPage(chatId, latest.getOlderCursor(), 3);
+        assertEquals(Arrays.asList("m0", "m1"), contents(older.getMessages()));
+        assertFalse(older.hasOlder());
+        assertEquals(5, dao.getMessagesForChat(chatId).size());
+    }
+
+    @Test
+    @DisplayName("subscribeToMessages - delivers sends until closed")
+    void subscribeToMessages_DeliversUntilClosed() {
+        String chatId = dao.createChat(Arrays.asList("alice", "bob")).getChatId();
+        List<Message> received = new ArrayList<>();
+        MessageSubscription subscription = dao.subscribeToMessages(chatId, null, received::add);
+
+        dao.sendMessage(chatId, "bob", "hi");
+        subscription.close();
+        dao.sendMessage(chatId, "bob", "still there?");
+
+        assertEquals(Arrays.asList("hi"), contents(received));
+    }
+
+    private static List<String> contents(List<Message> messages) {
+        List<String> contents = new ArrayList<>();
+        for (Message message : messages) {
+            contents.add(message.getContent());
+        }
+        return contents;
+    }
+}
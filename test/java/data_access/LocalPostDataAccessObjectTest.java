@@ -0,0 +1,113 @@
+package data_access;
+
+import data_access.storage.LogRecordStore;
+import entity.CommonUser;
+import entity.Post;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import use_case.dashboard.PostsPage;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalPostDataAccessObjectTest {
+
+    @TempDir
+    Path directory;
+
+    private LogRecordStore store;
+    private LocalPostDataAccessObject dao;
+
+    @BeforeEach
+    void setUp() {
+        store = new LogRecordStore(directory, false);
+        dao = newDao();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private LocalPostDataAccessObject newDao() {
+        return new LocalPostDataAccessObject(store, new UserProfileCache(new LocalUserDataAccessObject(store)));
+    }
+
+    @Test
+    @DisplayName("addPost - assigns increasing IDs that survive a restart")
+    void addPost_PersistsAcrossRestart() {
+        Post wallet = dao.addPost("Black wallet", "near the library", Arrays.asList("wallet"), "Robarts", true, "alice");
+        Post keys = dao.addPost("Keys", "car keys", Arrays.asList("keys"), "Bahen", false, "bob");
+        assertEquals(wallet.getPostID() + 1, keys.getPostID());
+
+        store.close();
+        store = new LogRecordStore(directory, false);
+        dao = newDao();
+
+        assertEquals("Black wallet", dao.getPostById(wallet.getPostID()).getTitle());
+        assertEquals(2, dao.getAllPosts().size());
+        assertEquals(keys.getPostID() + 1, dao.addPost("Hat", "", null, "", true, "carol").getPostID());
+    }
+
+    @Test
+    @DisplayName("search - keyword and criteria search use the index")
+    void search() {
+        dao.addPost("Black wallet", "near the library", Arrays.asList("wallet"), "Robarts", true, "alice");
+        dao.addPost("Blue umbrella", "left after lecture", Arrays.asList("umbrella"), "Bahen", false, "bob");
+
+        assertEquals(1, dao.searchPosts("LIBRARY").size());
+        List<Post> found = dao.searchPostsByCriteria(null, "bahen", null, false);
+        assertEquals(1, found.size());
+        assertEquals("Blue umbrella", found.get(0).getTitle());
+        assertEquals(2, dao.searchPostsByCriteria("", "", null, null).size());
+    }
+
+    @Test
+    @DisplayName("editPost/deletePost - changes are persisted")
+    void editAndDelete() {
+        Post post = dao.addPost("Phone", "cracked screen", null, "Hart House", true, "alice");
+        String id = String.valueOf(post.getPostID());
+
+        assertTrue(dao.editPost(id, "iPhone", null, null, Arrays.asList("phone"), false));
+        assertFalse(dao.editPost("999", "x", null, null, null, true));
+        dao = newDao();
+        Post edited = dao.getPostById(id);
+        assertEquals("iPhone", edited.getTitle());
+        assertEquals("cracked screen", edited.getDescription());
+        assertFalse(edited.isLost());
+
+        dao.deletePost(id);
+        assertFalse(dao.existsPost(id));
+        assertFalse(newDao().existsPost(id));
+    }
+
+    @Test
+    @DisplayName("getPostsPage - pages newest first with cursors")
+    void paging() {
+        for (int i = 0; i < 5; i++) {
+            dao.addPost("Post " + i, "", null, "", true, "alice");
+        }
+
+        PostsPage first = dao.getPostsPage(null, 3);
+        assertEquals(3, first.getPosts().size());
+        assertTrue(first.hasMore());
+        PostsPage second = dao.getPostsPage(first.getNextCursor(), 3);
+        assertEquals(2, second.getPosts().size());
+        assertFalse(second.hasMore());
+    }
+
+    @Test
+    @DisplayName("updateUser - author profiles are stored locally")
+    void updateUser() {
+        CommonUser alice = new CommonUser("alice", "pw", false);
+        alice.setCredibilityScore(3);
+        assertTrue(dao.updateUser(alice));
+        assertEquals(3, ((CommonUser) dao.getUserByUsername("alice")).getCredibilityScore());
+    }
+}
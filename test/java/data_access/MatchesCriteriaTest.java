@@ -0,0 +1,50 @@
+package data_access;
+
+import entity.Post;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchesCriteriaTest {
+
+    private final Post wallet = new Post(1, "Lost Black Wallet", "left in the hall",
+            Arrays.asList("Wallet", "black"), LocalDateTime.now(), "alice", "Robarts Library",
+            null, true, 0, new HashMap<>());
+
+    @Test
+    @DisplayName("matchesCriteria - blank criteria match every post")
+    void blankCriteria_Match() {
+        assertTrue(FirebasePostDataAccessObject.matchesCriteria(wallet, null, "", null, null));
+        assertTrue(FirebasePostDataAccessObject.matchesCriteria(wallet, "", null, Collections.emptyList(), null));
+    }
+
+    @Test
+    @DisplayName("matchesCriteria - every criterion is a case-insensitive substring match")
+    void allCriteria_Match() {
+        assertTrue(FirebasePostDataAccessObject.matchesCriteria(wallet, "black", "library",
+                List.of("keys", "wall"), true));
+    }
+
+    @Test
+    @DisplayName("matchesCriteria - any failing criterion rejects the post")
+    void failingCriterion_Rejects() {
+        assertFalse(FirebasePostDataAccessObject.matchesCriteria(wallet, "phone", null, null, null));
+        assertFalse(FirebasePostDataAccessObject.matchesCriteria(wallet, null, "bahen", null, null));
+        assertFalse(FirebasePostDataAccessObject.matchesCriteria(wallet, null, null, List.of("keys"), null));
+        assertFalse(FirebasePostDataAccessObject.matchesCriteria(wallet, null, null, null, false));
+    }
+
+    @Test
+    @DisplayName("matchesCriteria - a post without tags fails a tag filter")
+    void noTags_FailsTagFilter() {
+        wallet.setTags(null);
+        assertFalse(FirebasePostDataAccessObject.matchesCriteria(wallet, null, null, List.of("wallet"), null));
+    }
+}
@@ -0,0 +1,115 @@
+package data_access;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PostIdAllocatorTest {
+
+    private DatabaseReference counterRef;
+    // Simulated server-side value of the counter node
+    private AtomicReference<Long> counter;
+    private AtomicInteger scans;
+
+    @BeforeEach
+    void setUp() {
+        counterRef = mock(DatabaseReference.class);
+        counter = new AtomicReference<>();
+        scans = new AtomicInteger();
+
+        doAnswer(invocation -> {
+            ValueEventListener listener = invocation.getArgument(0);
+            DataSnapshot snapshot = mock(DataSnapshot.class);
+            when(snapshot.exists()).thenReturn(counter.get() != null);
+            listener.onDataChange(snapshot);
+            return null;
+        }).when(counterRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
+
+        doAnswer(invocation -> {
+            Transaction.Handler handler = invocation.getArgument(0);
+            MutableData data = mock(MutableData.class);
+            AtomicReference<Object> written = new AtomicReference<>();
+            when(data.getValue(Long.class)).thenReturn(counter.get());
+            doAnswer(set -> {
+                written.set(set.getArgument(0));
+                return null;
+            }).when(data).setValue(any());
+            handler.doTransaction(data);
+            counter.set(((Number) written.get()).longValue());
+            DataSnapshot committed = mock(DataSnapshot.class);
+            when(committed.getValue(Long.class)).thenReturn(counter.get());
+            handler.onComplete(null, true, committed);
+            return null;
+        }).when(counterRef).runTransaction(any(Transaction.Handler.class));
+    }
+
+    @Test
+    @DisplayName("nextId - hands out a whole block per transaction")
+    void nextId_ReservesBlocks() {
+        counter.set(100L);
+        PostIdAllocator allocator = new PostIdAllocator(counterRef, scans::incrementAndGet, 4);
+
+        assertEquals(101, allocator.nextId());
+        assertEquals(102, allocator.nextId());
+        assertEquals(103, allocator.nextId());
+        assertEquals(104, allocator.nextId());
+        verify(counterRef, times(1)).runTransaction(any(Transaction.Handler.class));
+
+        assertEquals(105, allocator.nextId());
+        verify(counterRef, times(2)).runTransaction(any(Transaction.Handler.class));
+        assertEquals(108L, counter.get());
+        assertEquals(0, scans.get(), "An existing counter should not trigger a scan");
+    }
+
+    @Test
+    @DisplayName("nextId - seeds a missing counter from the highest existing post ID")
+    void nextId_SeedsMissingCounter() {
+        PostIdAllocator allocator = new PostIdAllocator(counterRef, () -> 41, 8);
+
+        assertEquals(42, allocator.nextId());
+        assertEquals(49L, counter.get());
+    }
+
+    @Test
+    @DisplayName("nextId - two clients never receive the same ID")
+    void nextId_ClientsDoNotCollide() {
+        counter.set(0L);
+        PostIdAllocator first = new PostIdAllocator(counterRef, () -> 0, 3);
+        PostIdAllocator second = new PostIdAllocator(counterRef, () -> 0, 3);
+
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(ids.add(first.nextId()));
+            assertTrue(ids.add(second.nextId()));
+        }
+    }
+
+    @Test
+    @DisplayName("nextId - throws when the transaction fails")
+    void nextId_TransactionError() {
+        counter.set(0L);
+        doAnswer(invocation -> {
+            Transaction.Handler handler = invocation.getArgument(0);
+            handler.onComplete(DatabaseError.fromException(new Exception("denied")), false, null);
+            return null;
+        }).when(counterRef).runTransaction(any(Transaction.Handler.class));
+        PostIdAllocator allocator = new PostIdAllocator(counterRef, () -> 0, 4);
+
+        assertThrows(IllegalStateException.class, allocator::nextId);
+    }
+}
@@ -0,0 +1,81 @@
+package data_access;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostKeyIndexTest {
+
+    private PostKeyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PostKeyIndex();
+    }
+
+    @Test
+    @DisplayName("put/get - maps post IDs to Firebase keys")
+    void putAndGet() {
+        index.put(1, "k1");
+        index.put(2, "k2");
+
+        assertEquals("k1", index.get(1));
+        assertEquals("k2", index.get(2));
+        assertNull(index.get(3));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("put - replaces an existing mapping")
+    void put_Replaces() {
+        index.put(7, "old");
+        index.put(7, "new");
+
+        assertEquals("new", index.get(7));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("remove - drops the mapping and keeps other entries reachable")
+    void remove_KeepsProbeChains() {
+        for (int i = 0; i < 40; i++) {
+            index.put(i, "k" + i);
+        }
+        assertEquals("k10", index.remove(10));
+
+        assertFalse(index.contains(10));
+        for (int i = 0; i < 40; i++) {
+            if (i != 10) {
+                assertEquals("k" + i, index.get(i));
+            }
+        }
+        assertEquals(39, index.size());
+    }
+
+    @Test
+    @DisplayName("grows and survives churn like a HashMap")
+    void matchesHashMapUnderChurn() {
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int id = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id), index.remove(id));
+            } else {
+                expected.put(id, "k" + i);
+                index.put(id, "k" + i);
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (int id = 0; id < 5000; id++) {
+            assertEquals(expected.get(id), index.get(id));
+        }
+    }
+}
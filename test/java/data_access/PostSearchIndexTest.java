@@ -0,0 +1,225 @@
+package data_access;
+
+import entity.Post;
+import entity.SearchDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import use_case.dashboard.FacetCounts;
+import use_case.dashboard.FacetFilter;
+import use_case.fuzzy_search.util.TermStatistics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostSearchIndexTest {
+
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PostSearchIndex();
+        index.add("k1", post(1, "Lost black wallet", "Leather wallet near the library", "Robarts Library",
+                Arrays.asList("wallet", "Leather"), true));
+        index.add("k2", post(2, "Found keys", "Has a wallet keychain", "Bahen Centre",
+                Collections.singletonList("keys"), false));
+        index.add("k3", post(3, "AirPods case", "White charging case", "Robarts Library",
+                Arrays.asList("earbuds", "apple"), true));
+    }
+
+    @Test
+    @DisplayName("search - matches substrings of title or description")
+    void search_MatchesTitleOrDescription() {
+        assertEquals(Arrays.asList(1, 2), ids(index.search("Wallet")));
+        assertEquals(Collections.singletonList(3), ids(index.search("airpod")));
+        assertEquals(Arrays.asList(1, 2, 3), ids(index.search("a")), "Short queries still match");
+        assertTrue(index.search("umbrella").isEmpty());
+    }
+
+    @Test
+    @DisplayName("searchByCriteria - intersects title, location, tag and lost filters")
+    void searchByCriteria_Intersects() {
+        assertEquals(Arrays.asList(1, 3), ids(index.searchByCriteria(null, "robarts", null, null)));
+        assertEquals(Collections.singletonList(1),
+                ids(index.searchByCriteria(null, "robarts", Collections.singletonList("leath"), null)));
+        assertEquals(Collections.singletonList(2), ids(index.searchByCriteria(null, null, null, false)));
+        assertEquals(Collections.singletonList(3), ids(index.searchByCriteria("case", "library", null, true)));
+        assertTrue(index.searchByCriteria("keys", null, null, true).isEmpty());
+    }
+
+    @Test
+    @DisplayName("add/remove - updates incrementally on edit and delete")
+    void incrementalUpdates() {
+        index.add("k2", post(2, "Found umbrella", "Blue umbrella", "Sidney Smith",
+                Collections.singletonList("umbrella"), false));
+        assertTrue(index.search("keychain").isEmpty(), "Old text should be unindexed on edit");
+        assertEquals(Collections.singletonList(2), ids(index.search("umbrella")));
+
+        index.remove("k1");
+        assertTrue(index.searchByCriteria(null, null, Collections.singletonList("wallet"), null).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("add/remove - posts sharing a postID under different keys are indexed separately")
+    void duplicatePostIds_IndexedByKey() {
+        index.add("k1-duplicate", post(1, "Found umbrella", "Blue umbrella", "Sidney Smith",
+                Collections.singletonList("umbrella"), false));
+        assertEquals(4, index.size());
+        assertEquals(Collections.singletonList(1), ids(index.search("umbrella")));
+        assertEquals(Collections.singletonList(1), ids(index.search("leather")));
+        assertEquals(4, index.getFacets(FacetFilter.all()).getTotal());
+
+        index.remove("k1");
+        assertTrue(index.search("leather").isEmpty());
+        assertEquals(Collections.singletonList(1), ids(index.search("umbrella")),
+                "Removing one post must not unindex the other");
+        assertEquals(3, index.getFacets(FacetFilter.all()).getTotal());
+    }
+
+    @Test
+    @DisplayName("agrees with a linear scan on a random corpus")
+    void agreesWithLinearScan() {
+        Random random = new Random(7);
+        String[] words = {"black", "wallet", "blue", "phone", "keys", "lib", "case", "bag", "red", "id"};
+        PostSearchIndex randomIndex = new PostSearchIndex();
+        List<Post> posts = new ArrayList<>();
+        for (int id = 0; id < 300; id++) {
+            Post post = post(id, phrase(random, words), phrase(random, words), phrase(random, words),
+                    Arrays.asList(words[random.nextInt(words.length)], words[random.nextInt(words.length)]),
+                    random.nextBoolean());
+            posts.add(post);
+            randomIndex.add("k" + id, post);
+        }
+
+        for (String query : Arrays.asList("black", "ck wa", "e", "ph", "lue pho", "zzz")) {
+            List<Integer> expected = posts.stream()
+                    .filter(p -> p.getTitle().toLowerCase().contains(query)
+                            || p.getDescription().toLowerCase().contains(query))
+                    .map(Post::getPostID).collect(Collectors.toList());
+            assertEquals(expected, ids(randomIndex.search(query)), query);
+
+            List<Integer> expectedCriteria = posts.stream()
+                    .filter(p -> p.getLocation().toLowerCase().contains(query))
+                    .filter(p -> p.getTags().stream().anyMatch(t -> t.contains("a")))
+                    .filter(Post::isLost)
+                    .map(Post::getPostID).collect(Collectors.toList());
+            assertEquals(expectedCriteria, ids(randomIndex.searchByCriteria(
+                    null, query, Collections.singletonList("a"), true)), query);
+        }
+    }
+
+    @Test
+    @DisplayName("getFacets - counts tags, locations, lost and resolved, kept current on edits")
+    void getFacets_CountsIncrementally() {
+        FacetCounts all = index.getFacets(FacetFilter.all());
+        assertEquals(3, all.getTotal());
+        assertEquals(2, all.getLost());
+        assertEquals(1, all.getFound());
+        assertEquals(0, all.getResolved());
+        assertEquals(Integer.valueOf(2), all.getLocationCounts().get("robarts library"));
+        assertEquals(Arrays.asList("robarts library", "bahen centre"),
+                new ArrayList<>(all.getLocationCounts().keySet()), "Most posts first");
+        assertEquals(Integer.valueOf(1), all.getTagCounts().get("leather"));
+
+        FacetCounts lostAtRobarts = index.getFacets(new FacetFilter(null, "robarts", null, true, null));
+        assertEquals(2, lostAtRobarts.getTotal());
+        assertEquals(Arrays.asList("apple", "earbuds", "leather", "wallet"),
+                new ArrayList<>(lostAtRobarts.getTagCounts().keySet()));
+        assertFalse(lostAtRobarts.getLocationCounts().containsKey("bahen centre"));
+
+        // Resolving is an edit that re-puts the post
+        Post resolved = post(3, "AirPods case", "White charging case", "Robarts Library",
+                Arrays.asList("earbuds", "apple"), true);
+        resolved.setResolved(true);
+        index.onPostPut("k3", null, resolved);
+        assertEquals(1, index.getFacets(FacetFilter.all()).getResolved());
+        assertEquals(2, index.getFacets(new FacetFilter(null, null, null, null, false)).getTotal());
+
+        index.onPostRemoved("k3", resolved);
+        FacetCounts afterDelete = index.getFacets(FacetFilter.all());
+        assertEquals(2, afterDelete.getTotal());
+        assertEquals(0, afterDelete.getResolved());
+        assertFalse(afterDelete.getTagCounts().containsKey("earbuds"));
+        assertEquals(Integer.valueOf(1), afterDelete.getLocationCounts().get("robarts library"));
+    }
+
+    @Test
+    @DisplayName("getFacets - agrees with counting a linear scan on a random corpus")
+    void getFacets_AgreesWithLinearScan() {
+        Random random = new Random(11);
+        String[] words = {"black", "wallet", "blue", "phone", "keys", "lib", "case", "bag", "red", "id"};
+        PostSearchIndex randomIndex = new PostSearchIndex();
+        List<Post> posts = new ArrayList<>();
+        for (int id = 0; id < 300; id++) {
+            Post post = post(id, phrase(random, words), phrase(random, words), words[random.nextInt(words.length)],
+                    Arrays.asList(words[random.nextInt(words.length)], words[random.nextInt(words.length)]),
+                    random.nextBoolean());
+            post.setResolved(random.nextInt(4) == 0);
+            posts.add(post);
+            randomIndex.add("k" + id, post);
+        }
+
+        List<FacetFilter> filters = Arrays.asList(
+                FacetFilter.all(),
+                FacetFilter.byTitle("bl"),
+                new FacetFilter("wallet", null, null, true, null),
+                new FacetFilter(null, "e", Collections.singletonList("a"), null, false),
+                new FacetFilter(null, null, null, false, true),
+                FacetFilter.byTitle("zzz"));
+        for (FacetFilter filter : filters) {
+            FacetCounts expected = FacetCounts.count(posts, filter);
+            FacetCounts actual = randomIndex.getFacets(filter);
+            assertEquals(expected.getTotal(), actual.getTotal());
+            assertEquals(expected.getLost(), actual.getLost());
+            assertEquals(expected.getResolved(), actual.getResolved());
+            assertEquals(new ArrayList<>(expected.getTagCounts().entrySet()),
+                    new ArrayList<>(actual.getTagCounts().entrySet()));
+            assertEquals(new ArrayList<>(expected.getLocationCounts().entrySet()),
+                    new ArrayList<>(actual.getLocationCounts().entrySet()));
+        }
+    }
+
+    @Test
+    @DisplayName("termStatistics - document frequencies and field lengths follow puts and removes")
+    void termStatistics_FollowPutsAndRemoves() {
+        TermStatistics statistics = index.termStatistics();
+        assertEquals(3, statistics.documentCount());
+        assertEquals(2, statistics.documentFrequency("wallet"));
+        assertEquals(2, statistics.documentFrequency("library"));
+        assertEquals(7.0 / 3, statistics.averageFieldLength(SearchDocument.TITLE), 1e-9);
+
+        index.onPostPut("k2", null, post(2, "Found keys", "Silver keychain", "Bahen Centre",
+                Collections.singletonList("keys"), false));
+        assertEquals(1, statistics.documentFrequency("wallet"), "Edited text should be uncounted");
+        assertEquals(1, statistics.documentFrequency("silver"));
+        assertEquals(3, statistics.documentCount());
+
+        index.onPostRemoved("k1", post(1, "", "", "", Collections.emptyList(), false));
+        assertEquals(0, statistics.documentFrequency("wallet"));
+        assertEquals(2, statistics.documentCount());
+        assertEquals(2.0, statistics.averageFieldLength(SearchDocument.TITLE), 1e-9);
+    }
+
+    private static String phrase(Random random, String[] words) {
+        return words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+    }
+
+    private static List<Integer> ids(List<Post> posts) {
+        return posts.stream().map(Post::getPostID).collect(Collectors.toList());
+    }
+
+    private static Post post(int id, String title, String description, String location,
+                             List<String> tags, boolean isLost) {
+        return new Post(id, title, description, tags, LocalDateTime.now(), "author",
+                location, null, isLost, 0, new HashMap<>());
+    }
+}
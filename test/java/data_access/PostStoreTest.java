@@ -0,0 +1,230 @@
+package data_access;
+
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+import entity.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PostStoreTest {
+
+    private PostStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new PostStore();
+    }
+
+    @Test
+    @DisplayName("attach - seeds from the initial value event and registers the child listener")
+    void attach_SeedsStore() {
+        Query query = mock(Query.class);
+        DataSnapshot root = mock(DataSnapshot.class);
+        DataSnapshot first = snapshot("k1", post(1, "Wallet", LocalDateTime.of(2024, 1, 2, 0, 0)));
+        DataSnapshot second = snapshot("k2", post(2, "Keys", LocalDateTime.of(2024, 1, 1, 0, 0)));
+        when(root.getChildren()).thenReturn(Arrays.asList(first, second));
+        doAnswer(invocation -> {
+            ValueEventListener listener = invocation.getArgument(0);
+            listener.onDataChange(root);
+            return null;
+        }).when(query).addListenerForSingleValueEvent(any(ValueEventListener.class));
+
+        store.attach(query);
+
+        verify(query).addChildEventListener(store);
+        assertTrue(store.awaitSeeded(1, TimeUnit.SECONDS));
+        assertTrue(store.isLive());
+        List<Post> posts = store.getAllPosts();
+        assertEquals(2, posts.size());
+        assertEquals("Keys", posts.get(0).getTitle(), "Posts should be ordered by timestamp");
+    }
+
+    @Test
+    @DisplayName("child events - apply add, change and remove deltas")
+    void childEvents_ApplyDeltas() {
+        ChildEventListener listener = store;
+        listener.onChildAdded(snapshot("k1", post(1, "Wallet", LocalDateTime.now())), null);
+        assertEquals("Wallet", store.findByPostId(1).getTitle());
+
+        listener.onChildChanged(snapshot("k1", post(1, "Black Wallet", LocalDateTime.now())), null);
+        assertEquals("Black Wallet", store.get("k1").getTitle());
+        assertEquals(1, store.size());
+
+        listener.onChildRemoved(snapshot("k1", null));
+        assertNull(store.get("k1"));
+        assertTrue(store.getAllPosts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("getAllPosts - returns a copy callers may mutate")
+    void getAllPosts_ReturnsCopy() {
+        store.put("k1", post(1, "Wallet", LocalDateTime.now()));
+        store.getAllPosts().clear();
+        assertEquals(1, store.getAllPosts().size());
+    }
+
+    @Test
+    @DisplayName("reads - return copies, so edits reach the replica only through a put")
+    void reads_ReturnCopies() {
+        store.put("k1", post(1, "Wallet", LocalDateTime.now()));
+        long version = store.version();
+
+        store.get("k1").setTitle("Edited");
+        store.findByPostId(1).setResolved(true);
+        store.getAllPosts().get(0).setTitle("Edited");
+        store.newestBefore(null, null, 1).get(0).getValue().setTitle("Edited");
+
+        assertEquals("Wallet", store.get("k1").getTitle());
+        assertFalse(store.get("k1").isResolved());
+        assertEquals(version, store.version());
+    }
+
+    @Test
+    @DisplayName("version - moves on with every put and remove")
+    void version_ChangesWithEveryDelta() {
+        long initial = store.version();
+        store.put("k1", post(1, "Wallet", LocalDateTime.now()));
+        long afterPut = store.version();
+        store.remove("missing");
+        assertEquals(afterPut, store.version());
+        store.remove("k1");
+
+        assertTrue(initial > 0);
+        assertTrue(afterPut > initial);
+        assertTrue(store.version() > afterPut);
+    }
+
+    @Test
+    @DisplayName("detach - stops serving live reads")
+    void detach_StopsLiveReads() {
+        Query query = mock(Query.class);
+        store.attach(query);
+        store.seed(new ArrayList<>());
+        assertTrue(store.isLive());
+
+        store.detach();
+
+        verify(query).removeEventListener(store);
+        assertFalse(store.isLive());
+    }
+
+    @Test
+    @DisplayName("seed - puts only children the child events have not delivered")
+    void seed_SkipsDeliveredChildren() {
+        List<Post> indexed = new ArrayList<>();
+        store.addListener(new PostStore.Listener() {
+            public void onPostPut(String key, Post previous, Post post) { indexed.add(post); }
+            public void onPostRemoved(String key, Post post) { }
+        });
+        Post wallet = post(1, "Wallet", LocalDateTime.now());
+        store.onChildAdded(snapshot("k1", wallet), null);
+        long version = store.version();
+
+        store.seed(Arrays.asList(snapshot("k1", wallet), snapshot("k2", post(2, "Keys", LocalDateTime.now()))));
+
+        assertEquals(2, indexed.size(), "Each post should reach the listeners once");
+        assertEquals(version + 1, store.version());
+        assertTrue(store.isSeeded());
+    }
+
+    @Test
+    @DisplayName("onCancelled - a cancelled initial load releases waiters and never goes live")
+    void cancelledInitialLoad_FallsBack() {
+        Query query = mock(Query.class);
+        doAnswer(invocation -> {
+            ValueEventListener listener = invocation.getArgument(0);
+            listener.onCancelled(DatabaseError.fromException(new Exception("Permission denied")));
+            return null;
+        }).when(query).addListenerForSingleValueEvent(any(ValueEventListener.class));
+
+        store.attach(query);
+
+        assertTrue(store.isSeeded(), "Waiters should not sit out the timeout");
+        assertFalse(store.awaitSeeded(1, TimeUnit.SECONDS));
+        assertFalse(store.isLive());
+        verify(query).removeEventListener(store);
+    }
+
+    @Test
+    @DisplayName("onCancelled - a cancelled live listener stops serving reads from the replica")
+    void cancelledListener_StopsLiveReads() {
+        Query query = mock(Query.class);
+        store.attach(query);
+        store.seed(new ArrayList<>());
+        assertTrue(store.isLive());
+
+        store.onCancelled(DatabaseError.fromException(new Exception("Disconnected")));
+
+        assertFalse(store.isLive());
+        verify(query).removeEventListener(store);
+    }
+
+    @Test
+    @DisplayName("onCancelled - clears the postID index, which no longer follows deletes")
+    void cancelledListener_ClearsKeyIndex() {
+        PostKeyIndex keyIndex = new PostKeyIndex();
+        store = new PostStore(keyIndex);
+        store.attach(mock(Query.class));
+        store.seed(Arrays.asList(snapshot("k1", post(1, "Wallet", LocalDateTime.of(2024, 1, 1, 0, 0)))));
+        assertEquals("k1", keyIndex.get(1));
+
+        store.onCancelled(DatabaseError.fromException(new Exception("Disconnected")));
+
+        assertEquals(0, keyIndex.size());
+    }
+
+    @Test
+    @DisplayName("newestBefore - pages newest first, breaking timestamp ties by key")
+    void newestBefore_PagesNewestFirst() {
+        LocalDateTime sameTime = LocalDateTime.of(2024, 1, 2, 0, 0);
+        store.put("k1", post(1, "Oldest", LocalDateTime.of(2024, 1, 1, 0, 0)));
+        store.put("k3", post(3, "Tie B", sameTime));
+        store.put("k2", post(2, "Tie A", sameTime));
+        store.put("k4", post(4, "Newest", LocalDateTime.of(2024, 1, 3, 0, 0)));
+
+        List<Map.Entry<String, Post>> first = store.newestBefore(null, null, 2);
+        assertEquals(Arrays.asList("k4", "k3"), keys(first));
+
+        Map.Entry<String, Post> last = first.get(1);
+        List<Map.Entry<String, Post>> second = store.newestBefore(last.getValue().getTimestamp(), last.getKey(), 2);
+        assertEquals(Arrays.asList("k2", "k1"), keys(second));
+
+        assertTrue(store.newestBefore(second.get(1).getValue().getTimestamp(), "k1", 2).isEmpty());
+    }
+
+    private static List<String> keys(List<Map.Entry<String, Post>> entries) {
+        List<String> keys = new ArrayList<>();
+        for (Map.Entry<String, Post> entry : entries) {
+            keys.add(entry.getKey());
+        }
+        return keys;
+    }
+
+    private static DataSnapshot snapshot(String key, Post post) {
+        DataSnapshot snapshot = mock(DataSnapshot.class);
+        when(snapshot.getKey()).thenReturn(key);
+        when(snapshot.getValue(Post.class)).thenReturn(post);
+        return snapshot;
+    }
+
+    private static Post post(int id, String title, LocalDateTime timestamp) {
+        return new Post(id, title, "desc", new ArrayList<>(), timestamp, "author",
+                "Library", null, true, 0, new HashMap<>());
+    }
+}
@@ -0,0 +1,104 @@
+package data_access;
+
+import entity.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestionIndex();
+    }
+
+    @Test
+    @DisplayName("suggest - most frequent first, then alphabetical, ignoring case")
+    void suggest_RanksByCount() {
+        index.add("wallet");
+        index.add("watch");
+        index.add("watch");
+        index.add("water bottle");
+        index.add("keys");
+
+        assertEquals(Arrays.asList("watch", "wallet", "water bottle"), index.suggest("WA", 10));
+        assertEquals(Collections.singletonList("watch"), index.suggest("wa", 1));
+        assertEquals(Collections.emptyList(), index.suggest("x", 10));
+    }
+
+    @Test
+    @DisplayName("remove - lowers counts and forgets terms with none left")
+    void remove_UpdatesRanking() {
+        index.add("watch");
+        index.add("watch");
+        index.add("wallet");
+        index.remove("watch");
+        index.remove("watch");
+
+        assertEquals(Collections.singletonList("wallet"), index.suggest("w", 10));
+        assertFalse(index.contains("watch"));
+        assertEquals(1, index.size());
+
+        index.remove("wallet");
+        index.remove("unknown");
+        assertEquals(Collections.emptyList(), index.suggest("w", 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("suggest - keeps the top terms of a prefix shared by more terms than fit")
+    void suggest_KeepsTopTermsUnderCap() {
+        for (int i = 0; i < 30; i++) {
+            for (int j = 0; j <= i; j++) {
+                index.add("item" + i);
+            }
+        }
+
+        List<String> suggestions = index.suggest("item", 100);
+        assertEquals(SuggestionIndex.MAX_SUGGESTIONS, suggestions.size());
+        assertEquals("item29", suggestions.get(0));
+        assertEquals("item20", suggestions.get(SuggestionIndex.MAX_SUGGESTIONS - 1));
+
+        // Dropping the leader promotes the next best from below the cap
+        for (int j = 0; j < 30; j++) {
+            index.remove("item29");
+        }
+        suggestions = index.suggest("item", 100);
+        assertEquals("item28", suggestions.get(0));
+        assertEquals("item19", suggestions.get(SuggestionIndex.MAX_SUGGESTIONS - 1));
+    }
+
+    @Test
+    @DisplayName("store listener - counts title words, tags and location once per post")
+    void storeListener_TracksPosts() {
+        PostStore store = new PostStore();
+        store.addListener(index);
+        store.put("k1", post(1, "Black wallet, black strap", "Library", Arrays.asList("Leather")));
+        store.put("k2", post(2, "Blue water bottle", "Library", Collections.emptyList()));
+
+        assertEquals(Arrays.asList("library", "leather"), index.suggest("l", 10));
+        assertEquals(Arrays.asList("black", "blue", "bottle"), index.suggest("b", 10));
+
+        store.put("k1", post(1, "Brown wallet", "Cafeteria", Collections.emptyList()));
+        assertEquals(Arrays.asList("blue", "bottle", "brown"), index.suggest("b", 10));
+        assertEquals(Collections.singletonList("library"), index.suggest("l", 10));
+
+        store.remove("k2");
+        assertEquals(Collections.singletonList("brown"), index.suggest("b", 10));
+    }
+
+    private static Post post(int id, String title, String location, List<String> tags) {
+        return new Post(id, title, "", tags, LocalDateTime.now(), "author",
+                location, null, true, 0, new HashMap<>());
+    }
+}
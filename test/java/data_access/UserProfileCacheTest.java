@@ -0,0 +1,160 @@
+package data_access;
+
+import entity.CommonUser;
+import entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import use_case.login.LoginUserDataAccessInterface;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserProfileCacheTest {
+
+    private static final long TTL = 1_000;
+
+    private LoginUserDataAccessInterface users;
+    private AtomicLong now;
+    private UserProfileCache cache;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        users = mock(LoginUserDataAccessInterface.class);
+        now = new AtomicLong(10_000);
+        cache = new UserProfileCache(users, TTL, now::get);
+        alice = new CommonUser("alice", "pw", false);
+        bob = new CommonUser("bob", "pw", false);
+        when(users.getAsync("alice")).thenReturn(CompletableFuture.completedFuture(alice));
+        when(users.getAsync("bob")).thenReturn(CompletableFuture.completedFuture(bob));
+        when(users.getAsync("ghost")).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    @DisplayName("getUserAsync - serves a fresh profile from the cache")
+    void getUserAsync_CachedWithinTtl() {
+        assertSame(alice, cache.getUserAsync("alice").join());
+        now.addAndGet(TTL - 1);
+        assertSame(alice, cache.getUserAsync("alice").join());
+
+        verify(users, times(1)).getAsync("alice");
+    }
+
+    @Test
+    @DisplayName("getUserAsync - reads again once the profile expires")
+    void getUserAsync_ExpiresAfterTtl() {
+        cache.getUserAsync("alice").join();
+        now.addAndGet(TTL);
+        cache.getUserAsync("alice").join();
+
+        verify(users, times(2)).getAsync("alice");
+    }
+
+    @Test
+    @DisplayName("getUserAsync - concurrent lookups share one read")
+    void getUserAsync_CoalescesPendingReads() {
+        CompletableFuture<User> read = new CompletableFuture<>();
+        when(users.getAsync("carol")).thenReturn(read);
+
+        CompletableFuture<User> first = cache.getUserAsync("carol");
+        CompletableFuture<User> second = cache.getUserAsync("carol");
+        assertFalse(first.isDone());
+
+        User carol = new CommonUser("carol", "pw", false);
+        read.complete(carol);
+
+        assertSame(carol, first.join());
+        assertSame(carol, second.join());
+        verify(users, times(1)).getAsync("carol");
+    }
+
+    @Test
+    @DisplayName("getUsers - returns existing users and skips missing and failed ones")
+    void getUsers_Bulk() {
+        when(users.getAsync("broken")).thenReturn(CompletableFuture.failedFuture(new RuntimeException("offline")));
+
+        Map<String, User> found = cache.getUsers(Arrays.asList("alice", "bob", "ghost", "broken", null, "alice")).join();
+
+        assertEquals(2, found.size());
+        assertSame(alice, found.get("alice"));
+        assertSame(bob, found.get("bob"));
+        verify(users, times(1)).getAsync("alice");
+    }
+
+    @Test
+    @DisplayName("refresh - bypasses the cached profile")
+    void refresh_ReadsThrough() {
+        cache.getUserAsync("alice").join();
+
+        assertSame(alice, cache.refresh("alice"));
+        verify(users, times(2)).getAsync("alice");
+    }
+
+    @Test
+    @DisplayName("refresh - does not publish the profile it returns")
+    void refresh_DoesNotCache() {
+        User refreshed = cache.refresh("alice");
+        refreshed.addCredibilityPoints(1);
+
+        assertEquals(0, cache.size());
+        cache.getUserAsync("alice").join();
+        verify(users, times(2)).getAsync("alice");
+    }
+
+    @Test
+    @DisplayName("save - writes through and is not overwritten by an older pending read")
+    void save_WinsOverPendingRead() {
+        CompletableFuture<User> read = new CompletableFuture<>();
+        when(users.getAsync("carol")).thenReturn(read);
+        CompletableFuture<User> pending = cache.getUserAsync("carol");
+
+        User saved = new CommonUser("carol", "new", false);
+        now.incrementAndGet();
+        cache.save(saved);
+        read.complete(new CommonUser("carol", "old", false));
+        pending.join();
+
+        verify(users).save(saved);
+        assertSame(saved, cache.getUserAsync("carol").join());
+    }
+
+    @Test
+    @DisplayName("capacity - evicts the least recently used profile when full")
+    void capacity_EvictsLeastRecentlyUsed() {
+        cache = new UserProfileCache(users, TTL, 2, now::get);
+        cache.getUserAsync("alice").join();
+        cache.getUserAsync("bob").join();
+        cache.getUserAsync("alice").join();
+        cache.getUserAsync("ghost").join();
+
+        assertEquals(2, cache.size());
+        cache.getUserAsync("alice").join();
+        cache.getUserAsync("bob").join();
+        verify(users, times(1)).getAsync("alice");
+        verify(users, times(2)).getAsync("bob");
+    }
+
+    @Test
+    @DisplayName("capacity - writes sweep out expired profiles")
+    void capacity_WritesSweepExpired() {
+        cache.getUserAsync("alice").join();
+        cache.getUserAsync("bob").join();
+        now.addAndGet(TTL);
+        cache.getUserAsync("ghost").join();
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("capacity - must be positive")
+    void capacity_MustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new UserProfileCache(users, TTL, 0, now::get));
+    }
+}
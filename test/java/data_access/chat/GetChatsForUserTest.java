@@ -25,6 +25,15 @@ class GetChatsForUserTest {
     @Mock
     private DatabaseReference mockMessagesRef;
 
+    @Mock
+    private DatabaseReference mockUserChatsRef;
+
+    @Mock
+    private DatabaseReference mockRootRef;
+
+    @Mock
+    private DatabaseReference mockMarkerRef;
+
     @Captor
     private ArgumentCaptor<ValueEventListener> listenerCaptor;
 
@@ -39,6 +48,9 @@ class GetChatsForUserTest {
             mockedFirebaseDatabase.when(FirebaseDatabase::getInstance).thenReturn(mockFirebaseDatabase);
             when(mockFirebaseDatabase.getReference("chats")).thenReturn(mockChatsRef);
             when(mockFirebaseDatabase.getReference("messages")).thenReturn(mockMessagesRef);
+            when(mockFirebaseDatabase.getReference("userChats")).thenReturn(mockUserChatsRef);
+            when(mockFirebaseDatabase.getReference()).thenReturn(mockRootRef);
+            when(mockRootRef.child(FirebaseChatDataAccessObject.INDEX_MARKER_PATH)).thenReturn(mockMarkerRef);
 
             chatDAO = new FirebaseChatDataAccessObject();
         }
@@ -48,31 +60,27 @@ class GetChatsForUserTest {
     void getChatsForUser_returnsFilteredChats() {
         // Prepare test data
         String username = "testUser";
-
-        // Setup mock behavior using doAnswer
-        doAnswer(invocation -> {
-            // Capture the listener to trigger it manually
-            ValueEventListener listener = invocation.getArgument(0);
-
-            // Create mock DataSnapshots for testing
-            DataSnapshot mockDataSnapshot = mock(DataSnapshot.class);
-            DataSnapshot chatSnapshot1 = mock(DataSnapshot.class);
-            DataSnapshot chatSnapshot2 = mock(DataSnapshot.class);
-
-            // Setup Chat objects with proper LocalDateTime
-            LocalDateTime now = LocalDateTime.now();
-            Chat chat1 = new Chat("chat1", Arrays.asList("testUser", "otherUser"), now, false);
-            Chat chat2 = new Chat("chat2", Arrays.asList("anotherUser", "someUser"), now, false);
-
-            // Connect mocks
-            when(mockDataSnapshot.getChildren()).thenReturn(Arrays.asList(chatSnapshot1, chatSnapshot2));
-            when(chatSnapshot1.getValue(Chat.class)).thenReturn(chat1);
-            when(chatSnapshot2.getValue(Chat.class)).thenReturn(chat2);
-
-            // Trigger the listener
-            listener.onDataChange(mockDataSnapshot);
-            return null;
-        }).when(mockChatsRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
+        LocalDateTime now = LocalDateTime.now();
+        Chat chat1 = new Chat("chat1", Arrays.asList("testUser", "otherUser"), now, false);
+
+        // The index marker exists, so chats are listed from userChats/testUser
+        DataSnapshot marker = mock(DataSnapshot.class);
+        when(marker.exists()).thenReturn(true);
+        respond(mockMarkerRef, marker);
+
+        DatabaseReference userIndexRef = mock(DatabaseReference.class);
+        when(mockUserChatsRef.child(username)).thenReturn(userIndexRef);
+        DataSnapshot entry = mock(DataSnapshot.class);
+        when(entry.getKey()).thenReturn("chat1");
+        DataSnapshot index = mock(DataSnapshot.class);
+        when(index.getChildren()).thenReturn(Arrays.asList(entry));
+        respond(userIndexRef, index);
+
+        DatabaseReference chatRef = mock(DatabaseReference.class);
+        when(mockChatsRef.child("chat1")).thenReturn(chatRef);
+        DataSnapshot chatSnapshot = mock(DataSnapshot.class);
+        when(chatSnapshot.getValue(Chat.class)).thenReturn(chat1);
+        respond(chatRef, chatSnapshot);
 
         // Execute method under test
         List<Chat> result = chatDAO.getChatsForUser(username);
@@ -97,7 +105,7 @@ class GetChatsForUserTest {
             // Trigger error callback
             listener.onCancelled(mockError);
             return null;
-        }).when(mockChatsRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
+        }).when(mockMarkerRef).addListenerForSingleValueEvent(any(ValueEventListener.class));
 
         // Execute method under test
         List<Chat> result = chatDAO.getChatsForUser(username);
@@ -106,4 +114,12 @@ class GetChatsForUserTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    private static void respond(Query ref, DataSnapshot snapshot) {
+        doAnswer(invocation -> {
+            ValueEventListener listener = invocation.getArgument(0);
+            listener.onDataChange(snapshot);
+            return null;
+        }).when(ref).addListenerForSingleValueEvent(any(ValueEventListener.class));
+    }
+}
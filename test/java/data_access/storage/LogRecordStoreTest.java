@@ -0,0 +1,123 @@
+package data_access.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRecordStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private LogRecordStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LogRecordStore(directory, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("put/get/delete - records are kept per collection")
+    void putGetDelete() {
+        store.put("users", "alice", "{\"name\":\"alice\"}");
+        store.put("posts", "alice", "post");
+        store.put("users", "alice", "{\"name\":\"alice\",\"admin\":true}");
+
+        assertEquals("{\"name\":\"alice\",\"admin\":true}", store.get("users", "alice"));
+        assertEquals("post", store.get("posts", "alice"));
+        assertTrue(store.delete("users", "alice"));
+        assertFalse(store.delete("users", "alice"));
+        assertNull(store.get("users", "alice"));
+        assertTrue(store.keys("users").isEmpty());
+    }
+
+    @Test
+    @DisplayName("keys/getAll - list a collection in key order")
+    void keysInOrder() {
+        store.put("messages/c1", "msg_3", "c");
+        store.put("messages/c1", "msg_1", "a");
+        store.put("messages/c1", "msg_2", "b");
+        store.put("messages/c2", "msg_0", "other chat");
+
+        assertEquals(Arrays.asList("msg_1", "msg_2", "msg_3"), store.keys("messages/c1"));
+        Map<String, String> all = store.getAll("messages/c1");
+        assertEquals(Arrays.asList("a", "b", "c"), List.copyOf(all.values()));
+    }
+
+    @Test
+    @DisplayName("reopen - replays the log, including deletes and non-ASCII values")
+    void reopenReplaysLog() {
+        store.put("users", "alice", "first");
+        store.put("users", "bob", "bøb ✓");
+        store.put("users", "alice", "second");
+        store.delete("users", "carol");
+        store.delete("users", "bob");
+        store.close();
+
+        store = new LogRecordStore(directory, true);
+        assertEquals("second", store.get("users", "alice"));
+        assertNull(store.get("users", "bob"));
+        assertEquals(List.of("alice"), store.keys("users"));
+    }
+
+    @Test
+    @DisplayName("reopen - a torn final record is dropped and the log stays writable")
+    void reopenTruncatesTornTail() throws IOException {
+        store.put("users", "alice", "kept");
+        long goodBytes = store.logBytes();
+        store.put("users", "bob", "lost in a crash");
+        store.close();
+        try (FileChannel log = FileChannel.open(directory.resolve(LogRecordStore.LOG_FILE),
+                StandardOpenOption.WRITE)) {
+            log.truncate(log.size() - 3);
+        }
+
+        store = new LogRecordStore(directory, false);
+        assertEquals("kept", store.get("users", "alice"));
+        assertNull(store.get("users", "bob"));
+        assertEquals(goodBytes, Files.size(directory.resolve(LogRecordStore.LOG_FILE)));
+
+        store.put("users", "bob", "again");
+        store.close();
+        store = new LogRecordStore(directory, false);
+        assertEquals("again", store.get("users", "bob"));
+    }
+
+    @Test
+    @DisplayName("compaction - rewriting one key repeatedly keeps the log small")
+    void compactsWastefulLog() {
+        char[] filler = new char[4096];
+        Arrays.fill(filler, 'x');
+        String value = new String(filler);
+        for (int i = 0; i < 600; i++) {
+            store.put("posts", "0000000001", value + i);
+        }
+        store.put("posts", "0000000002", "other");
+
+        assertTrue(store.logBytes() < 1024 * 1024, "log was not compacted: " + store.logBytes());
+        assertEquals(value + 599, store.get("posts", "0000000001"));
+
+        store.close();
+        store = new LogRecordStore(directory, false);
+        assertEquals(value + 599, store.get("posts", "0000000001"));
+        assertEquals("other", store.get("posts", "0000000002"));
+    }
+}
@@ -0,0 +1,59 @@
+package entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchDocumentTest {
+
+    private Post post() {
+        return new Post(1, "Lost Black Wallet", "Left it near the wallet stand", Arrays.asList("Wallet", null, "Black"),
+                LocalDateTime.now(), "alice", "Robarts Library", null, true, 0, new HashMap<>());
+    }
+
+    @Test
+    @DisplayName("Fields are lowercased and split into distinct tokens")
+    void fields_AreNormalized() {
+        SearchDocument document = post().searchDocument();
+
+        assertEquals("lost black wallet", document.title());
+        assertEquals("robarts library", document.location());
+        assertEquals("wallet null black", document.text(SearchDocument.TAGS));
+        assertEquals(List.of("wallet", "black"), document.tags());
+        assertArrayEquals(new String[] {"left", "it", "near", "the", "wallet", "stand"},
+                document.tokens(SearchDocument.DESCRIPTION));
+    }
+
+    @Test
+    @DisplayName("Missing fields become empty text")
+    void missingFields_AreEmpty() {
+        SearchDocument document = new Post().searchDocument();
+
+        assertEquals("", document.title());
+        assertEquals(0, document.tokens(SearchDocument.TITLE).length);
+        assertTrue(document.tags().isEmpty());
+    }
+
+    @Test
+    @DisplayName("The document is reused until a searchable field is set")
+    void document_RebuiltOnlyAfterEdit() {
+        Post post = post();
+        SearchDocument first = post.searchDocument();
+
+        post.setNumberOfLikes(3);
+        assertSame(first, post.searchDocument());
+
+        post.setTitle("Found Phone");
+        SearchDocument edited = post.searchDocument();
+        assertNotSame(first, edited);
+        assertEquals("found phone", edited.title());
+        assertFalse(first.describes(post));
+        assertTrue(edited.describes(post));
+    }
+}
@@ -0,0 +1,54 @@
+package metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Empty histogram reports zeros")
+    void empty_ReportsZeros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(0.99));
+        assertEquals(0.0, histogram.mean());
+    }
+
+    @Test
+    @DisplayName("Percentiles are within one bucket width of the exact value")
+    void percentiles_WithinBucketWidth() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(10_000, histogram.count());
+        assertEquals(10_000, histogram.max());
+        assertEquals(5_000.5, histogram.mean(), 0.001);
+        // Buckets are 1/16 of a power of two wide, so at most 6.25% above the exact value
+        assertInRange(5_000, histogram.percentile(0.50));
+        assertInRange(9_500, histogram.percentile(0.95));
+        assertInRange(9_900, histogram.percentile(0.99));
+        assertEquals(10_000, histogram.percentile(1.0));
+    }
+
+    @Test
+    @DisplayName("Every value falls inside its bucket's range")
+    void buckets_ContainTheirValues() {
+        for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value <= LatencyHistogram.upperBound(bucket), "value " + value);
+            if (bucket > 0) {
+                assertTrue(value > LatencyHistogram.upperBound(bucket - 1), "value " + value);
+            }
+        }
+    }
+
+    private static void assertInRange(final long exact, final long actual) {
+        assertTrue(actual >= exact && actual <= exact + exact / 16,
+                "expected about " + exact + " but was " + actual);
+    }
+}
@@ -0,0 +1,159 @@
+package metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    interface Lookup {
+        List<String> find(String query);
+        CompletableFuture<String> findLater(String query);
+    }
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    @DisplayName("Instrumented calls are recorded with their result size")
+    void instrument_RecordsCallsAndPayload() {
+        Lookup lookup = registry.instrument(Lookup.class, new Lookup() {
+            @Override
+            public List<String> find(final String query) {
+                return List.of(query, query);
+            }
+
+            @Override
+            public CompletableFuture<String> findLater(final String query) {
+                return CompletableFuture.completedFuture(query);
+            }
+        }, "Lookup");
+
+        assertEquals(List.of("a", "a"), lookup.find("a"));
+        lookup.find("b");
+
+        OperationSnapshot snapshot = only(registry.snapshot());
+        assertEquals("Lookup.find", snapshot.getName());
+        assertEquals(2, snapshot.getCalls());
+        assertEquals(0, snapshot.getErrors());
+        assertEquals(2.0, snapshot.getMeanPayload());
+    }
+
+    @Test
+    @DisplayName("Exceptions are counted as errors and rethrown unchanged")
+    void instrument_CountsErrors() {
+        Lookup lookup = registry.instrument(Lookup.class, new Lookup() {
+            @Override
+            public List<String> find(final String query) {
+                throw new IllegalStateException("offline");
+            }
+
+            @Override
+            public CompletableFuture<String> findLater(final String query) {
+                return null;
+            }
+        }, "Lookup");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> lookup.find("a"));
+        assertEquals("offline", thrown.getMessage());
+        assertEquals(1, only(registry.snapshot()).getErrors());
+    }
+
+    @Test
+    @DisplayName("Asynchronous calls are recorded when their future completes")
+    void instrument_RecordsFuturesOnCompletion() throws Exception {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        Lookup lookup = registry.instrument(Lookup.class, new Lookup() {
+            @Override
+            public List<String> find(final String query) {
+                return List.of();
+            }
+
+            @Override
+            public CompletableFuture<String> findLater(final String query) {
+                return pending;
+            }
+        }, "Lookup");
+
+        CompletableFuture<String> result = lookup.findLater("a");
+        assertTrue(registry.snapshot().isEmpty());
+
+        pending.completeExceptionally(new TimeoutException());
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        OperationSnapshot snapshot = only(registry.snapshot());
+        assertEquals("Lookup.findLater", snapshot.getName());
+        assertEquals(1, snapshot.getErrors());
+        assertEquals(1, snapshot.getTimeouts());
+    }
+
+    @Test
+    @DisplayName("Timeouts a call handles itself count once reported, however long the call took")
+    void reportTimeout_CountsHandledTimeouts() {
+        Lookup lookup = registry.instrument(Lookup.class, new Lookup() {
+            @Override
+            public List<String> find(final String query) {
+                if (query.equals("slow")) {
+                    MetricsRegistry.reportIfTimeout(new RuntimeException(new TimeoutException()));
+                }
+                return List.of();
+            }
+
+            @Override
+            public CompletableFuture<String> findLater(final String query) {
+                return CompletableFuture.completedFuture(query);
+            }
+        }, "Lookup");
+
+        lookup.find("slow");
+        lookup.find("fast");
+        MetricsRegistry.reportTimeout();
+        registry.record("Dao.get", TimeUnit.SECONDS.toNanos(30), null, -1);
+
+        List<OperationSnapshot> snapshots = registry.snapshot();
+        assertEquals("Dao.get", snapshots.get(0).getName());
+        assertEquals(0, snapshots.get(0).getTimeouts(), "A slow call is not a timeout by itself");
+        assertEquals("Lookup.find", snapshots.get(1).getName());
+        assertEquals(2, snapshots.get(1).getCalls());
+        assertEquals(0, snapshots.get(1).getErrors());
+        assertEquals(1, snapshots.get(1).getTimeouts());
+    }
+
+    @Test
+    @DisplayName("Sized results such as pages record their item count as payload")
+    void payloadSize_UsesSizedResults() {
+        assertEquals(3, InstrumentedInvocationHandler.payloadSize((SizedResult) () -> 3));
+        assertEquals(2, InstrumentedInvocationHandler.payloadSize(List.of("a", "b")));
+        assertEquals(-1, InstrumentedInvocationHandler.payloadSize(new Object()));
+    }
+
+    @Test
+    @DisplayName("Dump writes a table with one row per operation")
+    void dump_WritesTable(@TempDir final Path directory) throws IOException {
+        registry.record("Dao.get", 1_000_000, null, 3);
+        registry.record("Interactor.execute", 2_000_000, null, -1);
+        Path file = directory.resolve("metrics/metrics.txt");
+
+        registry.dump(file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(1).startsWith("operation"));
+        assertTrue(lines.get(2).startsWith("Dao.get"));
+        assertTrue(lines.get(3).startsWith("Interactor.execute"));
+    }
+
+    private static OperationSnapshot only(final List<OperationSnapshot> snapshots) {
+        assertEquals(1, snapshots.size());
+        return snapshots.get(0);
+    }
+}
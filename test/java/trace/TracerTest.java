@@ -0,0 +1,125 @@
+package trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracerTest {
+
+    private final List<TraceEvent> events = new CopyOnWriteArrayList<>();
+    private Appender previous;
+
+    @BeforeEach
+    void setUp() {
+        previous = Tracing.appender();
+        Tracing.setAppender(new Appender() {
+            @Override
+            public void append(final TraceEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public void flush() {
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        Tracing.configure(new Properties());
+        Tracing.setAppender(previous);
+    }
+
+    @Test
+    @DisplayName("Templates are filled in order and extra placeholders are kept")
+    void format_FillsPlaceholders() {
+        assertEquals("a=1, b=x", Tracer.format("a={}, b={}", 1, "x"));
+        assertEquals("1 and {}", Tracer.format("{} and {}", 1));
+        assertEquals("no args", Tracer.format("no args"));
+        assertEquals("null", Tracer.format("{}", (Object) null));
+    }
+
+    @Test
+    @DisplayName("Disabled levels neither format nor append")
+    void disabledLevel_DoesNoWork() {
+        Tracing.configure(levels("trace.level", "INFO"));
+        Tracer tracer = Tracing.tracer("trace.test.Quiet");
+        Object expensive = new Object() {
+            @Override
+            public String toString() {
+                fail("argument formatted while disabled");
+                return "";
+            }
+        };
+
+        tracer.debug("value {}", expensive);
+        tracer.info("kept {}", 1);
+
+        assertFalse(tracer.isDebugEnabled());
+        assertEquals(1, events.size());
+        assertEquals("kept 1", events.get(0).getMessage());
+        assertEquals(Level.INFO, events.get(0).getLevel());
+    }
+
+    @Test
+    @DisplayName("The most specific package or class setting wins, also for existing tracers")
+    void configure_MostSpecificSettingWins() {
+        Tracer dao = Tracing.tracer("trace.test.dao.PostDao");
+        Tracer view = Tracing.tracer("trace.test.view.Dashboard$1");
+
+        Tracing.configure(levels("trace.level", "WARN", "trace.level.trace.test.dao", "DEBUG",
+                "trace.level.trace.test.view.Dashboard", "OFF"));
+
+        assertEquals(Level.DEBUG, dao.getLevel());
+        assertEquals(Level.OFF, view.getLevel());
+        assertEquals(Level.WARN, Tracing.tracer("trace.test.Other").getLevel());
+        view.error("never written");
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Async appender writes events in order off the calling thread")
+    void asyncAppender_WritesInOrder() {
+        List<String> threads = new ArrayList<>();
+        List<String> messages = new CopyOnWriteArrayList<>();
+        AsyncAppender async = new AsyncAppender(new Appender() {
+            @Override
+            public void append(final TraceEvent event) {
+                threads.add(Thread.currentThread().getName());
+                messages.add(event.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+        });
+
+        for (int i = 0; i < 100; i++) {
+            async.append(new TraceEvent(0, Level.INFO, "t", "main", "m" + i));
+        }
+        async.close();
+
+        assertEquals(100, messages.size());
+        assertEquals("m0", messages.get(0));
+        assertEquals("m99", messages.get(99));
+        assertTrue(threads.stream().allMatch("trace-writer"::equals));
+        async.append(new TraceEvent(0, Level.INFO, "t", "main", "late"));
+        assertEquals(1, async.droppedCount());
+    }
+
+    private static Properties levels(final String... keysAndValues) {
+        Properties properties = new Properties();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            properties.setProperty(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return properties;
+    }
+}
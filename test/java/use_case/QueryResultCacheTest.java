@@ -0,0 +1,83 @@
+package use_case;
+
+import entity.Post;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QueryResultCache.
+ */
+class QueryResultCacheTest {
+
+    private static Post post(int id) {
+        Post post = new Post();
+        post.setPostID(id);
+        return post;
+    }
+
+    @Test
+    void repeatedQuery_isServedFromCacheUntilVersionChanges() {
+        QueryResultCache cache = new QueryResultCache(4);
+        AtomicInteger searches = new AtomicInteger();
+        List<Post> results = Arrays.asList(post(1), post(2));
+
+        cache.get(QueryResultCache.FUZZY_MODE, "Phone", 5, () -> { searches.incrementAndGet(); return results; });
+        List<Post> again = cache.get(QueryResultCache.FUZZY_MODE, "  phone ", 5,
+                () -> { searches.incrementAndGet(); return results; });
+        assertEquals(1, searches.get());
+        assertEquals(results, again);
+
+        cache.get(QueryResultCache.FUZZY_MODE, "phone", 6, () -> { searches.incrementAndGet(); return results; });
+        assertEquals(2, searches.get());
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void modesAreCachedSeparately() {
+        QueryResultCache cache = new QueryResultCache(4);
+        cache.put(QueryResultCache.KEYWORD_MODE, "wallet", 1, Collections.singletonList(post(1)));
+
+        assertNull(cache.lookup(QueryResultCache.FUZZY_MODE, "wallet", 1));
+        assertEquals(1, cache.lookup(QueryResultCache.KEYWORD_MODE, "wallet", 1).size());
+    }
+
+    @Test
+    void leastRecentlyUsedQueryIsEvicted() {
+        QueryResultCache cache = new QueryResultCache(2);
+        cache.put(QueryResultCache.KEYWORD_MODE, "a", 1, Collections.emptyList());
+        cache.put(QueryResultCache.KEYWORD_MODE, "b", 1, Collections.emptyList());
+        assertNotNull(cache.lookup(QueryResultCache.KEYWORD_MODE, "a", 1));
+        cache.put(QueryResultCache.KEYWORD_MODE, "c", 1, Collections.emptyList());
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.lookup(QueryResultCache.KEYWORD_MODE, "a", 1));
+        assertNull(cache.lookup(QueryResultCache.KEYWORD_MODE, "b", 1));
+    }
+
+    @Test
+    void unversionedResults_areNeverCached() {
+        QueryResultCache cache = new QueryResultCache(2);
+        cache.put(QueryResultCache.KEYWORD_MODE, "a", QueryResultCache.UNVERSIONED, Collections.emptyList());
+
+        assertEquals(0, cache.size());
+        assertNull(cache.lookup(QueryResultCache.KEYWORD_MODE, "a", QueryResultCache.UNVERSIONED));
+    }
+
+    @Test
+    void callersGetCopiesTheyMayModify() {
+        QueryResultCache cache = new QueryResultCache(2);
+        cache.put(QueryResultCache.KEYWORD_MODE, "a", 1, new ArrayList<>(Arrays.asList(post(1), post(2))));
+
+        List<Post> first = cache.get(QueryResultCache.KEYWORD_MODE, "a", 1, Collections::emptyList);
+        first.clear();
+        assertEquals(2, cache.get(QueryResultCache.KEYWORD_MODE, "a", 1, Collections::emptyList).size());
+    }
+}
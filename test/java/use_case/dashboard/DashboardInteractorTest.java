@@ -11,6 +11,7 @@ import org.mockito.ArgumentCaptor;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -96,6 +97,134 @@ class DashboardInteractorTest {
         }
     }
 
+    @Nested
+    @DisplayName("Load Posts Page Tests")
+    class LoadPostsPageTests {
+
+        @Test
+        @DisplayName("First page also loads the author's posts")
+        void loadFirstPage_LoadsMyPosts() {
+            // Arrange
+            PostsPage page = new PostsPage(postList, "cursor-1");
+            List<Post> myPosts = Arrays.asList(post2);
+            when(dashboardDataAccessObject.getPostsPage(null, 20)).thenReturn(page);
+            when(dashboardDataAccessObject.getPostsByAuthor("testUser")).thenReturn(myPosts);
+            DashboardInputData inputData = new DashboardInputData("load_posts_page", null, 20, "testUser");
+
+            // Act
+            dashboardInteractor.execute(inputData);
+
+            // Assert
+            ArgumentCaptor<DashboardOutputData> outputDataCaptor = ArgumentCaptor.forClass(DashboardOutputData.class);
+            verify(dashboardOutputBoundary).prepareSuccessView(outputDataCaptor.capture());
+            DashboardOutputData outputData = outputDataCaptor.getValue();
+            assertEquals(postList, outputData.getPosts());
+            assertEquals("cursor-1", outputData.getNextCursor());
+            assertFalse(outputData.isAppendedPage());
+            assertEquals(myPosts, outputData.getMyPosts());
+            verify(dashboardDataAccessObject, never()).getAllPosts();
+        }
+
+        @Test
+        @DisplayName("Later pages are appended and skip the author's posts")
+        void loadNextPage_Appends() {
+            // Arrange
+            when(dashboardDataAccessObject.getPostsPage("cursor-1", 20))
+                .thenReturn(new PostsPage(Arrays.asList(post2), null));
+            DashboardInputData inputData = new DashboardInputData("load_posts_page", "cursor-1", 20, "testUser");
+
+            // Act
+            dashboardInteractor.execute(inputData);
+
+            // Assert
+            ArgumentCaptor<DashboardOutputData> outputDataCaptor = ArgumentCaptor.forClass(DashboardOutputData.class);
+            verify(dashboardOutputBoundary).prepareSuccessView(outputDataCaptor.capture());
+            DashboardOutputData outputData = outputDataCaptor.getValue();
+            assertTrue(outputData.isAppendedPage());
+            assertNull(outputData.getNextCursor());
+            assertNull(outputData.getMyPosts());
+            verify(dashboardDataAccessObject, never()).getPostsByAuthor(anyString());
+        }
+
+        @Test
+        @DisplayName("Default paging walks getAllPosts newest first")
+        void defaultPaging_UsesAllPosts() {
+            // Arrange
+            DashboardUserDataAccessInterface fake = mock(DashboardUserDataAccessInterface.class, CALLS_REAL_METHODS);
+            Post older = new Post();
+            older.setTimestamp("2024-01-01T10:00:00");
+            Post newer = new Post();
+            newer.setTimestamp("2024-02-01T10:00:00");
+            doReturn(new ArrayList<>(Arrays.asList(older, newer))).when(fake).getAllPosts();
+
+            // Act
+            PostsPage first = fake.getPostsPage(null, 1);
+            PostsPage second = fake.getPostsPage(first.getNextCursor(), 1);
+
+            // Assert
+            assertEquals(Arrays.asList(newer), first.getPosts());
+            assertTrue(first.hasMore());
+            assertEquals(Arrays.asList(older), second.getPosts());
+            assertFalse(second.hasMore());
+        }
+    }
+
+    @Nested
+    @DisplayName("Async Execution Tests")
+    class AsyncExecutionTests {
+
+        @Test
+        @DisplayName("First page and My Posts are loaded together")
+        void executeAsync_LoadPostsPage_CombinesReads() {
+            // Arrange
+            PostsPage page = new PostsPage(postList, "cursor-1");
+            when(dashboardDataAccessObject.getPostsPageAsync(null, 20))
+                .thenReturn(CompletableFuture.completedFuture(page));
+            when(dashboardDataAccessObject.getPostsByAuthorAsync("testUser"))
+                .thenReturn(CompletableFuture.completedFuture(Arrays.asList(post1)));
+
+            // Act
+            dashboardInteractor.executeAsync(new DashboardInputData("load_posts_page", null, 20, "testUser")).join();
+
+            // Assert
+            ArgumentCaptor<DashboardOutputData> outputDataCaptor = ArgumentCaptor.forClass(DashboardOutputData.class);
+            verify(dashboardOutputBoundary).prepareSuccessView(outputDataCaptor.capture());
+            DashboardOutputData outputData = outputDataCaptor.getValue();
+            assertEquals(postList, outputData.getPosts());
+            assertEquals("cursor-1", outputData.getNextCursor());
+            assertEquals(Arrays.asList(post1), outputData.getMyPosts());
+            verify(dashboardDataAccessObject, never()).getPostsPage(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Failed read is reported through the fail view")
+        void executeAsync_LoadPostsPage_Failure() {
+            // Arrange
+            when(dashboardDataAccessObject.getPostsPageAsync("cursor-1", 20))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Database error")));
+
+            // Act
+            dashboardInteractor.executeAsync(new DashboardInputData("load_posts_page", "cursor-1", 20, "testUser")).join();
+
+            // Assert
+            ArgumentCaptor<DashboardOutputData> outputDataCaptor = ArgumentCaptor.forClass(DashboardOutputData.class);
+            verify(dashboardOutputBoundary).prepareFailView(outputDataCaptor.capture());
+            assertEquals("An error occurred: Database error", outputDataCaptor.getValue().getError());
+            verify(dashboardOutputBoundary, never()).prepareSuccessView(any());
+        }
+
+        @Test
+        @DisplayName("Other actions run the synchronous use case off the caller thread")
+        void executeAsync_LoadPosts_FallsBackToExecute() {
+            // Act
+            dashboardInteractor.executeAsync(new DashboardInputData("load_posts")).join();
+
+            // Assert
+            verify(dashboardDataAccessObject).getAllPosts();
+            verify(dashboardOutputBoundary).prepareSuccessView(any(DashboardOutputData.class));
+        }
+    }
+
     @Nested
     @DisplayName("Search Posts Tests")
     class SearchPostsTests {
@@ -241,6 +370,54 @@ class DashboardInteractorTest {
         }
     }
 
+    @Nested
+    @DisplayName("Load Facets Tests")
+    class LoadFacetsTests {
+
+        @Test
+        @DisplayName("Facets are counted by the data access layer for the filter")
+        void loadFacets_UsesDataAccessCounts() {
+            FacetFilter filter = FacetFilter.byTitle("wallet");
+            FacetCounts facets = new FacetCounts(3, 2, 1, new java.util.HashMap<>(), new java.util.HashMap<>());
+            when(dashboardDataAccessObject.getFacets(filter)).thenReturn(facets);
+
+            dashboardInteractor.execute(new DashboardInputData("load_facets", filter));
+
+            ArgumentCaptor<DashboardOutputData> outputDataCaptor = ArgumentCaptor.forClass(DashboardOutputData.class);
+            verify(dashboardOutputBoundary).prepareSuccessView(outputDataCaptor.capture());
+            assertSame(facets, outputDataCaptor.getValue().getFacets());
+            assertNull(outputDataCaptor.getValue().getPosts());
+            verify(dashboardDataAccessObject, never()).getAllPosts();
+        }
+
+        @Test
+        @DisplayName("The default counts every post matching the filter")
+        void loadFacets_DefaultScansPosts() {
+            Post lost = new Post(1, "Black wallet", "", Arrays.asList("Leather"), java.time.LocalDateTime.now(),
+                "author", "Library", null, true, 0, new java.util.HashMap<>());
+            Post found = new Post(2, "Blue wallet", "", Arrays.asList("leather", "blue"), java.time.LocalDateTime.now(),
+                "author", "Cafeteria", null, false, 0, new java.util.HashMap<>());
+            found.setResolved(true);
+            Post other = new Post(3, "Keys", "", new ArrayList<>(), java.time.LocalDateTime.now(),
+                "author", "Library", null, true, 0, new java.util.HashMap<>());
+            DashboardUserDataAccessInterface scanning = mock(DashboardUserDataAccessInterface.class, CALLS_REAL_METHODS);
+            doReturn(Arrays.asList(lost, found, other)).when(scanning).getAllPosts();
+
+            new DashboardInteractor(scanning, dashboardOutputBoundary)
+                .execute(new DashboardInputData("load_facets", FacetFilter.byTitle("WALLET")));
+
+            ArgumentCaptor<DashboardOutputData> outputDataCaptor = ArgumentCaptor.forClass(DashboardOutputData.class);
+            verify(dashboardOutputBoundary).prepareSuccessView(outputDataCaptor.capture());
+            FacetCounts facets = outputDataCaptor.getValue().getFacets();
+            assertEquals(2, facets.getTotal());
+            assertEquals(1, facets.getLost());
+            assertEquals(1, facets.getFound());
+            assertEquals(1, facets.getResolved());
+            assertEquals(Arrays.asList("leather", "blue"), new ArrayList<>(facets.getTagCounts().keySet()));
+            assertEquals(Integer.valueOf(2), facets.getTagCounts().get("leather"));
+        }
+    }
+
     @Nested
     @DisplayName("Add Post Tests")
     class AddPostTests {
@@ -1,6 +1,7 @@
 package use_case.dms;
 
 import entity.Chat;
+import entity.Message;
 import entity.User;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -10,9 +11,12 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -197,7 +201,8 @@ public class DMsInteractorTest {
         Chat realChat = new Chat("c9", List.of(USER_A, USER_B), LocalDateTime.now(), false);
 
         when(dao.getChatById(CHAT_ID)).thenReturn(realChat);
-        when(dao.getMessagesForChat(CHAT_ID)).thenReturn(emptyList());
+        when(dao.getMessagesPage(CHAT_ID, null, DMsInteractor.MESSAGE_PAGE_SIZE))
+            .thenReturn(new MessagesPage(emptyList(), null));
 
         interactor.loadMessages(new DMsInputData(CHAT_ID, USER_A));
 
@@ -209,6 +214,131 @@ public class DMsInteractorTest {
         assertNull(presenter.lastLoadMessagesData.getError());
     }
 
+    // ---------- loadMessagesAsync ----------
+
+    @Test
+    @DisplayName("loadMessagesAsync: chat and messages are combined -> presenter receives both")
+    void loadMessagesAsync_success() {
+        Chat realChat = new Chat("c9", List.of(USER_A, USER_B), LocalDateTime.now(), false);
+
+        when(dao.getChatByIdAsync(CHAT_ID)).thenReturn(CompletableFuture.completedFuture(realChat));
+        when(dao.getMessagesPageAsync(CHAT_ID, null, DMsInteractor.MESSAGE_PAGE_SIZE))
+            .thenReturn(CompletableFuture.completedFuture(new MessagesPage(emptyList(), null)));
+
+        interactor.loadMessagesAsync(new DMsInputData(CHAT_ID, USER_A)).join();
+
+        assertEquals(1, presenter.loadMessagesCalled);
+        assertSame(realChat, presenter.lastLoadMessagesData.getCurrentChat());
+        assertTrue(presenter.lastLoadMessagesData.getMessages().isEmpty());
+        assertNull(presenter.lastLoadMessagesData.getError());
+    }
+
+    @Test
+    @DisplayName("loadMessagesAsync: failed read -> presenter receives the underlying error")
+    void loadMessagesAsync_failure() {
+        when(dao.getChatByIdAsync(CHAT_ID)).thenReturn(CompletableFuture.failedFuture(new RuntimeException("offline")));
+        when(dao.getMessagesPageAsync(CHAT_ID, null, DMsInteractor.MESSAGE_PAGE_SIZE))
+            .thenReturn(CompletableFuture.completedFuture(new MessagesPage(emptyList(), null)));
+
+        interactor.loadMessagesAsync(new DMsInputData(CHAT_ID, USER_A)).join();
+
+        assertEquals(1, presenter.loadMessagesCalled);
+        assertEquals("Failed to load messages: offline", presenter.lastLoadMessagesData.getError());
+    }
+
+    // ---------- live updates & history paging ----------
+
+    @Test
+    @DisplayName("loadMessages: subscribes after the newest shown message and forwards new messages")
+    void loadMessages_subscribesToNewMessages() {
+        Chat realChat = new Chat(CHAT_ID, List.of(USER_A, USER_B), LocalDateTime.now(), false);
+        Message shown = new Message("m1", CHAT_ID, USER_B, "hi", LocalDateTime.now(), false);
+        when(dao.getChatById(CHAT_ID)).thenReturn(realChat);
+        when(dao.getMessagesPage(CHAT_ID, null, DMsInteractor.MESSAGE_PAGE_SIZE))
+            .thenReturn(new MessagesPage(List.of(shown), "m1"));
+        List<Consumer<Message>> listeners = new ArrayList<>();
+        when(dao.subscribeToMessages(eq(CHAT_ID), eq("m1"), any())).thenAnswer(invocation -> {
+            listeners.add(invocation.getArgument(2));
+            return (MessageSubscription) () -> { };
+        });
+
+        interactor.loadMessages(new DMsInputData(CHAT_ID, USER_A));
+        Message arrived = new Message("m2", CHAT_ID, USER_B, "there?", LocalDateTime.now(), false);
+        listeners.get(0).accept(arrived);
+
+        assertEquals("m1", presenter.lastLoadMessagesData.getOlderCursor());
+        assertEquals(1, presenter.newMessagesCalled);
+        assertEquals(List.of(arrived), presenter.lastNewMessagesData.getMessages());
+        verify(dao, never()).getMessagesForChat(anyString());
+    }
+
+    @Test
+    @DisplayName("loadMessages: opening another chat closes the previous subscription")
+    void loadMessages_replacesSubscription() {
+        Chat realChat = new Chat(CHAT_ID, List.of(USER_A, USER_B), LocalDateTime.now(), false);
+        when(dao.getChatById(anyString())).thenReturn(realChat);
+        when(dao.getMessagesPage(anyString(), isNull(), anyInt())).thenReturn(new MessagesPage(emptyList(), null));
+        MessageSubscription first = mock(MessageSubscription.class);
+        MessageSubscription second = mock(MessageSubscription.class);
+        when(dao.subscribeToMessages(anyString(), isNull(), any())).thenReturn(first, second);
+
+        interactor.loadMessages(new DMsInputData(CHAT_ID, USER_A));
+        interactor.loadMessages(new DMsInputData("chat-2", USER_A));
+        verify(first).close();
+        verify(second, never()).close();
+
+        interactor.closeMessages();
+        verify(second).close();
+    }
+
+    @Test
+    @DisplayName("sendMessage: only the sent message is presented; the chat is not reloaded")
+    void sendMessage_presentsOnlySentMessage() {
+        Message sent = new Message("m3", CHAT_ID, USER_A, "hi", LocalDateTime.now(), false);
+        when(dao.sendMessage(CHAT_ID, USER_A, "hi")).thenReturn(sent);
+
+        interactor.sendMessage(new DMsInputData(CHAT_ID, USER_A, "hi"));
+
+        assertEquals(List.of(sent), presenter.lastSendMessageData.getMessages());
+        verify(dao, never()).getMessagesForChat(anyString());
+    }
+
+    @Test
+    @DisplayName("loadOlderMessages: reads the page before the cursor")
+    void loadOlderMessages_usesCursor() {
+        Message older = new Message("m0", CHAT_ID, USER_B, "earlier", LocalDateTime.now(), false);
+        when(dao.getMessagesPage(CHAT_ID, "m1", DMsInteractor.MESSAGE_PAGE_SIZE))
+            .thenReturn(new MessagesPage(List.of(older), null));
+        DMsInputData inputData = new DMsInputData(CHAT_ID, USER_A);
+        inputData.setBeforeMessageId("m1");
+
+        interactor.loadOlderMessages(inputData);
+
+        assertEquals(1, presenter.olderMessagesCalled);
+        assertEquals(List.of(older), presenter.lastOlderMessagesData.getMessages());
+        assertNull(presenter.lastOlderMessagesData.getOlderCursor());
+    }
+
+    @Test
+    @DisplayName("getMessagesPage default: pages backwards through getMessagesForChat")
+    void defaultMessagesPage_walksHistory() {
+        DMsUserDataAccessInterface fake = mock(DMsUserDataAccessInterface.class, CALLS_REAL_METHODS);
+        List<Message> all = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            all.add(new Message("m" + i, CHAT_ID, USER_A, "text " + i, LocalDateTime.now(), false));
+        }
+        doReturn(all).when(fake).getMessagesForChat(CHAT_ID);
+
+        MessagesPage latest = fake.getMessagesPage(CHAT_ID, null, 2);
+        MessagesPage middle = fake.getMessagesPage(CHAT_ID, latest.getOlderCursor(), 2);
+        MessagesPage first = fake.getMessagesPage(CHAT_ID, middle.getOlderCursor(), 2);
+
+        assertEquals(all.subList(3, 5), latest.getMessages());
+        assertEquals(all.subList(1, 3), middle.getMessages());
+        assertEquals(all.subList(0, 1), first.getMessages());
+        assertFalse(first.hasOlder());
+    }
+
     // ---------- simple pass-through & guards ----------
 
     @Test
@@ -258,11 +388,15 @@ public class DMsInteractorTest {
         private int loadMessagesCalled;
         private int sendMessageCalled;
         private int createChatCalled;
+        private int newMessagesCalled;
+        private int olderMessagesCalled;
 
         private DMsOutputData lastLoadChatsData;
         private DMsOutputData lastLoadMessagesData;
         private DMsOutputData lastSendMessageData;
         private DMsOutputData lastCreateChatData;
+        private DMsOutputData lastNewMessagesData;
+        private DMsOutputData lastOlderMessagesData;
 
         @Override
         public void prepareLoadChatsView(final DMsOutputData outputData) {
@@ -287,5 +421,17 @@ public class DMsInteractorTest {
             this.createChatCalled++;
             this.lastCreateChatData = outputData;
         }
+
+        @Override
+        public void prepareNewMessagesView(final DMsOutputData outputData) {
+            this.newMessagesCalled++;
+            this.lastNewMessagesData = outputData;
+        }
+
+        @Override
+        public void prepareOlderMessagesView(final DMsOutputData outputData) {
+            this.olderMessagesCalled++;
+            this.lastOlderMessagesData = outputData;
+        }
     }
 }
@@ -134,4 +134,21 @@ class FuzzySearchInteractorTest {
         assertTrue(out.getMessage().toLowerCase().contains("error"));
         assertTrue(out.getMessage().contains("DAO down"));
     }
+
+    @Test
+    void execute_repeatedQuery_isServedFromCacheUntilPostsChange() {
+        List<Post> all = Collections.singletonList(
+                makePost(1, "Lost Phone", "black iPhone", Collections.singletonList("electronics"), "Library"));
+        when(dao.getAllPosts()).thenReturn(all);
+        when(dao.getPostsVersion()).thenReturn(7L);
+
+        interactor.execute(new FuzzySearchInputData("phone"));
+        interactor.execute(new FuzzySearchInputData("Phone "));
+        verify(dao, times(1)).getAllPosts();
+        verify(presenter, times(2)).prepareSuccessView(any());
+
+        when(dao.getPostsVersion()).thenReturn(8L);
+        interactor.execute(new FuzzySearchInputData("phone"));
+        verify(dao, times(2)).getAllPosts();
+    }
 }
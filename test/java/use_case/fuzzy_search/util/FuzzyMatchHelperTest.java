@@ -52,6 +52,17 @@ class FuzzyMatchHelperTest {
         assertEquals("Cellphone", results.get(0).getTitle());
     }
 
+    @Test
+    void multiWordSynonym_inUnquotedQuery() {
+        List<Post> posts = new ArrayList<>();
+        posts.add(createPost("Power adapter", "White USB-C brick", List.of("electronics"), "Lab"));
+        posts.add(createPost("Scarf", "Wool scarf", List.of("clothing"), "Gym"));
+
+        var results = FuzzyMatchHelper.fuzzyMatchPosts(posts, "lost charging cable");
+        assertEquals(1, results.size());
+        assertEquals("Power adapter", results.get(0).getTitle());
+    }
+
     @Test
     void spellingTolerance_onTitle() {
         List<Post> posts = new ArrayList<>();
@@ -94,4 +105,149 @@ class FuzzyMatchHelperTest {
         assertTrue(r1.stream().anyMatch(p -> p.getTitle().equals("USB Drive")));
         assertTrue(r1.stream().anyMatch(p -> p.getTitle().equals("Charger")));
     }
+
+    @Test
+    void multiWordSynonym_matchesPhrase() {
+        List<Post> posts = new ArrayList<>();
+        posts.add(createPost("Keys", "Found near the car keys box", List.of("misc"), "Parking"));
+        posts.add(createPost("Wallet", "Brown leather", List.of("accessory"), "Cafeteria"));
+
+        var results = FuzzyMatchHelper.fuzzyMatchPosts(posts, "keychain");
+        assertEquals(1, results.size());
+        assertEquals("Keys", results.get(0).getTitle());
+    }
+
+    @Test
+    void editedPost_isRescored() {
+        List<Post> posts = new ArrayList<>();
+        posts.add(createPost("Umbrella", "Red umbrella", List.of("weather"), "Cafe"));
+        assertTrue(FuzzyMatchHelper.fuzzyMatchPosts(posts, "phone").isEmpty());
+
+        posts.get(0).setTitle("Phone");
+        var results = FuzzyMatchHelper.fuzzyMatchPosts(posts, "phone");
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    void limit_returnsBestResultsInRankOrder() {
+        List<Post> posts = new ArrayList<>();
+        posts.add(createPost("Bag", "Phone inside", List.of("accessory"), "Library"));
+        posts.add(createPost("Phone", "Black phone", List.of("phone"), "Gym"));
+        posts.add(createPost("Case", "Phone case", List.of("accessory"), "Cafe"));
+        posts.add(createPost("Phone charger", "White cable", List.of("electronics"), "Lab"));
+
+        var all = FuzzyMatchHelper.fuzzyMatchPosts(posts, "phone");
+        var top = FuzzyMatchHelper.fuzzyMatchPosts(posts, "phone", 2);
+
+        assertEquals(4, all.size());
+        assertEquals("Phone", all.get(0).getTitle());
+        assertEquals(all.subList(0, 2), top);
+        // Equal scores keep the order of the searched list
+        assertEquals(List.of("Bag", "Case"), List.of(all.get(2).getTitle(), all.get(3).getTitle()));
+    }
+
+    @Test
+    void rareKeyword_outranksCommonOne() {
+        List<Post> posts = new ArrayList<>();
+        posts.add(createPost("Black scarf", "Wool", List.of("clothing"), "Gym"));
+        posts.add(createPost("Black umbrella", "Folding", List.of("weather"), "Cafe"));
+        posts.add(createPost("Black wallet", "Leather", List.of("accessory"), "Library"));
+        posts.add(createPost("Passport", "Black cover", List.of("documents"), "Lab"));
+
+        // "passport" occurs once and "black" everywhere, so the passport wins despite a title match on black
+        var results = FuzzyMatchHelper.fuzzyMatchPosts(posts, "black passport");
+        assertEquals(4, results.size());
+        assertEquals("Passport", results.get(0).getTitle());
+    }
+
+    @Test
+    void shorterField_outranksLongerOne() {
+        List<Post> posts = new ArrayList<>();
+        posts.add(createPost("Bag", "Left a phone in the lecture hall near the window", List.of("misc"), "Hall"));
+        posts.add(createPost("Case", "Phone case", List.of("misc"), "Hall"));
+
+        var results = FuzzyMatchHelper.fuzzyMatchPosts(posts, "phone");
+        assertEquals(List.of("Case", "Bag"), List.of(results.get(0).getTitle(), results.get(1).getTitle()));
+    }
+
+    @Test
+    void fieldBoosts_changeWhichFieldWins() {
+        List<Post> posts = new ArrayList<>();
+        posts.add(createPost("Phone", "Found it", List.of("misc"), "Gym"));
+        posts.add(createPost("Item", "Found it", List.of("misc"), "Phone"));
+
+        try {
+            assertEquals("Phone", FuzzyMatchHelper.fuzzyMatchPosts(posts, "phone").get(0).getTitle());
+            FuzzyMatchHelper.setFieldBoosts("title=1, location=10");
+            assertEquals(10, FuzzyMatchHelper.getFieldBoost("location"));
+            assertEquals(3, FuzzyMatchHelper.getFieldBoost("tags"));
+            assertEquals("Item", FuzzyMatchHelper.fuzzyMatchPosts(posts, "phone").get(0).getTitle());
+        } finally {
+            FuzzyMatchHelper.setFieldBoosts("");
+        }
+        assertThrows(IllegalArgumentException.class, () -> FuzzyMatchHelper.setFieldBoosts("colour=2"));
+        assertThrows(IllegalArgumentException.class, () -> FuzzyMatchHelper.setFieldBoosts("title=-1"));
+        assertEquals(4, FuzzyMatchHelper.getFieldBoost("title"));
+    }
+
+    @Test
+    void nonPositiveLimit_isRejected() {
+        List<Post> posts = List.of(createPost("Phone", "Black phone", List.of("phone"), "Gym"));
+        assertThrows(IllegalArgumentException.class, () -> FuzzyMatchHelper.fuzzyMatchPosts(posts, "phone", 0));
+    }
+
+    @Test
+    void maintainedStatistics_rankLikeCountedOnes() {
+        String[] words = {"phone", "wallet", "keys", "laptop", "black", "blue", "library"};
+        java.util.Random random = new java.util.Random(3);
+        List<Post> posts = new ArrayList<>();
+        TermStatistics statistics = new TermStatistics();
+        for (int i = 0; i < 200; i++) {
+            Post post = createPost(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)],
+                    "found " + words[random.nextInt(words.length)], List.of(words[random.nextInt(words.length)]),
+                    words[random.nextInt(words.length)] + " hall");
+            post.setPostID(i);
+            posts.add(post);
+            statistics.add(post.searchDocument());
+        }
+
+        for (String query : List.of("phon", "blak wallet", "\"blue hall\"")) {
+            assertEquals(FuzzyMatchHelper.fuzzyMatchPosts(posts, query),
+                    FuzzyMatchHelper.fuzzyMatchPosts(posts, query, Integer.MAX_VALUE, statistics, 1), query);
+        }
+
+        // A new version is indexed again without comparing the posts
+        Post umbrella = createPost("Umbrella", "Red umbrella", List.of("rain"), "Gym");
+        umbrella.setPostID(200);
+        posts.add(umbrella);
+        statistics.add(umbrella.searchDocument());
+        assertEquals(List.of(umbrella),
+                FuzzyMatchHelper.fuzzyMatchPosts(posts, "umbrela", Integer.MAX_VALUE, statistics, 2));
+    }
+
+    @Test
+    void parallelScoring_matchesSequentialResults() {
+        String[] words = {"phone", "wallet", "keys", "laptop", "umbrella", "charger", "black", "blue", "library"};
+        java.util.Random random = new java.util.Random(7);
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+            posts.add(createPost(title, "found " + words[random.nextInt(words.length)],
+                    List.of(words[random.nextInt(words.length)]), words[random.nextInt(words.length)] + " hall"));
+        }
+
+        int threshold = FuzzyMatchHelper.getParallelThreshold();
+        try {
+            for (String query : List.of("phon", "blak wallet", "\"blue hall\"")) {
+                FuzzyMatchHelper.setParallelThreshold(Integer.MAX_VALUE);
+                var sequential = FuzzyMatchHelper.fuzzyMatchPosts(posts, query);
+                var sequentialTop = FuzzyMatchHelper.fuzzyMatchPosts(posts, query, 25);
+                FuzzyMatchHelper.setParallelThreshold(1);
+                assertEquals(sequential, FuzzyMatchHelper.fuzzyMatchPosts(posts, query), query);
+                assertEquals(sequentialTop, FuzzyMatchHelper.fuzzyMatchPosts(posts, query, 25), query);
+            }
+        } finally {
+            FuzzyMatchHelper.setParallelThreshold(threshold);
+        }
+    }
 }
@@ -0,0 +1,93 @@
+package use_case.fuzzy_search.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FuzzyMatcher, checked against the plain dynamic-programming distance.
+ */
+class FuzzyMatcherTest {
+
+    @Test
+    void knownDistances() {
+        assertEquals(3, FuzzyMatcher.levenshteinDistance("kitten", "sitting", Integer.MAX_VALUE));
+        assertEquals(0, FuzzyMatcher.levenshteinDistance("phone", "phone", 2));
+        assertEquals(5, FuzzyMatcher.levenshteinDistance("", "phone", Integer.MAX_VALUE));
+        assertEquals(1, FuzzyMatcher.levenshteinDistance("café", "cafe", 2));
+    }
+
+    @Test
+    void distancesAboveThreshold_areCapped() {
+        assertEquals(3, FuzzyMatcher.levenshteinDistance("wallet", "laptop", 2));
+        assertEquals(2, FuzzyMatcher.levenshteinDistance("a", "abcdef", 1));
+    }
+
+    @Test
+    void isFuzzyMatch_ignoresCaseAndRejectsEmpty() {
+        assertTrue(FuzzyMatcher.isFuzzyMatch("Computer", "computor"));
+        assertFalse(FuzzyMatcher.isFuzzyMatch("", "a"));
+        assertFalse(FuzzyMatcher.isFuzzyMatch("phone", "umbrella"));
+    }
+
+    @Test
+    void randomStrings_agreeWithPlainDp() {
+        Random random = new Random(3);
+        // Lengths around the 64-character word boundary exercise both the bit-parallel and banded paths
+        int[] lengths = {1, 3, 8, 20, 63, 64, 65, 90};
+        for (int trial = 0; trial < 3000; trial++) {
+            String a = randomString(random, lengths[random.nextInt(lengths.length)]);
+            String b = random.nextBoolean()
+                    ? mutate(random, a, random.nextInt(5))
+                    : randomString(random, lengths[random.nextInt(lengths.length)]);
+            int exact = plainDistance(a, b);
+            for (int threshold : new int[] {0, 1, 2, 5, Integer.MAX_VALUE}) {
+                int expected = exact <= threshold ? exact : threshold + 1;
+                assertEquals(expected, FuzzyMatcher.levenshteinDistance(a, b, threshold),
+                        a + " / " + b + " / " + threshold);
+            }
+        }
+    }
+
+    private static int plainDistance(String a, String b) {
+        int[][] dp = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) dp[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) dp[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                dp[i][j] = Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1), dp[i - 1][j - 1] + cost);
+            }
+        }
+        return dp[a.length()][b.length()];
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // A small alphabet with one non-ASCII letter makes matches and near misses common
+            text.append("abcdé".charAt(random.nextInt(5)));
+        }
+        return text.toString();
+    }
+
+    private static String mutate(Random random, String text, int edits) {
+        StringBuilder mutated = new StringBuilder(text);
+        for (int e = 0; e < edits; e++) {
+            int at = mutated.length() == 0 ? 0 : random.nextInt(mutated.length());
+            switch (random.nextInt(3)) {
+                case 0:
+                    mutated.insert(at, "abcdé".charAt(random.nextInt(5)));
+                    break;
+                case 1:
+                    if (mutated.length() > 0) mutated.deleteCharAt(at);
+                    break;
+                default:
+                    if (mutated.length() > 0) mutated.setCharAt(at, "abcdé".charAt(random.nextInt(5)));
+            }
+        }
+        return mutated.toString();
+    }
+}
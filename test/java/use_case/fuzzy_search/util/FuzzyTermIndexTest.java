@@ -0,0 +1,119 @@
+package use_case.fuzzy_search.util;
+
+import entity.Post;
+import entity.SearchDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FuzzyTermIndex.
+ */
+class FuzzyTermIndexTest {
+
+    private Post createPost(String title, String description) {
+        Post p = new Post();
+        p.setTitle(title);
+        p.setDescription(description);
+        p.setTags(new ArrayList<>());
+        p.setLocation("Library");
+        p.setReactions(new HashMap<>());
+        return p;
+    }
+
+    @Test
+    void match_returnsTermsWithPostingsPerField() {
+        List<Post> posts = List.of(
+                createPost("Lost Phone", "Black iPhone"),
+                createPost("Wallet", "Phone case inside"));
+        FuzzyTermIndex index = new FuzzyTermIndex(posts);
+
+        List<FuzzyTermIndex.Term> matches = index.match("phone", 2);
+        Set<String> texts = matches.stream().map(FuzzyTermIndex.Term::getText).collect(Collectors.toSet());
+        assertEquals(Set.of("phone", "iphone"), texts);
+
+        FuzzyTermIndex.Term phone = matches.stream().filter(t -> t.getText().equals("phone")).findFirst().get();
+        assertArrayEquals(new int[]{0}, phone.getPostings(SearchDocument.TITLE));
+        assertArrayEquals(new int[]{1}, phone.getPostings(SearchDocument.DESCRIPTION));
+    }
+
+    @Test
+    void statistics_countPostsAndFieldLengths() {
+        List<Post> posts = List.of(
+                createPost("Lost Phone", "Phone in a black case"),
+                createPost("Wallet", "Black leather"),
+                createPost("Phone", ""));
+        FuzzyTermIndex index = new FuzzyTermIndex(posts);
+
+        // A post counts once however many fields contain the token
+        assertEquals(2, index.documentFrequency("phone"));
+        assertEquals(2, index.documentFrequency("black"));
+        assertEquals(0, index.documentFrequency("umbrella"));
+        assertEquals(2, index.match("phone", 0).get(0).getDocumentFrequency());
+
+        assertEquals(5, index.fieldLength(0, SearchDocument.DESCRIPTION));
+        assertEquals(4.0 / 3, index.averageFieldLength(SearchDocument.TITLE), 1e-9);
+        assertEquals(7.0 / 3, index.averageFieldLength(SearchDocument.DESCRIPTION), 1e-9);
+    }
+
+    @Test
+    void match_agreesWithLinearScanOfVocabulary() {
+        Random random = new Random(11);
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            posts.add(createPost(randomWord(random) + " " + randomWord(random), randomWord(random)));
+        }
+        FuzzyTermIndex index = new FuzzyTermIndex(posts);
+
+        Set<String> vocabulary = new TreeSet<>();
+        for (Post p : posts) {
+            for (int f = 0; f < SearchDocument.FIELD_COUNT; f++) {
+                vocabulary.addAll(Arrays.asList(p.searchDocument().tokens(f)));
+            }
+        }
+        assertEquals(vocabulary.size(), index.vocabularySize());
+
+        for (int q = 0; q < 50; q++) {
+            String query = randomWord(random);
+            Set<String> expected = vocabulary.stream()
+                    .filter(term -> FuzzyMatcher.isFuzzyMatch(term, query, 2))
+                    .collect(Collectors.toCollection(TreeSet::new));
+            Set<String> actual = index.match(query, 2).stream()
+                    .map(FuzzyTermIndex.Term::getText)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            assertEquals(expected, actual, query);
+        }
+    }
+
+    @Test
+    void isCurrentFor_detectsEditedPosts() {
+        List<Post> posts = new ArrayList<>(List.of(createPost("Keys", "Car keys"), createPost("Bag", "Red bag")));
+        FuzzyTermIndex index = new FuzzyTermIndex(posts);
+        assertTrue(index.isCurrentFor(posts));
+
+        List<Post> reloaded = List.of(createPost("Keys", "Car keys"), createPost("Bag", "Red bag"));
+        assertTrue(index.isCurrentFor(reloaded), "Equal posts read again should reuse the index");
+
+        posts.get(1).setDescription("Blue bag");
+        assertFalse(index.isCurrentFor(posts));
+        assertFalse(index.isCurrentFor(posts.subList(0, 1)));
+    }
+
+    private static String randomWord(Random random) {
+        int length = 2 + random.nextInt(6);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(5)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package use_case.fuzzy_search.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LevenshteinAutomaton, checked against FuzzyMatcher.
+ */
+class LevenshteinAutomatonTest {
+
+    @Test
+    void acceptsEachSynonymWithinThreshold() {
+        LevenshteinAutomaton automaton =
+                new LevenshteinAutomaton(Arrays.asList("phone", "mobile", "smartphone", "cellphone"), 2);
+
+        assertEquals(0b0001, automaton.accept("phnoe"));
+        assertEquals(0b0010, automaton.accept("mobil"));
+        assertEquals(0b0100, automaton.accept("smartphne"));
+        assertEquals(0, automaton.accept("wallet"));
+    }
+
+    @Test
+    void emptyKeywordAcceptsShortWords() {
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton(Collections.singletonList(""), 1);
+
+        assertEquals(1, automaton.accept(""));
+        assertEquals(1, automaton.accept("a"));
+        assertEquals(0, automaton.accept("ab"));
+    }
+
+    @Test
+    void tooManyKeywords_throws() {
+        List<String> keywords = Collections.nCopies(LevenshteinAutomaton.MAX_KEYWORDS + 1, "key");
+        assertThrows(IllegalArgumentException.class, () -> new LevenshteinAutomaton(keywords, 2));
+    }
+
+    @Test
+    void randomWords_agreeWithFuzzyMatcher() {
+        Random random = new Random(11);
+        // Lengths around the 63-character limit exercise both the NFA and the fallback
+        int[] lengths = {1, 2, 4, 7, 12, 62, 63, 64, 70};
+        for (int trial = 0; trial < 500; trial++) {
+            List<String> keywords = new ArrayList<>();
+            int keywordCount = 1 + random.nextInt(8);
+            for (int k = 0; k < keywordCount; k++) {
+                keywords.add(randomString(random, lengths[random.nextInt(lengths.length)]));
+            }
+            int threshold = random.nextInt(4);
+            LevenshteinAutomaton automaton = new LevenshteinAutomaton(keywords, threshold);
+
+            for (int w = 0; w < 20; w++) {
+                String word = random.nextBoolean()
+                        ? mutate(random, keywords.get(random.nextInt(keywordCount)), random.nextInt(4))
+                        : randomString(random, lengths[random.nextInt(lengths.length)]);
+                long expected = 0L;
+                for (int k = 0; k < keywordCount; k++) {
+                    if (FuzzyMatcher.levenshteinDistance(keywords.get(k), word, threshold) <= threshold) {
+                        expected |= 1L << k;
+                    }
+                }
+                assertEquals(expected, automaton.accept(word), keywords + " / " + word + " / " + threshold);
+            }
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append("abcé".charAt(random.nextInt(4)));
+        }
+        return text.toString();
+    }
+
+    private static String mutate(Random random, String text, int edits) {
+        StringBuilder mutated = new StringBuilder(text);
+        for (int e = 0; e < edits; e++) {
+            int at = mutated.length() == 0 ? 0 : random.nextInt(mutated.length());
+            if (random.nextBoolean() || mutated.length() == 0) {
+                mutated.insert(at, "abcé".charAt(random.nextInt(4)));
+            } else {
+                mutated.deleteCharAt(at);
+            }
+        }
+        return mutated.toString();
+    }
+}
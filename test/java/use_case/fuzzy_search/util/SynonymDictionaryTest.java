@@ -0,0 +1,51 @@
+package use_case.fuzzy_search.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SynonymDictionary.
+ */
+class SynonymDictionaryTest {
+
+    private static SynonymDictionary parse(String text) throws IOException {
+        return SynonymDictionary.parse(new StringReader(text));
+    }
+
+    @Test
+    void parse_skipsCommentsAndNormalizesTerms() throws IOException {
+        SynonymDictionary dictionary = parse("# comment\n\nCharger,  Charging   Cable , power adapter\nlonely\n");
+
+        assertEquals(1, dictionary.groupCount());
+        assertEquals(3, dictionary.termCount());
+        assertEquals(Arrays.asList("charger", "power adapter"), dictionary.synonymsOf("charging cable"));
+        assertTrue(dictionary.synonymsOf("lonely").isEmpty());
+        assertTrue(dictionary.synonymsOf("charging").isEmpty());
+    }
+
+    @Test
+    void longestMatch_prefersTheLongestPhrase() throws IOException {
+        SynonymDictionary dictionary = parse("keys, keychain\ncar keys, car key fob\ncar, vehicle\n");
+        List<String> tokens = Arrays.asList("lost", "car", "keys", "today");
+
+        assertNull(dictionary.longestMatch(tokens, 0));
+        SynonymDictionary.Match match = dictionary.longestMatch(tokens, 1);
+        assertEquals("car keys", match.getPhrase());
+        assertEquals(3, match.getEnd());
+        assertEquals(Arrays.asList("car key fob"), match.getSynonyms());
+        assertEquals("car", dictionary.longestMatch(Arrays.asList("car", "park"), 0).getPhrase());
+    }
+
+    @Test
+    void termInSeveralGroups_joinsThem() throws IOException {
+        SynonymDictionary dictionary = parse("id card, student id\nstudent id, campus id\n");
+
+        assertEquals(Arrays.asList("id card", "campus id"), dictionary.synonymsOf("student id"));
+    }
+}
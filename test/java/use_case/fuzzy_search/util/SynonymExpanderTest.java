@@ -0,0 +1,60 @@
+package use_case.fuzzy_search.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SynonymExpander.
+ */
+class SynonymExpanderTest {
+
+    @AfterEach
+    void restoreBundledDictionary() {
+        SynonymExpander.useBundled();
+    }
+
+    @Test
+    void bundledDictionary_expandsPhrasesFoundInQuery() {
+        Set<String> keywords = SynonymExpander.expandTokens(Arrays.asList("lost", "student", "id", "near", "gym"));
+
+        assertTrue(keywords.containsAll(Arrays.asList("lost", "student", "id", "near", "gym")));
+        assertTrue(keywords.containsAll(Arrays.asList("student id", "id card", "identification")));
+    }
+
+    @Test
+    void quotedPhrase_isLookedUpWhole() {
+        Set<String> keywords = SynonymExpander.expandTokens(Arrays.asList("charging cable"));
+
+        assertTrue(keywords.containsAll(Arrays.asList("charging cable", "charger", "power adapter")));
+    }
+
+    @Test
+    void useFile_reloadsWhenTheFileChanges(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("synonyms.txt");
+        write(file, "bike, bicycle\n", 1_000_000L);
+        SynonymExpander.useFile(file);
+        assertEquals(Arrays.asList("bike", "bicycle"), SynonymExpander.expand("Bike"));
+        assertEquals(Arrays.asList("phone"), SynonymExpander.expand("phone"));
+
+        write(file, "bike, bicycle, cycle\n", 2_000_000L);
+        // Changes are picked up on the first check after the check interval
+        Thread.sleep(1_100);
+        assertEquals(Arrays.asList("bike", "bicycle", "cycle"), SynonymExpander.expand("bike"));
+    }
+
+    private static void write(Path file, String content, long modifiedMillis) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedMillis));
+    }
+}
@@ -0,0 +1,113 @@
+package use_case.fuzzy_search.util.handler;
+
+import entity.Post;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the pull-based handler pipeline.
+ */
+class SearchPipelineTest {
+
+    private Post createPost(int id, String title, String location, boolean lost, boolean resolved, int likes) {
+        Post p = new Post();
+        p.setPostID(id);
+        p.setTitle(title);
+        p.setDescription("");
+        p.setLocation(location);
+        p.setLost(lost);
+        p.setResolved(resolved);
+        p.setNumberOfLikes(likes);
+        return p;
+    }
+
+    private List<Integer> ids(List<Post> posts) {
+        List<Integer> ids = new ArrayList<>();
+        for (Post p : posts) ids.add(p.getPostID());
+        return ids;
+    }
+
+    /** A source that counts how many posts were pulled from it. */
+    private static final class CountingSource implements Iterable<Post> {
+        private final List<Post> posts;
+        private int pulled;
+
+        CountingSource(List<Post> posts) { this.posts = posts; }
+
+        @Override
+        public Iterator<Post> iterator() {
+            Iterator<Post> it = posts.iterator();
+            return new Iterator<Post>() {
+                @Override public boolean hasNext() { return it.hasNext(); }
+                @Override public Post next() { pulled++; return it.next(); }
+            };
+        }
+    }
+
+    @Test
+    void filtersCompose_inEncounterOrder() {
+        List<Post> posts = Arrays.asList(
+                createPost(1, "Wallet", "Robarts Library", true, false, 0),
+                createPost(2, "Keys", "Hart House", true, false, 0),
+                createPost(3, "Phone", "Gerstein Library", false, false, 0),
+                createPost(4, "Watch", "Robarts Library", true, true, 0),
+                createPost(5, "Scarf", "robarts library", true, false, 0));
+
+        SearchPipeline pipeline = new SearchPipeline(
+                PostFilterHandler.lost(true),
+                PostFilterHandler.resolved(false),
+                PostFilterHandler.location("Library"));
+
+        assertEquals(Arrays.asList(1, 5), ids(pipeline.search(posts, "")));
+    }
+
+    @Test
+    void limit_stopsPullingOncePageIsFull() {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) posts.add(createPost(i, "Post " + i, "Hall", i % 2 == 0, false, 0));
+        CountingSource source = new CountingSource(posts);
+
+        SearchPipeline pipeline = new SearchPipeline(PostFilterHandler.lost(true), new LimitHandler(3));
+        Iterator<Post> results = pipeline.iterator(source, "");
+        assertEquals(0, source.pulled, "nothing is evaluated before the first pull");
+
+        List<Post> page = new ArrayList<>();
+        results.forEachRemaining(page::add);
+        assertEquals(Arrays.asList(0, 2, 4), ids(page));
+        assertEquals(5, source.pulled);
+    }
+
+    @Test
+    void rank_ordersByLikes_tiesInEncounterOrder_withoutTouchingInput() {
+        List<Post> posts = Arrays.asList(
+                createPost(1, "A", "", true, false, 2),
+                createPost(2, "B", "", true, false, 5),
+                createPost(3, "C", "", true, false, 2),
+                createPost(4, "D", "", true, false, 9),
+                createPost(5, "E", "", true, false, 2));
+        List<Post> before = new ArrayList<>(posts);
+
+        assertEquals(Arrays.asList(4, 2, 1, 3, 5), ids(new SearchPipeline(new RankHandler()).search(posts, "")));
+        assertEquals(Arrays.asList(4, 2, 1), ids(new SearchPipeline(new RankHandler(3)).search(posts, "")));
+        assertEquals(before, posts);
+    }
+
+    @Test
+    void fuzzyFilter_usesNormalizedQuery() {
+        List<Post> posts = Arrays.asList(
+                createPost(1, "wallet", "", true, false, 1),
+                createPost(2, "umbrella", "", true, false, 3),
+                createPost(3, "walet", "", true, false, 7));
+
+        SearchPipeline pipeline = new SearchPipeline(
+                new NormalizeHandler(), new FuzzyFilterHandler(2), new RankHandler(), new LimitHandler(10));
+
+        assertEquals(Arrays.asList(3, 1), ids(pipeline.search(posts, "  WALLET ")));
+    }
+}
@@ -101,6 +101,33 @@ class SearchInteractorTest {
         assertEquals("Lost phone at library", out.getPosts().get(0).getTitle());
     }
 
+    @Test
+    void execute_criteria_cachesDistinctCriteriaSeparately() {
+        when(dao.getPostsVersion()).thenReturn(1L);
+        when(dao.searchPostsByCriteria(any(), any(), any(), any())).thenReturn(List.of(makePost(1, "Wallet")));
+
+        interactor.execute(new SearchInputData(null, null, Arrays.asList("a", "b"), null));
+        interactor.execute(new SearchInputData(null, null, Collections.singletonList("a, b"), null));
+        interactor.execute(new SearchInputData("null", null, Arrays.asList("a", "b"), null));
+        interactor.execute(new SearchInputData(null, null, Arrays.asList("a", "b"), null));
+
+        verify(dao, times(3)).searchPostsByCriteria(any(), any(), any(), any());
+    }
+
+    @Test
+    void criteriaKey_isUnambiguous() {
+        assertNotEquals(SearchInteractor.criteriaKey(null, null, null, null),
+                SearchInteractor.criteriaKey("null", null, null, null));
+        assertNotEquals(SearchInteractor.criteriaKey(null, null, Arrays.asList("a", "b"), null),
+                SearchInteractor.criteriaKey(null, null, Collections.singletonList("a, b"), null));
+        assertNotEquals(SearchInteractor.criteriaKey("a", "", null, null),
+                SearchInteractor.criteriaKey("", "a", null, null));
+        assertNotEquals(SearchInteractor.criteriaKey(null, null, null, false),
+                SearchInteractor.criteriaKey(null, null, null, null));
+        assertEquals(SearchInteractor.criteriaKey("phone", "library", List.of("black"), true),
+                SearchInteractor.criteriaKey("phone", "library", List.of("black"), true));
+    }
+
     @Test
     void execute_query_empty_results_callsFailPresenter() {
         String query = "no-such-item";
@@ -0,0 +1,64 @@
+package use_case.suggest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SuggestInteractorTest {
+
+    private SuggestPostDataAccessInterface postDao;
+    private SuggestUserDataAccessInterface userDao;
+    private SuggestOutputData lastOutput;
+    private SuggestInteractor interactor;
+
+    @BeforeEach
+    void setUp() {
+        postDao = mock(SuggestPostDataAccessInterface.class);
+        userDao = mock(SuggestUserDataAccessInterface.class);
+        interactor = new SuggestInteractor(postDao, userDao, outputData -> lastOutput = outputData);
+    }
+
+    @Test
+    @DisplayName("execute - completes search terms from the post DAO")
+    void execute_SearchTerms() {
+        when(postDao.suggestSearchTerms("wa", SuggestInteractor.SUGGESTION_LIMIT))
+                .thenReturn(Arrays.asList("wallet", "watch"));
+
+        interactor.execute(new SuggestInputData(SuggestInputData.SEARCH_TERMS, "wa"));
+
+        assertEquals(Arrays.asList("wallet", "watch"), lastOutput.getSuggestions());
+        assertEquals("wa", lastOutput.getPrefix());
+        assertEquals(SuggestInputData.SEARCH_TERMS, lastOutput.getKind());
+        verifyNoInteractions(userDao);
+    }
+
+    @Test
+    @DisplayName("execute - completes usernames from the user DAO, trimming the prefix")
+    void execute_Usernames() {
+        when(userDao.suggestUsernames("al", SuggestInteractor.SUGGESTION_LIMIT))
+                .thenReturn(Collections.singletonList("alice"));
+
+        interactor.execute(new SuggestInputData(SuggestInputData.USERNAMES, " al "));
+
+        assertEquals(Collections.singletonList("alice"), lastOutput.getSuggestions());
+        assertEquals(" al ", lastOutput.getPrefix());
+        verifyNoInteractions(postDao);
+    }
+
+    @Test
+    @DisplayName("execute - a blank prefix gets no suggestions without asking a DAO")
+    void execute_BlankPrefix() {
+        interactor.execute(new SuggestInputData(SuggestInputData.USERNAMES, "  "));
+
+        assertTrue(lastOutput.getSuggestions().isEmpty());
+        verify(userDao, never()).suggestUsernames(anyString(), anyInt());
+        verifyNoInteractions(postDao);
+    }
+}